@@ -0,0 +1,260 @@
+package fi.helsinki.coderodde.searchheapbenchmark.jmh;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.CalendarQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedCalendarQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedHollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedLadderQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedStrictFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedWeakHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LadderQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.SequenceHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.WeakHeap;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This class benchmarks the Dijkstra search over real arc weights.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+public class DoubleWeightSearchBenchmark extends SearchBenchmark<Double> {
+
+    static final double MAX_ARC_WEIGHT = 10.0;
+
+    @Param({
+        "BinaryHeap",
+        "DaryHeap:2",
+        "DaryHeap:4",
+        "DaryHeap:8",
+        "BinaryHeap@bottomUp",
+        "DaryHeap:4@bottomUp",
+        "DaryHeap:8@bottomUp",
+        "WeakHeap",
+        "BinomialHeap",
+        "FibonacciHeap",
+        "PairingHeap",
+        "HollowHeap",
+        "RankPairingHeap",
+        "SequenceHeap",
+        "DoubleDialsHeap:0.2",
+        "CalendarQueue",
+        "LadderQueue",
+        "DoubleRadixHeap",
+        "DoubleMultiLevelBucketHeap:4",
+        "DoubleMultiLevelBucketHeap:6",
+        "DoubleMultiLevelBucketHeap:8",
+        "AVLTreeHeap",
+        "BTreeHeap:64",
+        "BinomialHeap@pooled",
+        "FibonacciHeap@pooled",
+        "PairingHeap@pooled",
+        "AVLTreeHeap@pooled",
+        "BTreeHeap:64@pooled",
+        "IndexedBinaryHeap",
+        "IndexedDaryHeap:2",
+        "IndexedDaryHeap:4",
+        "IndexedDaryHeap:8",
+        "IndexedBinaryHeap@bottomUp",
+        "IndexedDaryHeap:4@bottomUp",
+        "IndexedDaryHeap:8@bottomUp",
+        "IndexedWeakHeap",
+        "IndexedBinomialHeap",
+        "IndexedFibonacciHeap",
+        "IndexedPairingHeap",
+        "IndexedHollowHeap",
+        "IndexedRankPairingHeap",
+        "IndexedStrictFibonacciHeap",
+        "IndexedDoubleDialsHeap:0.2",
+        "IndexedCalendarQueue",
+        "IndexedLadderQueue",
+        "IndexedDoubleRadixHeap",
+        "IndexedDoubleMultiLevelBucketHeap:4",
+        "IndexedDoubleMultiLevelBucketHeap:6",
+        "IndexedDoubleMultiLevelBucketHeap:8",
+        "IndexedAVLTreeHeap",
+        "IndexedBTreeHeap:64",
+    })
+    public String heap;
+
+    public DoubleWeightSearchBenchmark() {
+        super(new DoubleWeight());
+    }
+
+    @Override
+    protected String getHeapName() {
+        return heap;
+    }
+
+    @Override
+    protected Double createArcWeight(Random random) {
+        return random.nextDouble() * MAX_ARC_WEIGHT;
+    }
+
+    @Override
+    protected PriorityQueue<DirectedGraphNode, Double>
+        createHeap(String heapType, String heapArgument) {
+        switch (heapType) {
+            case "BinaryHeap":
+                return new BinaryHeap<>();
+
+            case "DaryHeap":
+                return new DaryHeap<>(Integer.parseInt(heapArgument));
+
+            case "BinaryHeap@bottomUp":
+                return new BinaryHeap<>(true);
+
+            case "DaryHeap@bottomUp":
+                return new DaryHeap<>(Integer.parseInt(heapArgument), true);
+
+            case "WeakHeap":
+                return new WeakHeap<>();
+
+            case "BinomialHeap":
+                return new BinomialHeap<>();
+
+            case "FibonacciHeap":
+                return new FibonacciHeap<>();
+
+            case "PairingHeap":
+                return new PairingHeap<>();
+
+            case "HollowHeap":
+                return new HollowHeap<>();
+
+            case "RankPairingHeap":
+                return new RankPairingHeap<>();
+
+            case "SequenceHeap":
+                return new SequenceHeap<>();
+
+            case "DoubleDialsHeap":
+                return new DoubleDialsHeap<>(
+                        Double.parseDouble(heapArgument));
+
+            case "CalendarQueue":
+                return new CalendarQueue<>();
+
+            case "LadderQueue":
+                return new LadderQueue<>();
+
+            case "DoubleRadixHeap":
+                return new DoubleRadixHeap<>();
+
+            case "DoubleMultiLevelBucketHeap":
+                return new DoubleMultiLevelBucketHeap<>(
+                        Integer.parseInt(heapArgument));
+
+            case "AVLTreeHeap":
+                return new AVLTreeHeap<>();
+
+            case "BTreeHeap":
+                return new BTreeHeap<>(Integer.parseInt(heapArgument));
+
+            case "BinomialHeap@pooled":
+                return new BinomialHeap<>(true);
+
+            case "FibonacciHeap@pooled":
+                return new FibonacciHeap<>(true);
+
+            case "PairingHeap@pooled":
+                return new PairingHeap<>(true);
+
+            case "AVLTreeHeap@pooled":
+                return new AVLTreeHeap<>(true);
+
+            case "BTreeHeap@pooled":
+                return new BTreeHeap<>(Integer.parseInt(heapArgument), true);
+
+            case "IndexedBinaryHeap":
+                return new IndexedBinaryHeap<>();
+
+            case "IndexedDaryHeap":
+                return new IndexedDaryHeap<>(Integer.parseInt(heapArgument));
+
+            case "IndexedBinaryHeap@bottomUp":
+                return new IndexedBinaryHeap<>(true, null);
+
+            case "IndexedDaryHeap@bottomUp":
+                return new IndexedDaryHeap<>(Integer.parseInt(heapArgument),
+                                             true,
+                                             null);
+
+            case "IndexedWeakHeap":
+                return new IndexedWeakHeap<>();
+
+            case "IndexedBinomialHeap":
+                return new IndexedBinomialHeap<>();
+
+            case "IndexedFibonacciHeap":
+                return new IndexedFibonacciHeap<>();
+
+            case "IndexedPairingHeap":
+                return new IndexedPairingHeap<>();
+
+            case "IndexedHollowHeap":
+                return new IndexedHollowHeap<>();
+
+            case "IndexedRankPairingHeap":
+                return new IndexedRankPairingHeap<>();
+
+            case "IndexedStrictFibonacciHeap":
+                return new IndexedStrictFibonacciHeap<>();
+
+            case "IndexedDoubleDialsHeap":
+                return new IndexedDoubleDialsHeap<>(
+                        Double.parseDouble(heapArgument));
+
+            case "IndexedCalendarQueue":
+                return new IndexedCalendarQueue<>();
+
+            case "IndexedLadderQueue":
+                return new IndexedLadderQueue<>();
+
+            case "IndexedDoubleRadixHeap":
+                return new IndexedDoubleRadixHeap<>();
+
+            case "IndexedDoubleMultiLevelBucketHeap":
+                return new IndexedDoubleMultiLevelBucketHeap<>(
+                        Integer.parseInt(heapArgument));
+
+            case "IndexedAVLTreeHeap":
+                return new IndexedAVLTreeHeap<>();
+
+            case "IndexedBTreeHeap":
+                return new IndexedBTreeHeap<>(Integer.parseInt(heapArgument));
+
+            default:
+                throw unknownHeap(heapType);
+        }
+    }
+}
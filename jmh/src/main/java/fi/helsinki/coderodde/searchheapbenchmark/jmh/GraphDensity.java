@@ -0,0 +1,26 @@
+package fi.helsinki.coderodde.searchheapbenchmark.jmh;
+
+/**
+ * This enumeration lists the densities of the random benchmark graphs. The
+ * arc counts match the sparse, medium and dense graphs of the original
+ * benchmark program.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public enum GraphDensity {
+
+    SPARSE (40_000),
+    MEDIUM (100_000),
+    DENSE  (600_000);
+
+    private final int arcs;
+
+    private GraphDensity(int arcs) {
+        this.arcs = arcs;
+    }
+
+    public int getArcs() {
+        return arcs;
+    }
+}
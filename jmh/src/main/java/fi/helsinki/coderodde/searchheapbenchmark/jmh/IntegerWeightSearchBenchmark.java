@@ -0,0 +1,257 @@
+package fi.helsinki.coderodde.searchheapbenchmark.jmh;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedHollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedStrictFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedVanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedWeakHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.MultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.SequenceHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.VanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.WeakHeap;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This class benchmarks the Dijkstra search over integer arc weights.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+public class IntegerWeightSearchBenchmark extends SearchBenchmark<Integer> {
+
+    static final int MAX_ARC_WEIGHT = 10;
+    static final int KEY_UNIVERSE = MAX_ARC_WEIGHT * (GRAPH_NODES + 1);
+
+    @Param({
+        "BinaryHeap",
+        "DaryHeap:2",
+        "DaryHeap:4",
+        "DaryHeap:8",
+        "BinaryHeap@bottomUp",
+        "DaryHeap:4@bottomUp",
+        "DaryHeap:8@bottomUp",
+        "WeakHeap",
+        "BinomialHeap",
+        "FibonacciHeap",
+        "PairingHeap",
+        "HollowHeap",
+        "RankPairingHeap",
+        "SequenceHeap",
+        "IntegerDialsHeap",
+        "RadixHeap",
+        "MultiLevelBucketHeap:2",
+        "MultiLevelBucketHeap:3",
+        "MultiLevelBucketHeap:4",
+        "AVLTreeHeap",
+        "VanEmdeBoasTreeHeap",
+        "BTreeHeap:64",
+        "BinomialHeap@pooled",
+        "FibonacciHeap@pooled",
+        "PairingHeap@pooled",
+        "IntegerDialsHeap@pooled",
+        "AVLTreeHeap@pooled",
+        "VanEmdeBoasTreeHeap@pooled",
+        "BTreeHeap:64@pooled",
+        "IndexedBinaryHeap",
+        "IndexedDaryHeap:2",
+        "IndexedDaryHeap:4",
+        "IndexedDaryHeap:8",
+        "IndexedBinaryHeap@bottomUp",
+        "IndexedDaryHeap:4@bottomUp",
+        "IndexedDaryHeap:8@bottomUp",
+        "IndexedWeakHeap",
+        "IndexedBinomialHeap",
+        "IndexedFibonacciHeap",
+        "IndexedPairingHeap",
+        "IndexedHollowHeap",
+        "IndexedRankPairingHeap",
+        "IndexedStrictFibonacciHeap",
+        "IndexedIntegerDialsHeap",
+        "IndexedRadixHeap",
+        "IndexedMultiLevelBucketHeap:2",
+        "IndexedMultiLevelBucketHeap:3",
+        "IndexedMultiLevelBucketHeap:4",
+        "IndexedAVLTreeHeap",
+        "IndexedVanEmdeBoasTreeHeap",
+        "IndexedBTreeHeap:64",
+    })
+    public String heap;
+
+    public IntegerWeightSearchBenchmark() {
+        super(new IntegerWeight());
+    }
+
+    @Override
+    protected String getHeapName() {
+        return heap;
+    }
+
+    @Override
+    protected Integer createArcWeight(Random random) {
+        return random.nextInt(MAX_ARC_WEIGHT) + 1;
+    }
+
+    @Override
+    protected PriorityQueue<DirectedGraphNode, Integer>
+        createHeap(String heapType, String heapArgument) {
+        switch (heapType) {
+            case "BinaryHeap":
+                return new BinaryHeap<>();
+
+            case "DaryHeap":
+                return new DaryHeap<>(Integer.parseInt(heapArgument));
+
+            case "BinaryHeap@bottomUp":
+                return new BinaryHeap<>(true);
+
+            case "DaryHeap@bottomUp":
+                return new DaryHeap<>(Integer.parseInt(heapArgument), true);
+
+            case "WeakHeap":
+                return new WeakHeap<>();
+
+            case "BinomialHeap":
+                return new BinomialHeap<>();
+
+            case "FibonacciHeap":
+                return new FibonacciHeap<>();
+
+            case "PairingHeap":
+                return new PairingHeap<>();
+
+            case "HollowHeap":
+                return new HollowHeap<>();
+
+            case "RankPairingHeap":
+                return new RankPairingHeap<>();
+
+            case "SequenceHeap":
+                return new SequenceHeap<>();
+
+            case "IntegerDialsHeap":
+                return new IntegerDialsHeap<>();
+
+            case "RadixHeap":
+                return new RadixHeap<>();
+
+            case "MultiLevelBucketHeap":
+                return new MultiLevelBucketHeap<>(
+                        Integer.parseInt(heapArgument));
+
+            case "AVLTreeHeap":
+                return new AVLTreeHeap<>();
+
+            case "VanEmdeBoasTreeHeap":
+                return new VanEmdeBoasTreeHeap<>(KEY_UNIVERSE);
+
+            case "BTreeHeap":
+                return new BTreeHeap<>(Integer.parseInt(heapArgument));
+
+            case "BinomialHeap@pooled":
+                return new BinomialHeap<>(true);
+
+            case "FibonacciHeap@pooled":
+                return new FibonacciHeap<>(true);
+
+            case "PairingHeap@pooled":
+                return new PairingHeap<>(true);
+
+            case "IntegerDialsHeap@pooled":
+                return new IntegerDialsHeap<>(true);
+
+            case "AVLTreeHeap@pooled":
+                return new AVLTreeHeap<>(true);
+
+            case "VanEmdeBoasTreeHeap@pooled":
+                return new VanEmdeBoasTreeHeap<>(KEY_UNIVERSE, true);
+
+            case "BTreeHeap@pooled":
+                return new BTreeHeap<>(Integer.parseInt(heapArgument), true);
+
+            case "IndexedBinaryHeap":
+                return new IndexedBinaryHeap<>();
+
+            case "IndexedDaryHeap":
+                return new IndexedDaryHeap<>(Integer.parseInt(heapArgument));
+
+            case "IndexedBinaryHeap@bottomUp":
+                return new IndexedBinaryHeap<>(true, null);
+
+            case "IndexedDaryHeap@bottomUp":
+                return new IndexedDaryHeap<>(Integer.parseInt(heapArgument),
+                                             true,
+                                             null);
+
+            case "IndexedWeakHeap":
+                return new IndexedWeakHeap<>();
+
+            case "IndexedBinomialHeap":
+                return new IndexedBinomialHeap<>();
+
+            case "IndexedFibonacciHeap":
+                return new IndexedFibonacciHeap<>();
+
+            case "IndexedPairingHeap":
+                return new IndexedPairingHeap<>();
+
+            case "IndexedHollowHeap":
+                return new IndexedHollowHeap<>();
+
+            case "IndexedRankPairingHeap":
+                return new IndexedRankPairingHeap<>();
+
+            case "IndexedStrictFibonacciHeap":
+                return new IndexedStrictFibonacciHeap<>();
+
+            case "IndexedIntegerDialsHeap":
+                return new IndexedIntegerDialsHeap<>();
+
+            case "IndexedRadixHeap":
+                return new IndexedRadixHeap<>();
+
+            case "IndexedMultiLevelBucketHeap":
+                return new IndexedMultiLevelBucketHeap<>(
+                        Integer.parseInt(heapArgument));
+
+            case "IndexedAVLTreeHeap":
+                return new IndexedAVLTreeHeap<>();
+
+            case "IndexedVanEmdeBoasTreeHeap":
+                return new IndexedVanEmdeBoasTreeHeap<>(KEY_UNIVERSE);
+
+            case "IndexedBTreeHeap":
+                return new IndexedBTreeHeap<>(Integer.parseInt(heapArgument));
+
+            default:
+                throw unknownHeap(heapType);
+        }
+    }
+}
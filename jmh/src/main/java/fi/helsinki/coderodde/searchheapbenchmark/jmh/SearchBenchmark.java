@@ -0,0 +1,155 @@
+package fi.helsinki.coderodde.searchheapbenchmark.jmh;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class holds the common part of the Dijkstra search benchmarks. Each
+ * trial builds a random graph of the requested density, using a fixed seed so
+ * that all forks measure the very same graph and search tasks, and one
+ * invocation runs all the search tasks once. The heap names starting with
+ * {@code Indexed} are run by {@link IndexedDijkstraPathFinder}, the rest by
+ * {@link DijkstraPathFinder}.
+ * <p>
+ * A heap name is the simple class name of the heap, optionally followed by a
+ * colon and the constructor argument, such as {@code DaryHeap:4}, and
+ * optionally ending with the at sign and a variant of the heap, such as
+ * {@code FibonacciHeap@pooled} or {@code DaryHeap:4@bottomUp}. The variant
+ * stays a part of the heap type passed to
+ * {@link #createHeap(String, String)}, such as {@code DaryHeap@bottomUp}.
+ * Other arguments than the default ones may be passed via the {@code -p}
+ * option of JMH.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <W> the weight type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 3, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public abstract class SearchBenchmark<W extends Comparable<? super W>> {
+
+    static final int GRAPH_NODES = 10_000;
+    static final int SEARCH_TASKS = 20;
+    static final long SEED = 13L;
+
+    @Param
+    public GraphDensity density;
+
+    private final Weight<W> weight;
+    private DirectedGraphWeightFunction<W> weightFunction;
+    private DirectedGraphNode[] sourceNodes;
+    private DirectedGraphNode[] targetNodes;
+    private PathFinder<W> finder;
+
+    protected SearchBenchmark(Weight<W> weight) {
+        this.weight = weight;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        List<DirectedGraphNode> nodeList = new ArrayList<>(GRAPH_NODES);
+        weightFunction = new DirectedGraphWeightFunction<>();
+
+        for (int id = 0; id < GRAPH_NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        for (int arc = 0; arc < density.getArcs(); ++arc) {
+            DirectedGraphNode tail = choose(nodeList, random);
+            DirectedGraphNode head = choose(nodeList, random);
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, createArcWeight(random));
+        }
+
+        sourceNodes = new DirectedGraphNode[SEARCH_TASKS];
+        targetNodes = new DirectedGraphNode[SEARCH_TASKS];
+
+        for (int task = 0; task < SEARCH_TASKS; ++task) {
+            sourceNodes[task] = choose(nodeList, random);
+            targetNodes[task] = choose(nodeList, random);
+        }
+
+        String heapName = getHeapName();
+        int atIndex = heapName.indexOf('@');
+        String heapVariant = atIndex < 0 ? "" : heapName.substring(atIndex);
+        heapName = atIndex < 0 ? heapName : heapName.substring(0, atIndex);
+        int colonIndex = heapName.indexOf(':');
+        String heapType = (colonIndex < 0 ?
+                           heapName :
+                           heapName.substring(0, colonIndex)) + heapVariant;
+        String heapArgument = colonIndex < 0 ?
+                              null :
+                              heapName.substring(colonIndex + 1);
+
+        PriorityQueue<DirectedGraphNode, W> heap =
+                createHeap(heapType, heapArgument);
+
+        finder = heapType.startsWith("Indexed") ?
+                 new IndexedDijkstraPathFinder<>(heap) :
+                 new DijkstraPathFinder<>(heap);
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        for (int task = 0; task < SEARCH_TASKS; ++task) {
+            blackhole.consume(finder.search(sourceNodes[task],
+                                            targetNodes[task],
+                                            weightFunction,
+                                            weight));
+        }
+    }
+
+    /**
+     * Returns the value of the heap parameter of the concrete benchmark.
+     */
+    protected abstract String getHeapName();
+
+    /**
+     * Creates a random arc weight.
+     */
+    protected abstract W createArcWeight(Random random);
+
+    /**
+     * Creates the heap of the given simple class name, followed by the
+     * variant if the heap name had one. The argument is {@code null} if the
+     * heap name had none.
+     */
+    protected abstract PriorityQueue<DirectedGraphNode, W>
+        createHeap(String heapType, String heapArgument);
+
+    static IllegalArgumentException unknownHeap(String heapType) {
+        return new IllegalArgumentException("Unknown heap: " + heapType);
+    }
+
+    private static <T> T choose(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -0,0 +1,129 @@
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.Heuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.AStarPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAStarPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleRadixHeap;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AStarBenchmark {
+
+    private final List<SearchTask> searchTaskList;
+    private final List<List<List<DirectedGraphNode>>> resultCollectorList =
+            new ArrayList<>();
+
+    private final DirectedGraphWeightFunction<Double> weightFunction;
+    private final Heuristic<Double> heuristic;
+    private final DoubleWeight weight = new DoubleWeight();
+
+    public AStarBenchmark(List<SearchTask> searchTaskList,
+                          DirectedGraphWeightFunction<Double> weightFunction,
+                          Heuristic<Double> heuristic) {
+        this.searchTaskList = searchTaskList;
+        this.weightFunction = weightFunction;
+        this.heuristic = heuristic;
+    }
+
+    public void warmup() {
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                createUnindexedHeaps()) {
+            run(new AStarPathFinder<>(heap, heuristic));
+        }
+
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                createIndexedHeaps()) {
+            run(new IndexedAStarPathFinder<>(heap, heuristic));
+        }
+    }
+
+    public void run() {
+        //// Baseline ////
+        benchmark(new DijkstraPathFinder<>(
+                          new BinaryHeap<DirectedGraphNode, Double>()),
+                  "Dijkstra, BinaryHeap");
+
+        //// Unindexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                createUnindexedHeaps()) {
+            benchmark(new AStarPathFinder<>(heap, heuristic),
+                      "A*, " + heap.toString());
+        }
+
+        //// Indexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                createIndexedHeaps()) {
+            benchmark(new IndexedAStarPathFinder<>(heap, heuristic),
+                      "A*, " + heap.toString());
+        }
+
+        System.out.println("Algorithms/heaps agree: " + samePaths());
+    }
+
+    // A* does not extract the keys in monotone order (not even under a
+    // consistent heuristic due to rounding), so the radix and the multi-level
+    // bucket heaps are left out.
+    private static List<PriorityQueue<DirectedGraphNode, Double>>
+        createUnindexedHeaps() {
+        List<PriorityQueue<DirectedGraphNode, Double>> heapList =
+                DoubleWeightBenchmark.createUnindexedHeaps();
+        heapList.removeIf(heap -> heap instanceof DoubleRadixHeap
+                               || heap instanceof DoubleMultiLevelBucketHeap);
+        return heapList;
+    }
+
+    private static List<PriorityQueue<DirectedGraphNode, Double>>
+        createIndexedHeaps() {
+        List<PriorityQueue<DirectedGraphNode, Double>> heapList =
+                DoubleWeightBenchmark.createIndexedHeaps();
+        heapList.removeIf(
+                heap -> heap instanceof IndexedDoubleRadixHeap
+                     || heap instanceof IndexedDoubleMultiLevelBucketHeap);
+        return heapList;
+    }
+
+    private List<List<DirectedGraphNode>> run(PathFinder<Double> finder) {
+        List<List<DirectedGraphNode>> shortestPathList =
+                new ArrayList<>(searchTaskList.size());
+
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(),
+                                               weightFunction,
+                                               weight));
+        }
+
+        return shortestPathList;
+    }
+
+    private void benchmark(PathFinder<Double> finder, String name) {
+        ResourceMeter meter = ResourceMeter.start();
+        long startTime = System.currentTimeMillis();
+        List<List<DirectedGraphNode>> shortestPathList = run(finder);
+        long endTime = System.currentTimeMillis();
+
+        System.out.println(name + " in " + (endTime - startTime) +
+                           " milliseconds, " + meter.stop() + ".");
+
+        resultCollectorList.add(shortestPathList);
+    }
+
+    private boolean samePaths() {
+        for (int i = 0; i < resultCollectorList.size() - 1; ++i) {
+            if (!resultCollectorList.get(i)
+                    .equals(resultCollectorList.get(i + 1))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,469 @@
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HeapTrace;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.InstrumentedPriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerWeight;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Runs the Dijkstra search benchmark as configured on the command line, and
+ * optionally writes the results as CSV and JSON. Run with {@code --help} for
+ * the options.
+ * <p>
+ * The number of settled nodes is obtained from an untimed reference run with
+ * an indexed heap, in which each extraction settles a node.
+ * <p>
+ * With {@code --sweep}, the graph sizes grow geometrically, and a table of the
+ * best nanoseconds per settled node of each heap at each size is printed at
+ * the end, so that the sizes at which one heap overtakes another stand out. A
+ * heap or a graph that does not fit in the memory is reported and skipped;
+ * once a graph does not fit, the larger sizes of the same weight type and
+ * density are skipped as well. A graph with more arcs than an {@code int}
+ * can count is reported and skipped.
+ * <p>
+ * With {@code --trace FILE}, no graphs are searched. Instead, a heap trace
+ * written by {@link HeapTrace#write(java.io.OutputStream)}, such as one
+ * recorded in production through a
+ * {@link fi.helsinki.coderodde.searchheapbenchmark.support.HeapTraceRecorder},
+ * is replayed by {@link HeapTraceBenchmark} on the selected heaps of the
+ * weight type of the trace. A trace recorded through an indexed heap is
+ * marked with {@code --indexed} and replayed on the indexed heaps, and any
+ * other trace on the unindexed ones.
+ */
+public final class BenchmarkCli {
+
+    private final BenchmarkOptions options;
+    private final List<BenchmarkRecord> recordList = new ArrayList<>();
+
+    public BenchmarkCli(BenchmarkOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkOptions options;
+
+        try {
+            options = BenchmarkOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(BenchmarkOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        if (options.isHelp()) {
+            System.out.println(BenchmarkOptions.USAGE);
+            return;
+        }
+
+        BenchmarkCli cli = new BenchmarkCli(options);
+
+        if (options.getTraceFile() != null) {
+            cli.runTrace();
+            return;
+        }
+
+        cli.run();
+
+        if (options.getCsvFile() != null) {
+            BenchmarkRecord.writeCsv(cli.getRecordList(),
+                                     options.getCsvFile());
+        }
+
+        if (options.getJsonFile() != null) {
+            BenchmarkRecord.writeJson(cli.getRecordList(),
+                                      options.getJsonFile());
+        }
+    }
+
+    public List<BenchmarkRecord> getRecordList() {
+        return recordList;
+    }
+
+    public void run() {
+        System.out.println("Seed = " + options.getSeed());
+
+        for (String weightType : options.getWeightTypes()) {
+            for (int arcsPerNode : options.getArcsPerNode()) {
+                for (int nodes : options.getNodes()) {
+                    long arcs = (long) nodes * arcsPerNode;
+
+                    if (arcs > Integer.MAX_VALUE) {
+                        System.out.println("The graph with " + nodes +
+                                           " nodes would have " + arcs +
+                                           " arcs, more than " +
+                                           Integer.MAX_VALUE + ". " +
+                                           "Skipping.");
+                        continue;
+                    }
+
+                    try {
+                        run(weightType, nodes, (int) arcs);
+                    } catch (OutOfMemoryError error) {
+                        System.out.println("The graph with " + nodes +
+                                           " nodes does not fit in the " +
+                                           "memory. Skipping the larger " +
+                                           "graphs.");
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (options.isSweep()) {
+            printScalingTables();
+        }
+    }
+
+    /**
+     * Replays the trace file on the selected heaps.
+     *
+     * @throws IOException if the trace file cannot be read.
+     */
+    public void runTrace() throws IOException {
+        Path file = Paths.get(options.getTraceFile());
+        Class<?> priorityClass;
+
+        try (InputStream in = Files.newInputStream(file)) {
+            priorityClass = HeapTrace.readPriorityClass(in);
+        }
+
+        if (priorityClass == Integer.class) {
+            HeapTrace<Integer> trace = readTrace(file, Integer.class);
+            Integer maximumPriority = trace.getMaximumPriority();
+            int keyUniverse = maximumPriority == null || maximumPriority < 0 ?
+                              1 :
+                              maximumPriority + 1;
+            runTrace(trace,
+                     HeapFactory.getIntegerHeapNames(),
+                     heapName -> HeapFactory.createIntegerHeap(
+                             heapName,
+                             keyUniverse,
+                             Integer::intValue));
+        } else {
+            runTrace(readTrace(file, Double.class),
+                     HeapFactory.getDoubleHeapNames(),
+                     heapName -> HeapFactory.createDoubleHeap(
+                             heapName,
+                             Integer::intValue));
+        }
+    }
+
+    private <P extends Comparable<? super P>> void
+        runTrace(HeapTrace<P> trace,
+                 List<String> allHeapNames,
+                 Function<String, PriorityQueue<Integer, P>> heapFactory) {
+        if (trace.hasPriorityDecreases() && !options.isIndexed()) {
+            System.err.println("The trace decreases priorities, so it can " +
+                               "only be replayed with --indexed.");
+            return;
+        }
+
+        List<PriorityQueue<Integer, P>> heapList = new ArrayList<>();
+
+        for (String heapName : getHeapNames(allHeapNames)) {
+            if (HeapFactory.isIndexed(heapName) != options.isIndexed()) {
+                if (options.getHeapNames() != null) {
+                    System.err.println("Skipping " + heapName + ": the " +
+                                       "trace is replayed on the " +
+                                       (options.isIndexed() ?
+                                        "indexed" :
+                                        "unindexed") + " heaps.");
+                }
+
+                continue;
+            }
+
+            try {
+                heapList.add(heapFactory.apply(heapName));
+            } catch (IllegalArgumentException ex) {
+                System.err.println("Skipping. " + ex.getMessage());
+            }
+        }
+
+        HeapTraceBenchmark<P> benchmark =
+                new HeapTraceBenchmark<>(trace, options.isIndexed(), heapList);
+
+        for (int i = 0; i < options.getWarmups(); ++i) {
+            benchmark.warmup();
+        }
+
+        for (int repetition = 1;
+                repetition <= options.getRepetitions();
+                ++repetition) {
+            System.out.println("*** Trace replay #" + repetition + " ***");
+            benchmark.run();
+        }
+    }
+
+    private static <P extends Comparable<? super P>> HeapTrace<P>
+        readTrace(Path file, Class<P> priorityClass) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return HeapTrace.read(in, priorityClass);
+        }
+    }
+
+    private void run(String weightType, int nodes, int arcs) {
+        Random random = new Random(options.getSeed());
+
+        if (weightType.equals(BenchmarkOptions.INTEGER_WEIGHTS)) {
+            int keyUniverse = Main.MAX_INT_ARC_WEIGHT * (nodes + 1);
+            run(weightType,
+                Main.createRandomIntGraph(nodes,
+                                          arcs,
+                                          Main.MAX_INT_ARC_WEIGHT,
+                                          random),
+                arcs,
+                new IntegerWeight(),
+                getHeapNames(HeapFactory.getIntegerHeapNames()),
+                heapName -> HeapFactory.createIntegerHeap(
+                        heapName,
+                        keyUniverse,
+                        DirectedGraphNode::getId),
+                random);
+        } else {
+            run(weightType,
+                Main.createRandomGraph(nodes,
+                                       arcs,
+                                       Main.MAX_ARC_WEIGHT,
+                                       random),
+                arcs,
+                new DoubleWeight(),
+                getHeapNames(HeapFactory.getDoubleHeapNames()),
+                heapName -> HeapFactory.createDoubleHeap(
+                        heapName,
+                        DirectedGraphNode::getId),
+                random);
+        }
+    }
+
+    private <W extends Comparable<? super W>> void
+        run(String weightType,
+            Main.GraphData<W> graphData,
+            int arcs,
+            Weight<W> weight,
+            List<String> heapNameList,
+            Function<String, PriorityQueue<DirectedGraphNode, W>> heapFactory,
+            Random random) {
+        int nodes = graphData.nodeList.size();
+        System.out.println("*** " + weightType + " weights, " + nodes +
+                           " nodes, " + arcs + " arcs ***");
+
+        List<SearchTask> searchTaskList =
+                new SearchTaskCreator(graphData.nodeList,
+                                      options.getTasks(),
+                                      random).getSearchTaskList();
+
+        InstrumentedPriorityQueue<DirectedGraphNode, W> referenceHeap =
+                new InstrumentedPriorityQueue<>(
+                        new IndexedBinaryHeap<DirectedGraphNode, W>());
+        run(new IndexedDijkstraPathFinder<>(referenceHeap),
+            graphData,
+            searchTaskList,
+            weight);
+        long settledNodes = referenceHeap.getExtractions();
+
+        for (String heapName : heapNameList) {
+            PriorityQueue<DirectedGraphNode, W> heap;
+
+            try {
+                heap = heapFactory.apply(heapName);
+            } catch (IllegalArgumentException ex) {
+                System.err.println("Skipping. " + ex.getMessage());
+                continue;
+            } catch (OutOfMemoryError error) {
+                System.out.println(heapName + " does not fit in the " +
+                                   "memory. Skipping.");
+                continue;
+            }
+
+            PathFinder<W> finder = HeapFactory.isIndexed(heapName) ?
+                                   new IndexedDijkstraPathFinder<>(heap) :
+                                   new DijkstraPathFinder<>(heap);
+
+            try {
+                run(heapName,
+                    finder,
+                    weightType,
+                    graphData,
+                    arcs,
+                    searchTaskList,
+                    weight,
+                    settledNodes);
+            } catch (OutOfMemoryError error) {
+                System.out.println(heapName + " does not fit in the " +
+                                   "memory. Skipping.");
+            }
+        }
+    }
+
+    private <W extends Comparable<? super W>> void
+        run(String heapName,
+            PathFinder<W> finder,
+            String weightType,
+            Main.GraphData<W> graphData,
+            int arcs,
+            List<SearchTask> searchTaskList,
+            Weight<W> weight,
+            long settledNodes) {
+        int nodes = graphData.nodeList.size();
+
+        for (int i = 0; i < options.getWarmups(); ++i) {
+            run(finder, graphData, searchTaskList, weight);
+        }
+
+        for (int repetition = 1;
+                repetition <= options.getRepetitions();
+                ++repetition) {
+            ResourceMeter meter = ResourceMeter.start();
+            long startTime = System.nanoTime();
+            run(finder, graphData, searchTaskList, weight);
+            long endTime = System.nanoTime();
+            ResourceMeter.Usage usage = meter.stop();
+
+            BenchmarkRecord record =
+                    new BenchmarkRecord(heapName,
+                                        weightType,
+                                        nodes,
+                                        arcs,
+                                        options.getTasks(),
+                                        repetition,
+                                        options.getSeed(),
+                                        endTime - startTime,
+                                        usage,
+                                        settledNodes);
+            recordList.add(record);
+
+            System.out.println(String.format(
+                    "%s #%d in %d milliseconds, %.1f ns per settled " +
+                    "node, %s.",
+                    heapName,
+                    repetition,
+                    (endTime - startTime) / 1_000_000L,
+                    record.getNanosPerSettledNode(),
+                    usage));
+        }
+    }
+
+    /**
+     * Prints, for each weight type and density, the best nanoseconds per
+     * settled node of each heap at each graph size. The best heap at each size
+     * is marked with an asterisk, and a dash marks a heap that did not fit in
+     * the memory.
+     */
+    private void printScalingTables() {
+        Map<String, List<BenchmarkRecord>> tableMap = new LinkedHashMap<>();
+
+        for (BenchmarkRecord record : recordList) {
+            String title = record.getWeightType() + " weights, " +
+                           record.getArcs() / record.getNodes() +
+                           " arcs per node";
+            tableMap.computeIfAbsent(title, t -> new ArrayList<>())
+                    .add(record);
+        }
+
+        for (Map.Entry<String, List<BenchmarkRecord>> entry
+                : tableMap.entrySet()) {
+            System.out.println("*** ns per settled node, " + entry.getKey() +
+                               " ***");
+            printScalingTable(entry.getValue());
+        }
+    }
+
+    private static void printScalingTable(List<BenchmarkRecord> recordList) {
+        Map<String, Map<Integer, Double>> bestMap = new LinkedHashMap<>();
+        Map<Integer, Double> bestOfSizeMap = new TreeMap<>();
+        TreeSet<Integer> sizeSet = new TreeSet<>();
+        int heapNameWidth = "heap".length();
+
+        for (BenchmarkRecord record : recordList) {
+            double nanos = record.getNanosPerSettledNode();
+            sizeSet.add(record.getNodes());
+            heapNameWidth = Math.max(heapNameWidth,
+                                     record.getHeapName().length());
+            bestMap.computeIfAbsent(record.getHeapName(),
+                                    h -> new TreeMap<>())
+                   .merge(record.getNodes(), nanos, Math::min);
+            bestOfSizeMap.merge(record.getNodes(), nanos, Math::min);
+        }
+
+        StringBuilder sb = new StringBuilder(pad("heap", heapNameWidth));
+
+        for (int size : sizeSet) {
+            sb.append(String.format("%12d", size));
+        }
+
+        System.out.println(sb);
+
+        for (Map.Entry<String, Map<Integer, Double>> entry
+                : bestMap.entrySet()) {
+            sb = new StringBuilder(pad(entry.getKey(), heapNameWidth));
+
+            for (int size : sizeSet) {
+                Double nanos = entry.getValue().get(size);
+
+                if (nanos == null) {
+                    sb.append(String.format("%12s", "-"));
+                } else {
+                    sb.append(String.format(
+                            Locale.ROOT,
+                            "%11.1f%c",
+                            nanos,
+                            nanos.equals(bestOfSizeMap.get(size)) ?
+                                    '*' :
+                                    ' '));
+                }
+            }
+
+            System.out.println(sb);
+        }
+    }
+
+    private static String pad(String s, int width) {
+        StringBuilder sb = new StringBuilder(s);
+
+        while (sb.length() < width) {
+            sb.append(' ');
+        }
+
+        return sb.toString();
+    }
+
+    private List<String> getHeapNames(List<String> allHeapNames) {
+        return options.getHeapNames() == null ?
+               allHeapNames :
+               options.getHeapNames();
+    }
+
+    private static <W extends Comparable<? super W>> void
+        run(PathFinder<W> finder,
+            Main.GraphData<W> graphData,
+            List<SearchTask> searchTaskList,
+            Weight<W> weight) {
+        for (SearchTask searchTask : searchTaskList) {
+            finder.search(searchTask.getSource(),
+                          searchTask.getTarget(),
+                          graphData.weightFunction,
+                          weight);
+        }
+    }
+}
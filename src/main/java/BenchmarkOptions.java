@@ -0,0 +1,341 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the command line options of {@link BenchmarkCli}.
+ */
+public final class BenchmarkOptions {
+
+    static final String USAGE =
+        "Usage: java BenchmarkCli [options]\n" +
+        "  --nodes N[,N...]           graph sizes (default 10000)\n" +
+        "  --sweep FROM:TO[:STEPS]    geometric graph sizes from FROM to TO\n" +
+        "                             nodes, STEPS sizes per decade\n" +
+        "                             (default 1); implies --arcs-per-node 4\n" +
+        "                             unless given. Large sizes need a large\n" +
+        "                             -Xmx, such as -Xmx24g for 10000000\n" +
+        "  --arcs-per-node A[,A...]   densities (default 4,10,60)\n" +
+        "  --weights int,double       weight types (default int,double)\n" +
+        "  --heaps NAME[,NAME...]     heaps to run, such as DaryHeap:4\n" +
+        "                             or IndexedDaryHeap:4@ids, the latter\n" +
+        "                             indexing the nodes by their ids\n" +
+        "                             (default all heaps of a weight type)\n" +
+        "  --tasks T                  search tasks per graph (default 20)\n" +
+        "  --repetitions R            timed runs per heap (default 3)\n" +
+        "  --warmups W                untimed runs per heap (default 1)\n" +
+        "  --seed S                   random seed (default current time)\n" +
+        "  --csv FILE                 write the results as CSV\n" +
+        "  --json FILE                write the results as JSON\n" +
+        "  --trace FILE               replay a recorded heap trace on the\n" +
+        "                             heaps instead of searching graphs;\n" +
+        "                             the weight type comes from the trace\n" +
+        "  --indexed                  the trace was recorded through an\n" +
+        "                             indexed heap; replay it on the\n" +
+        "                             indexed heaps\n" +
+        "  --help                     print this message";
+
+    static final String INTEGER_WEIGHTS = "int";
+    static final String DOUBLE_WEIGHTS = "double";
+
+    private int[] nodes = { 10_000 };
+    private int[] arcsPerNode = { 4, 10, 60 };
+    private boolean arcsPerNodeGiven;
+    private boolean sweep;
+    private List<String> weightTypes =
+            Arrays.asList(INTEGER_WEIGHTS, DOUBLE_WEIGHTS);
+    private List<String> heapNames;
+    private int tasks = 20;
+    private int repetitions = 3;
+    private int warmups = 1;
+    private long seed = System.currentTimeMillis();
+    private String csvFile;
+    private String jsonFile;
+    private String traceFile;
+    private boolean indexed;
+    private boolean help;
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the command line arguments.
+     * @return the parsed options.
+     * @throws IllegalArgumentException if the arguments are malformed.
+     */
+    public static BenchmarkOptions parse(String[] args) {
+        BenchmarkOptions options = new BenchmarkOptions();
+
+        for (int i = 0; i < args.length; ++i) {
+            String option = args[i];
+
+            if (option.equals("--help")) {
+                options.help = true;
+                continue;
+            }
+
+            if (option.equals("--indexed")) {
+                options.indexed = true;
+                continue;
+            }
+
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException(
+                        "Missing the value of " + option + ".");
+            }
+
+            String value = args[++i];
+
+            switch (option) {
+                case "--nodes":
+                    options.nodes = parsePositiveInts(option, value);
+                    break;
+
+                case "--arcs-per-node":
+                    options.arcsPerNode = parsePositiveInts(option, value);
+                    options.arcsPerNodeGiven = true;
+                    break;
+
+                case "--sweep":
+                    options.nodes = parseSweep(option, value);
+                    options.sweep = true;
+                    break;
+
+                case "--weights":
+                    options.weightTypes = parseWeightTypes(value);
+                    break;
+
+                case "--heaps":
+                    options.heapNames = split(value);
+                    break;
+
+                case "--tasks":
+                    options.tasks = parsePositiveInt(option, value);
+                    break;
+
+                case "--repetitions":
+                    options.repetitions = parsePositiveInt(option, value);
+                    break;
+
+                case "--warmups":
+                    options.warmups = parseNonNegativeInt(option, value);
+                    break;
+
+                case "--seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+
+                case "--csv":
+                    options.csvFile = value;
+                    break;
+
+                case "--json":
+                    options.jsonFile = value;
+                    break;
+
+                case "--trace":
+                    options.traceFile = value;
+                    break;
+
+                default:
+                    throw new IllegalArgumentException(
+                            "Unknown option: " + option);
+            }
+        }
+
+        if (options.indexed && options.traceFile == null) {
+            throw new IllegalArgumentException(
+                    "--indexed is only meaningful with --trace.");
+        }
+
+        if (options.traceFile != null
+                && (options.csvFile != null || options.jsonFile != null)) {
+            throw new IllegalArgumentException(
+                    "The trace replays are not written as CSV or JSON.");
+        }
+
+        if (options.sweep && !options.arcsPerNodeGiven) {
+            options.arcsPerNode = new int[]{ 4 };
+        }
+
+        return options;
+    }
+
+    public int[] getNodes() {
+        return nodes.clone();
+    }
+
+    public int[] getArcsPerNode() {
+        return arcsPerNode.clone();
+    }
+
+    public List<String> getWeightTypes() {
+        return Collections.unmodifiableList(weightTypes);
+    }
+
+    /**
+     * Returns the requested heap names, or {@code null} if all the heaps are
+     * requested.
+     */
+    public List<String> getHeapNames() {
+        return heapNames == null ?
+               null :
+               Collections.unmodifiableList(heapNames);
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public int getWarmups() {
+        return warmups;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getCsvFile() {
+        return csvFile;
+    }
+
+    public String getJsonFile() {
+        return jsonFile;
+    }
+
+    /**
+     * Returns the trace file to replay, or {@code null} if the graphs are
+     * searched instead.
+     */
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * Returns {@code true} if the trace was recorded through an indexed heap.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Returns {@code true} if the graph sizes come from {@code --sweep}.
+     */
+    public boolean isSweep() {
+        return sweep;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    private static List<String> split(String value) {
+        List<String> list = new ArrayList<>();
+
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                list.add(item.trim());
+            }
+        }
+
+        return list;
+    }
+
+    private static List<String> parseWeightTypes(String value) {
+        List<String> weightTypes = split(value);
+
+        for (String weightType : weightTypes) {
+            if (!weightType.equals(INTEGER_WEIGHTS)
+                    && !weightType.equals(DOUBLE_WEIGHTS)) {
+                throw new IllegalArgumentException(
+                        "Unknown weight type: " + weightType);
+            }
+        }
+
+        return weightTypes;
+    }
+
+    private static int[] parsePositiveInts(String option, String value) {
+        List<String> items = split(value);
+        int[] ints = new int[items.size()];
+
+        for (int i = 0; i < ints.length; ++i) {
+            ints[i] = parsePositiveInt(option, items.get(i));
+        }
+
+        return ints;
+    }
+
+    /**
+     * Parses {@code FROM:TO[:STEPS]} into the graph sizes
+     * FROM * 10^(i / STEPS) not exceeding TO, for i = 0, 1, 2, ...
+     */
+    private static int[] parseSweep(String option, String value) {
+        String[] parts = value.split(":");
+
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException(
+                    "The value of " + option + " must be FROM:TO[:STEPS]: " +
+                    value);
+        }
+
+        int from = parsePositiveInt(option, parts[0]);
+        int to = parsePositiveInt(option, parts[1]);
+        int steps = parts.length == 3 ? parsePositiveInt(option, parts[2]) : 1;
+
+        if (from > to) {
+            throw new IllegalArgumentException(
+                    "FROM exceeds TO in " + option + ": " + value);
+        }
+
+        List<Integer> sizeList = new ArrayList<>();
+
+        for (int i = 0; ; ++i) {
+            long size = Math.round(from * Math.pow(10.0, (double) i / steps));
+
+            if (size > to) {
+                break;
+            }
+
+            if (sizeList.isEmpty()
+                    || sizeList.get(sizeList.size() - 1) != size) {
+                sizeList.add((int) size);
+            }
+        }
+
+        int[] sizes = new int[sizeList.size()];
+
+        for (int i = 0; i < sizes.length; ++i) {
+            sizes[i] = sizeList.get(i);
+        }
+
+        return sizes;
+    }
+
+    private static int parsePositiveInt(String option, String value) {
+        int i = Integer.parseInt(value.replace("_", ""));
+
+        if (i <= 0) {
+            throw new IllegalArgumentException(
+                    "The value of " + option + " must be positive: " + value);
+        }
+
+        return i;
+    }
+
+    private static int parseNonNegativeInt(String option, String value) {
+        int i = Integer.parseInt(value);
+
+        if (i < 0) {
+            throw new IllegalArgumentException(
+                    "The value of " + option + " must not be negative: " +
+                    value);
+        }
+
+        return i;
+    }
+}
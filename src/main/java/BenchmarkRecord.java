@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Holds the result of a single timed run of {@link BenchmarkCli}, and writes
+ * the results as CSV or JSON.
+ */
+public final class BenchmarkRecord {
+
+    private static final String[] COLUMNS = {
+        "heap",
+        "weightType",
+        "nodes",
+        "arcs",
+        "tasks",
+        "repetition",
+        "seed",
+        "elapsedNanos",
+        "allocatedBytes",
+        "garbageCollections",
+        "garbageCollectionMillis",
+        "peakRetainedHeapBytes",
+        "peakHeapFootprintBytes",
+        "settledNodes",
+        "nanosPerSettledNode",
+    };
+
+    private final String heapName;
+    private final String weightType;
+    private final int nodes;
+    private final int arcs;
+    private final int tasks;
+    private final int repetition;
+    private final long seed;
+    private final long elapsedNanos;
+    private final ResourceMeter.Usage usage;
+    private final long settledNodes;
+
+    public BenchmarkRecord(String heapName,
+                           String weightType,
+                           int nodes,
+                           int arcs,
+                           int tasks,
+                           int repetition,
+                           long seed,
+                           long elapsedNanos,
+                           ResourceMeter.Usage usage,
+                           long settledNodes) {
+        this.heapName = heapName;
+        this.weightType = weightType;
+        this.nodes = nodes;
+        this.arcs = arcs;
+        this.tasks = tasks;
+        this.repetition = repetition;
+        this.seed = seed;
+        this.elapsedNanos = elapsedNanos;
+        this.usage = usage;
+        this.settledNodes = settledNodes;
+    }
+
+    public String getHeapName() {
+        return heapName;
+    }
+
+    public String getWeightType() {
+        return weightType;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public int getArcs() {
+        return arcs;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    /**
+     * Returns the running time divided by the number of nodes settled by the
+     * searches, or 0 if no nodes were settled.
+     */
+    public double getNanosPerSettledNode() {
+        return settledNodes == 0L ?
+               0.0 :
+               (double) elapsedNanos / settledNodes;
+    }
+
+    public static void writeCsv(List<BenchmarkRecord> recordList,
+                                String fileName) throws IOException {
+        try (PrintWriter out = createWriter(fileName)) {
+            out.println(String.join(",", COLUMNS));
+
+            for (BenchmarkRecord record : recordList) {
+                Object[] values = record.getValues();
+                StringBuilder sb = new StringBuilder();
+
+                for (int i = 0; i < values.length; ++i) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+
+                    sb.append(values[i] instanceof String ?
+                              quoteCsv((String) values[i]) :
+                              String.valueOf(values[i]));
+                }
+
+                out.println(sb);
+            }
+        }
+    }
+
+    public static void writeJson(List<BenchmarkRecord> recordList,
+                                 String fileName) throws IOException {
+        try (PrintWriter out = createWriter(fileName)) {
+            out.println("[");
+
+            for (int r = 0; r < recordList.size(); ++r) {
+                Object[] values = recordList.get(r).getValues();
+                StringBuilder sb = new StringBuilder("  {");
+
+                for (int i = 0; i < values.length; ++i) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+
+                    sb.append(quoteJson(COLUMNS[i])).append(": ");
+                    sb.append(values[i] instanceof String ?
+                              quoteJson((String) values[i]) :
+                              String.valueOf(values[i]));
+                }
+
+                sb.append(r < recordList.size() - 1 ? "}," : "}");
+                out.println(sb);
+            }
+
+            out.println("]");
+        }
+    }
+
+    private Object[] getValues() {
+        return new Object[] {
+            heapName,
+            weightType,
+            nodes,
+            arcs,
+            tasks,
+            repetition,
+            seed,
+            elapsedNanos,
+            usage.getAllocatedBytes(),
+            usage.getGarbageCollections(),
+            usage.getGarbageCollectionMillis(),
+            usage.getPeakRetainedHeapBytes(),
+            usage.getPeakHeapFootprintBytes(),
+            settledNodes,
+            getNanosPerSettledNode(),
+        };
+    }
+
+    private static PrintWriter createWriter(String fileName)
+            throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(Paths.get(fileName),
+                                                       StandardCharsets.UTF_8));
+    }
+
+    private static String quoteCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String quoteJson(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,131 @@
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.ContractionHierarchy;
+import fi.helsinki.coderodde.searchheapbenchmark.support.ContractionHierarchyPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ContractionHierarchyBenchmark {
+
+    private final List<DirectedGraphNode> nodeList;
+    private final List<SearchTask> searchTaskList;
+    private final List<List<List<DirectedGraphNode>>> resultCollectorList =
+            new ArrayList<>();
+
+    private final DirectedGraphWeightFunction<Double> weightFunction;
+    private final DoubleWeight weight = new DoubleWeight();
+
+    public ContractionHierarchyBenchmark(
+            List<DirectedGraphNode> nodeList,
+            List<SearchTask> searchTaskList,
+            DirectedGraphWeightFunction<Double> weightFunction) {
+        this.nodeList = nodeList;
+        this.searchTaskList = searchTaskList;
+        this.weightFunction = weightFunction;
+    }
+
+    public void run() {
+        //// Baseline ////
+        benchmark(new DijkstraPathFinder<>(
+                          new BinaryHeap<DirectedGraphNode, Double>()),
+                  "Dijkstra, BinaryHeap");
+
+        //// Preprocessing ////
+        // The preprocessing is dominated by the witness searches, so only a
+        // handful of witness search heaps are tried.
+        ContractionHierarchy<Double> hierarchy = null;
+
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                Arrays.<PriorityQueue<DirectedGraphNode, Double>>asList(
+                        new IndexedBinaryHeap<>(),
+                        new IndexedDaryHeap<>(4),
+                        new IndexedPairingHeap<>(),
+                        new IndexedFibonacciHeap<>())) {
+            ResourceMeter meter = ResourceMeter.start();
+            long startTime = System.currentTimeMillis();
+            hierarchy = new ContractionHierarchy<>(nodeList,
+                                                   weightFunction,
+                                                   weight,
+                                                   new IndexedBinaryHeap<>(),
+                                                   heap);
+            long endTime = System.currentTimeMillis();
+
+            System.out.println("CH preprocessing, " + heap + " in " +
+                               (endTime - startTime) + " milliseconds, " +
+                               hierarchy.getNumberOfShortcuts() +
+                               " shortcuts, " + meter.stop() + ".");
+        }
+
+        //// Queries ////
+        List<PriorityQueue<DirectedGraphNode, Double>> forwardHeapList =
+                DoubleWeightBenchmark.createIndexedHeaps();
+        List<PriorityQueue<DirectedGraphNode, Double>> backwardHeapList =
+                DoubleWeightBenchmark.createIndexedHeaps();
+
+        for (int i = 0; i < forwardHeapList.size(); ++i) {
+            // Warm up.
+            run(new ContractionHierarchyPathFinder<>(
+                    hierarchy,
+                    forwardHeapList.get(i),
+                    backwardHeapList.get(i)));
+        }
+
+        for (int i = 0; i < forwardHeapList.size(); ++i) {
+            benchmark(new ContractionHierarchyPathFinder<>(
+                              hierarchy,
+                              forwardHeapList.get(i),
+                              backwardHeapList.get(i)),
+                      "CH query, " + forwardHeapList.get(i));
+        }
+
+        System.out.println("Algorithms/heaps agree: " + samePaths());
+    }
+
+    private List<List<DirectedGraphNode>> run(PathFinder<Double> finder) {
+        List<List<DirectedGraphNode>> shortestPathList =
+                new ArrayList<>(searchTaskList.size());
+
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(),
+                                               weightFunction,
+                                               weight));
+        }
+
+        return shortestPathList;
+    }
+
+    private void benchmark(PathFinder<Double> finder, String name) {
+        // The queries are too fast for milliseconds.
+        ResourceMeter meter = ResourceMeter.start();
+        long startTime = System.nanoTime();
+        List<List<DirectedGraphNode>> shortestPathList = run(finder);
+        long endTime = System.nanoTime();
+
+        System.out.println(name + " in " + (endTime - startTime) / 1000 +
+                           " microseconds, " + meter.stop() + ".");
+
+        resultCollectorList.add(shortestPathList);
+    }
+
+    private boolean samePaths() {
+        for (int i = 0; i < resultCollectorList.size() - 1; ++i) {
+            if (!resultCollectorList.get(i)
+                    .equals(resultCollectorList.get(i + 1))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
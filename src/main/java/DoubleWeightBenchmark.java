@@ -1,29 +1,57 @@
 
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.DoubleCSRGraph;
 import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.DoublePriorityQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.CalendarQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleRadixHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
 import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HollowHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedCalendarQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleRadixHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedHollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedLadderQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPrimitiveDoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedStrictFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedWeakHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LadderQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PrimitiveDoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.SequenceHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.WeakHeap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 public final class DoubleWeightBenchmark {
 
@@ -32,59 +60,254 @@ public final class DoubleWeightBenchmark {
             new ArrayList<>();
     
     private final DirectedGraphWeightFunction<Double> weightFunction;
+    private final DoubleCSRGraph csrGraph;
     private final DoubleWeight weight = new DoubleWeight();
     
     public DoubleWeightBenchmark
         (List<SearchTask> searchTaskList,
-         DirectedGraphWeightFunction<Double> weightFunction) {
+         DirectedGraphWeightFunction<Double> weightFunction,
+         DoubleCSRGraph csrGraph) {
         this.searchTaskList = searchTaskList;
         this.weightFunction = weightFunction;
+        this.csrGraph = csrGraph;
     }
     
     public void run() {
         //// Unindexed heaps ////
-        benchmarkUnindexed(new BinaryHeap<>());
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createUnindexedHeaps()) {
+            benchmarkUnindexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Unindexed heaps, pooled nodes ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createPooledHeaps()) {
+            benchmarkUnindexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Indexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps()) {
+            benchmarkIndexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Indexed heaps, id arrays ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(DirectedGraphNode::getId)) {
+            benchmarkIndexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Unindexed heaps, bidirectional search ////
+        List<PriorityQueue<DirectedGraphNode, Double>> backwardHeaps = 
+                createUnindexedHeaps();
+        List<PriorityQueue<DirectedGraphNode, Double>> forwardHeaps = 
+                createUnindexedHeaps();
+        
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            benchmark(new BidirectionalDijkstraPathFinder<>(
+                              forwardHeaps.get(i),
+                              backwardHeaps.get(i)),
+                      forwardHeaps.get(i));
+        }
+        
+        //// Indexed heaps, bidirectional search ////
+        backwardHeaps = createIndexedHeaps();
+        forwardHeaps = createIndexedHeaps();
+        
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            benchmark(new IndexedBidirectionalDijkstraPathFinder<>(
+                              forwardHeaps.get(i),
+                              backwardHeaps.get(i)),
+                      forwardHeaps.get(i));
+        }
+        
+        //// Unindexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Double> heap :
+                DoubleWeightBenchmark.<Integer>createUnindexedHeaps()) {
+            benchmark(new DoubleCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+        }
+        
+        //// Indexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Double> heap :
+                DoubleWeightBenchmark.<Integer>createIndexedHeaps()) {
+            benchmark(new IndexedDoubleCSRDijkstraPathFinder(csrGraph, heap),
+                      heap.toString());
+        }
+        
+        //// Multi-level bucket heaps with calibers, CSR graph ////
+        double[] calibers = csrGraph.getCalibers();
+        
+        for (int levels : new int[]{ 4, 6, 8 }) {
+            PriorityQueue<Integer, Double> heap = 
+                    new DoubleMultiLevelBucketHeap<>(
+                            levels, 
+                            nodeId -> calibers[nodeId]);
+            benchmark(new DoubleCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+            
+            heap = new IndexedDoubleMultiLevelBucketHeap<>(
+                    levels, 
+                    nodeId -> calibers[nodeId],
+                    null);
+            benchmark(new IndexedDoubleCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+        }
+        
+        //// Primitive heaps, CSR graph ////
+        for (DoublePriorityQueue heap : createPrimitiveUnindexedHeaps()) {
+            benchmark(new PrimitiveDoubleCSRDijkstraPathFinder(csrGraph, heap),
+                      heap.toString());
+        }
+        
+        //// Indexed primitive heaps, CSR graph ////
+        for (DoublePriorityQueue heap : createPrimitiveIndexedHeaps()) {
+            CSRPathFinder finder =
+                    new IndexedPrimitiveDoubleCSRDijkstraPathFinder(csrGraph,
+                                                                    heap);
+            benchmark(finder, heap.toString());
+        }
+        
+        System.out.println("Algorithms/heaps agree: " + samePaths());
+    }
+    
+    static <E> List<PriorityQueue<E, Double>> createUnindexedHeaps() {
+        List<PriorityQueue<E, Double>> heapList = new ArrayList<>();
+        heapList.add(new BinaryHeap<>());
         
         for (int degree = 2; degree <= 10; ++degree) {
-            benchmarkUnindexed(new DaryHeap<>(degree));
+            heapList.add(new DaryHeap<>(degree));
         }
         
-        benchmarkUnindexed(new BinomialHeap<>());
-        benchmarkUnindexed(new FibonacciHeap<>());
-        benchmarkUnindexed(new PairingHeap<>());
+        heapList.add(new BinaryHeap<>(true));
+        
+        for (int degree : new int[]{ 4, 8 }) {
+            heapList.add(new DaryHeap<>(degree, true));
+        }
+        
+        heapList.add(new WeakHeap<>());
+        heapList.add(new BinomialHeap<>());
+        heapList.add(new FibonacciHeap<>());
+        heapList.add(new PairingHeap<>());
+        heapList.add(new HollowHeap<>());
+        heapList.add(new RankPairingHeap<>());
+        heapList.add(new SequenceHeap<>());
         
         for (double range : new double[] { 0.1, 0.2, 0.3 }) {
-            benchmarkUnindexed(new DoubleDialsHeap<>(range));
+            heapList.add(new DoubleDialsHeap<>(range));
         }
         
-        benchmarkUnindexed(new AVLTreeHeap<>());
+        heapList.add(new CalendarQueue<>());
+        heapList.add(new LadderQueue<>());
+        heapList.add(new DoubleRadixHeap<>());
+        
+        for (int levels : new int[]{ 4, 6, 8 }) {
+            heapList.add(new DoubleMultiLevelBucketHeap<>(levels));
+        }
+        
+        heapList.add(new AVLTreeHeap<>());
         
         for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            benchmarkUnindexed(new BTreeHeap<>(minimumDegree));
+            heapList.add(new BTreeHeap<>(minimumDegree));
         }
         
-        //// Indexed heaps ////
-        benchmarkIndexed(new IndexedBinaryHeap<>());
+        return heapList;
+    }
+    
+    /**
+     * Creates the node-based unindexed heaps in the mode recycling their 
+     * nodes.
+     */
+    static <E> List<PriorityQueue<E, Double>> createPooledHeaps() {
+        List<PriorityQueue<E, Double>> heapList = new ArrayList<>();
+        heapList.add(new BinomialHeap<>(true));
+        heapList.add(new FibonacciHeap<>(true));
+        heapList.add(new PairingHeap<>(true));
+        heapList.add(new AVLTreeHeap<>(true));
+        
+        for (int minimumDegree : new int[]{ 32, 64, 128 }) {
+            heapList.add(new BTreeHeap<>(minimumDegree, true));
+        }
+        
+        return heapList;
+    }
+    
+    static <E> List<PriorityQueue<E, Double>> createIndexedHeaps() {
+        return createIndexedHeaps(null);
+    }
+    
+    /**
+     * Creates the indexed heaps, indexing the elements by the ids given by
+     * {@code idFunction}, or by hash maps if {@code idFunction} is 
+     * {@code null}.
+     */
+    static <E> List<PriorityQueue<E, Double>> 
+        createIndexedHeaps(ToIntFunction<? super E> idFunction) {
+        List<PriorityQueue<E, Double>> heapList = new ArrayList<>();
+        heapList.add(new IndexedBinaryHeap<>(idFunction));
         
         for (int degree = 2; degree <= 10; ++degree) {
-            benchmarkIndexed(new IndexedDaryHeap<>(degree));
+            heapList.add(new IndexedDaryHeap<>(degree, idFunction));
+        }
+        
+        heapList.add(new IndexedBinaryHeap<>(true, idFunction));
+        
+        for (int degree : new int[]{ 4, 8 }) {
+            heapList.add(new IndexedDaryHeap<>(degree, true, idFunction));
         }
         
-        benchmarkIndexed(new IndexedBinomialHeap<>());
-        benchmarkIndexed(new IndexedFibonacciHeap<>());
-        benchmarkIndexed(new IndexedPairingHeap<>());
+        heapList.add(new IndexedWeakHeap<>(idFunction));
+        heapList.add(new IndexedBinomialHeap<>(idFunction));
+        heapList.add(new IndexedFibonacciHeap<>(idFunction));
+        heapList.add(new IndexedPairingHeap<>(idFunction));
+        heapList.add(new IndexedHollowHeap<>(idFunction));
+        heapList.add(new IndexedRankPairingHeap<>(idFunction));
+        heapList.add(new IndexedStrictFibonacciHeap<>(idFunction));
         
         for (double range : new double[] { 0.1, 0.2, 0.3 }) {
-            benchmarkIndexed(new IndexedDoubleDialsHeap<>(range));
+            heapList.add(new IndexedDoubleDialsHeap<>(range, idFunction));
+        }
+        
+        heapList.add(new IndexedCalendarQueue<>(idFunction));
+        heapList.add(new IndexedLadderQueue<>(idFunction));
+        heapList.add(new IndexedDoubleRadixHeap<>(idFunction));
+        
+        for (int levels : new int[]{ 4, 6, 8 }) {
+            heapList.add(new IndexedDoubleMultiLevelBucketHeap<>(levels,
+                                                                 idFunction));
         }
         
-        benchmarkIndexed(new IndexedAVLTreeHeap<>());
+        heapList.add(new IndexedAVLTreeHeap<>(idFunction));
         
         for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            benchmarkIndexed(new IndexedBTreeHeap<>(minimumDegree));
+            heapList.add(new IndexedBTreeHeap<>(minimumDegree, idFunction));
         }
         
-        System.out.println("Algorithms/heaps agree: " + samePaths());
+        return heapList;
+    }
+    
+    static List<DoublePriorityQueue> createPrimitiveUnindexedHeaps() {
+        List<DoublePriorityQueue> heapList = new ArrayList<>();
+        
+        for (int degree = 2; degree <= 10; ++degree) {
+            heapList.add(new DoubleDaryHeap(degree));
+        }
+        
+        return heapList;
+    }
+    
+    static List<DoublePriorityQueue> createPrimitiveIndexedHeaps() {
+        List<DoublePriorityQueue> heapList = new ArrayList<>();
+        
+        for (int degree = 2; degree <= 10; ++degree) {
+            heapList.add(new IndexedDoubleDaryHeap(degree));
+        }
+        
+        return heapList;
     }
     
     private void benchmarkUnindexed
@@ -94,6 +317,9 @@ public final class DoubleWeightBenchmark {
         
         PathFinder<Double> finder = new DijkstraPathFinder<>(heap);
         
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
         long startTime = System.currentTimeMillis();
         
         for (SearchTask searchTask : searchTaskList) {
@@ -106,7 +332,8 @@ public final class DoubleWeightBenchmark {
         long endTime = System.currentTimeMillis();
         
         System.out.println(heap.toString() + " in " + (endTime - startTime) + 
-                           " milliseconds.");
+                           " milliseconds, " + meter.stop() + ".");
+        HeapCounterReport.print(heap);
         
         resultCollectorList.add(shortestPathList);
     }
@@ -118,6 +345,9 @@ public final class DoubleWeightBenchmark {
         
         PathFinder<Double> finder = new IndexedDijkstraPathFinder<>(heap);
         
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
         long startTime = System.currentTimeMillis();
         
         for (SearchTask searchTask : searchTaskList) {
@@ -130,7 +360,57 @@ public final class DoubleWeightBenchmark {
         long endTime = System.currentTimeMillis();
         
         System.out.println(heap.toString() + " in " + (endTime - startTime) + 
-                           " milliseconds.");
+                           " milliseconds, " + meter.stop() + ".");
+        HeapCounterReport.print(heap);
+        
+        resultCollectorList.add(shortestPathList);
+    }
+        
+    private void benchmark(PathFinder<Double> finder, 
+                           PriorityQueue<DirectedGraphNode, Double> heap) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
+        long startTime = System.currentTimeMillis();
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(), 
+                                               weightFunction, 
+                                               weight));
+        }
+                
+        long endTime = System.currentTimeMillis();
+        
+        System.out.println("Bidirectional, " + heap.toString() + " in " + 
+                           (endTime - startTime) + " milliseconds, " + 
+                           meter.stop() + ".");
+        HeapCounterReport.print(heap);
+        
+        resultCollectorList.add(shortestPathList);
+    }
+        
+    private void benchmark(CSRPathFinder finder, String heapName) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        ResourceMeter meter = ResourceMeter.start();
+        
+        long startTime = System.currentTimeMillis();
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget()));
+        }
+                
+        long endTime = System.currentTimeMillis();
+        
+        System.out.println("DoubleCSRGraph, " + heapName + " in " + 
+                           (endTime - startTime) + " milliseconds, " + 
+                           meter.stop() + ".");
         
         resultCollectorList.add(shortestPathList);
     }
@@ -1,27 +1,22 @@
 
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.DoubleCSRGraph;
 import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.DoublePriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
-import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleMultiLevelBucketHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
-import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleDialsHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPrimitiveDoubleCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PrimitiveDoubleCSRDijkstraPathFinder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,56 +25,108 @@ public final class DoubleWeightWarmup {
 
     private final List<SearchTask> searchTaskList;
     private final DirectedGraphWeightFunction<Double> weightFunction;
+    private final DoubleCSRGraph csrGraph;
     private final DoubleWeight weight = new DoubleWeight();
     
     public DoubleWeightWarmup
         (List<SearchTask> searchTaskList,
-         DirectedGraphWeightFunction<Double> weightFunction) {
+         DirectedGraphWeightFunction<Double> weightFunction,
+         DoubleCSRGraph csrGraph) {
         this.searchTaskList = searchTaskList;
         this.weightFunction = weightFunction;
+        this.csrGraph = csrGraph;
     }
     
     public void run() {
         //// Unindexed heaps ////
-        warmupUnindexed(new BinaryHeap<>());
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createUnindexedHeaps()) {
+            warmupUnindexed(heap);
+        }
         
-        for (int degree = 2; degree <= 10; ++degree) {
-            warmupUnindexed(new DaryHeap<>(degree));
+        //// Unindexed heaps, pooled nodes ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createPooledHeaps()) {
+            warmupUnindexed(heap);
         }
         
-        warmupUnindexed(new BinomialHeap<>());
-        warmupUnindexed(new FibonacciHeap<>());
-        warmupUnindexed(new PairingHeap<>());
+        //// Indexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps()) {
+            warmupIndexed(heap);
+        }
         
-        for (double range : new double[] { 0.1, 0.2, 0.3 }) {
-            warmupUnindexed(new DoubleDialsHeap<>(range));
+        //// Indexed heaps, id arrays ////
+        for (PriorityQueue<DirectedGraphNode, Double> heap :
+                DoubleWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(DirectedGraphNode::getId)) {
+            warmupIndexed(heap);
         }
         
-        warmupUnindexed(new AVLTreeHeap<>());
+        //// Unindexed heaps, bidirectional search ////
+        List<PriorityQueue<DirectedGraphNode, Double>> backwardHeaps = 
+                DoubleWeightBenchmark.createUnindexedHeaps();
+        List<PriorityQueue<DirectedGraphNode, Double>> forwardHeaps = 
+                DoubleWeightBenchmark.createUnindexedHeaps();
         
-        for (int minimumDegree : new int[] {32, 64, 128 }) {
-            warmupUnindexed(new BTreeHeap<>(minimumDegree));
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            warmup(new BidirectionalDijkstraPathFinder<>(forwardHeaps.get(i),
+                                                         backwardHeaps.get(i)));
         }
         
-        //// Indexed heaps ////
-        warmupIndexed(new IndexedBinaryHeap<>());
+        //// Indexed heaps, bidirectional search ////
+        backwardHeaps = DoubleWeightBenchmark.createIndexedHeaps();
+        forwardHeaps = DoubleWeightBenchmark.createIndexedHeaps();
+        
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            warmup(new IndexedBidirectionalDijkstraPathFinder<>(
+                           forwardHeaps.get(i),
+                           backwardHeaps.get(i)));
+        }
+        
+        //// Unindexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Double> heap :
+                DoubleWeightBenchmark.<Integer>createUnindexedHeaps()) {
+            warmup(new DoubleCSRDijkstraPathFinder(csrGraph, heap));
+        }
         
-        for (int degree = 2; degree <= 10; ++degree) {
-            warmupIndexed(new IndexedDaryHeap<>(degree));
+        //// Indexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Double> heap :
+                DoubleWeightBenchmark.<Integer>createIndexedHeaps()) {
+            warmup(new IndexedDoubleCSRDijkstraPathFinder(csrGraph, heap));
         }
         
-        warmupIndexed(new IndexedBinomialHeap<>());
-        warmupIndexed(new IndexedFibonacciHeap<>());
-        warmupIndexed(new IndexedPairingHeap<>());
+        //// Multi-level bucket heaps with calibers, CSR graph ////
+        double[] calibers = csrGraph.getCalibers();
         
-        for (double range : new double[] { 0.1, 0.2, 0.3 }) {
-            warmupIndexed(new IndexedDoubleDialsHeap<>(range));
+        for (int levels : new int[]{ 4, 6, 8 }) {
+            warmup(new DoubleCSRDijkstraPathFinder(
+                    csrGraph, 
+                    new DoubleMultiLevelBucketHeap<>(
+                            levels, 
+                            nodeId -> calibers[nodeId])));
+            warmup(new IndexedDoubleCSRDijkstraPathFinder(
+                    csrGraph,
+                    new IndexedDoubleMultiLevelBucketHeap<>(
+                            levels, 
+                            nodeId -> calibers[nodeId],
+                            null)));
         }
         
-        warmupIndexed(new IndexedAVLTreeHeap<>());
+        //// Primitive heaps, CSR graph ////
+        for (DoublePriorityQueue heap :
+                DoubleWeightBenchmark.createPrimitiveUnindexedHeaps()) {
+            warmup(new PrimitiveDoubleCSRDijkstraPathFinder(csrGraph, heap));
+        }
         
-        for (int minimumDegree : new int[] {32, 64, 128 }) {
-            warmupIndexed(new IndexedBTreeHeap<>(minimumDegree));
+        //// Indexed primitive heaps, CSR graph ////
+        for (DoublePriorityQueue heap :
+                DoubleWeightBenchmark.createPrimitiveIndexedHeaps()) {
+            warmup(new IndexedPrimitiveDoubleCSRDijkstraPathFinder(csrGraph,
+                                                                    heap));
         }
     }
     
@@ -112,4 +159,26 @@ public final class DoubleWeightWarmup {
                                                weight));
         }
     }
+    
+    private void warmup(PathFinder<Double> finder) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(), 
+                                               weightFunction, 
+                                               weight));
+        }
+    }
+    
+    private void warmup(CSRPathFinder finder) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget()));
+        }
+    }
 }
@@ -0,0 +1,69 @@
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HeapCounters;
+import fi.helsinki.coderodde.searchheapbenchmark.support.InstrumentedPriorityQueue;
+
+/**
+ * Prints the heap operation counters and the worst-case operation latencies
+ * next to the benchmark timings. Does nothing unless the counters are
+ * enabled, see {@link HeapCounters}, or the latencies are enabled by running
+ * with {@code -Dsearchheapbenchmark.latencies=true}.
+ */
+public final class HeapCounterReport {
+
+    private static final boolean LATENCIES_ENABLED =
+            Boolean.getBoolean("searchheapbenchmark.latencies");
+
+    private HeapCounterReport() {}
+
+    /**
+     * Wraps {@code heap} into an {@link InstrumentedPriorityQueue} if the
+     * counters or the latencies are enabled, and returns it as is otherwise.
+     */
+    public static <E, P extends Comparable<? super P>> PriorityQueue<E, P>
+        instrument(PriorityQueue<E, P> heap) {
+        return HeapCounters.ENABLED || LATENCIES_ENABLED ?
+               new InstrumentedPriorityQueue<>(heap, LATENCIES_ENABLED) :
+               heap;
+    }
+
+    public static void start() {
+        if (HeapCounters.ENABLED) {
+            HeapCounters.reset();
+        }
+    }
+
+    /**
+     * Prints the counters gathered since {@link #start()}. The operation
+     * counts and the latencies are included if {@code heap} was returned by
+     * {@link #instrument(PriorityQueue)}.
+     */
+    public static void print(PriorityQueue<?, ?> heap) {
+        if (!HeapCounters.ENABLED && !LATENCIES_ENABLED) {
+            return;
+        }
+
+        InstrumentedPriorityQueue<?, ?> instrumentedHeap =
+                heap instanceof InstrumentedPriorityQueue ?
+                (InstrumentedPriorityQueue<?, ?>) heap :
+                null;
+
+        if (HeapCounters.ENABLED) {
+            String operationSummary = instrumentedHeap == null ?
+                                      "" :
+                                      instrumentedHeap.getSummary() + ", ";
+
+            System.out.println("    " + operationSummary +
+                               HeapCounters.getSummary() + ".");
+        }
+
+        if (instrumentedHeap != null) {
+            if (LATENCIES_ENABLED) {
+                System.out.println("    " +
+                                   instrumentedHeap.getLatencySummary() +
+                                   ".");
+            }
+
+            instrumentedHeap.resetCounters();
+        }
+    }
+}
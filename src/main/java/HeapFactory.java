@@ -0,0 +1,435 @@
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.CalendarQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedCalendarQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDoubleRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedHollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedLadderQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedStrictFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedVanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedWeakHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LadderQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.MultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.SequenceHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.VanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.WeakHeap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Creates heaps by name. A heap name is the simple class name of the heap,
+ * optionally followed by a colon and the constructor argument, such as
+ * {@code DaryHeap:4} or {@code DoubleDialsHeap:0.2}. The names starting with
+ * {@code Indexed} denote indexed heaps. An indexed heap name may end with
+ * {@code @ids}, such as {@code IndexedDaryHeap:4@ids}, in which case the heap
+ * indexes the elements by their ids in an array instead of a hash map.
+ */
+public final class HeapFactory {
+
+    private static final String ID_SUFFIX = "@ids";
+
+    private static final List<String> COMMON_HEAP_NAMES =
+            Collections.unmodifiableList(Arrays.asList(
+                    "BinaryHeap",
+                    "DaryHeap:2",
+                    "DaryHeap:3",
+                    "DaryHeap:4",
+                    "DaryHeap:5",
+                    "DaryHeap:6",
+                    "DaryHeap:7",
+                    "DaryHeap:8",
+                    "DaryHeap:9",
+                    "DaryHeap:10",
+                    "BinomialHeap",
+                    "FibonacciHeap",
+                    "PairingHeap",
+                    "HollowHeap",
+                    "RankPairingHeap",
+                    "WeakHeap",
+                    "AVLTreeHeap",
+                    "BTreeHeap:32",
+                    "BTreeHeap:64",
+                    "BTreeHeap:128"));
+
+    /**
+     * The names of the heaps that have no unindexed variant.
+     */
+    private static final List<String> INDEXED_ONLY_HEAP_NAMES =
+            Collections.unmodifiableList(Arrays.asList(
+                    "IndexedStrictFibonacciHeap"));
+
+    /**
+     * The names of the heaps that have no indexed variant.
+     */
+    private static final List<String> UNINDEXED_ONLY_HEAP_NAMES =
+            Collections.unmodifiableList(Arrays.asList(
+                    "SequenceHeap"));
+
+    private static final List<String> INTEGER_HEAP_NAMES =
+            Collections.unmodifiableList(withIndexedVariants(
+                    COMMON_HEAP_NAMES,
+                    "IntegerDialsHeap",
+                    "RadixHeap",
+                    "MultiLevelBucketHeap:2",
+                    "MultiLevelBucketHeap:3",
+                    "MultiLevelBucketHeap:4",
+                    "VanEmdeBoasTreeHeap"));
+
+    private static final List<String> DOUBLE_HEAP_NAMES =
+            Collections.unmodifiableList(withIndexedVariants(
+                    COMMON_HEAP_NAMES,
+                    "DoubleDialsHeap:0.1",
+                    "DoubleDialsHeap:0.2",
+                    "DoubleDialsHeap:0.3",
+                    "CalendarQueue",
+                    "LadderQueue",
+                    "DoubleRadixHeap",
+                    "DoubleMultiLevelBucketHeap:4",
+                    "DoubleMultiLevelBucketHeap:6",
+                    "DoubleMultiLevelBucketHeap:8"));
+
+    private HeapFactory() {}
+
+    /**
+     * Returns the names of all the heaps supporting integer priorities.
+     */
+    public static List<String> getIntegerHeapNames() {
+        return INTEGER_HEAP_NAMES;
+    }
+
+    /**
+     * Returns the names of all the heaps supporting real priorities.
+     */
+    public static List<String> getDoubleHeapNames() {
+        return DOUBLE_HEAP_NAMES;
+    }
+
+    public static boolean isIndexed(String heapName) {
+        return heapName.startsWith("Indexed");
+    }
+
+    /**
+     * Creates a heap with integer priorities.
+     *
+     * @param heapName    the name of the heap.
+     * @param keyUniverse the key universe of the van Emde Boas tree heaps.
+     * @return a new heap.
+     */
+    public static <E> PriorityQueue<E, Integer>
+        createIntegerHeap(String heapName, int keyUniverse) {
+        return createIntegerHeap(heapName, keyUniverse, null);
+    }
+
+    /**
+     * Creates a heap with integer priorities.
+     *
+     * @param heapName    the name of the heap.
+     * @param keyUniverse the key universe of the van Emde Boas tree heaps.
+     * @param idFunction  the function mapping the elements to their ids, used
+     *                    by the heaps whose name ends with {@code @ids}.
+     * @return a new heap.
+     */
+    public static <E> PriorityQueue<E, Integer>
+        createIntegerHeap(String heapName,
+                          int keyUniverse,
+                          ToIntFunction<? super E> idFunction) {
+        idFunction = getIdFunction(heapName, idFunction);
+        heapName = removeIdSuffix(heapName);
+        String heapType = getHeapType(heapName);
+        String heapArgument = getHeapArgument(heapName);
+
+        switch (heapType) {
+            case "IntegerDialsHeap":
+                return new IntegerDialsHeap<>();
+
+            case "RadixHeap":
+                return new RadixHeap<>();
+
+            case "MultiLevelBucketHeap":
+                return new MultiLevelBucketHeap<>(parseInt(heapName,
+                                                           heapArgument));
+
+            case "VanEmdeBoasTreeHeap":
+                return new VanEmdeBoasTreeHeap<>(keyUniverse);
+
+            case "IndexedIntegerDialsHeap":
+                return new IndexedIntegerDialsHeap<>(idFunction);
+
+            case "IndexedRadixHeap":
+                return new IndexedRadixHeap<>(idFunction);
+
+            case "IndexedMultiLevelBucketHeap":
+                return new IndexedMultiLevelBucketHeap<>(
+                        parseInt(heapName, heapArgument),
+                        idFunction);
+
+            case "IndexedVanEmdeBoasTreeHeap":
+                return new IndexedVanEmdeBoasTreeHeap<>(keyUniverse,
+                                                        idFunction);
+
+            default:
+                return createComparisonHeap(heapType,
+                                            heapArgument,
+                                            idFunction);
+        }
+    }
+
+    /**
+     * Creates a heap with real priorities.
+     *
+     * @param heapName the name of the heap.
+     * @return a new heap.
+     */
+    public static <E> PriorityQueue<E, Double>
+        createDoubleHeap(String heapName) {
+        return createDoubleHeap(heapName, null);
+    }
+
+    /**
+     * Creates a heap with real priorities.
+     *
+     * @param heapName   the name of the heap.
+     * @param idFunction the function mapping the elements to their ids, used
+     *                   by the heaps whose name ends with {@code @ids}.
+     * @return a new heap.
+     */
+    public static <E> PriorityQueue<E, Double>
+        createDoubleHeap(String heapName,
+                         ToIntFunction<? super E> idFunction) {
+        idFunction = getIdFunction(heapName, idFunction);
+        heapName = removeIdSuffix(heapName);
+        String heapType = getHeapType(heapName);
+        String heapArgument = getHeapArgument(heapName);
+
+        switch (heapType) {
+            case "DoubleDialsHeap":
+                return new DoubleDialsHeap<>(parseDouble(heapName,
+                                                         heapArgument));
+
+            case "CalendarQueue":
+                return new CalendarQueue<>();
+
+            case "LadderQueue":
+                return new LadderQueue<>();
+
+            case "DoubleRadixHeap":
+                return new DoubleRadixHeap<>();
+
+            case "DoubleMultiLevelBucketHeap":
+                return new DoubleMultiLevelBucketHeap<>(
+                        parseInt(heapName, heapArgument));
+
+            case "IndexedDoubleDialsHeap":
+                return new IndexedDoubleDialsHeap<>(parseDouble(heapName,
+                                                                heapArgument),
+                                                    idFunction);
+
+            case "IndexedCalendarQueue":
+                return new IndexedCalendarQueue<>(idFunction);
+
+            case "IndexedLadderQueue":
+                return new IndexedLadderQueue<>(idFunction);
+
+            case "IndexedDoubleRadixHeap":
+                return new IndexedDoubleRadixHeap<>(idFunction);
+
+            case "IndexedDoubleMultiLevelBucketHeap":
+                return new IndexedDoubleMultiLevelBucketHeap<>(
+                        parseInt(heapName, heapArgument),
+                        idFunction);
+
+            default:
+                return createComparisonHeap(heapType,
+                                            heapArgument,
+                                            idFunction);
+        }
+    }
+
+    private static <E, P extends Comparable<? super P>> PriorityQueue<E, P>
+        createComparisonHeap(String heapType,
+                             String heapArgument,
+                             ToIntFunction<? super E> idFunction) {
+        String heapName = heapArgument == null ?
+                          heapType :
+                          heapType + ":" + heapArgument;
+
+        switch (heapType) {
+            case "BinaryHeap":
+                return new BinaryHeap<>();
+
+            case "DaryHeap":
+                return new DaryHeap<>(parseInt(heapName, heapArgument));
+
+            case "BinomialHeap":
+                return new BinomialHeap<>();
+
+            case "FibonacciHeap":
+                return new FibonacciHeap<>();
+
+            case "PairingHeap":
+                return new PairingHeap<>();
+
+            case "HollowHeap":
+                return new HollowHeap<>();
+
+            case "RankPairingHeap":
+                return new RankPairingHeap<>();
+
+            case "WeakHeap":
+                return new WeakHeap<>();
+
+            case "SequenceHeap":
+                return new SequenceHeap<>();
+
+            case "AVLTreeHeap":
+                return new AVLTreeHeap<>();
+
+            case "BTreeHeap":
+                return new BTreeHeap<>(parseInt(heapName, heapArgument));
+
+            case "IndexedBinaryHeap":
+                return new IndexedBinaryHeap<>(idFunction);
+
+            case "IndexedDaryHeap":
+                return new IndexedDaryHeap<>(parseInt(heapName, heapArgument),
+                                             idFunction);
+
+            case "IndexedBinomialHeap":
+                return new IndexedBinomialHeap<>(idFunction);
+
+            case "IndexedFibonacciHeap":
+                return new IndexedFibonacciHeap<>(idFunction);
+
+            case "IndexedPairingHeap":
+                return new IndexedPairingHeap<>(idFunction);
+
+            case "IndexedHollowHeap":
+                return new IndexedHollowHeap<>(idFunction);
+
+            case "IndexedRankPairingHeap":
+                return new IndexedRankPairingHeap<>(idFunction);
+
+            case "IndexedWeakHeap":
+                return new IndexedWeakHeap<>(idFunction);
+
+            case "IndexedStrictFibonacciHeap":
+                return new IndexedStrictFibonacciHeap<>(idFunction);
+
+            case "IndexedAVLTreeHeap":
+                return new IndexedAVLTreeHeap<>(idFunction);
+
+            case "IndexedBTreeHeap":
+                return new IndexedBTreeHeap<>(parseInt(heapName,
+                                                       heapArgument),
+                                              idFunction);
+
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown heap for the weight type: " + heapName);
+        }
+    }
+
+    private static List<String> withIndexedVariants(List<String> heapNames,
+                                                    String... moreHeapNames) {
+        List<String> unindexedHeapNames = new ArrayList<>(heapNames);
+        unindexedHeapNames.addAll(Arrays.asList(moreHeapNames));
+        List<String> allHeapNames = new ArrayList<>(unindexedHeapNames);
+
+        for (String heapName : unindexedHeapNames) {
+            allHeapNames.add("Indexed" + heapName);
+        }
+
+        allHeapNames.addAll(UNINDEXED_ONLY_HEAP_NAMES);
+        allHeapNames.addAll(INDEXED_ONLY_HEAP_NAMES);
+
+        return allHeapNames;
+    }
+
+    /**
+     * Returns {@code idFunction} if the heap name ends with {@code @ids}, and
+     * {@code null} otherwise.
+     */
+    private static <E> ToIntFunction<? super E>
+        getIdFunction(String heapName, ToIntFunction<? super E> idFunction) {
+        if (!heapName.endsWith(ID_SUFFIX)) {
+            return null;
+        }
+
+        if (!isIndexed(heapName)) {
+            throw new IllegalArgumentException(
+                    "Only the indexed heaps have element ids: " + heapName);
+        }
+
+        if (idFunction == null) {
+            throw new IllegalArgumentException(
+                    "The elements have no ids: " + heapName);
+        }
+
+        return idFunction;
+    }
+
+    private static String removeIdSuffix(String heapName) {
+        return heapName.endsWith(ID_SUFFIX) ?
+               heapName.substring(0, heapName.length() - ID_SUFFIX.length()) :
+               heapName;
+    }
+
+    private static String getHeapType(String heapName) {
+        int colonIndex = heapName.indexOf(':');
+        return colonIndex < 0 ? heapName : heapName.substring(0, colonIndex);
+    }
+
+    private static String getHeapArgument(String heapName) {
+        int colonIndex = heapName.indexOf(':');
+        return colonIndex < 0 ? null : heapName.substring(colonIndex + 1);
+    }
+
+    private static int parseInt(String heapName, String heapArgument) {
+        if (heapArgument == null) {
+            throw new IllegalArgumentException(
+                    "The heap " + heapName + " needs an integer argument, " +
+                    "such as " + heapName + ":4.");
+        }
+
+        return Integer.parseInt(heapArgument);
+    }
+
+    private static double parseDouble(String heapName, String heapArgument) {
+        if (heapArgument == null) {
+            throw new IllegalArgumentException(
+                    "The heap " + heapName + " needs a real argument, " +
+                    "such as " + heapName + ":0.2.");
+        }
+
+        return Double.parseDouble(heapArgument);
+    }
+}
@@ -0,0 +1,115 @@
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HeapTrace;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Replays recorded search traces on each heap in isolation. The unindexed
+ * trace is replayed on the unindexed heaps and the indexed trace on the
+ * indexed ones, since only the latter support decreasing priorities. A heap
+ * rejecting a priority of the trace, such as a monotone heap given a priority
+ * below the last extracted one, is reported and skipped.
+ */
+public final class HeapTraceBenchmark<P extends Comparable<? super P>> {
+
+    private final HeapTrace<P> unindexedTrace;
+    private final HeapTrace<P> indexedTrace;
+    private final List<PriorityQueue<Integer, P>> unindexedHeapList;
+    private final List<PriorityQueue<Integer, P>> indexedHeapList;
+
+    public HeapTraceBenchmark(
+            HeapTrace<P> unindexedTrace,
+            List<PriorityQueue<Integer, P>> unindexedHeapList,
+            HeapTrace<P> indexedTrace,
+            List<PriorityQueue<Integer, P>> indexedHeapList) {
+        this.unindexedTrace = unindexedTrace;
+        this.unindexedHeapList = unindexedHeapList;
+        this.indexedTrace = indexedTrace;
+        this.indexedHeapList = indexedHeapList;
+    }
+
+    /**
+     * Constructs a benchmark replaying a single trace.
+     *
+     * @param trace    the trace to replay.
+     * @param indexed  whether the trace was recorded through an indexed heap.
+     * @param heapList the heaps to replay the trace on.
+     */
+    public HeapTraceBenchmark(HeapTrace<P> trace,
+                              boolean indexed,
+                              List<PriorityQueue<Integer, P>> heapList) {
+        this(indexed ? null : trace,
+             indexed ? Collections.emptyList() : heapList,
+             indexed ? trace : null,
+             indexed ? heapList : Collections.emptyList());
+    }
+
+    public void warmup() {
+        for (PriorityQueue<Integer, P> heap : unindexedHeapList) {
+            replay(unindexedTrace, heap);
+        }
+
+        for (PriorityQueue<Integer, P> heap : indexedHeapList) {
+            replay(indexedTrace, heap);
+        }
+    }
+
+    public void run() {
+        if (unindexedTrace != null) {
+            System.out.println("Unindexed trace: " + unindexedTrace.size() +
+                               " operations on " +
+                               unindexedTrace.getNumberOfElements() +
+                               " elements.");
+
+            benchmark(unindexedTrace, unindexedHeapList);
+        }
+
+        if (indexedTrace != null) {
+            System.out.println("Indexed trace: " + indexedTrace.size() +
+                               " operations on " +
+                               indexedTrace.getNumberOfElements() +
+                               " elements.");
+
+            benchmark(indexedTrace, indexedHeapList);
+        }
+    }
+
+    private static <P extends Comparable<? super P>> void
+        benchmark(HeapTrace<P> trace,
+                  List<PriorityQueue<Integer, P>> heapList) {
+        for (PriorityQueue<Integer, P> heap : heapList) {
+            heap = HeapCounterReport.instrument(heap);
+            HeapCounterReport.start();
+            ResourceMeter meter = ResourceMeter.start();
+            long startTime = System.currentTimeMillis();
+
+            if (!replay(trace, heap)) {
+                meter.stop();
+                continue;
+            }
+
+            long endTime = System.currentTimeMillis();
+
+            System.out.println(heap + " in " + (endTime - startTime) +
+                               " milliseconds, " + meter.stop() + ".");
+            HeapCounterReport.print(heap);
+        }
+    }
+
+    /**
+     * Replays {@code trace} on {@code heap}.
+     *
+     * @return {@code false} if the heap rejected the trace.
+     */
+    private static <P extends Comparable<? super P>> boolean
+        replay(HeapTrace<P> trace, PriorityQueue<Integer, P> heap) {
+        try {
+            trace.replay(heap);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            System.out.println(heap + " cannot replay the trace: " +
+                               ex.getMessage() + " Skipping.");
+            return false;
+        }
+    }
+}
@@ -1,31 +1,57 @@
 
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
 import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
 import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.CacheAlignedIntHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HollowHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedCacheAlignedIntHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedHollowHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedMultiLevelBucketHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPrimitiveIntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedRankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedStrictFibonacciHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedVanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedWeakHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntDaryHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerDialsHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.MultiLevelBucketHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PrimitiveIntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RadixHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.RankPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.SequenceHeap;
 import fi.helsinki.coderodde.searchheapbenchmark.support.VanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.WeakHeap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 
 public final class IntegerWeightBenchmark {
@@ -35,56 +61,258 @@ public final class IntegerWeightBenchmark {
             new ArrayList<>();
     
     private final DirectedGraphWeightFunction<Integer> weightFunction;
+    private final IntCSRGraph csrGraph;
     private final IntegerWeight weight = new IntegerWeight();
     private final int keyUniverse;
     
     public IntegerWeightBenchmark
         (List<SearchTask> searchTaskList,
          DirectedGraphWeightFunction<Integer> weightFunction,
+         IntCSRGraph csrGraph,
          int keyUniverse) {
         this.searchTaskList = searchTaskList;
         this.weightFunction = weightFunction;
+        this.csrGraph = csrGraph;
         this.keyUniverse = keyUniverse;
     }
     
     public void run() {
         //// Unindexed heaps ////
-        benchmarkUnindexed(new BinaryHeap<>());
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createUnindexedHeaps(keyUniverse)) {
+            benchmarkUnindexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Unindexed heaps, pooled nodes ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createPooledHeaps(keyUniverse)) {
+            benchmarkUnindexed(HeapCounterReport.instrument(heap));
+        }
+            
+        //// Indexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(keyUniverse)) {
+            benchmarkIndexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Indexed heaps, id arrays ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(keyUniverse, 
+                                           DirectedGraphNode::getId)) {
+            benchmarkIndexed(HeapCounterReport.instrument(heap));
+        }
+        
+        //// Unindexed heaps, bidirectional search ////
+        List<PriorityQueue<DirectedGraphNode, Integer>> backwardHeaps = 
+                createUnindexedHeaps(keyUniverse);
+        List<PriorityQueue<DirectedGraphNode, Integer>> forwardHeaps = 
+                createUnindexedHeaps(keyUniverse);
+        
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            benchmark(new BidirectionalDijkstraPathFinder<>(
+                              forwardHeaps.get(i),
+                              backwardHeaps.get(i)),
+                      forwardHeaps.get(i));
+        }
+        
+        //// Indexed heaps, bidirectional search ////
+        backwardHeaps = createIndexedHeaps(keyUniverse);
+        forwardHeaps = createIndexedHeaps(keyUniverse);
+        
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            benchmark(new IndexedBidirectionalDijkstraPathFinder<>(
+                              forwardHeaps.get(i),
+                              backwardHeaps.get(i)),
+                      forwardHeaps.get(i));
+        }
+        
+        //// Unindexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Integer> heap :
+                IntegerWeightBenchmark.<Integer>
+                        createUnindexedHeaps(keyUniverse)) {
+            benchmark(new IntCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+        }
+        
+        //// Indexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Integer> heap :
+                IntegerWeightBenchmark.<Integer>
+                        createIndexedHeaps(keyUniverse)) {
+            benchmark(new IndexedIntCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+        }
+        
+        //// Multi-level bucket heaps with calibers, CSR graph ////
+        int[] calibers = csrGraph.getCalibers();
+        
+        for (int levels : new int[]{ 2, 3, 4 }) {
+            PriorityQueue<Integer, Integer> heap = 
+                    new MultiLevelBucketHeap<>(levels, 
+                                               nodeId -> calibers[nodeId]);
+            benchmark(new IntCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+            
+            heap = new IndexedMultiLevelBucketHeap<>(
+                    levels, 
+                    nodeId -> calibers[nodeId],
+                    null);
+            benchmark(new IndexedIntCSRDijkstraPathFinder(csrGraph, heap), 
+                      heap.toString());
+        }
+        
+        //// Primitive heaps, CSR graph ////
+        for (IntPriorityQueue heap : createPrimitiveUnindexedHeaps()) {
+            benchmark(new PrimitiveIntCSRDijkstraPathFinder(csrGraph, heap),
+                      heap.toString());
+        }
+        
+        //// Indexed primitive heaps, CSR graph ////
+        for (IntPriorityQueue heap : createPrimitiveIndexedHeaps()) {
+            CSRPathFinder finder =
+                    new IndexedPrimitiveIntCSRDijkstraPathFinder(csrGraph,
+                                                                 heap);
+            benchmark(finder, heap.toString());
+        }
+        
+        System.out.println("Algorithms/heaps agree: " + samePaths());
+    }
+    
+    static <E> List<PriorityQueue<E, Integer>> 
+        createUnindexedHeaps(int keyUniverse) {
+        List<PriorityQueue<E, Integer>> heapList = new ArrayList<>();
+        heapList.add(new BinaryHeap<>());
         
         for (int degree = 2; degree <= 10; ++degree) {
-            benchmarkUnindexed(new DaryHeap<>(degree));
+            heapList.add(new DaryHeap<>(degree));
         }
         
-        benchmarkUnindexed(new BinomialHeap<>());
-        benchmarkUnindexed(new FibonacciHeap<>());
-        benchmarkUnindexed(new PairingHeap<>());
-        benchmarkUnindexed(new IntegerDialsHeap<>());
-        benchmarkUnindexed(new AVLTreeHeap<>());
-        benchmarkUnindexed(new VanEmdeBoasTreeHeap<>(keyUniverse));
+        heapList.add(new BinaryHeap<>(true));
+        
+        for (int degree : new int[]{ 4, 8 }) {
+            heapList.add(new DaryHeap<>(degree, true));
+        }
+        
+        heapList.add(new WeakHeap<>());
+        heapList.add(new BinomialHeap<>());
+        heapList.add(new FibonacciHeap<>());
+        heapList.add(new PairingHeap<>());
+        heapList.add(new HollowHeap<>());
+        heapList.add(new RankPairingHeap<>());
+        heapList.add(new SequenceHeap<>());
+        heapList.add(new IntegerDialsHeap<>());
+        heapList.add(new RadixHeap<>());
+        
+        for (int levels : new int[]{ 2, 3, 4 }) {
+            heapList.add(new MultiLevelBucketHeap<>(levels));
+        }
+        
+        heapList.add(new AVLTreeHeap<>());
+        heapList.add(new VanEmdeBoasTreeHeap<>(keyUniverse));
         
         for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            benchmarkUnindexed(new BTreeHeap<>(minimumDegree));
+            heapList.add(new BTreeHeap<>(minimumDegree));
         }
-            
-        //// Indexed heaps ////
-        benchmarkIndexed(new IndexedBinaryHeap<>());
+        
+        return heapList;
+    }
+        
+    /**
+     * Creates the node-based unindexed heaps in the mode recycling their 
+     * nodes.
+     */
+    static <E> List<PriorityQueue<E, Integer>> 
+        createPooledHeaps(int keyUniverse) {
+        List<PriorityQueue<E, Integer>> heapList = new ArrayList<>();
+        heapList.add(new BinomialHeap<>(true));
+        heapList.add(new FibonacciHeap<>(true));
+        heapList.add(new PairingHeap<>(true));
+        heapList.add(new IntegerDialsHeap<>(true));
+        heapList.add(new AVLTreeHeap<>(true));
+        heapList.add(new VanEmdeBoasTreeHeap<>(keyUniverse, true));
+        
+        for (int minimumDegree : new int[]{ 32, 64, 128 }) {
+            heapList.add(new BTreeHeap<>(minimumDegree, true));
+        }
+        
+        return heapList;
+    }
+        
+    static <E> List<PriorityQueue<E, Integer>> 
+        createIndexedHeaps(int keyUniverse) {
+        return createIndexedHeaps(keyUniverse, null);
+    }
+    
+    /**
+     * Creates the indexed heaps, indexing the elements by the ids given by
+     * {@code idFunction}, or by hash maps if {@code idFunction} is 
+     * {@code null}.
+     */
+    static <E> List<PriorityQueue<E, Integer>> 
+        createIndexedHeaps(int keyUniverse, 
+                           ToIntFunction<? super E> idFunction) {
+        List<PriorityQueue<E, Integer>> heapList = new ArrayList<>();
+        heapList.add(new IndexedBinaryHeap<>(idFunction));
         
         for (int degree = 2; degree <= 10; ++degree) {
-            benchmarkIndexed(new IndexedDaryHeap<>(degree));
+            heapList.add(new IndexedDaryHeap<>(degree, idFunction));
+        }
+        
+        heapList.add(new IndexedBinaryHeap<>(true, idFunction));
+        
+        for (int degree : new int[]{ 4, 8 }) {
+            heapList.add(new IndexedDaryHeap<>(degree, true, idFunction));
         }
         
-        benchmarkIndexed(new IndexedBinomialHeap<>());
-        benchmarkIndexed(new IndexedFibonacciHeap<>());
-        benchmarkIndexed(new IndexedPairingHeap<>());
-        benchmarkIndexed(new IndexedIntegerDialsHeap<>());
-        benchmarkIndexed(new IndexedAVLTreeHeap<>());
-        benchmarkIndexed(new IndexedVanEmdeBoasTreeHeap<>(keyUniverse));
+        heapList.add(new IndexedWeakHeap<>(idFunction));
+        heapList.add(new IndexedBinomialHeap<>(idFunction));
+        heapList.add(new IndexedFibonacciHeap<>(idFunction));
+        heapList.add(new IndexedPairingHeap<>(idFunction));
+        heapList.add(new IndexedHollowHeap<>(idFunction));
+        heapList.add(new IndexedRankPairingHeap<>(idFunction));
+        heapList.add(new IndexedStrictFibonacciHeap<>(idFunction));
+        heapList.add(new IndexedIntegerDialsHeap<>(idFunction));
+        heapList.add(new IndexedRadixHeap<>(idFunction));
+        
+        for (int levels : new int[]{ 2, 3, 4 }) {
+            heapList.add(new IndexedMultiLevelBucketHeap<>(levels, 
+                                                           idFunction));
+        }
+        
+        heapList.add(new IndexedAVLTreeHeap<>(idFunction));
+        heapList.add(new IndexedVanEmdeBoasTreeHeap<>(keyUniverse, 
+                                                     idFunction));
         
         for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            benchmarkIndexed(new IndexedBTreeHeap<>(minimumDegree));
+            heapList.add(new IndexedBTreeHeap<>(minimumDegree, idFunction));
         }
         
-        System.out.println("Algorithms/heaps agree: " + samePaths());
+        return heapList;
+    }
+    
+    static List<IntPriorityQueue> createPrimitiveUnindexedHeaps() {
+        List<IntPriorityQueue> heapList = new ArrayList<>();
+        
+        for (int degree = 2; degree <= 10; ++degree) {
+            heapList.add(new IntDaryHeap(degree));
+        }
+        
+        heapList.add(new CacheAlignedIntHeap());
+        return heapList;
+    }
+    
+    static List<IntPriorityQueue> createPrimitiveIndexedHeaps() {
+        List<IntPriorityQueue> heapList = new ArrayList<>();
+        
+        for (int degree = 2; degree <= 10; ++degree) {
+            heapList.add(new IndexedIntDaryHeap(degree));
+        }
+        
+        heapList.add(new IndexedCacheAlignedIntHeap());
+        return heapList;
     }
     
     private void benchmarkUnindexed
@@ -94,6 +322,9 @@ public final class IntegerWeightBenchmark {
         
         PathFinder<Integer> finder = new DijkstraPathFinder<>(heap);
         
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
         long startTime = System.currentTimeMillis();
         
         for (SearchTask searchTask : searchTaskList) {
@@ -106,7 +337,8 @@ public final class IntegerWeightBenchmark {
         long endTime = System.currentTimeMillis();
         
         System.out.println(heap.toString() + " in " + (endTime - startTime) + 
-                           " milliseconds.");
+                           " milliseconds, " + meter.stop() + ".");
+        HeapCounterReport.print(heap);
         
         resultCollectorList.add(shortestPathList);
     }
@@ -118,6 +350,9 @@ public final class IntegerWeightBenchmark {
         
         PathFinder<Integer> finder = new IndexedDijkstraPathFinder<>(heap);
         
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
         long startTime = System.currentTimeMillis();
         
         for (SearchTask searchTask : searchTaskList) {
@@ -130,7 +365,57 @@ public final class IntegerWeightBenchmark {
         long endTime = System.currentTimeMillis();
         
         System.out.println(heap.toString() + " in " + (endTime - startTime) + 
-                           " milliseconds.");
+                           " milliseconds, " + meter.stop() + ".");
+        HeapCounterReport.print(heap);
+        
+        resultCollectorList.add(shortestPathList);
+    }
+        
+    private void benchmark(PathFinder<Integer> finder, 
+                           PriorityQueue<DirectedGraphNode, Integer> heap) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        HeapCounterReport.start();
+        ResourceMeter meter = ResourceMeter.start();
+        
+        long startTime = System.currentTimeMillis();
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(), 
+                                               weightFunction, 
+                                               weight));
+        }
+                
+        long endTime = System.currentTimeMillis();
+        
+        System.out.println("Bidirectional, " + heap.toString() + " in " + 
+                           (endTime - startTime) + " milliseconds, " + 
+                           meter.stop() + ".");
+        HeapCounterReport.print(heap);
+        
+        resultCollectorList.add(shortestPathList);
+    }
+        
+    private void benchmark(CSRPathFinder finder, String heapName) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        ResourceMeter meter = ResourceMeter.start();
+        
+        long startTime = System.currentTimeMillis();
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget()));
+        }
+                
+        long endTime = System.currentTimeMillis();
+        
+        System.out.println("IntCSRGraph, " + heapName + " in " + 
+                           (endTime - startTime) + " milliseconds, " + 
+                           meter.stop() + ".");
         
         resultCollectorList.add(shortestPathList);
     }
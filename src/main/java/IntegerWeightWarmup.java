@@ -1,29 +1,22 @@
 
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
 import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import fi.helsinki.coderodde.searchheapbenchmark.support.AVLTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.DaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
-import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedAVLTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBidirectionalDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntegerDialsHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedVanEmdeBoasTreeHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerDialsHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedIntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedMultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPrimitiveIntCSRDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IntCSRDijkstraPathFinder;
 import fi.helsinki.coderodde.searchheapbenchmark.support.IntegerWeight;
-import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
-import fi.helsinki.coderodde.searchheapbenchmark.support.VanEmdeBoasTreeHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.MultiLevelBucketHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PrimitiveIntCSRDijkstraPathFinder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,53 +27,113 @@ public final class IntegerWeightWarmup {
     
     private final List<SearchTask> searchTaskList;
     private final DirectedGraphWeightFunction<Integer> weightFunction;
+    private final IntCSRGraph csrGraph;
     private final IntegerWeight weight = new IntegerWeight();
     private final int keyUniverse;
     
     public IntegerWeightWarmup
         (List<SearchTask> searchTaskList,
          DirectedGraphWeightFunction<Integer> weightFunction,
+         IntCSRGraph csrGraph,
          int keyUniverse) {
         this.searchTaskList = searchTaskList;
         this.weightFunction = weightFunction;
+        this.csrGraph = csrGraph;
         this.keyUniverse = keyUniverse;
     }
     
     public void run() {
         //// Unindexed heaps ////
-        warmupUnindexed(new BinaryHeap<>());
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createUnindexedHeaps(keyUniverse)) {
+            warmupUnindexed(heap);
+        }
         
-        for (int degree = 2; degree <= 10; ++degree) {
-            warmupUnindexed(new DaryHeap<>(degree));
+        //// Unindexed heaps, pooled nodes ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createPooledHeaps(keyUniverse)) {
+            warmupUnindexed(heap);
         }
         
-        warmupUnindexed(new BinomialHeap<>());
-        warmupUnindexed(new FibonacciHeap<>());
-        warmupUnindexed(new PairingHeap<>());
-        warmupUnindexed(new IntegerDialsHeap<>());
-        warmupUnindexed(new AVLTreeHeap<>());
-        warmupUnindexed(new VanEmdeBoasTreeHeap<>(keyUniverse));
+        //// Indexed heaps ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(keyUniverse)) {
+            warmupIndexed(heap);
+        }
         
-        for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            warmupUnindexed(new BTreeHeap<>(minimumDegree));
+        //// Indexed heaps, id arrays ////
+        for (PriorityQueue<DirectedGraphNode, Integer> heap :
+                IntegerWeightBenchmark.<DirectedGraphNode>
+                        createIndexedHeaps(keyUniverse, 
+                                           DirectedGraphNode::getId)) {
+            warmupIndexed(heap);
         }
         
-        //// Indexed heaps ////
-        warmupIndexed(new IndexedBinaryHeap<>());
+        //// Unindexed heaps, bidirectional search ////
+        List<PriorityQueue<DirectedGraphNode, Integer>> backwardHeaps = 
+                IntegerWeightBenchmark.createUnindexedHeaps(keyUniverse);
+        List<PriorityQueue<DirectedGraphNode, Integer>> forwardHeaps = 
+                IntegerWeightBenchmark.createUnindexedHeaps(keyUniverse);
         
-        for (int degree = 2; degree <= 10; ++degree) {
-            warmupIndexed(new IndexedDaryHeap<>(degree));
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            warmup(new BidirectionalDijkstraPathFinder<>(forwardHeaps.get(i),
+                                                         backwardHeaps.get(i)));
         }
         
-        warmupIndexed(new IndexedBinomialHeap<>());
-        warmupIndexed(new IndexedFibonacciHeap<>());
-        warmupIndexed(new IndexedPairingHeap<>());
-        warmupIndexed(new IndexedIntegerDialsHeap<>());
-        warmupIndexed(new IndexedAVLTreeHeap<>());
-        warmupIndexed(new IndexedVanEmdeBoasTreeHeap<>(keyUniverse));
+        //// Indexed heaps, bidirectional search ////
+        backwardHeaps = IntegerWeightBenchmark.createIndexedHeaps(keyUniverse);
+        forwardHeaps = IntegerWeightBenchmark.createIndexedHeaps(keyUniverse);
         
-        for (int minimumDegree : new int[]{ 32, 64, 128 }) {
-            warmupIndexed(new IndexedBTreeHeap<>(minimumDegree));
+        for (int i = 0; i < forwardHeaps.size(); ++i) {
+            warmup(new IndexedBidirectionalDijkstraPathFinder<>(
+                           forwardHeaps.get(i),
+                           backwardHeaps.get(i)));
+        }
+        
+        //// Unindexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Integer> heap :
+                IntegerWeightBenchmark.<Integer>
+                        createUnindexedHeaps(keyUniverse)) {
+            warmup(new IntCSRDijkstraPathFinder(csrGraph, heap));
+        }
+        
+        //// Indexed heaps, CSR graph ////
+        for (PriorityQueue<Integer, Integer> heap :
+                IntegerWeightBenchmark.<Integer>
+                        createIndexedHeaps(keyUniverse)) {
+            warmup(new IndexedIntCSRDijkstraPathFinder(csrGraph, heap));
+        }
+        
+        //// Multi-level bucket heaps with calibers, CSR graph ////
+        int[] calibers = csrGraph.getCalibers();
+        
+        for (int levels : new int[]{ 2, 3, 4 }) {
+            warmup(new IntCSRDijkstraPathFinder(
+                    csrGraph, 
+                    new MultiLevelBucketHeap<>(levels, 
+                                               nodeId -> calibers[nodeId])));
+            warmup(new IndexedIntCSRDijkstraPathFinder(
+                    csrGraph,
+                    new IndexedMultiLevelBucketHeap<>(
+                            levels, 
+                            nodeId -> calibers[nodeId],
+                            null)));
+        }
+        
+        //// Primitive heaps, CSR graph ////
+        for (IntPriorityQueue heap :
+                IntegerWeightBenchmark.createPrimitiveUnindexedHeaps()) {
+            warmup(new PrimitiveIntCSRDijkstraPathFinder(csrGraph, heap));
+        }
+        
+        //// Indexed primitive heaps, CSR graph ////
+        for (IntPriorityQueue heap :
+                IntegerWeightBenchmark.createPrimitiveIndexedHeaps()) {
+            warmup(new IndexedPrimitiveIntCSRDijkstraPathFinder(csrGraph,
+                                                                 heap));
         }
     }
     
@@ -113,4 +166,26 @@ public final class IntegerWeightWarmup {
                                                weight));
         }
     }
+    
+    private void warmup(PathFinder<Integer> finder) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget(), 
+                                               weightFunction, 
+                                               weight));
+        }
+    }
+    
+    private void warmup(CSRPathFinder finder) {
+        List<List<DirectedGraphNode>> shortestPathList = 
+                new ArrayList<>(searchTaskList.size());
+        
+        for (SearchTask searchTask : searchTaskList) {
+            shortestPathList.add(finder.search(searchTask.getSource(),
+                                               searchTask.getTarget()));
+        }
+    }
 }
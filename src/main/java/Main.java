@@ -1,6 +1,27 @@
 
+import fi.helsinki.coderodde.searchheapbenchmark.CSRGraphBuilder;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
 import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.DoubleCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.Heuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.DoubleWeight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HeapTrace;
+import fi.helsinki.coderodde.searchheapbenchmark.support.HeapTraceRecorder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDaryHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedDijkstraPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LandmarkHeuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LandmarkHeuristic.LandmarkSelection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -12,12 +33,22 @@ public class Main {
     private static final int MEDIUM_GRAPH_ARCS = 100_000;
     private static final int DENSE_GRAPH_ARCS =  600_000;
     private static final int SEARCH_TASKS = 20;
-    private static final double MAX_ARC_WEIGHT = 10.0;
-    private static final int MAX_INT_ARC_WEIGHT = 10;
+    static final double MAX_ARC_WEIGHT = 10.0;
+    static final int MAX_INT_ARC_WEIGHT = 10;
     
     private static final int WARMUP_GRAPH_NODES = 4_000;
     private static final int WARMUP_GRAPH_ARCS = 40_000;
     private static final int WARMUP_SEARCH_TASKS = 50;
+    private static final int PLANAR_GRAPH_WIDTH = 100;
+    private static final int PLANAR_GRAPH_HEIGHT = 100;
+    private static final double MAX_DETOUR_FACTOR = 1.5;
+    private static final int LANDMARKS = 16;
+    private static final int ARTERIAL_ROAD_SPACING = 8;
+    private static final int HIGHWAY_SPACING = 40;
+    private static final double ARTERIAL_ROAD_SPEEDUP = 2.0;
+    private static final double HIGHWAY_SPEEDUP = 5.0;
+    private static final int MELD_WORKERS = 16;
+    private static final int MELD_HEAP_SIZE = 50_000;
     private static final int KEY_UNIVERSE = MAX_INT_ARC_WEIGHT *
              (WARMUP_GRAPH_NODES + 1);
     
@@ -38,10 +69,14 @@ public class Main {
                                       random);
         
         List<SearchTask> searchTaskListInt = stcInt.getSearchTaskList();
+        IntCSRGraph intCSRGraph = 
+                new CSRGraphBuilder(intGraphData.nodeList)
+                        .buildIntGraph(intGraphData.weightFunction);
         
         IntegerWeightWarmup warmupInt = 
                 new IntegerWeightWarmup(searchTaskListInt,
                                         intGraphData.weightFunction,
+                                        intCSRGraph,
                                         KEY_UNIVERSE);
         
         System.out.println("*** Integer weight search benchmark ***");
@@ -52,6 +87,7 @@ public class Main {
         IntegerWeightBenchmark benchmarkInt = 
                 new IntegerWeightBenchmark(searchTaskListInt,
                                            intGraphData.weightFunction,
+                                           intCSRGraph,
                                            KEY_UNIVERSE);
         
         benchmarkInt.run();
@@ -73,7 +109,8 @@ public class Main {
         
         DoubleWeightWarmup warmup = 
                 new DoubleWeightWarmup(searchTaskList1,
-                                       graphData1.weightFunction);
+                                       graphData1.weightFunction,
+                                       toCSRGraph(graphData1));
         
         System.out.println("Real weight search Warming up...");
         warmup.run();
@@ -96,7 +133,8 @@ public class Main {
         
         DoubleWeightBenchmark sparseBenchmark = 
                 new DoubleWeightBenchmark(searchTaskList2, 
-                                          graphData2.weightFunction);
+                                          graphData2.weightFunction,
+                                          toCSRGraph(graphData2));
         sparseBenchmark.run();
         
         GraphData<Double> graphData3 = createRandomGraph(GRAPH_NODES,
@@ -115,7 +153,8 @@ public class Main {
         
         DoubleWeightBenchmark mediumBenchmark = 
                 new DoubleWeightBenchmark(searchTaskList3, 
-                                          graphData3.weightFunction);
+                                          graphData3.weightFunction,
+                                          toCSRGraph(graphData3));
         mediumBenchmark.run();
         
         GraphData<Double> graphData4 = createRandomGraph(GRAPH_NODES,
@@ -134,16 +173,155 @@ public class Main {
         
         DoubleWeightBenchmark denseBenchmark = 
                 new DoubleWeightBenchmark(searchTaskList4, 
-                                          graphData4.weightFunction);
+                                          graphData4.weightFunction,
+                                          toCSRGraph(graphData4));
         denseBenchmark.run();
         
         System.out.println("***************************************");
+        
+        System.out.println();
+        System.out.println("*** Heap trace replay, sparse graph ***");
+        
+        HeapTraceBenchmark<Double> heapTraceBenchmark = 
+                new HeapTraceBenchmark<>(
+                        recordHeapTrace(graphData2, searchTaskList2, false),
+                        DoubleWeightBenchmark.<Integer>createUnindexedHeaps(),
+                        recordHeapTrace(graphData2, searchTaskList2, true),
+                        DoubleWeightBenchmark.<Integer>createIndexedHeaps());
+        
+        heapTraceBenchmark.warmup();
+        heapTraceBenchmark.run();
+        System.out.println("***************************************");
+        
+        System.out.println();
+        System.out.println("*** A* search benchmark ***");
+        
+        int planarGraphNodes = PLANAR_GRAPH_WIDTH * PLANAR_GRAPH_HEIGHT;
+        double[] xs = new double[planarGraphNodes];
+        double[] ys = new double[planarGraphNodes];
+        GraphData<Double> graphData5 = 
+                createRandomPlanarGraph(PLANAR_GRAPH_WIDTH,
+                                        PLANAR_GRAPH_HEIGHT,
+                                        xs,
+                                        ys,
+                                        random);
+        
+        SearchTaskCreator stc5 = new SearchTaskCreator(graphData5.nodeList,
+                                                       SEARCH_TASKS,
+                                                       random);
+        
+        List<SearchTask> searchTaskList5 = stc5.getSearchTaskList();
+        
+        // The arc weights are never shorter than the straight line distances,
+        // so the Euclidean distance is consistent. Scaling it down by a 
+        // random factor per node keeps it admissible, yet not consistent.
+        Heuristic<Double> euclideanHeuristic = (node, target) -> 
+                Math.hypot(xs[node.getId()] - xs[target.getId()],
+                           ys[node.getId()] - ys[target.getId()]);
+        
+        double[] scales = new double[planarGraphNodes];
+        
+        for (int i = 0; i < scales.length; ++i) {
+            scales[i] = 0.5 + 0.5 * random.nextDouble();
+        }
+        
+        Heuristic<Double> inconsistentHeuristic = (node, target) ->
+                scales[node.getId()] * 
+                euclideanHeuristic.estimate(node, target);
+        
+        AStarBenchmark consistentBenchmark = 
+                new AStarBenchmark(searchTaskList5,
+                                   graphData5.weightFunction,
+                                   euclideanHeuristic);
+        AStarBenchmark inconsistentBenchmark = 
+                new AStarBenchmark(searchTaskList5,
+                                   graphData5.weightFunction,
+                                   inconsistentHeuristic);
+        
+        List<AStarBenchmark> landmarkBenchmarkList = new ArrayList<>();
+        
+        for (LandmarkSelection landmarkSelection :
+                LandmarkSelection.values()) {
+            long startTime = System.currentTimeMillis();
+            LandmarkHeuristic landmarkHeuristic = 
+                    new LandmarkHeuristic(graphData5.nodeList,
+                                          graphData5.weightFunction,
+                                          LANDMARKS,
+                                          landmarkSelection,
+                                          () -> new IndexedDaryHeap<>(4),
+                                          random);
+            long endTime = System.currentTimeMillis();
+            
+            System.out.println("ALT preprocessing, " + landmarkSelection + 
+                               " landmarks in " + (endTime - startTime) + 
+                               " milliseconds.");
+            
+            landmarkBenchmarkList.add(
+                    new AStarBenchmark(searchTaskList5,
+                                       graphData5.weightFunction,
+                                       landmarkHeuristic));
+        }
+        
+        System.out.println("A* search warming up...");
+        consistentBenchmark.warmup();
+        inconsistentBenchmark.warmup();
+        
+        for (AStarBenchmark landmarkBenchmark : landmarkBenchmarkList) {
+            landmarkBenchmark.warmup();
+        }
+        
+        System.out.println("A* search warming up done!");
+        
+        System.out.println();
+        System.out.println("*** Consistent heuristic ***");
+        consistentBenchmark.run();
+        
+        System.out.println();
+        System.out.println("*** Inconsistent heuristic ***");
+        inconsistentBenchmark.run();
+        
+        for (int i = 0; i < landmarkBenchmarkList.size(); ++i) {
+            System.out.println();
+            System.out.println("*** ALT heuristic, " + 
+                               LandmarkSelection.values()[i] + 
+                               " landmarks ***");
+            landmarkBenchmarkList.get(i).run();
+        }
+        
+        System.out.println();
+        System.out.println("*** Contraction hierarchies ***");
+        
+        // A plain grid has no hierarchy to exploit, so the road graph speeds
+        // up some of its rows and columns.
+        GraphData<Double> graphData6 = 
+                createRandomRoadGraph(PLANAR_GRAPH_WIDTH, 
+                                      PLANAR_GRAPH_HEIGHT,
+                                      random);
+        
+        SearchTaskCreator stc6 = new SearchTaskCreator(graphData6.nodeList,
+                                                       SEARCH_TASKS,
+                                                       random);
+        
+        new ContractionHierarchyBenchmark(graphData6.nodeList,
+                                          stc6.getSearchTaskList(),
+                                          graphData6.weightFunction).run();
+        
+        System.out.println();
+        System.out.println("*** Meld benchmark ***");
+        
+        MeldBenchmark meldBenchmark = new MeldBenchmark(MELD_WORKERS,
+                                                        MELD_HEAP_SIZE,
+                                                        random);
+        meldBenchmark.warmup();
+        meldBenchmark.run();
+        
+        System.out.println("***************************************");
     }
     
-    private static GraphData<Double> createRandomGraph(int nodes,
-                                                       int arcs,
-                                                       double maxArcWeight,
-                                                       Random random) {
+    static GraphData<Double> createRandomGraph(int nodes,
+                                               int arcs,
+                                               double maxArcWeight,
+                                               Random random) {
         List<DirectedGraphNode> nodeList = new ArrayList<>(nodes);
         DirectedGraphWeightFunction<Double> weightFunction =
                 new DirectedGraphWeightFunction<>();
@@ -165,10 +343,10 @@ public class Main {
         return new GraphData(nodeList, weightFunction);
     }
     
-    private static GraphData<Integer> createRandomIntGraph(int nodes,
-                                                           int arcs,
-                                                           int maxArcWeight,
-                                                           Random random) {
+    static GraphData<Integer> createRandomIntGraph(int nodes,
+                                                   int arcs,
+                                                   int maxArcWeight,
+                                                   Random random) {
         List<DirectedGraphNode> nodeList = new ArrayList<>(nodes);
         DirectedGraphWeightFunction<Integer> weightFunction =
                 new DirectedGraphWeightFunction<>();
@@ -190,6 +368,185 @@ public class Main {
         return new GraphData(nodeList, weightFunction);
     }
     
+    /**
+     * Creates a grid graph with bidirected arcs between horizontally and 
+     * vertically adjacent nodes. Each node is placed at a random point within
+     * its grid cell, and each arc weighs between 1 and 
+     * {@code MAX_DETOUR_FACTOR} times the distance between its end nodes.
+     */
+    private static GraphData<Double> createRandomPlanarGraph(int width,
+                                                             int height,
+                                                             double[] xs,
+                                                             double[] ys,
+                                                             Random random) {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(width * height);
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+        
+        for (int id = 0; id < width * height; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+            xs[id] = id % width + random.nextDouble();
+            ys[id] = id / width + random.nextDouble();
+        }
+        
+        for (int id = 0; id < width * height; ++id) {
+            if (id % width < width - 1) {
+                addPlanarEdge(nodeList, weightFunction, id, id + 1, xs, ys, 
+                              random);
+            }
+            
+            if (id / width < height - 1) {
+                addPlanarEdge(nodeList, weightFunction, id, id + width, xs, ys,
+                              random);
+            }
+        }
+        
+        return new GraphData(nodeList, weightFunction);
+    }
+    
+    /**
+     * Creates a planar graph in which every {@code ARTERIAL_ROAD_SPACING}th 
+     * row and column is an arterial road, and every {@code HIGHWAY_SPACING}th
+     * one a highway, both faster than the ordinary roads. This mimics the 
+     * hierarchy of the road networks.
+     */
+    private static GraphData<Double> createRandomRoadGraph(int width,
+                                                           int height,
+                                                           Random random) {
+        GraphData<Double> graphData = 
+                createRandomPlanarGraph(width, 
+                                        height,
+                                        new double[width * height],
+                                        new double[width * height],
+                                        random);
+        
+        for (int id = 0; id < width * height; ++id) {
+            int x = id % width;
+            int y = id / width;
+            
+            if (x < width - 1) {
+                speedUp(graphData, id, id + 1, getRoadSpeedup(y));
+            }
+            
+            if (y < height - 1) {
+                speedUp(graphData, id, id + width, getRoadSpeedup(x));
+            }
+        }
+        
+        return graphData;
+    }
+    
+    private static double getRoadSpeedup(int line) {
+        if (line % HIGHWAY_SPACING == 0) {
+            return HIGHWAY_SPEEDUP;
+        }
+        
+        if (line % ARTERIAL_ROAD_SPACING == 0) {
+            return ARTERIAL_ROAD_SPEEDUP;
+        }
+        
+        return 1.0;
+    }
+    
+    private static void speedUp(GraphData<Double> graphData, 
+                                int id1,
+                                int id2,
+                                double speedup) {
+        DirectedGraphNode node1 = graphData.nodeList.get(id1);
+        DirectedGraphNode node2 = graphData.nodeList.get(id2);
+        DirectedGraphWeightFunction<Double> weightFunction = 
+                graphData.weightFunction;
+        
+        weightFunction.addWeight(node1, 
+                                 node2, 
+                                 weightFunction.getWeight(node1, node2) / 
+                                 speedup);
+        weightFunction.addWeight(node2, 
+                                 node1, 
+                                 weightFunction.getWeight(node2, node1) / 
+                                 speedup);
+    }
+    
+    private static void 
+        addPlanarEdge(List<DirectedGraphNode> nodeList,
+                      DirectedGraphWeightFunction<Double> weightFunction,
+                      int id1,
+                      int id2,
+                      double[] xs,
+                      double[] ys,
+                      Random random) {
+        DirectedGraphNode node1 = nodeList.get(id1);
+        DirectedGraphNode node2 = nodeList.get(id2);
+        double distance = Math.hypot(xs[id1] - xs[id2], ys[id1] - ys[id2]);
+        
+        node1.addChildNode(node2);
+        node2.addChildNode(node1);
+        weightFunction.addWeight(node1, node2, detour(distance, random));
+        weightFunction.addWeight(node2, node1, detour(distance, random));
+    }
+        
+    private static double detour(double distance, Random random) {
+        return distance * (1.0 + (MAX_DETOUR_FACTOR - 1.0) * 
+                                 random.nextDouble());
+    }
+    
+    /**
+     * Records the heap operations of the Dijkstra searches over the given 
+     * tasks, and loads the trace back from a temporary file just like a trace
+     * recorded elsewhere would be loaded.
+     */
+    private static HeapTrace<Double> 
+        recordHeapTrace(GraphData<Double> graphData,
+                        List<SearchTask> searchTaskList,
+                        boolean indexed) {
+        HeapTraceRecorder<DirectedGraphNode, Double> recorder = 
+                new HeapTraceRecorder<>(
+                        indexed ? 
+                        new IndexedBinaryHeap<DirectedGraphNode, Double>() :
+                        new BinaryHeap<DirectedGraphNode, Double>(),
+                        Double.class);
+        
+        PathFinder<Double> finder = indexed ? 
+                new IndexedDijkstraPathFinder<>(recorder) :
+                new DijkstraPathFinder<>(recorder);
+        
+        DoubleWeight weight = new DoubleWeight();
+        
+        for (SearchTask searchTask : searchTaskList) {
+            finder.search(searchTask.getSource(),
+                          searchTask.getTarget(),
+                          graphData.weightFunction,
+                          weight);
+        }
+        
+        try {
+            Path file = Files.createTempFile("heap-trace", ".bin");
+            
+            try {
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    recorder.getTrace().write(out);
+                }
+                
+                System.out.println((indexed ? "Indexed" : "Unindexed") + 
+                                   " trace file: " + Files.size(file) + 
+                                   " bytes.");
+                
+                try (InputStream in = Files.newInputStream(file)) {
+                    return HeapTrace.read(in, Double.class);
+                }
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static DoubleCSRGraph toCSRGraph(GraphData<Double> graphData) {
+        return new CSRGraphBuilder(graphData.nodeList)
+                .buildDoubleGraph(graphData.weightFunction);
+    }
+    
     static <T> T choose(List<T> list, Random random) {
         return list.get(random.nextInt(list.size()));
     }
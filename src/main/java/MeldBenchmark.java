@@ -0,0 +1,122 @@
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.support.BinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.FibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedBinomialHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedFibonacciHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.IndexedPairingHeap;
+import fi.helsinki.coderodde.searchheapbenchmark.support.PairingHeap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of melding, as when parallel search workers combine their
+ * partial frontiers. Each worker fills a heap of its own with disjoint
+ * elements, after which all the heaps are melded into the first one. Since the
+ * Fibonacci and pairing heaps defer the linking work of a meld to the next
+ * extraction, the first extraction after the melds is timed separately, and
+ * the whole melded heap is drained in order to check it.
+ */
+public final class MeldBenchmark {
+
+    private final int workers;
+    private final int elementsPerWorker;
+    private final Random random;
+
+    public MeldBenchmark(int workers, int elementsPerWorker, Random random) {
+        this.workers = workers;
+        this.elementsPerWorker = elementsPerWorker;
+        this.random = random;
+    }
+
+    public static List<Supplier<MergeablePriorityQueue<Integer, Double>>>
+        createHeapSuppliers() {
+        List<Supplier<MergeablePriorityQueue<Integer, Double>>> supplierList =
+                new ArrayList<>();
+
+        supplierList.add(BinomialHeap::new);
+        supplierList.add(FibonacciHeap::new);
+        supplierList.add(PairingHeap::new);
+        supplierList.add(IndexedBinomialHeap::new);
+        supplierList.add(IndexedFibonacciHeap::new);
+        supplierList.add(IndexedPairingHeap::new);
+        return supplierList;
+    }
+
+    public void warmup() {
+        for (Supplier<MergeablePriorityQueue<Integer, Double>> supplier
+                : createHeapSuppliers()) {
+            benchmark(supplier, false);
+        }
+    }
+
+    public void run() {
+        System.out.println(workers + " heaps of " + elementsPerWorker +
+                           " elements each.");
+
+        for (Supplier<MergeablePriorityQueue<Integer, Double>> supplier
+                : createHeapSuppliers()) {
+            benchmark(supplier, true);
+        }
+    }
+
+    private void benchmark(
+            Supplier<MergeablePriorityQueue<Integer, Double>> supplier,
+            boolean print) {
+        double[] priorities = new double[workers * elementsPerWorker];
+        List<MergeablePriorityQueue<Integer, Double>> heapList =
+                new ArrayList<>(workers);
+
+        for (int worker = 0, element = 0; worker < workers; ++worker) {
+            MergeablePriorityQueue<Integer, Double> heap = supplier.get();
+
+            for (int i = 0; i < elementsPerWorker; ++i, ++element) {
+                priorities[element] = random.nextDouble();
+                heap.add(element, priorities[element]);
+            }
+
+            heapList.add(heap);
+        }
+
+        MergeablePriorityQueue<Integer, Double> heap = heapList.get(0);
+        long startTime = System.nanoTime();
+
+        for (int i = 1; i < workers; ++i) {
+            heap.meld(heapList.get(i));
+        }
+
+        long meldTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        int element = heap.extractMinimum();
+        long firstExtractionTime = System.nanoTime() - startTime;
+
+        double[] sortedPriorities = priorities.clone();
+        Arrays.sort(sortedPriorities);
+        boolean sorted = priorities[element] == sortedPriorities[0];
+
+        startTime = System.nanoTime();
+
+        for (int i = 1; i < sortedPriorities.length; ++i) {
+            element = heap.extractMinimum();
+            sorted &= priorities[element] == sortedPriorities[i];
+        }
+
+        long drainTime = System.nanoTime() - startTime;
+
+        if (print) {
+            System.out.println(String.format(
+                    "%s: %d melds in %.1f microseconds, first extraction " +
+                    "in %.1f microseconds, drained in %d milliseconds, " +
+                    "sorted: %b.",
+                    heap,
+                    workers - 1,
+                    meldTime / 1e3,
+                    firstExtractionTime / 1e3,
+                    drainTime / 1_000_000L,
+                    sorted));
+        }
+    }
+}
@@ -0,0 +1,334 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Measures the memory behaviour of a benchmark run: the bytes allocated by the
+ * current thread, the number and the total duration of the garbage
+ * collections, the peak retained heap and the peak heap footprint. The
+ * allocated bytes are read from the per-thread allocation counter of HotSpot,
+ * and are reported as unavailable on the JVMs not providing one.
+ * <p>
+ * The peak retained heap is the largest heap usage right after a garbage
+ * collection during the run, as reported by the collection notifications of
+ * HotSpot. It approximates the peak of the live data, and is reported as
+ * unavailable if no collection happened during the run or the JVM sends no
+ * notifications. A minor collection leaves the garbage of the old generation
+ * in place, so the value is an upper bound of the live data.
+ * <p>
+ * The peak heap footprint is the sum of the peak usages of the heap memory
+ * pools since {@link #start()}. It counts the garbage not yet collected, and
+ * the pools need not peak simultaneously, so it follows the allocation rate
+ * and the collector more than the live data.
+ */
+public final class ResourceMeter {
+
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private static final ThreadMXBean THREAD_MX_BEAN =
+            ManagementFactory.getThreadMXBean();
+
+    private static final boolean ALLOCATION_COUNTER_AVAILABLE =
+            enableAllocationCounter();
+
+    /**
+     * The longest time to wait in {@link #stop()} for the notifications of
+     * the collections that happened during the run.
+     */
+    private static final long NOTIFICATION_WAIT_MILLIS = 100L;
+
+    /**
+     * The meters started but not yet stopped.
+     */
+    private static final List<ResourceMeter> ACTIVE_METERS =
+            new CopyOnWriteArrayList<>();
+
+    private static final boolean GC_NOTIFICATIONS_AVAILABLE =
+            listenToGarbageCollections();
+
+    private final long startAllocatedBytes;
+    private final long startGarbageCollections;
+    private final long startGarbageCollectionMillis;
+
+    /**
+     * The largest heap usage after a collection so far, or -1 if no
+     * collection has been notified.
+     */
+    private final AtomicLong peakRetainedHeapBytes = new AtomicLong(-1L);
+
+    /**
+     * The number of the collections notified so far.
+     */
+    private final AtomicLong notifiedGarbageCollections = new AtomicLong();
+
+    private ResourceMeter() {
+        this.startAllocatedBytes = getAllocatedBytes();
+        this.startGarbageCollections = getGarbageCollections();
+        this.startGarbageCollectionMillis = getGarbageCollectionMillis();
+    }
+
+    public static ResourceMeter start() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        ResourceMeter meter = new ResourceMeter();
+        ACTIVE_METERS.add(meter);
+        return meter;
+    }
+
+    /**
+     * Returns the resource usage since {@link #start()}.
+     */
+    public Usage stop() {
+        long allocatedBytes = ALLOCATION_COUNTER_AVAILABLE ?
+                              getAllocatedBytes() - startAllocatedBytes :
+                              -1L;
+        long garbageCollections =
+                getGarbageCollections() - startGarbageCollections;
+        long garbageCollectionMillis =
+                getGarbageCollectionMillis() - startGarbageCollectionMillis;
+        long peakHeapFootprintBytes = getPeakHeapFootprintBytes();
+
+        awaitNotifications(garbageCollections);
+        ACTIVE_METERS.remove(this);
+
+        return new Usage(allocatedBytes,
+                         garbageCollections,
+                         garbageCollectionMillis,
+                         peakRetainedHeapBytes.get(),
+                         peakHeapFootprintBytes);
+    }
+
+    /**
+     * The resource usage of a single run.
+     */
+    public static final class Usage {
+
+        private final long allocatedBytes;
+        private final long garbageCollections;
+        private final long garbageCollectionMillis;
+        private final long peakRetainedHeapBytes;
+        private final long peakHeapFootprintBytes;
+
+        Usage(long allocatedBytes,
+              long garbageCollections,
+              long garbageCollectionMillis,
+              long peakRetainedHeapBytes,
+              long peakHeapFootprintBytes) {
+            this.allocatedBytes = allocatedBytes;
+            this.garbageCollections = garbageCollections;
+            this.garbageCollectionMillis = garbageCollectionMillis;
+            this.peakRetainedHeapBytes = peakRetainedHeapBytes;
+            this.peakHeapFootprintBytes = peakHeapFootprintBytes;
+        }
+
+        /**
+         * Returns the allocated bytes, or -1 if the JVM does not count them.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getGarbageCollections() {
+            return garbageCollections;
+        }
+
+        public long getGarbageCollectionMillis() {
+            return garbageCollectionMillis;
+        }
+
+        /**
+         * Returns the largest heap usage after a collection during the run,
+         * or -1 if no collection was notified.
+         */
+        public long getPeakRetainedHeapBytes() {
+            return peakRetainedHeapBytes;
+        }
+
+        public long getPeakHeapFootprintBytes() {
+            return peakHeapFootprintBytes;
+        }
+
+        /**
+         * Returns this usage as text of the form {@code "X MB allocated,
+         * Y GCs in Z ms, peak retained heap V MB, peak heap footprint W MB"}.
+         */
+        @Override
+        public String toString() {
+            return toMegabytesOrNa(allocatedBytes) + " allocated, " +
+                   garbageCollections + " GCs in " +
+                   garbageCollectionMillis + " ms, peak retained heap " +
+                   toMegabytesOrNa(peakRetainedHeapBytes) + ", " +
+                   "peak heap footprint " +
+                   toMegabytes(peakHeapFootprintBytes) + " MB";
+        }
+    }
+
+    private static boolean enableAllocationCounter() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+
+    private static long getAllocatedBytes() {
+        if (!ALLOCATION_COUNTER_AVAILABLE) {
+            return 0L;
+        }
+
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long getGarbageCollections() {
+        long garbageCollections = 0L;
+
+        for (GarbageCollectorMXBean garbageCollector :
+                ManagementFactory.getGarbageCollectorMXBeans()) {
+            // -1 stands for an undefined count.
+            garbageCollections +=
+                    Math.max(0L, garbageCollector.getCollectionCount());
+        }
+
+        return garbageCollections;
+    }
+
+    private static long getGarbageCollectionMillis() {
+        long garbageCollectionMillis = 0L;
+
+        for (GarbageCollectorMXBean garbageCollector :
+                ManagementFactory.getGarbageCollectorMXBeans()) {
+            garbageCollectionMillis +=
+                    Math.max(0L, garbageCollector.getCollectionTime());
+        }
+
+        return garbageCollectionMillis;
+    }
+
+    private static long getPeakHeapFootprintBytes() {
+        long peakHeapFootprintBytes = 0L;
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peakHeapFootprintBytes += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peakHeapFootprintBytes;
+    }
+
+    /**
+     * Subscribes to the collection notifications of HotSpot, if available.
+     */
+    private static boolean listenToGarbageCollections() {
+        Set<String> heapPoolNames = new HashSet<>();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPoolNames.add(pool.getName());
+            }
+        }
+
+        boolean subscribed = false;
+
+        for (GarbageCollectorMXBean garbageCollector :
+                ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(garbageCollector instanceof NotificationEmitter)) {
+                continue;
+            }
+
+            ((NotificationEmitter) garbageCollector).addNotificationListener(
+                    (notification, handback) ->
+                            onGarbageCollection(notification, heapPoolNames),
+                    null,
+                    null);
+            subscribed = true;
+        }
+
+        return subscribed;
+    }
+
+    private static void onGarbageCollection(Notification notification,
+                                            Set<String> heapPoolNames) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo
+                .GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+
+        Map<String, MemoryUsage> usageAfterGc =
+                GarbageCollectionNotificationInfo
+                        .from((CompositeData) notification.getUserData())
+                        .getGcInfo()
+                        .getMemoryUsageAfterGc();
+        long retainedHeapBytes = 0L;
+
+        for (Map.Entry<String, MemoryUsage> entry : usageAfterGc.entrySet()) {
+            if (heapPoolNames.contains(entry.getKey())) {
+                retainedHeapBytes += entry.getValue().getUsed();
+            }
+        }
+
+        for (ResourceMeter meter : ACTIVE_METERS) {
+            meter.peakRetainedHeapBytes.accumulateAndGet(retainedHeapBytes,
+                                                         Math::max);
+            meter.notifiedGarbageCollections.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits a little for the notifications of the collections during the run,
+     * since they are delivered asynchronously.
+     */
+    private void awaitNotifications(long garbageCollections) {
+        if (!GC_NOTIFICATIONS_AVAILABLE) {
+            return;
+        }
+
+        long deadline = System.nanoTime() +
+                        NOTIFICATION_WAIT_MILLIS * 1_000_000L;
+
+        while (notifiedGarbageCollections.get() < garbageCollections
+                && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static String toMegabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / BYTES_PER_MEGABYTE);
+    }
+
+    private static String toMegabytesOrNa(long bytes) {
+        return bytes >= 0L ? toMegabytes(bytes) + " MB" : "n/a";
+    }
+}
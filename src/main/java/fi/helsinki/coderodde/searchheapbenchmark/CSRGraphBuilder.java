@@ -0,0 +1,114 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class converts a graph given as a collection of
+ * {@link DirectedGraphNode} objects and a {@link DirectedGraphWeightFunction}
+ * into the compressed sparse row representation. The nodes receive dense IDs
+ * in the iteration order of the input collection. All the children of each
+ * node must belong to the input collection.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class CSRGraphBuilder {
+
+    /**
+     * Maps each node ID to its graph node.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * Maps each graph node to its node ID.
+     */
+    private final Map<DirectedGraphNode, Integer> nodeIdMap;
+
+    /**
+     * The offset array shared by all the graphs built by this builder.
+     */
+    private final int[] offsets;
+
+    /**
+     * The head array shared by all the graphs built by this builder.
+     */
+    private final int[] heads;
+
+    public CSRGraphBuilder(Collection<DirectedGraphNode> nodeCollection) {
+        Objects.requireNonNull(nodeCollection, "The node collection is null.");
+        this.nodes = nodeCollection.toArray(
+                new DirectedGraphNode[nodeCollection.size()]);
+        this.nodeIdMap = new HashMap<>(2 * nodes.length);
+
+        for (int nodeId = 0; nodeId < nodes.length; ++nodeId) {
+            nodeIdMap.put(nodes[nodeId], nodeId);
+        }
+
+        this.offsets = new int[nodes.length + 1];
+
+        for (int nodeId = 0; nodeId < nodes.length; ++nodeId) {
+            offsets[nodeId + 1] = offsets[nodeId] +
+                                  nodes[nodeId].getChildren().size();
+        }
+
+        this.heads = new int[offsets[nodes.length]];
+        int arcIndex = 0;
+
+        for (DirectedGraphNode node : nodes) {
+            for (DirectedGraphNode child : node.getChildren()) {
+                Integer headNodeId = nodeIdMap.get(child);
+
+                if (headNodeId == null) {
+                    throw new IllegalArgumentException(
+                            "The child node " + child + " of " + node +
+                            " is not in the input node collection.");
+                }
+
+                heads[arcIndex++] = headNodeId;
+            }
+        }
+    }
+
+    /**
+     * Builds the graph with integer arc weights.
+     *
+     * @param weightFunction the arc weight function.
+     * @return the compressed graph.
+     */
+    public IntCSRGraph
+        buildIntGraph(DirectedGraphWeightFunction<Integer> weightFunction) {
+        int[] weights = new int[heads.length];
+        int arcIndex = 0;
+
+        for (DirectedGraphNode node : nodes) {
+            for (DirectedGraphNode child : node.getChildren()) {
+                weights[arcIndex++] = weightFunction.getWeight(node, child);
+            }
+        }
+
+        return new IntCSRGraph(offsets, heads, weights, nodes, nodeIdMap);
+    }
+
+    /**
+     * Builds the graph with real arc weights.
+     *
+     * @param weightFunction the arc weight function.
+     * @return the compressed graph.
+     */
+    public DoubleCSRGraph
+        buildDoubleGraph(DirectedGraphWeightFunction<Double> weightFunction) {
+        double[] weights = new double[heads.length];
+        int arcIndex = 0;
+
+        for (DirectedGraphNode node : nodes) {
+            for (DirectedGraphNode child : node.getChildren()) {
+                weights[arcIndex++] = weightFunction.getWeight(node, child);
+            }
+        }
+
+        return new DoubleCSRGraph(offsets, heads, weights, nodes, nodeIdMap);
+    }
+}
@@ -0,0 +1,40 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+import java.util.List;
+
+/**
+ * This interface defines the API for the path finders operating on a
+ * compressed sparse row graph. Unlike {@link PathFinder}, the graph and its
+ * arc weights are bound to the path finder at construction time, which allows
+ * the implementations to allocate their search state once and reuse it over
+ * all the queries.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public interface CSRPathFinder {
+
+    /**
+     * Searches for a shortest path from the node with ID {@code sourceNodeId}
+     * to the node with ID {@code targetNodeId}. This method does not
+     * materialize any {@link DirectedGraphNode} objects, and is meant for
+     * running large batches of queries.
+     *
+     * @param sourceNodeId the ID of the source node.
+     * @param targetNodeId the ID of the target node.
+     * @return the IDs of the nodes on a shortest path or an empty array if the
+     *         target is not reachable from the source.
+     */
+    public int[] search(int sourceNodeId, int targetNodeId);
+
+    /**
+     * Searches for a shortest path from {@code source} to {@code target}.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return the shortest path or an empty list if {@code target} is not
+     *         reachable from {@code source}.
+     */
+    public List<DirectedGraphNode> search(DirectedGraphNode source,
+                                          DirectedGraphNode target);
+}
@@ -9,6 +9,8 @@ public final class DirectedGraphNode {
 
     private final Set<DirectedGraphNode> children = new HashSet<>();
     
+    private final Set<DirectedGraphNode> parents = new HashSet<>();
+    
     private final int id;
     
     public DirectedGraphNode(int id) {
@@ -17,12 +19,21 @@ public final class DirectedGraphNode {
     
     public void addChildNode(DirectedGraphNode child) {
         children.add(child);
+        child.parents.add(this);
     }
     
     public Collection<DirectedGraphNode> getChildren() {
         return Collections.<DirectedGraphNode>unmodifiableCollection(children);
     }
     
+    public Collection<DirectedGraphNode> getParents() {
+        return Collections.<DirectedGraphNode>unmodifiableCollection(parents);
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
     @Override
     public int hashCode() {
         return Integer.hashCode(id);
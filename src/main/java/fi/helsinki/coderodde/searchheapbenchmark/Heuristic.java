@@ -0,0 +1,27 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+/**
+ * This interface defines the API for the heuristic functions guiding the A*
+ * search. A heuristic is admissible if it never overestimates the distance
+ * from a node to the target, and consistent if, in addition, the estimate
+ * drops by at most the arc weight along each arc. Only admissible heuristics
+ * guarantee shortest paths.
+ * 
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * 
+ * @param <W> the weight type.
+ */
+@FunctionalInterface
+public interface Heuristic<W extends Comparable<? super W>> {
+
+    /**
+     * Returns an estimate of the shortest path distance from {@code node} to 
+     * {@code target}.
+     * 
+     * @param node   the node to estimate.
+     * @param target the target node of the search.
+     * @return the estimated distance.
+     */
+    public W estimate(DirectedGraphNode node, DirectedGraphNode target);
+}
@@ -0,0 +1,162 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class implements an immutable directed graph with integer arc weights
+ * in compressed sparse row (CSR) format. The nodes are identified by dense
+ * integer IDs {@code 0, 1, ..., n - 1}. The arcs leaving the node {@code u}
+ * occupy the arc indices {@code getFirstArcIndex(u)} (inclusive) through
+ * {@code getLastArcIndex(u)} (exclusive) in the parallel head and weight
+ * arrays.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class IntCSRGraph {
+
+    /**
+     * {@code offsets[u]} is the index of the first arc leaving the node
+     * {@code u}. The array has one extra trailing entry holding the total
+     * number of arcs.
+     */
+    private final int[] offsets;
+
+    /**
+     * {@code heads[arc]} is the ID of the head node of the arc {@code arc}.
+     */
+    private final int[] heads;
+
+    /**
+     * {@code weights[arc]} is the weight of the arc {@code arc}.
+     */
+    private final int[] weights;
+
+    /**
+     * Maps each node ID to the original graph node.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * Maps each original graph node to its node ID.
+     */
+    private final Map<DirectedGraphNode, Integer> nodeIdMap;
+
+    IntCSRGraph(int[] offsets,
+                int[] heads,
+                int[] weights,
+                DirectedGraphNode[] nodes,
+                Map<DirectedGraphNode, Integer> nodeIdMap) {
+        this.offsets = offsets;
+        this.heads = heads;
+        this.weights = weights;
+        this.nodes = nodes;
+        this.nodeIdMap = nodeIdMap;
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     *
+     * @return the number of nodes.
+     */
+    public int getNumberOfNodes() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the number of arcs in this graph.
+     *
+     * @return the number of arcs.
+     */
+    public int getNumberOfArcs() {
+        return heads.length;
+    }
+
+    /**
+     * Returns the index of the first arc leaving the node {@code nodeId}.
+     *
+     * @param nodeId the ID of the tail node.
+     * @return the index of the first outgoing arc.
+     */
+    public int getFirstArcIndex(int nodeId) {
+        return offsets[nodeId];
+    }
+
+    /**
+     * Returns the index one past the last arc leaving the node
+     * {@code nodeId}.
+     *
+     * @param nodeId the ID of the tail node.
+     * @return the exclusive upper bound of the outgoing arc indices.
+     */
+    public int getLastArcIndex(int nodeId) {
+        return offsets[nodeId + 1];
+    }
+
+    /**
+     * Returns the ID of the head node of the arc {@code arcIndex}.
+     *
+     * @param arcIndex the index of the arc.
+     * @return the ID of the head node.
+     */
+    public int getHeadNodeId(int arcIndex) {
+        return heads[arcIndex];
+    }
+
+    /**
+     * Returns the weight of the arc {@code arcIndex}.
+     *
+     * @param arcIndex the index of the arc.
+     * @return the weight of the arc.
+     */
+    public int getArcWeight(int arcIndex) {
+        return weights[arcIndex];
+    }
+
+    /**
+     * Returns the original graph node with ID {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the graph node.
+     */
+    public DirectedGraphNode getNode(int nodeId) {
+        return nodes[nodeId];
+    }
+
+    /**
+     * Returns the ID of the graph node {@code node}.
+     *
+     * @param node the graph node.
+     * @return the ID of the node.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    public int getNodeId(DirectedGraphNode node) {
+        Integer nodeId = nodeIdMap.get(node);
+
+        if (nodeId == null) {
+            throw new IllegalArgumentException(
+                    "The node " + node + " is not in this IntCSRGraph.");
+        }
+
+        return nodeId;
+    }
+
+    /**
+     * Returns the caliber of each node, that is, the minimum weight of the arcs
+     * entering the node, or {@code Integer.MAX_VALUE} if no arc enters it.
+     *
+     * @return the array mapping each node ID to the caliber of the node.
+     */
+    public int[] getCalibers() {
+        int[] calibers = new int[nodes.length];
+        Arrays.fill(calibers, Integer.MAX_VALUE);
+
+        for (int arcIndex = 0; arcIndex < heads.length; ++arcIndex) {
+            calibers[heads[arcIndex]] = Math.min(calibers[heads[arcIndex]],
+                                                 weights[arcIndex]);
+        }
+
+        return calibers;
+    }
+}
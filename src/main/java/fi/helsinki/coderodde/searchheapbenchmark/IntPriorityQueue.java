@@ -0,0 +1,49 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+/**
+ * This interface defines the API for the priority queues specialized to
+ * {@code int} elements and {@code int} priority keys. Unlike 
+ * {@link PriorityQueue}, no element nor priority key is ever boxed.
+ * 
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public interface IntPriorityQueue {
+
+    /**
+     * Adds {@code element} with priority {@code priority} to this priority 
+     * queue.
+     * 
+     * @param element  the element to add.
+     * @param priority the priority of the element.
+     */
+    public void add(int element, int priority);
+    
+    /**
+     * Attempts to improve the priority of {@code element} to 
+     * {@code newPriority}.
+     * 
+     * @param element     the element whose priority to improve.
+     * @param newPriority the new priority of the element.
+     */
+    public boolean decreasePriority(int element, int newPriority);
+    
+    /**
+     * Extracts the element with the highest priority and returns it.
+     * 
+     * @return the element with the highest priority.
+     */
+    public int extractMinimum();
+    
+    /**
+     * Returns the number of elements in this priority queue.
+     * 
+     * @return the number of elements in this priority queue.
+     */
+    public int size();
+    
+    /**
+     * Clears the priority queue.
+     */
+    public void clear();
+}
@@ -0,0 +1,29 @@
+package fi.helsinki.coderodde.searchheapbenchmark;
+
+/**
+ * This interface extends {@link PriorityQueue} with melding: moving all the
+ * elements of another priority queue of the same type into this one. The
+ * heaps that implement this interface meld without touching each element.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public interface MergeablePriorityQueue<E, P extends Comparable<? super P>>
+extends PriorityQueue<E, P> {
+
+    /**
+     * Moves all the elements of {@code other} with their priorities into this
+     * priority queue, leaving {@code other} empty. If an exception is thrown,
+     * neither of the priority queues is modified.
+     *
+     * @param other the priority queue to meld into this one.
+     * @throws IllegalArgumentException if {@code other} is this priority
+     *                                  queue, is not of the same type, or, for
+     *                                  the indexed heaps, holds an element
+     *                                  that is also in this priority queue.
+     */
+    public void meld(MergeablePriorityQueue<E, P> other);
+}
@@ -13,6 +13,23 @@ public interface PriorityQueue<E, P extends Comparable<? super P>> {
      */
     public void add(E element, P priority);
     
+    /**
+     * Adds all the elements of {@code elementPriorityMap} with their mapped
+     * priorities to this priority queue. The default implementation adds the
+     * elements one by one; the heaps that can do better, such as by heapifying
+     * or linking all the new elements at once, override this method.
+     * 
+     * @param elementPriorityMap the map from the elements to add to their 
+     *                           priorities.
+     */
+    public default void addAll(Map<? extends E, ? extends P> 
+                               elementPriorityMap) {
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+    
     /**
      * Attempts to improve the priority of {@code element} to 
      * {@code newPriority}.
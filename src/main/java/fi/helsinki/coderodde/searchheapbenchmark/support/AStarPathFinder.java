@@ -0,0 +1,115 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.Heuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the A* algorithm. The priority of a node is its
+ * tentative distance from the source plus the heuristic estimate of its
+ * distance to the target. The heuristic need not be consistent: a closed node
+ * whose distance improves is reopened, so the returned paths are shortest as
+ * long as the heuristic is admissible. This version is meant for unindexed
+ * heaps: it never decreases priorities, but inserts the improved node again
+ * and skips the stale entries upon extraction.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <W> the weight type.
+ */
+public final class AStarPathFinder<W extends Comparable<? super W>>
+        implements PathFinder<W> {
+
+    private final PriorityQueue<DirectedGraphNode, W> searchFrontier;
+    private final Heuristic<W> heuristic;
+
+    public AStarPathFinder(PriorityQueue<DirectedGraphNode, W> heap,
+                           Heuristic<W> heuristic) {
+        this.searchFrontier = Objects.requireNonNull(heap, "The heap is null.");
+        this.heuristic = Objects.requireNonNull(heuristic,
+                                                "The heuristic is null.");
+        heap.clear();
+    }
+
+    @Override
+    public List<DirectedGraphNode>
+        search(DirectedGraphNode sourceNode,
+               DirectedGraphNode targetNode,
+               DirectedGraphWeightFunction<W> weightFunction,
+               Weight<W> weight) {
+        searchFrontier.clear();
+        Set<DirectedGraphNode> closedSet = new HashSet<>();
+        Map<DirectedGraphNode, W> distanceMap = new HashMap<>();
+        Map<DirectedGraphNode, DirectedGraphNode> parentMap = new HashMap<>();
+
+        searchFrontier.add(sourceNode,
+                           heuristic.estimate(sourceNode, targetNode));
+        distanceMap.put(sourceNode, weight.zero());
+        parentMap.put(sourceNode, null);
+
+        while (searchFrontier.size() > 0) {
+            DirectedGraphNode currentNode = searchFrontier.extractMinimum();
+
+            if (currentNode.equals(targetNode)) {
+                return tracebackPath(targetNode, parentMap);
+            }
+
+            if (closedSet.contains(currentNode)) {
+                continue;
+            }
+
+            closedSet.add(currentNode);
+
+            for (DirectedGraphNode childNode : currentNode.getChildren()) {
+                W tentativeDistance =
+                        weight.add(distanceMap.get(currentNode),
+                                   weightFunction.getWeight(currentNode,
+                                                            childNode));
+                W childDistance = distanceMap.get(childNode);
+
+                if (childDistance == null
+                        || childDistance.compareTo(tentativeDistance) > 0) {
+                    // Under an inconsistent heuristic, a closed node may
+                    // still improve, in which case it is reopened.
+                    closedSet.remove(childNode);
+                    searchFrontier.add(
+                            childNode,
+                            weight.add(tentativeDistance,
+                                       heuristic.estimate(childNode,
+                                                          targetNode)));
+                    distanceMap.put(childNode, tentativeDistance);
+                    parentMap.put(childNode, currentNode);
+                }
+            }
+        }
+
+        return new ArrayList<>(0);
+    }
+
+    private List<DirectedGraphNode>
+        tracebackPath(DirectedGraphNode targetNode,
+                      Map<DirectedGraphNode, DirectedGraphNode> parentMap) {
+        List<DirectedGraphNode> path = new ArrayList<>();
+        DirectedGraphNode currentNode = targetNode;
+
+        while (currentNode != null) {
+            path.add(currentNode);
+            currentNode = parentMap.get(currentNode);
+        }
+
+        Collections.<DirectedGraphNode>reverse(path);
+        return path;
+    }
+}
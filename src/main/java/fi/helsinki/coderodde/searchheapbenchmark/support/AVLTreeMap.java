@@ -1,10 +1,17 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 
 public final class AVLTreeMap<K extends Comparable<? super K>, V>
 implements Map<K, V> {
@@ -73,7 +80,8 @@ implements Map<K, V> {
         Node<K, V> node = root;
         int cmp;
         
-        while (node != null && (cmp = element.compareTo(node.key)) != 0) {
+        while (node != null
+                && (cmp = HeapCounters.compare(element, node.key)) != 0) {
             if (cmp < 0) {
                 node = node.left;
             } else {
@@ -97,7 +105,7 @@ implements Map<K, V> {
         int cmp;
         
         while (node != null) {
-            cmp = element.compareTo(node.key);
+            cmp = HeapCounters.compare(element, node.key);
             
             if (cmp < 0) {
                 node = node.left;
@@ -126,7 +134,7 @@ implements Map<K, V> {
         int cmp;
         
         while (node != null) {
-            cmp = key.compareTo(node.key);
+            cmp = HeapCounters.compare(key, node.key);
             
             if (cmp == 0) {
                 V oldValue = node.value;
@@ -145,7 +153,7 @@ implements Map<K, V> {
         
         Node<K, V> newnode = new Node<>(key, value);
         
-        if (key.compareTo(parent.key) < 0) {
+        if (HeapCounters.compare(key, parent.key) < 0) {
             parent.left = newnode;
         } else {
             parent.right = newnode;
@@ -163,7 +171,7 @@ implements Map<K, V> {
         Node<K, V> x = root;
         int cmp;
         
-        while (x != null && (cmp = element.compareTo(x.key)) != 0) {
+        while (x != null && (cmp = HeapCounters.compare(element, x.key)) != 0) {
             if (cmp < 0) {
                 x = x.left;
             } else {
@@ -210,11 +218,51 @@ implements Map<K, V> {
         return node.value;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If {@code m} is at least as large as this map, this map is bulk loaded:
+     * the new mappings are sorted, merged with the in-order mappings of this
+     * map, and a perfectly balanced tree is built from the result in linear
+     * time. Otherwise, the mappings are put one by one.
+     */
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
-        for (Map.Entry<? extends K, ? extends V> e : m.entrySet()) {
-            put(e.getKey(), e.getValue());
+        putAll(m, (oldValue, newValue) -> newValue);
+    }
+    
+    /**
+     * Puts all the mappings of {@code m} into this map like 
+     * {@link #putAll(java.util.Map)}, except that if a key is already mapped,
+     * its new value is {@code merger.apply(oldValue, newValue)}.
+     * 
+     * @param m      the mappings to put.
+     * @param merger the function merging two values of the same key.
+     */
+    void putAll(Map<? extends K, ? extends V> m, BinaryOperator<V> merger) {
+        if (m.size() < size) {
+            for (Map.Entry<? extends K, ? extends V> e : m.entrySet()) {
+                V oldValue = get(e.getKey());
+                put(e.getKey(), 
+                    oldValue == null ? 
+                            e.getValue() : 
+                            merger.apply(oldValue, e.getValue()));
+            }
+            
+            return;
         }
+        
+        List<Map.Entry<? extends K, ? extends V>> entryList = 
+                new ArrayList<>(m.entrySet());
+        entryList.sort((e1, e2) -> HeapCounters.compare(e1.getKey(), 
+                                                        e2.getKey()));
+        
+        K[] keys = (K[]) new Comparable[size + entryList.size()];
+        V[] values = (V[]) new Object[keys.length];
+        int length = toArrays(root, keys, values, 0);
+        length = merge(keys, values, length, entryList, merger);
+        root = buildTree(keys, values, 0, length, null);
+        size = length;
     }
 
     @Override
@@ -241,6 +289,28 @@ implements Map<K, V> {
                 "This AVLTreeMap does not support 'entrySet'.");
     }
     
+    /**
+     * {@inheritDoc } 
+     * <p>
+     * The mappings are visited in the ascending order of the keys.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Deque<Node<K, V>> stack = new ArrayDeque<>();
+        Node<K, V> node = root;
+        
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            
+            node = stack.pop();
+            action.accept(node.key, node.value);
+            node = node.right;
+        }
+    }
+    
     private void fixAfterInsertion(Node<K, V> node) {
         Node<K, V> parent = node.parent;
         Node<K, V> grandParent;
@@ -430,6 +500,102 @@ implements Map<K, V> {
         return successor;
     }
     
+    /**
+     * Stores the mappings of the subtree rooted at {@code node} in order into
+     * {@code keys} and {@code values}, starting from index {@code index}.
+     * 
+     * @return the index following the last stored mapping.
+     */
+    private static <K, V> int toArrays(Node<K, V> node, 
+                                       K[] keys, 
+                                       V[] values, 
+                                       int index) {
+        while (node != null) {
+            index = toArrays(node.left, keys, values, index);
+            keys[index] = node.key;
+            values[index++] = node.value;
+            node = node.right;
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Merges the sorted {@code entryList} into the sorted first {@code length}
+     * mappings of {@code keys} and {@code values}, working from the back so
+     * that no extra arrays are needed. The values of equal keys are merged via
+     * {@code merger}.
+     * 
+     * @return the number of the merged mappings.
+     */
+    private static <K extends Comparable<? super K>, V> int 
+        merge(K[] keys, 
+              V[] values, 
+              int length,
+              List<Map.Entry<? extends K, ? extends V>> entryList,
+              BinaryOperator<V> merger) {
+        // Move the old mappings to the back of the arrays first.
+        int oldIndex = keys.length - length;
+        System.arraycopy(keys, 0, keys, oldIndex, length);
+        System.arraycopy(values, 0, values, oldIndex, length);
+        int newIndex = 0;
+        int index = 0;
+        
+        while (oldIndex < keys.length || newIndex < entryList.size()) {
+            K key;
+            V value;
+            
+            if (newIndex == entryList.size()
+                    || (oldIndex < keys.length 
+                        && HeapCounters.compare(
+                               keys[oldIndex], 
+                               entryList.get(newIndex).getKey()) <= 0)) {
+                key = keys[oldIndex];
+                value = values[oldIndex++];
+            } else {
+                Map.Entry<? extends K, ? extends V> entry = 
+                        entryList.get(newIndex++);
+                key = entry.getKey();
+                value = entry.getValue();
+            }
+            
+            if (index > 0 && HeapCounters.compare(keys[index - 1], key) == 0) {
+                values[index - 1] = merger.apply(values[index - 1], value);
+            } else {
+                keys[index] = key;
+                values[index++] = value;
+            }
+        }
+        
+        Arrays.fill(keys, index, keys.length, null);
+        Arrays.fill(values, index, values.length, null);
+        return index;
+    }
+    
+    /**
+     * Builds a perfectly balanced tree out of the sorted mappings 
+     * {@code keys[from], ..., keys[to - 1]}.
+     * 
+     * @return the root of the built tree.
+     */
+    private static <K, V> Node<K, V> buildTree(K[] keys, 
+                                               V[] values, 
+                                               int from, 
+                                               int to, 
+                                               Node<K, V> parent) {
+        if (from == to) {
+            return null;
+        }
+        
+        int middle = (from + to) >>> 1;
+        Node<K, V> node = new Node<>(keys[middle], values[middle]);
+        node.parent = parent;
+        node.left = buildTree(keys, values, from, middle, node);
+        node.right = buildTree(keys, values, middle + 1, to, node);
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        return node;
+    }
+    
     private static <K, V> Node<K, V> minimumNode(Node<K, V> node) {
         while (node.left != null) {
             node = node.left;
@@ -1,6 +1,8 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 public final class BTreeHeap<E, P extends Comparable<? super P>> 
@@ -34,17 +36,39 @@ public final class BTreeHeap<E, P extends Comparable<? super P>>
      */
     private int size;
     
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code next}.
+     */
+    private HeapNode<E> freeNode;
+    
     public BTreeHeap() {
         map = new BTreeMap<>();
+        pooled = false;
     }
     
     public BTreeHeap(int minimumDegree) {
+        this(minimumDegree, false);
+    }
+    
+    /**
+     * Constructs a new empty heap.
+     * 
+     * @param minimumDegree the minimum degree of the B-tree.
+     * @param pooled        whether to recycle the nodes.
+     */
+    public BTreeHeap(int minimumDegree, boolean pooled) {
         map = new BTreeMap<>(minimumDegree);
+        this.pooled = pooled;
     }
     
     @Override
     public void add(E element, P priority) {
-        HeapNode<E> newNode = new HeapNode<>(element);
+        HeapNode<E> newNode = newNode(element);
         HeapNode<E> neighborNode = map.get(priority);
         
         if (neighborNode != null) {
@@ -57,6 +81,34 @@ public final class BTreeHeap<E, P extends Comparable<? super P>>
         ++size;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The new elements are first grouped into collision chains by priority,
+     * after which the chains are bulk loaded into the tree map, appending to 
+     * the chains of the priorities already present.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        Map<P, HeapNode<E>> chainMap = new HashMap<>();
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            HeapNode<E> newNode = newNode(entry.getKey());
+            HeapNode<E> chainHead = chainMap.get(entry.getValue());
+            
+            if (chainHead != null) {
+                newNode.next = chainHead.next;
+                chainHead.next = newNode;
+            } else {
+                chainMap.put(entry.getValue(), newNode);
+            }
+        }
+        
+        map.putAll(chainMap, BTreeHeap::concatenate);
+        size += elementPriorityMap.size();
+    }
+
     @Override
     public boolean decreasePriority(E element, P newPriority) {
         throw new UnsupportedOperationException(
@@ -71,11 +123,14 @@ public final class BTreeHeap<E, P extends Comparable<? super P>>
         E returnValue;
         
         if (heapNodeChainHead.next != null) {
-            returnValue = heapNodeChainHead.next.element;
-            heapNodeChainHead.next = heapNodeChainHead.next.next;
+            HeapNode<E> removedNode = heapNodeChainHead.next;
+            returnValue = removedNode.element;
+            heapNodeChainHead.next = removedNode.next;
+            recycle(removedNode);
         } else {
             returnValue = heapNodeChainHead.element;
-            map.remove(map.getMinimumKey());
+            map.remove(minimumKey);
+            recycle(heapNodeChainHead);
         }
         
         --size;
@@ -89,13 +144,72 @@ public final class BTreeHeap<E, P extends Comparable<? super P>>
 
     @Override
     public void clear() {
+        if (pooled) {
+            map.forEach((priority, chainHead) -> {
+                HeapNode<E> node = chainHead;
+                
+                while (node != null) {
+                    HeapNode<E> nextNode = node.next;
+                    recycle(node);
+                    node = nextNode;
+                }
+            });
+        }
+        
         map.clear();
         size = 0;
     }
     
     @Override
     public String toString() {
-        return "BTreeHeap, minimumDegree = " + map.getMinimumDegree();
+        return "BTreeHeap, minimumDegree = " + map.getMinimumDegree() +
+               (pooled ? " (pooled)" : "");
+    }
+    
+    /**
+     * Appends the collision chain {@code chain2} to {@code chain1}.
+     * 
+     * @return the head of the concatenated chain.
+     */
+    private static <E> HeapNode<E> concatenate(HeapNode<E> chain1, 
+                                               HeapNode<E> chain2) {
+        HeapNode<E> tail = chain2;
+        
+        while (tail.next != null) {
+            tail = tail.next;
+        }
+        
+        tail.next = chain1.next;
+        chain1.next = chain2;
+        return chain1;
+    }
+    
+    /**
+     * Returns a node holding {@code element}, taking it from the free list 
+     * when possible.
+     */
+    private HeapNode<E> newNode(E element) {
+        if (freeNode == null) {
+            return new HeapNode<>(element);
+        }
+        
+        HeapNode<E> node = freeNode;
+        freeNode = node.next;
+        node.element = element;
+        node.next = null;
+        return node;
+    }
+    
+    /**
+     * Puts {@code node} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     */
+    private void recycle(HeapNode<E> node) {
+        if (pooled) {
+            node.element = null;
+            node.next = freeNode;
+            freeNode = node;
+        }
     }
     
     /**
@@ -1,13 +1,18 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 
 public final class BTreeMap<K extends Comparable<? super K>, V> 
         implements Map<K, V> {
@@ -111,11 +116,11 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
     private V bTreeSearch(BTreeNode<K> x, K key) {
         int i = 0;
         
-        while (i < x.size && key.compareTo(x.keys[i]) > 0) {
+        while (i < x.size && HeapCounters.compare(key, x.keys[i]) > 0) {
             ++i;
         }
         
-        if (i < x.size && key.compareTo(x.keys[i]) == 0) {
+        if (i < x.size && HeapCounters.compare(key, x.keys[i]) == 0) {
             return map.get(key);
         } else if (x.isLeaf()) {
             return null;
@@ -145,11 +150,70 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
         return null;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If {@code m} is at least as large as this map, this map is bulk loaded:
+     * the new keys are sorted, merged with the in-order keys of this B-tree, 
+     * and the B-tree is rebuilt bottom-up in linear time with its nodes filled
+     * evenly. Otherwise, the mappings are put one by one.
+     */
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
+        putAll(m, (oldValue, newValue) -> newValue);
+    }
+    
+    /**
+     * Puts all the mappings of {@code m} into this map like 
+     * {@link #putAll(java.util.Map)}, except that if a key is already mapped,
+     * its new value is {@code merger.apply(oldValue, newValue)}.
+     * 
+     * @param m      the mappings to put.
+     * @param merger the function merging two values of the same key.
+     */
+    void putAll(Map<? extends K, ? extends V> m, BinaryOperator<V> merger) {
+        if (m.size() < map.size()) {
+            for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+                if (map.containsKey(entry.getKey())) {
+                    map.merge(entry.getKey(), entry.getValue(), merger);
+                } else {
+                    put(entry.getKey(), entry.getValue());
+                }
+            }
+            
+            return;
+        }
+        
+        K[] newKeys = (K[]) new Comparable[m.size()];
+        int newKeyCount = 0;
+        
         for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
-            put(entry.getKey(), entry.getValue());
+            if (map.containsKey(entry.getKey())) {
+                map.merge(entry.getKey(), entry.getValue(), merger);
+            } else {
+                newKeys[newKeyCount++] = entry.getKey();
+                map.put(entry.getKey(), entry.getValue());
+            }
         }
+        
+        Arrays.sort(newKeys, 0, newKeyCount, HeapCounters::compare);
+        K[] keys = (K[]) new Comparable[map.size()];
+        int oldKeyCount = toArray(root, keys, 0);
+        int newIndex = newKeyCount - 1;
+        int oldIndex = oldKeyCount - 1;
+        
+        // Merge from the back so that the old keys need not be copied first.
+        for (int index = keys.length - 1; newIndex >= 0; --index) {
+            if (oldIndex >= 0 
+                    && HeapCounters.compare(keys[oldIndex], 
+                                            newKeys[newIndex]) > 0) {
+                keys[index] = keys[oldIndex--];
+            } else {
+                keys[index] = newKeys[newIndex--];
+            }
+        }
+        
+        root = buildTree(keys);
     }
 
     @Override
@@ -176,6 +240,16 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
                 "This BTreeMap does not support entrySet.");
     }
     
+    /**
+     * {@inheritDoc } 
+     * <p>
+     * The mappings are visited in no particular order.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+    
     public K getMaximumKey() {
         checkBTreeMapNotEmpty();
         BTreeNode<K> current = root;
@@ -202,6 +276,97 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
         return minimumDegree;
     }
     
+    /**
+     * Stores the keys of the subtree rooted at {@code x} in order into
+     * {@code keys}, starting from index {@code index}.
+     * 
+     * @return the index following the last stored key.
+     */
+    private static <K extends Comparable<? super K>> 
+        int toArray(BTreeNode<K> x, K[] keys, int index) {
+        for (int i = 0; i < x.size; ++i) {
+            if (!x.isLeaf()) {
+                index = toArray(x.children[i], keys, index);
+            }
+            
+            keys[index++] = x.keys[i];
+        }
+        
+        if (!x.isLeaf()) {
+            index = toArray(x.children[x.size], keys, index);
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Builds a B-tree out of the sorted {@code keys} bottom-up. The keys are
+     * first split evenly into as few leaves as possible, separated by single
+     * keys. The separators are then handed to the level above, whose nodes 
+     * take the children evenly in the same manner, until a single root 
+     * remains. Every non-root node gets at least {@code minimumDegree - 1}
+     * keys, since a level is only split into several nodes if it has more 
+     * keys (or children) than a single full node can hold.
+     * 
+     * @param keys the sorted keys.
+     * @return the root of the new B-tree.
+     */
+    private BTreeNode<K> buildTree(K[] keys) {
+        int maximumChildren = 2 * minimumDegree;
+        int leaves = (keys.length + maximumChildren) / maximumChildren;
+        int leafKeys = keys.length - (leaves - 1);
+        List<BTreeNode<K>> nodeList = new ArrayList<>(leaves);
+        List<K> separatorList = new ArrayList<>(leaves);
+        int keyIndex = 0;
+        
+        for (int i = 0; i < leaves; ++i) {
+            BTreeNode<K> leaf = new BTreeNode<>(minimumDegree);
+            leaf.size = leafKeys / leaves + (i < leafKeys % leaves ? 1 : 0);
+            System.arraycopy(keys, keyIndex, leaf.keys, 0, leaf.size);
+            keyIndex += leaf.size;
+            nodeList.add(leaf);
+            
+            if (i < leaves - 1) {
+                separatorList.add(keys[keyIndex++]);
+            }
+        }
+        
+        while (nodeList.size() > 1) {
+            int children = nodeList.size();
+            int parents = (children + maximumChildren - 1) / maximumChildren;
+            List<BTreeNode<K>> parentList = new ArrayList<>(parents);
+            List<K> parentSeparatorList = new ArrayList<>(parents);
+            int childIndex = 0;
+            
+            for (int i = 0; i < parents; ++i) {
+                int parentChildren = children / parents + 
+                                     (i < children % parents ? 1 : 0);
+                BTreeNode<K> parent = new BTreeNode<>(minimumDegree);
+                parent.makeInternal();
+                parent.size = parentChildren - 1;
+                
+                for (int j = 0; j < parentChildren; ++j, ++childIndex) {
+                    parent.children[j] = nodeList.get(childIndex);
+                    
+                    if (j < parentChildren - 1) {
+                        parent.keys[j] = separatorList.get(childIndex);
+                    }
+                }
+                
+                parentList.add(parent);
+                
+                if (i < parents - 1) {
+                    parentSeparatorList.add(separatorList.get(childIndex - 1));
+                }
+            }
+            
+            nodeList = parentList;
+            separatorList = parentSeparatorList;
+        }
+        
+        return nodeList.get(0);
+    }
+    
     private void checkBTreeMapNotEmpty() {
         if (map.isEmpty()) {
             throw new NoSuchElementException("This BTreeMap is empty.");
@@ -271,7 +436,7 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
         int i = x.size - 1;
         
         if (x.isLeaf()) {
-            while (i >= 0 && k.compareTo(x.keys[i]) < 0) {
+            while (i >= 0 && HeapCounters.compare(k, x.keys[i]) < 0) {
                 x.keys[i + 1] = x.keys[i];
                 --i;
             }
@@ -279,7 +444,7 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
             x.keys[i + 1] = k; // ?
             x.size++;
         } else {
-            while (i >= 0 && k.compareTo(x.keys[i]) < 0) {
+            while (i >= 0 && HeapCounters.compare(k, x.keys[i]) < 0) {
                 --i;
             }
                 
@@ -288,7 +453,7 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
             if (x.children[i].size == 2 * minimumDegree - 1) {
                 bTreeSplitChild(x, i);
                 
-                if (k.compareTo(x.keys[i]) > 0) {
+                if (HeapCounters.compare(k, x.keys[i]) > 0) {
                     i++;
                 }
             }
@@ -383,7 +548,7 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
             int childIndex = -1;
             
             for (int i = 0; i < x.size; ++i) {
-                if (key.compareTo(x.keys[i]) < 0) {
+                if (HeapCounters.compare(key, x.keys[i]) < 0) {
                     childIndex = i;
                     break;
                 }
@@ -655,7 +820,7 @@ public final class BTreeMap<K extends Comparable<? super K>, V>
     private static <K extends Comparable<? super K>> 
         int findKeyIndex(BTreeNode<K> x, K key) {
         for (int i = 0; i != x.size; ++i) {
-            if (x.keys[i].compareTo(key) == 0) {
+            if (HeapCounters.compare(x.keys[i], key) == 0) {
                 return i;
             }
         }
@@ -0,0 +1,261 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the bidirectional Dijkstra's algorithm. One search
+ * proceeds from the source node along the arcs, and the other one from the
+ * target node against the arcs; each step expands the search with the smaller
+ * frontier. Whenever a relaxed node is reached by both searches, the cost of
+ * the path through it is a candidate for the best meeting cost. Since the keys
+ * extracted from each frontier never decrease, the most recently settled
+ * distances are lower bounds of the frontier minima, and the search stops as
+ * soon as their sum reaches the best meeting cost. This version is meant for
+ * unindexed heaps: it never decreases priorities, but inserts the improved
+ * node again and skips the stale entries upon extraction.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <W> the weight type.
+ */
+public final class BidirectionalDijkstraPathFinder
+        <W extends Comparable<? super W>> implements PathFinder<W> {
+
+    private final PriorityQueue<DirectedGraphNode, W> forwardSearchFrontier;
+    private final PriorityQueue<DirectedGraphNode, W> backwardSearchFrontier;
+
+    /**
+     * The cost of the shortest path found so far, or {@code null} if the
+     * searches have not met yet.
+     */
+    private W bestPathCost;
+
+    /**
+     * The node in which the shortest path found so far is split into its
+     * forward and backward parts.
+     */
+    private DirectedGraphNode touchNode;
+
+    public BidirectionalDijkstraPathFinder(
+            PriorityQueue<DirectedGraphNode, W> forwardHeap,
+            PriorityQueue<DirectedGraphNode, W> backwardHeap) {
+        this.forwardSearchFrontier =
+                Objects.requireNonNull(forwardHeap,
+                                       "The forward heap is null.");
+        this.backwardSearchFrontier =
+                Objects.requireNonNull(backwardHeap,
+                                       "The backward heap is null.");
+
+        if (forwardHeap == backwardHeap) {
+            throw new IllegalArgumentException(
+                    "The forward and backward heaps must be distinct.");
+        }
+
+        forwardHeap.clear();
+        backwardHeap.clear();
+    }
+
+    @Override
+    public List<DirectedGraphNode>
+        search(DirectedGraphNode sourceNode,
+               DirectedGraphNode targetNode,
+               DirectedGraphWeightFunction<W> weightFunction,
+               Weight<W> weight) {
+        if (sourceNode.equals(targetNode)) {
+            List<DirectedGraphNode> path = new ArrayList<>(1);
+            path.add(sourceNode);
+            return path;
+        }
+
+        SearchState<W> forwardState =
+                new SearchState<>(forwardSearchFrontier, true);
+        SearchState<W> backwardState =
+                new SearchState<>(backwardSearchFrontier, false);
+
+        forwardState.open(sourceNode, weight.zero());
+        backwardState.open(targetNode, weight.zero());
+        bestPathCost = null;
+        touchNode = null;
+
+        while (forwardSearchFrontier.size() > 0
+                && backwardSearchFrontier.size() > 0) {
+            boolean done;
+
+            if (forwardSearchFrontier.size() <=
+                    backwardSearchFrontier.size()) {
+                done = expand(forwardState,
+                              backwardState,
+                              weightFunction,
+                              weight);
+            } else {
+                done = expand(backwardState,
+                              forwardState,
+                              weightFunction,
+                              weight);
+            }
+
+            if (done) {
+                break;
+            }
+        }
+
+        if (touchNode == null) {
+            return new ArrayList<>(0);
+        }
+
+        List<DirectedGraphNode> path = tracebackPath(forwardState.parentMap);
+        Collections.<DirectedGraphNode>reverse(path);
+
+        List<DirectedGraphNode> backwardPath =
+                tracebackPath(backwardState.parentMap);
+        path.addAll(backwardPath.subList(1, backwardPath.size()));
+        return path;
+    }
+
+    /**
+     * Settles the next node of the search {@code state}.
+     *
+     * @return {@code true} if the shortest path is found.
+     */
+    private boolean expand(SearchState<W> state,
+                           SearchState<W> oppositeState,
+                           DirectedGraphWeightFunction<W> weightFunction,
+                           Weight<W> weight) {
+        DirectedGraphNode currentNode = state.searchFrontier.extractMinimum();
+
+        if (state.closedSet.contains(currentNode)) {
+            return false;
+        }
+
+        state.closedSet.add(currentNode);
+        W currentDistance = state.distanceMap.get(currentNode);
+        state.lastSettledDistance = currentDistance;
+
+        if (bestPathCost != null && oppositeState.lastSettledDistance != null
+                && weight.add(currentDistance,
+                              oppositeState.lastSettledDistance)
+                         .compareTo(bestPathCost) >= 0) {
+            return true;
+        }
+
+        for (DirectedGraphNode nextNode : state.getNeighbors(currentNode)) {
+            if (state.closedSet.contains(nextNode)) {
+                continue;
+            }
+
+            W tentativeDistance =
+                    weight.add(currentDistance,
+                               state.getArcWeight(currentNode,
+                                                  nextNode,
+                                                  weightFunction));
+            W nextDistance = state.distanceMap.get(nextNode);
+
+            if (nextDistance == null
+                    || nextDistance.compareTo(tentativeDistance) > 0) {
+                state.searchFrontier.add(nextNode, tentativeDistance);
+                state.distanceMap.put(nextNode, tentativeDistance);
+                state.parentMap.put(nextNode, currentNode);
+                updateBestPath(nextNode,
+                               tentativeDistance,
+                               oppositeState,
+                               weight);
+            }
+        }
+
+        return false;
+    }
+
+    private void updateBestPath(DirectedGraphNode node,
+                                W distance,
+                                SearchState<W> oppositeState,
+                                Weight<W> weight) {
+        W oppositeDistance = oppositeState.distanceMap.get(node);
+
+        if (oppositeDistance == null) {
+            return;
+        }
+
+        W pathCost = weight.add(distance, oppositeDistance);
+
+        if (bestPathCost == null || bestPathCost.compareTo(pathCost) > 0) {
+            bestPathCost = pathCost;
+            touchNode = node;
+        }
+    }
+
+    private List<DirectedGraphNode>
+        tracebackPath(Map<DirectedGraphNode, DirectedGraphNode> parentMap) {
+        List<DirectedGraphNode> path = new ArrayList<>();
+        DirectedGraphNode currentNode = touchNode;
+
+        while (currentNode != null) {
+            path.add(currentNode);
+            currentNode = parentMap.get(currentNode);
+        }
+
+        return path;
+    }
+
+    /**
+     * Holds the state of one of the two searches.
+     *
+     * @param <W> the weight type.
+     */
+    private static final class SearchState<W extends Comparable<? super W>> {
+
+        final PriorityQueue<DirectedGraphNode, W> searchFrontier;
+        final Set<DirectedGraphNode> closedSet = new HashSet<>();
+        final Map<DirectedGraphNode, W> distanceMap = new HashMap<>();
+        final Map<DirectedGraphNode, DirectedGraphNode> parentMap =
+                new HashMap<>();
+
+        /**
+         * {@code true} if this search follows the arcs, {@code false} if it
+         * goes against them.
+         */
+        final boolean forward;
+
+        /**
+         * The distance of the most recently settled node.
+         */
+        W lastSettledDistance;
+
+        SearchState(PriorityQueue<DirectedGraphNode, W> searchFrontier,
+                    boolean forward) {
+            this.searchFrontier = searchFrontier;
+            this.forward = forward;
+            searchFrontier.clear();
+        }
+
+        void open(DirectedGraphNode node, W distance) {
+            searchFrontier.add(node, distance);
+            distanceMap.put(node, distance);
+            parentMap.put(node, null);
+        }
+
+        Collection<DirectedGraphNode> getNeighbors(DirectedGraphNode node) {
+            return forward ? node.getChildren() : node.getParents();
+        }
+
+        W getArcWeight(DirectedGraphNode node,
+                       DirectedGraphNode nextNode,
+                       DirectedGraphWeightFunction<W> weightFunction) {
+            return forward ? weightFunction.getWeight(node, nextNode) :
+                             weightFunction.getWeight(nextNode, node);
+        }
+    }
+}
@@ -2,12 +2,20 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
  * This class implements an un-indexed binary heap. "Unindexed" means that this 
  * heap does not map elements to their nodes, for which reason the decrease 
  * operation of the priority key of an element is not implemented.
+ * <p>
+ * Optionally, the heap extracts the minimum with the bottom-up sift-down: it
+ * first moves the hole at the root down to a leaf along the smaller children,
+ * which takes one comparison per level instead of two, and then sifts the
+ * last node up from that leaf. Since the last node comes from the bottom of
+ * the heap, it usually bounces back only a level or so, which brings the
+ * number of comparisons per extraction down towards {@code log n}.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 19, 2017)
@@ -57,8 +65,23 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
      */
     private int size;
     
+    /**
+     * Whether the extractions use the bottom-up sift-down.
+     */
+    private final boolean bottomUp;
+    
     public BinaryHeap() {
+        this(false);
+    }
+    
+    /**
+     * Constructs an empty binary heap.
+     * 
+     * @param bottomUp whether to sift down bottom-up on the extractions.
+     */
+    public BinaryHeap(boolean bottomUp) {
         this.binaryHeapNodeArray = new BinaryHeapNode[DEFAULT_CAPACITY];
+        this.bottomUp = bottomUp;
     }
     
     /**
@@ -74,6 +97,32 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
         siftUp(size++);
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the new elements are at least as many as the elements already in this
+     * heap, they are appended to the storage array, after which the whole heap
+     * is rebuilt bottom-up in linear time (Floyd's heapify). Otherwise, they
+     * are added one by one.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        if (elementPriorityMap.size() < size) {
+            PriorityQueue.super.addAll(elementPriorityMap);
+            return;
+        }
+        
+        ensureCapacity(size + elementPriorityMap.size());
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            binaryHeapNodeArray[size++] = 
+                    new BinaryHeapNode<>(entry.getKey(), entry.getValue());
+        }
+        
+        heapify();
+    }
+
     /**
      * {@inheritDoc } 
      */
@@ -91,7 +140,13 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
         E element = binaryHeapNodeArray[0].element;
         binaryHeapNodeArray[0] = binaryHeapNodeArray[--size];
         binaryHeapNodeArray[size] = null;
-        siftDownRoot();
+        
+        if (bottomUp) {
+            siftDownRootBottomUp();
+        } else {
+            siftDownRoot();
+        }
+        
         return element;
     }
 
@@ -114,7 +169,7 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
     
     @Override
     public String toString() {
-        return "BinaryHeap";
+        return bottomUp ? "BinaryHeap (bottom-up)" : "BinaryHeap";
     }
     
     private void siftUp(int index) {
@@ -133,10 +188,13 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
             
             P parentNodePriority = parentNode.priority;
             
-            if (targetNodePriority.compareTo(parentNodePriority) < 0) {
+            if (HeapCounters.compare(targetNodePriority,
+                                     parentNodePriority) < 0) {
                 binaryHeapNodeArray[index] =
                         binaryHeapNodeArray[parentNodeIndex];
                 
+                HeapCounters.countSiftStep();
+                
                 index = parentNodeIndex;
                 parentNodeIndex = getParentNodeIndex(index);
             } else {
@@ -151,21 +209,67 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
         binaryHeapNodeArray[index] = targetNode;
     }
     
+    /**
+     * Restores the heap invariant of the whole storage array by sifting down 
+     * every internal node, starting from the last one.
+     */
+    private void heapify() {
+        for (int index = (size >>> 1) - 1; index >= 0; --index) {
+            siftDown(index);
+        }
+    }
+    
     private void siftDownRoot() {
+        siftDown(0);
+    }
+    
+    /**
+     * Moves the hole at the root down to a leaf along the smaller children, 
+     * and then sifts the root node up from that leaf.
+     */
+    private void siftDownRootBottomUp() {
+        BinaryHeapNode<E, P> targetNode = binaryHeapNodeArray[0];
         int index = 0;
-        int leftChildNodeIndex = getLeftChildIndex(0);
+        int childNodeIndex = getLeftChildIndex(0);
+        
+        while (childNodeIndex < size) {
+            if (childNodeIndex + 1 < size 
+                    && HeapCounters.compare(
+                            binaryHeapNodeArray[childNodeIndex + 1].priority,
+                            binaryHeapNodeArray[childNodeIndex].priority) < 0) {
+                ++childNodeIndex;
+            }
+            
+            binaryHeapNodeArray[index] = binaryHeapNodeArray[childNodeIndex];
+            HeapCounters.countSiftStep();
+            index = childNodeIndex;
+            childNodeIndex = getLeftChildIndex(index);
+        }
+        
+        binaryHeapNodeArray[index] = targetNode;
+        siftUp(index);
+    }
+    
+    /**
+     * Sifts down the node at index {@code index} until the heap invariant holds
+     * in its subtree.
+     * 
+     * @param index the index of the node to sift down.
+     */
+    private void siftDown(int index) {
+        int leftChildNodeIndex = getLeftChildIndex(index);
         int rightChildNodeIndex = leftChildNodeIndex + 1;
-        int minChildNodeIndex = 0;
+        int minChildNodeIndex = index;
         
-        BinaryHeapNode<E, P> targetHeapNode = binaryHeapNodeArray[0];
+        BinaryHeapNode<E, P> targetHeapNode = binaryHeapNodeArray[index];
         BinaryHeapNode<E, P> leftChildNode = null;
         
         while (true) {
             if (leftChildNodeIndex < size) {
                 leftChildNode = binaryHeapNodeArray[leftChildNodeIndex];
                 
-                if (leftChildNode.priority
-                        .compareTo(targetHeapNode.priority) < 0) {
+                if (HeapCounters.compare(leftChildNode.priority,
+                                         targetHeapNode.priority) < 0) {
                     minChildNodeIndex = leftChildNodeIndex;
                 }
             } else {
@@ -180,8 +284,8 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
                     BinaryHeapNode<E, P> rightChildNode = 
                             binaryHeapNodeArray[rightChildNodeIndex];
                     
-                    if (rightChildNode.priority
-                            .compareTo(targetHeapNode.priority) < 0) {
+                    if (HeapCounters.compare(rightChildNode.priority,
+                                             targetHeapNode.priority) < 0) {
                         minChildNodeIndex = rightChildNodeIndex;
                     }
                 }
@@ -190,8 +294,8 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
                     BinaryHeapNode<E, P> rightChildNode = 
                             binaryHeapNodeArray[rightChildNodeIndex];
                     
-                    if (rightChildNode.priority
-                            .compareTo(leftChildNode.priority) < 0) {
+                    if (HeapCounters.compare(rightChildNode.priority,
+                                             leftChildNode.priority) < 0) {
                         minChildNodeIndex = rightChildNodeIndex;
                     }
                 }
@@ -204,6 +308,7 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
             
             // Go to the minimum child node:
             binaryHeapNodeArray[index] = binaryHeapNodeArray[minChildNodeIndex];
+            HeapCounters.countSiftStep();
             index = minChildNodeIndex;
             leftChildNodeIndex = getLeftChildIndex(index);
             rightChildNodeIndex = leftChildNodeIndex + 1;
@@ -242,6 +347,20 @@ public final class BinaryHeap<E, P extends Comparable<? super P>>
         }
     }
     
+    /**
+     * Makes sure that the storage array can hold {@code capacity} nodes.
+     * 
+     * @param capacity the requested capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > binaryHeapNodeArray.length) {
+            binaryHeapNodeArray = 
+                    Arrays.copyOf(binaryHeapNodeArray,
+                                  Math.max(capacity, 
+                                           2 * binaryHeapNodeArray.length));
+        }
+    }
+    
     /**
      * Makes sure that the heap is not empty, and if it is, throws an exception.
      * 
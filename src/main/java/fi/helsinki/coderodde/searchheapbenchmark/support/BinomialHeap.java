@@ -1,12 +1,16 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
 import java.util.NoSuchElementException;
 
 /**
  * This class implements an unindexed binomial heap. "Unindexed" means that this 
  * heap does not map elements to their nodes, for which reason the decrease 
  * operation of the priority key of an element is not implemented.
+ * <p>
+ * In the pooled mode, the nodes of the extracted elements, as well as the 
+ * nodes dropped by {@link #clear()}, are kept in a free list and reused by the
+ * subsequent additions.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 19, 2017)
@@ -15,7 +19,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type.
  */
 public final class BinomialHeap<E, P extends Comparable<? super P>> 
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     /**
      * This class implements a binomial tree. A tree may have other trees as its
@@ -71,22 +75,31 @@ implements PriorityQueue<E, P> {
      * The leftmost node in the root list of this heap.
      */
     private BinomialTree<E, P> head;
+    
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code sibling}.
+     */
+    private BinomialTree<E, P> freeNode;
         
     /**
      * Constructs a new empty binomial heap.
      */
     public BinomialHeap() {
-        
+        this(false);
     }
-
+    
     /**
-     * Used for the insertion operation.
+     * Constructs a new empty binomial heap.
      * 
-     * @param element  the only element of the new heap.
-     * @param priority the priority of the element.
+     * @param pooled whether to recycle the nodes.
      */
-    private BinomialHeap(E element, P priority) {
-        head = new BinomialTree<>(element, priority);
+    public BinomialHeap(boolean pooled) {
+        this.pooled = pooled;
     }
     
     /**
@@ -94,17 +107,39 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public void add(E element, P priority) {
-        BinomialHeap<E, P> h = new BinomialHeap<>(element, priority);
+        BinomialTree<E, P> tree = newTree(element, priority);
         
         if (size == 0) {
-            this.head = h.head;
+            this.head = tree;
         } else {
-            heapUnion(h.head);
+            heapUnion(tree);
         }
         
         size++;
     }
     
+    /**
+     * {@inheritDoc } 
+     * <p>
+     * Unites the two root lists in time logarithmic in the sizes of the 
+     * heaps.
+     */
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        BinomialHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.size == 0) {
+            return;
+        }
+        
+        heapUnion(otherHeap.head);
+        size += otherHeap.size;
+        // The nodes of the other heap now belong to this heap, so they must
+        // not be recycled by otherHeap.clear().
+        otherHeap.head = null;
+        otherHeap.size = 0;
+    }
+    
     /**
      * {@inheritDoc } 
      */
@@ -129,7 +164,7 @@ implements PriorityQueue<E, P> {
         P minPriorityKey = x.priority;
         
         while (x != null) {
-            if (minPriorityKey.compareTo(x.priority) > 0) {
+            if (HeapCounters.compare(minPriorityKey, x.priority) > 0) {
                 minPriorityKey = x.priority;
                 best = x;
                 bestprev = prevx;
@@ -159,7 +194,9 @@ implements PriorityQueue<E, P> {
         // may be merged.
         heapUnion(reverseRootList(best.child));
         --size;
-        return best.element;
+        E element = best.element;
+        recycle(best);
+        return element;
     }
     
     /**
@@ -175,17 +212,21 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public void clear() {
+        if (pooled) {
+            recycleAll(head);
+        }
+        
         this.head = null;
         this.size = 0;
     }
     
     @Override
     public String toString() {
-        return "BinomialHeap";
+        return pooled ? "BinomialHeap (pooled)" : "BinomialHeap";
     }
     
     /**
-     * Both {@code this.head} and {@code other.head} are sorted by degree, so
+     * Both {@code this.head} and {@code other.head} are sorted by degree, so
      * in this method we merge the two lists such the entire merged list remains
      * sorted by the node degrees.
      * 
@@ -254,7 +295,7 @@ implements PriorityQueue<E, P> {
                         && next.sibling.degree == x.degree)) {
                 prev = x;
                 x = next;
-            } else if (x.priority.compareTo(next.priority) <= 0) {
+            } else if (HeapCounters.compare(x.priority, next.priority) <= 0) {
                 x.sibling = next.sibling;
                 link(next, x);
             } else {
@@ -281,6 +322,7 @@ implements PriorityQueue<E, P> {
      * @param parent the parent node.
      */
     private void link(BinomialTree<E, P> child, BinomialTree<E, P> parent) {
+        HeapCounters.countLink();
         child.parent = parent;
         child.sibling = parent.child;
         parent.child = child;
@@ -308,6 +350,68 @@ implements PriorityQueue<E, P> {
         return newHead;
     }
     
+    private BinomialTree<E, P> newTree(E element, P priority) {
+        if (freeNode == null) {
+            return new BinomialTree<>(element, priority);
+        }
+        
+        BinomialTree<E, P> tree = freeNode;
+        freeNode = tree.sibling;
+        tree.sibling = null;
+        tree.element = element;
+        tree.priority = priority;
+        return tree;
+    }
+    
+    /**
+     * Puts {@code tree} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     * 
+     * @param tree the node no longer in this heap.
+     */
+    private void recycle(BinomialTree<E, P> tree) {
+        if (pooled) {
+            tree.element = null;
+            tree.priority = null;
+            tree.parent = null;
+            tree.child = null;
+            tree.degree = 0;
+            tree.sibling = freeNode;
+            freeNode = tree;
+        }
+    }
+    
+    /**
+     * Recycles all the nodes of the trees in the list starting from 
+     * {@code tree}. Recurses only as deep as the trees are high, which is 
+     * logarithmic in the size of this heap.
+     * 
+     * @param tree the head of the list.
+     */
+    private void recycleAll(BinomialTree<E, P> tree) {
+        while (tree != null) {
+            BinomialTree<E, P> sibling = tree.sibling;
+            recycleAll(tree.child);
+            recycle(tree);
+            tree = sibling;
+        }
+    }
+    
+    private BinomialHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a BinomialHeap with itself.");
+        }
+        
+        if (!(other instanceof BinomialHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a BinomialHeap with " + other + ".");
+        }
+        
+        return (BinomialHeap<E, P>) other;
+    }
+    
     private void checkHeapIsNotEmpty() {
         if (size == 0) {
             throw new NoSuchElementException("This BinomialHeap is empty.");
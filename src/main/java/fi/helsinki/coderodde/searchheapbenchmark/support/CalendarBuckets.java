@@ -0,0 +1,351 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+/**
+ * This class implements the bucket structure of the calendar queue of Brown
+ * over finite double priorities. The priority axis is cut into days of
+ * {@code width} units each, and the day {@code d} goes to the bucket
+ * {@code d mod n}, where {@code n} is the number of buckets, so each bucket
+ * holds the days of the same weekday over all the years. Each bucket is kept
+ * sorted, and the extraction walks the buckets day by day from the current
+ * day, taking the head of a bucket if it belongs to the current day. If a
+ * whole year passes without a hit, the minimum is searched directly among the
+ * bucket heads.
+ * <p>
+ * The number of buckets is doubled whenever there are more than two nodes
+ * per bucket and halved whenever there are less than a half, so that the
+ * buckets stay short. On each resize, the day width is estimated again from
+ * the key distribution: it is three times the average separation of the
+ * smallest priorities, ignoring the separations larger than twice the plain
+ * average. Unlike the radix and the multi-level bucket heaps, the structure
+ * is not monotone: a node may precede the last extracted one, in which case
+ * the current day moves back. The buckets then count the nodes earlier than
+ * the day they moved back from, and jump forward to it as soon as those are
+ * gone, so a hold pattern does not walk the same empty days again.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ */
+final class CalendarBuckets<E> {
+
+    /**
+     * The smallest number of buckets.
+     */
+    private static final int MINIMUM_BUCKET_COUNT = 16;
+
+    /**
+     * The largest number of the smallest priorities sampled for estimating
+     * the day width.
+     */
+    private static final int MAXIMUM_SAMPLE_SIZE = 25;
+
+    /**
+     * The day width before the first estimate.
+     */
+    private static final double DEFAULT_WIDTH = 1.0;
+
+    static final class Node<E> {
+
+        /**
+         * The actual element.
+         */
+        E element;
+
+        /**
+         * The priority of the element.
+         */
+        double priority;
+
+        /**
+         * The day of the priority.
+         */
+        long day;
+
+        /**
+         * The previous node in the bucket.
+         */
+        Node<E> prev;
+
+        /**
+         * The next node in the bucket.
+         */
+        Node<E> next;
+
+        Node(E element, double priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * {@code buckets[i]} is the first node of the {@code i}th bucket. The
+     * length is a power of two.
+     */
+    private Node<E>[] buckets = new Node[MINIMUM_BUCKET_COUNT];
+
+    /**
+     * The width of a day.
+     */
+    private double width = DEFAULT_WIDTH;
+
+    /**
+     * No node has a day earlier than this.
+     */
+    private long currentDay;
+
+    /**
+     * The current day before it moved back to an earlier node. Valid only if
+     * {@code earlyCount > 0}.
+     */
+    private long resumeDay;
+
+    /**
+     * The number of nodes whose day is earlier than {@code resumeDay}. Once
+     * they are all gone, the current day jumps forward to {@code resumeDay}
+     * instead of walking the empty days in between.
+     */
+    private int earlyCount;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    double getWidth() {
+        return width;
+    }
+
+    /**
+     * Makes sure that the priority {@code priority} is finite.
+     *
+     * @param priority the priority to check.
+     * @return the priority.
+     */
+    static double checkPriority(Double priority) {
+        double p = priority;
+
+        if (Double.isNaN(p) || Double.isInfinite(p)) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is not finite.");
+        }
+
+        return p;
+    }
+
+    /**
+     * Puts {@code node} to the bucket of its day, and doubles the number of
+     * buckets if they hold more than two nodes on average.
+     *
+     * @param node the node to insert.
+     */
+    void insert(Node<E> node) {
+        insertWithoutResize(node);
+
+        if (size > 2 * buckets.length) {
+            resize(2 * buckets.length);
+        }
+    }
+
+    /**
+     * Removes {@code node} from its bucket, and halves the number of buckets
+     * if they hold less than a half node on average.
+     *
+     * @param node the node to remove.
+     */
+    void remove(Node<E> node) {
+        removeWithoutResize(node);
+
+        if (size < buckets.length / 2
+                && buckets.length > MINIMUM_BUCKET_COUNT) {
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Removes and returns a node with the minimum priority. The buckets must
+     * not be empty.
+     *
+     * @return the removed node.
+     */
+    Node<E> extractMinimum() {
+        Node<E> node = findMinimum();
+        remove(node);
+        return node;
+    }
+
+    void clear() {
+        buckets = new Node[MINIMUM_BUCKET_COUNT];
+        width = DEFAULT_WIDTH;
+        currentDay = 0L;
+        earlyCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Finds a node with the minimum priority, and moves the current day to
+     * its day.
+     */
+    private Node<E> findMinimum() {
+        int mask = buckets.length - 1;
+
+        for (int i = 0; i < buckets.length; ++i, ++currentDay) {
+            Node<E> head = buckets[(int) currentDay & mask];
+
+            if (head != null && head.day <= currentDay) {
+                return head;
+            }
+        }
+
+        // A whole year is empty. Search the bucket heads directly.
+        Node<E> minimumNode = null;
+
+        for (Node<E> head : buckets) {
+            if (head != null
+                    && (minimumNode == null
+                        || head.priority < minimumNode.priority)) {
+                minimumNode = head;
+            }
+        }
+
+        currentDay = minimumNode.day;
+        return minimumNode;
+    }
+
+    private void insertWithoutResize(Node<E> node) {
+        node.day = getDay(node.priority);
+
+        if (size == 0) {
+            currentDay = node.day;
+            earlyCount = 0;
+        } else if (earlyCount > 0) {
+            if (node.day < resumeDay) {
+                ++earlyCount;
+            }
+
+            currentDay = Math.min(currentDay, node.day);
+        } else if (node.day < currentDay) {
+            // Move back, but remember where to resume the walk.
+            resumeDay = currentDay;
+            earlyCount = 1;
+            currentDay = node.day;
+        }
+
+        int bucket = (int) node.day & (buckets.length - 1);
+        Node<E> prev = null;
+        Node<E> next = buckets[bucket];
+
+        // Keep the bucket sorted. Equal priorities stay in insertion order.
+        while (next != null && next.priority <= node.priority) {
+            prev = next;
+            next = next.next;
+        }
+
+        node.prev = prev;
+        node.next = next;
+
+        if (prev == null) {
+            buckets[bucket] = node;
+        } else {
+            prev.next = node;
+        }
+
+        if (next != null) {
+            next.prev = node;
+        }
+
+        ++size;
+    }
+
+    private void removeWithoutResize(Node<E> node) {
+        if (node.prev == null) {
+            buckets[(int) node.day & (buckets.length - 1)] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+        --size;
+
+        if (earlyCount > 0 && node.day < resumeDay && --earlyCount == 0) {
+            currentDay = Math.max(currentDay, resumeDay);
+        }
+    }
+
+    /**
+     * Estimates the day width anew and redistributes the nodes over
+     * {@code bucketCount} buckets.
+     *
+     * @param bucketCount the new number of buckets.
+     */
+    private void resize(int bucketCount) {
+        double newWidth = estimateWidth();
+        Node<E>[] oldBuckets = buckets;
+        buckets = new Node[bucketCount];
+        width = newWidth;
+        size = 0;
+
+        for (Node<E> head : oldBuckets) {
+            Node<E> node = head;
+
+            while (node != null) {
+                Node<E> next = node.next;
+                insertWithoutResize(node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Returns three times the average separation of the smallest priorities,
+     * ignoring the separations larger than twice the plain average, or the
+     * current width if the estimate is not usable.
+     */
+    private double estimateWidth() {
+        int sampleSize = Math.min(size, MAXIMUM_SAMPLE_SIZE);
+
+        if (sampleSize < 2) {
+            return width;
+        }
+
+        Node<E>[] sample = new Node[sampleSize];
+
+        for (int i = 0; i < sampleSize; ++i) {
+            sample[i] = findMinimum();
+            removeWithoutResize(sample[i]);
+        }
+
+        for (Node<E> node : sample) {
+            insertWithoutResize(node);
+        }
+
+        double spread = sample[sampleSize - 1].priority - sample[0].priority;
+        double averageSeparation = spread / (sampleSize - 1);
+        double separationSum = 0.0;
+        int separationCount = 0;
+
+        for (int i = 1; i < sampleSize; ++i) {
+            double separation = sample[i].priority - sample[i - 1].priority;
+
+            if (separation <= 2.0 * averageSeparation) {
+                separationSum += separation;
+                ++separationCount;
+            }
+        }
+
+        double newWidth = 3.0 * separationSum / separationCount;
+        return newWidth > 0.0 && !Double.isInfinite(newWidth) ?
+               newWidth :
+               width;
+    }
+
+    private long getDay(double priority) {
+        return (long) Math.floor(priority / width);
+    }
+}
@@ -0,0 +1,83 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the calendar queue of Brown with finite double
+ * priority keys. See {@link CalendarBuckets} for the structure. Unlike
+ * {@link DoubleDialsHeap}, the queue needs no bucket width: it resizes its
+ * buckets as it grows and shrinks, and estimates the bucket width from the
+ * smallest priorities on each resize. This version is not indexed.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class CalendarQueue<E> implements PriorityQueue<E, Double> {
+
+    private final CalendarBuckets<E> buckets = new CalendarBuckets<>();
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        double p = CalendarBuckets.checkPriority(priority);
+        buckets.insert(new CalendarBuckets.Node<>(element, p));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        throw new UnsupportedOperationException(
+                "This CalendarQueue is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        return buckets.extractMinimum().element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "CalendarQueue";
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (buckets.size() == 0) {
+            throw new NoSuchElementException("This CalendarQueue is empty.");
+        }
+    }
+}
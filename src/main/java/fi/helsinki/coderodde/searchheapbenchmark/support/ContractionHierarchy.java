@@ -0,0 +1,431 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the preprocessing of the contraction hierarchies. The
+ * nodes are contracted one by one in the order of their priorities, the
+ * priority of a node being its edge difference (the number of shortcuts its
+ * contraction would add minus the number of arcs it would remove) plus the
+ * number of its contracted neighbors. Contracting a node adds a shortcut
+ * between each pair of its remaining in- and out-neighbors unless a witness
+ * search finds a path at most as short avoiding the node.
+ * <p>
+ * The priorities are kept in an indexed heap and updated lazily: the priority
+ * of an extracted node is recomputed, and if it has grown, the node is put
+ * back in the heap instead of being contracted. After a contraction, the
+ * priorities of the neighbors are recomputed and decreased where they have
+ * dropped. Both the ordering heap and the witness search heap must be
+ * indexed, and the ordering heap must accept negative priorities.
+ * <p>
+ * The witness searches are limited to {@code MAX_WITNESS_SEARCH_SETTLED_NODES}
+ * settled nodes. A witness search cut short may only cause superfluous
+ * shortcuts, never wrong distances.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <W> the weight type.
+ */
+public final class ContractionHierarchy<W extends Comparable<? super W>> {
+
+    /**
+     * The maximum number of nodes settled by a single witness search.
+     */
+    private static final int MAX_WITNESS_SEARCH_SETTLED_NODES = 500;
+
+    /**
+     * Marks the arcs that are not shortcuts.
+     */
+    static final int NO_MIDDLE_NODE = -1;
+
+    /**
+     * This static inner class holds an arc or a shortcut of the hierarchy.
+     *
+     * @param <W> the weight type.
+     */
+    static final class Arc<W> {
+
+        /**
+         * The index of the tail node.
+         */
+        final int tail;
+
+        /**
+         * The index of the head node.
+         */
+        final int head;
+
+        /**
+         * The weight of this arc.
+         */
+        final W weight;
+
+        /**
+         * The index of the contracted node this shortcut bypasses, or
+         * {@code NO_MIDDLE_NODE} if this is an original arc.
+         */
+        final int middle;
+
+        Arc(int tail, int head, W weight, int middle) {
+            this.tail = tail;
+            this.head = head;
+            this.weight = weight;
+            this.middle = middle;
+        }
+    }
+
+    /**
+     * Maps the node indices to the nodes.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * Maps the nodes to their indices.
+     */
+    private final Map<DirectedGraphNode, Integer> nodeIndexMap;
+
+    /**
+     * Maps each node index to the arcs leaving the node, keyed by the head
+     * node index. Only the lightest arc between two nodes is kept.
+     */
+    private final List<Map<Integer, Arc<W>>> outArcs;
+
+    /**
+     * Maps each node index to the arcs entering the node, keyed by the tail
+     * node index.
+     */
+    private final List<Map<Integer, Arc<W>>> inArcs;
+
+    /**
+     * Maps each node index to the arcs leaving the node towards the nodes of
+     * higher rank.
+     */
+    private final List<List<Arc<W>>> upwardOutArcs;
+
+    /**
+     * Maps each node index to the arcs entering the node from the nodes of
+     * higher rank.
+     */
+    private final List<List<Arc<W>>> upwardInArcs;
+
+    /**
+     * Maps each node index to its position in the contraction order.
+     */
+    private final int[] ranks;
+
+    private final Weight<W> weight;
+    private final PriorityQueue<DirectedGraphNode, W> witnessSearchFrontier;
+
+    /**
+     * Marks the nodes reached and settled by the current witness search.
+     */
+    private final CSRSearchState witnessSearchState;
+
+    /**
+     * Maps each node index to its distance in the current witness search.
+     * Valid only for the nodes opened in {@code witnessSearchState}.
+     */
+    private final W[] witnessDistances;
+
+    /**
+     * The number of shortcuts added.
+     */
+    private int shortcuts;
+
+    public ContractionHierarchy(
+            List<DirectedGraphNode> nodeList,
+            DirectedGraphWeightFunction<W> weightFunction,
+            Weight<W> weight,
+            PriorityQueue<DirectedGraphNode, Integer> orderingHeap,
+            PriorityQueue<DirectedGraphNode, W> witnessSearchHeap) {
+        Objects.requireNonNull(nodeList, "The node list is null.");
+        Objects.requireNonNull(weightFunction, "The weight function is null.");
+        Objects.requireNonNull(orderingHeap, "The ordering heap is null.");
+        this.weight = Objects.requireNonNull(weight, "The weight is null.");
+        this.witnessSearchFrontier =
+                Objects.requireNonNull(witnessSearchHeap,
+                                       "The witness search heap is null.");
+
+        int nodes = nodeList.size();
+        this.nodes = nodeList.toArray(new DirectedGraphNode[nodes]);
+        this.nodeIndexMap = new HashMap<>(nodes);
+        this.outArcs = new ArrayList<>(nodes);
+        this.inArcs = new ArrayList<>(nodes);
+        this.upwardOutArcs = new ArrayList<>(nodes);
+        this.upwardInArcs = new ArrayList<>(nodes);
+        this.ranks = new int[nodes];
+        this.witnessSearchState = new CSRSearchState(nodes);
+        this.witnessDistances = (W[]) new Comparable[nodes];
+
+        for (int i = 0; i < nodes; ++i) {
+            if (nodeIndexMap.put(this.nodes[i], i) != null) {
+                throw new IllegalArgumentException(
+                        "Duplicate node: " + this.nodes[i] + ".");
+            }
+
+            outArcs.add(new HashMap<>());
+            inArcs.add(new HashMap<>());
+            upwardOutArcs.add(new ArrayList<>());
+            upwardInArcs.add(new ArrayList<>());
+        }
+
+        for (int tail = 0; tail < nodes; ++tail) {
+            for (DirectedGraphNode child : this.nodes[tail].getChildren()) {
+                Integer head = nodeIndexMap.get(child);
+
+                if (head == null || head == tail) {
+                    // Self-loops never lie on shortest paths.
+                    continue;
+                }
+
+                addArc(new Arc<>(tail,
+                                 head,
+                                 weightFunction.getWeight(this.nodes[tail],
+                                                          child),
+                                 NO_MIDDLE_NODE));
+            }
+        }
+
+        contract(orderingHeap);
+        buildUpwardGraph();
+    }
+
+    /**
+     * Returns the number of shortcuts added by the preprocessing.
+     *
+     * @return the number of shortcuts.
+     */
+    public int getNumberOfShortcuts() {
+        return shortcuts;
+    }
+
+    DirectedGraphNode getNode(int index) {
+        return nodes[index];
+    }
+
+    Integer getNodeIndex(DirectedGraphNode node) {
+        return nodeIndexMap.get(node);
+    }
+
+    List<Arc<W>> getUpwardOutArcs(int index) {
+        return upwardOutArcs.get(index);
+    }
+
+    List<Arc<W>> getUpwardInArcs(int index) {
+        return upwardInArcs.get(index);
+    }
+
+    /**
+     * Appends the original path traversed by {@code arc} to {@code path}, not
+     * including the tail node.
+     */
+    void unpackArc(Arc<W> arc, List<DirectedGraphNode> path) {
+        if (arc.middle == NO_MIDDLE_NODE) {
+            path.add(nodes[arc.head]);
+            return;
+        }
+
+        // The arc maps of a contracted node never change afterwards, so the
+        // two halves are still there.
+        unpackArc(inArcs.get(arc.middle).get(arc.tail), path);
+        unpackArc(outArcs.get(arc.middle).get(arc.head), path);
+    }
+
+    private void contract(
+            PriorityQueue<DirectedGraphNode, Integer> orderingHeap) {
+        int[] contractedNeighbors = new int[nodes.length];
+        int[] priorities = new int[nodes.length];
+        int rank = 0;
+
+        orderingHeap.clear();
+
+        for (int i = 0; i < nodes.length; ++i) {
+            priorities[i] = computePriority(i, contractedNeighbors);
+            orderingHeap.add(nodes[i], priorities[i]);
+        }
+
+        while (orderingHeap.size() > 0) {
+            int index = nodeIndexMap.get(orderingHeap.extractMinimum());
+            int priority = computePriority(index, contractedNeighbors);
+
+            if (priority > priorities[index]) {
+                // Lazy update: the node is no longer the cheapest one.
+                priorities[index] = priority;
+                orderingHeap.add(nodes[index], priority);
+                continue;
+            }
+
+            for (Arc<W> shortcut : findShortcuts(index)) {
+                addArc(shortcut);
+                ++shortcuts;
+            }
+
+            ranks[index] = rank++;
+
+            // Detach the node from the remaining graph, so that the searches
+            // do not have to skip it. Its own arc maps stay intact for the
+            // path unpacking.
+            for (int head : outArcs.get(index).keySet()) {
+                inArcs.get(head).remove(index);
+            }
+
+            for (int tail : inArcs.get(index).keySet()) {
+                outArcs.get(tail).remove(index);
+            }
+
+            Set<Integer> neighbors = new HashSet<>();
+            neighbors.addAll(outArcs.get(index).keySet());
+            neighbors.addAll(inArcs.get(index).keySet());
+
+            for (int neighbor : neighbors) {
+                ++contractedNeighbors[neighbor];
+                priority = computePriority(neighbor, contractedNeighbors);
+
+                if (priority < priorities[neighbor]) {
+                    priorities[neighbor] = priority;
+                    orderingHeap.decreasePriority(nodes[neighbor], priority);
+                }
+            }
+        }
+    }
+
+    private int computePriority(int index, int[] contractedNeighbors) {
+        int removedArcs = outArcs.get(index).size() + inArcs.get(index).size();
+        return findShortcuts(index).size() - removedArcs +
+               contractedNeighbors[index];
+    }
+
+    /**
+     * Returns the shortcuts needed to contract the node {@code index}.
+     */
+    private List<Arc<W>> findShortcuts(int index) {
+        List<Arc<W>> shortcutList = new ArrayList<>();
+
+        for (Arc<W> inArc : inArcs.get(index).values()) {
+            W maximumCost = null;
+
+            for (Arc<W> outArc : outArcs.get(index).values()) {
+                if (outArc.head == inArc.tail) {
+                    continue;
+                }
+
+                W cost = weight.add(inArc.weight, outArc.weight);
+
+                if (maximumCost == null || maximumCost.compareTo(cost) < 0) {
+                    maximumCost = cost;
+                }
+            }
+
+            if (maximumCost == null) {
+                continue;
+            }
+
+            searchWitnesses(inArc.tail, index, maximumCost);
+
+            for (Arc<W> outArc : outArcs.get(index).values()) {
+                if (outArc.head == inArc.tail) {
+                    continue;
+                }
+
+                W cost = weight.add(inArc.weight, outArc.weight);
+
+                if (!witnessSearchState.isOpened(outArc.head)
+                        || witnessDistances[outArc.head].compareTo(cost) > 0) {
+                    shortcutList.add(new Arc<>(inArc.tail,
+                                               outArc.head,
+                                               cost,
+                                               index));
+                }
+            }
+        }
+
+        return shortcutList;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from {@code source} over the remaining nodes
+     * other than {@code excluded}, until the distances exceed
+     * {@code maximumCost}. The distances found, which are upper bounds of the
+     * shortest path distances avoiding {@code excluded}, are left in
+     * {@code witnessDistances} for the opened nodes of
+     * {@code witnessSearchState}.
+     */
+    private void searchWitnesses(int source, int excluded, W maximumCost) {
+        int settledNodes = 0;
+
+        witnessSearchState.reset();
+        witnessSearchState.open(source, CSRSearchState.NO_PARENT);
+        witnessDistances[source] = weight.zero();
+        witnessSearchFrontier.clear();
+        witnessSearchFrontier.add(nodes[source], weight.zero());
+
+        while (witnessSearchFrontier.size() > 0
+                && settledNodes < MAX_WITNESS_SEARCH_SETTLED_NODES) {
+            int current =
+                    nodeIndexMap.get(witnessSearchFrontier.extractMinimum());
+            W currentDistance = witnessDistances[current];
+            witnessSearchState.close(current);
+            ++settledNodes;
+
+            if (currentDistance.compareTo(maximumCost) > 0) {
+                break;
+            }
+
+            for (Arc<W> arc : outArcs.get(current).values()) {
+                int head = arc.head;
+
+                if (head == excluded || witnessSearchState.isClosed(head)) {
+                    continue;
+                }
+
+                W tentativeDistance = weight.add(currentDistance, arc.weight);
+
+                if (!witnessSearchState.isOpened(head)) {
+                    witnessSearchState.open(head, current);
+                    witnessSearchFrontier.add(nodes[head], tentativeDistance);
+                } else if (witnessDistances[head]
+                        .compareTo(tentativeDistance) > 0) {
+                    witnessSearchFrontier.decreasePriority(nodes[head],
+                                                           tentativeDistance);
+                } else {
+                    continue;
+                }
+
+                witnessDistances[head] = tentativeDistance;
+            }
+        }
+
+        witnessSearchFrontier.clear();
+    }
+
+    private void addArc(Arc<W> arc) {
+        Arc<W> oldArc = outArcs.get(arc.tail).get(arc.head);
+
+        if (oldArc == null || oldArc.weight.compareTo(arc.weight) > 0) {
+            outArcs.get(arc.tail).put(arc.head, arc);
+            inArcs.get(arc.head).put(arc.tail, arc);
+        }
+    }
+
+    /**
+     * Collects the upward arcs. Each arc is left in the arc maps of the
+     * endpoint contracted first, that is, of the one of lower rank.
+     */
+    private void buildUpwardGraph() {
+        for (int index = 0; index < nodes.length; ++index) {
+            upwardOutArcs.get(index).addAll(outArcs.get(index).values());
+            upwardInArcs.get(index).addAll(inArcs.get(index).values());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.Weight;
+import fi.helsinki.coderodde.searchheapbenchmark.support.ContractionHierarchy.Arc;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the query of the contraction hierarchies. The forward
+ * search from the source node and the backward search from the target node
+ * follow only the arcs leading to the nodes of higher rank. A search stops as
+ * soon as its minimum key reaches the best meeting cost found so far, after
+ * which the shortcuts on the best path are unpacked into the original arcs.
+ * Both heaps must be indexed.
+ * <p>
+ * The arc weights come from the hierarchy, so the weight function passed to
+ * {@link #search(DirectedGraphNode, DirectedGraphNode,
+ * DirectedGraphWeightFunction, Weight)} is not consulted.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <W> the weight type.
+ */
+public final class ContractionHierarchyPathFinder
+        <W extends Comparable<? super W>> implements PathFinder<W> {
+
+    private final ContractionHierarchy<W> hierarchy;
+    private final PriorityQueue<DirectedGraphNode, W> forwardSearchFrontier;
+    private final PriorityQueue<DirectedGraphNode, W> backwardSearchFrontier;
+
+    public ContractionHierarchyPathFinder(
+            ContractionHierarchy<W> hierarchy,
+            PriorityQueue<DirectedGraphNode, W> forwardHeap,
+            PriorityQueue<DirectedGraphNode, W> backwardHeap) {
+        this.hierarchy = Objects.requireNonNull(hierarchy,
+                                                "The hierarchy is null.");
+        this.forwardSearchFrontier =
+                Objects.requireNonNull(forwardHeap,
+                                       "The forward heap is null.");
+        this.backwardSearchFrontier =
+                Objects.requireNonNull(backwardHeap,
+                                       "The backward heap is null.");
+
+        if (forwardHeap == backwardHeap) {
+            throw new IllegalArgumentException(
+                    "The forward and backward heaps must be distinct.");
+        }
+
+        forwardHeap.clear();
+        backwardHeap.clear();
+    }
+
+    @Override
+    public List<DirectedGraphNode>
+        search(DirectedGraphNode sourceNode,
+               DirectedGraphNode targetNode,
+               DirectedGraphWeightFunction<W> weightFunction,
+               Weight<W> weight) {
+        Integer source = hierarchy.getNodeIndex(sourceNode);
+        Integer target = hierarchy.getNodeIndex(targetNode);
+
+        if (source == null || target == null) {
+            throw new IllegalArgumentException(
+                    "The terminal nodes must belong to the hierarchy.");
+        }
+
+        if (source.equals(target)) {
+            List<DirectedGraphNode> path = new ArrayList<>(1);
+            path.add(sourceNode);
+            return path;
+        }
+
+        SearchState<W> forwardState =
+                new SearchState<>(forwardSearchFrontier, true);
+        SearchState<W> backwardState =
+                new SearchState<>(backwardSearchFrontier, false);
+
+        forwardState.open(sourceNode, source, weight.zero());
+        backwardState.open(targetNode, target, weight.zero());
+
+        W bestPathCost = null;
+        int touchNode = ContractionHierarchy.NO_MIDDLE_NODE;
+
+        while (forwardSearchFrontier.size() > 0
+                || backwardSearchFrontier.size() > 0) {
+            SearchState<W> state;
+            SearchState<W> oppositeState;
+
+            if (backwardSearchFrontier.size() == 0
+                    || (forwardSearchFrontier.size() > 0
+                        && forwardSearchFrontier.size() <=
+                           backwardSearchFrontier.size())) {
+                state = forwardState;
+                oppositeState = backwardState;
+            } else {
+                state = backwardState;
+                oppositeState = forwardState;
+            }
+
+            int current = hierarchy.getNodeIndex(
+                    state.searchFrontier.extractMinimum());
+            W currentDistance = state.distanceMap.get(current);
+
+            if (bestPathCost != null
+                    && currentDistance.compareTo(bestPathCost) >= 0) {
+                // No node left in this frontier can improve the best path.
+                state.searchFrontier.clear();
+                continue;
+            }
+
+            state.closedSet.add(current);
+            W oppositeDistance = oppositeState.distanceMap.get(current);
+
+            if (oppositeDistance != null) {
+                W pathCost = weight.add(currentDistance, oppositeDistance);
+
+                if (bestPathCost == null
+                        || bestPathCost.compareTo(pathCost) > 0) {
+                    bestPathCost = pathCost;
+                    touchNode = current;
+                }
+            }
+
+            for (Arc<W> arc : state.forward ?
+                              hierarchy.getUpwardOutArcs(current) :
+                              hierarchy.getUpwardInArcs(current)) {
+                int next = state.forward ? arc.head : arc.tail;
+
+                if (state.closedSet.contains(next)) {
+                    continue;
+                }
+
+                W tentativeDistance = weight.add(currentDistance, arc.weight);
+                W nextDistance = state.distanceMap.get(next);
+
+                if (nextDistance == null) {
+                    state.searchFrontier.add(hierarchy.getNode(next),
+                                             tentativeDistance);
+                } else if (nextDistance.compareTo(tentativeDistance) > 0) {
+                    state.searchFrontier.decreasePriority(
+                            hierarchy.getNode(next),
+                            tentativeDistance);
+                } else {
+                    continue;
+                }
+
+                state.distanceMap.put(next, tentativeDistance);
+                state.parentArcMap.put(next, arc);
+            }
+        }
+
+        if (touchNode == ContractionHierarchy.NO_MIDDLE_NODE) {
+            return new ArrayList<>(0);
+        }
+
+        return unpackPath(touchNode, forwardState, backwardState);
+    }
+
+    private List<DirectedGraphNode> unpackPath(int touchNode,
+                                               SearchState<W> forwardState,
+                                               SearchState<W> backwardState) {
+        List<Arc<W>> arcList = new ArrayList<>();
+        Arc<W> arc = forwardState.parentArcMap.get(touchNode);
+
+        while (arc != null) {
+            arcList.add(arc);
+            arc = forwardState.parentArcMap.get(arc.tail);
+        }
+
+        Collections.<Arc<W>>reverse(arcList);
+        arc = backwardState.parentArcMap.get(touchNode);
+
+        while (arc != null) {
+            arcList.add(arc);
+            arc = backwardState.parentArcMap.get(arc.head);
+        }
+
+        List<DirectedGraphNode> path = new ArrayList<>();
+        path.add(hierarchy.getNode(arcList.get(0).tail));
+
+        for (Arc<W> pathArc : arcList) {
+            hierarchy.unpackArc(pathArc, path);
+        }
+
+        return path;
+    }
+
+    /**
+     * Holds the state of one of the two upward searches.
+     *
+     * @param <W> the weight type.
+     */
+    private static final class SearchState<W extends Comparable<? super W>> {
+
+        final PriorityQueue<DirectedGraphNode, W> searchFrontier;
+        final Set<Integer> closedSet = new HashSet<>();
+        final Map<Integer, W> distanceMap = new HashMap<>();
+
+        /**
+         * Maps each reached node index to the arc it was reached via.
+         */
+        final Map<Integer, Arc<W>> parentArcMap = new HashMap<>();
+
+        /**
+         * {@code true} if this search follows the arcs, {@code false} if it
+         * goes against them.
+         */
+        final boolean forward;
+
+        SearchState(PriorityQueue<DirectedGraphNode, W> searchFrontier,
+                    boolean forward) {
+            this.searchFrontier = searchFrontier;
+            this.forward = forward;
+            searchFrontier.clear();
+        }
+
+        void open(DirectedGraphNode node, int index, W distance) {
+            searchFrontier.add(node, distance);
+            distanceMap.put(index, distance);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -9,7 +10,8 @@ import java.util.NoSuchElementException;
  * heap, or ,namely, the maximum amount of children of a node. This version is
  * unindexed. "Unindexed" means that this heap does not map elements to their
  * nodes, for which reason the decrease operation of the priority key of an 
- * element is not implemented.
+ * element is not implemented. Optionally, the extractions use the bottom-up 
+ * sift-down, see {@link BinaryHeap}.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.61 (Jan 19, 2017)
@@ -75,8 +77,24 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
      */
     private int size;
     
+    /**
+     * Whether the extractions use the bottom-up sift-down.
+     */
+    private final boolean bottomUp;
+    
     public DaryHeap(int degree) {
+        this(degree, false);
+    }
+    
+    /**
+     * Constructs an empty {@code d}-ary heap.
+     * 
+     * @param degree   the degree of the heap.
+     * @param bottomUp whether to sift down bottom-up on the extractions.
+     */
+    public DaryHeap(int degree, boolean bottomUp) {
         this.degree = Math.max(degree, MINIMUM_DEGREE); 
+        this.bottomUp = bottomUp;
         indices = new int[this.degree];
         daryHeapNodeArray = new DaryHeapNode[DEFAULT_CAPACITY];
     }
@@ -93,6 +111,32 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
         siftUp(size++);
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the new elements are at least as many as the elements already in this
+     * heap, they are appended to the storage array, after which the whole heap
+     * is rebuilt bottom-up in linear time (Floyd's heapify). Otherwise, they
+     * are added one by one.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        if (elementPriorityMap.size() < size) {
+            PriorityQueue.super.addAll(elementPriorityMap);
+            return;
+        }
+        
+        ensureCapacity(size + elementPriorityMap.size());
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            daryHeapNodeArray[size++] = 
+                    new DaryHeapNode<>(entry.getKey(), entry.getValue());
+        }
+        
+        heapify();
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -111,7 +155,13 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
         E element = daryHeapNodeArray[0].element;
         DaryHeapNode<E, P> node = daryHeapNodeArray[--size];
         daryHeapNodeArray[0] = node;
-        siftDownRoot();
+        
+        if (bottomUp) {
+            siftDownRootBottomUp();
+        } else {
+            siftDownRoot();
+        }
+        
         daryHeapNodeArray[size] = null;
         return element;
     }
@@ -149,7 +199,8 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
      */
     @Override
     public String toString() {
-        return "DaryHeap: degree = " + degree;
+        return "DaryHeap: degree = " + degree + 
+               (bottomUp ? " (bottom-up)" : "");
     }
   
     /**
@@ -169,8 +220,10 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
         while (true) {
             DaryHeapNode<E, P> parentNode = daryHeapNodeArray[parentNodeIndex];
             
-            if (parentNode.priority.compareTo(targetNode.priority) > 0) {
+            if (HeapCounters.compare(parentNode.priority,
+                                     targetNode.priority) > 0) {
                 daryHeapNodeArray[index] = parentNode;
+                HeapCounters.countSiftStep();
                 index = parentNodeIndex;
                 parentNodeIndex = getParentNodeIndex(index);
             } else {
@@ -185,14 +238,69 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
         daryHeapNodeArray[index] = targetNode;
     }
     
+    /**
+     * Restores the heap invariant of the whole storage array by sifting down 
+     * every internal node, starting from the last one.
+     */
+    private void heapify() {
+        if (size < 2) {
+            return;
+        }
+        
+        for (int index = getParentNodeIndex(size - 1); index >= 0; --index) {
+            siftDown(index);
+        }
+    }
+    
+    /**
+     * Sifts down the root element.
+     */
+    private void siftDownRoot() {
+        siftDown(0);
+    }
+    
+    /**
+     * Moves the hole at the root down to a leaf along the minimum children, 
+     * which takes {@code d - 1} comparisons per level, and then sifts the 
+     * root node up from that leaf.
+     */
+    private void siftDownRootBottomUp() {
+        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[0];
+        int index = 0;
+        int firstChildIndex = 1;
+        
+        while (firstChildIndex < size) {
+            int endChildIndex = Math.min(firstChildIndex + degree, size);
+            int minChildIndex = firstChildIndex;
+            P minChildPriority = daryHeapNodeArray[firstChildIndex].priority;
+            
+            for (int i = firstChildIndex + 1; i < endChildIndex; ++i) {
+                P tentativePriority = daryHeapNodeArray[i].priority;
+                
+                if (HeapCounters.compare(tentativePriority,
+                                         minChildPriority) < 0) {
+                    minChildPriority = tentativePriority;
+                    minChildIndex = i;
+                }
+            }
+            
+            daryHeapNodeArray[index] = daryHeapNodeArray[minChildIndex];
+            HeapCounters.countSiftStep();
+            index = minChildIndex;
+            firstChildIndex = degree * index + 1;
+        }
+        
+        daryHeapNodeArray[index] = targetNode;
+        siftUp(index);
+    }
+    
     /**
      * Sifts down the element at position {@code index}.
      * 
      * @param index the index of the element to sift down.
      */
-    private void siftDownRoot() {
-        int index = 0;
-        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[0];
+    private void siftDown(int index) {
+        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[index];
         P priority = targetNode.priority;
         
         while (true) {
@@ -207,7 +315,8 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
                 
                 P tentativePriority = daryHeapNodeArray[i].priority;
                 
-                if (minChildPriority.compareTo(tentativePriority) > 0) {
+                if (HeapCounters.compare(minChildPriority,
+                                         tentativePriority) > 0) {
                     minChildPriority = tentativePriority;
                     minChildIndex = i;
                 }
@@ -219,6 +328,7 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
             }
             
             daryHeapNodeArray[index] = daryHeapNodeArray[minChildIndex];
+            HeapCounters.countSiftStep();
             index = minChildIndex;
         }
     }
@@ -253,6 +363,20 @@ public final class DaryHeap<E, P extends Comparable<? super P>>
         }
     }
     
+    /**
+     * Makes sure that the node array can hold {@code capacity} nodes.
+     * 
+     * @param capacity the requested capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > daryHeapNodeArray.length) {
+            daryHeapNodeArray = 
+                    Arrays.copyOf(daryHeapNodeArray,
+                                  Math.max(capacity, 
+                                           2 * daryHeapNodeArray.length));
+        }
+    }
+    
     /**
      * Makes sure that the heap is not empty. If it is, an exception is thrown.
      */
@@ -129,6 +129,7 @@ public final class DoubleDialsHeap<E> implements PriorityQueue<E, Double> {
     public void clear() {
         Arrays.fill(storageArray, null);
         size = 0;
+        minimumBucketIndex = Integer.MAX_VALUE;
     }
     
     @Override
@@ -0,0 +1,154 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class implements a multi-level bucket heap with non-negative double
+ * priority keys. Just like {@link DoubleRadixHeap}, the heap works on the
+ * IEEE 754 bit patterns of the priorities, read as {@code long} values, whose
+ * order equals the order of the non-negative doubles. The 63 bits of the keys
+ * are split into {@code levels} digits, so at least four levels are needed.
+ * See {@link MultiLevelBucketHeap} for the structure, the monotonicity
+ * requirement and the caliber heuristic. This version is not indexed.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class DoubleMultiLevelBucketHeap<E>
+        implements PriorityQueue<E, Double> {
+
+    /**
+     * The number of bits in the largest key of a non-negative double.
+     */
+    static final int KEY_BITS = Long.SIZE - 1;
+
+    private final MultiLevelBuckets<E> buckets;
+
+    /**
+     * Maps each element to its caliber, or {@code null} if the caliber
+     * heuristic is not in use.
+     */
+    private final ToDoubleFunction<? super E> caliberFunction;
+
+    public DoubleMultiLevelBucketHeap(int levels) {
+        this(levels, null);
+    }
+
+    /**
+     * Constructs a new empty multi-level bucket heap.
+     *
+     * @param levels          the number of levels.
+     * @param caliberFunction the function mapping each element to its
+     *                        non-negative caliber, or {@code null} for not
+     *                        using the caliber heuristic.
+     */
+    public DoubleMultiLevelBucketHeap(
+            int levels,
+            ToDoubleFunction<? super E> caliberFunction) {
+        this.buckets = new MultiLevelBuckets<>(levels, KEY_BITS);
+        this.caliberFunction = caliberFunction;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        MultiLevelBuckets.Node<E> node =
+                new MultiLevelBuckets.Node<>(element, checkPriority(priority));
+
+        if (caliberFunction != null
+                && priority <= Double.longBitsToDouble(buckets.getLastKey()) +
+                               caliberFunction.applyAsDouble(element)) {
+            buckets.insertSettled(node);
+        } else {
+            buckets.insert(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        throw new UnsupportedOperationException(
+                "This DoubleMultiLevelBucketHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        return buckets.extractMinimum().element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "DoubleMultiLevelBucketHeap, levels = " + buckets.getLevels() +
+               (caliberFunction == null ? "" : " (calibers)");
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority} and
+     * converts it to its key. Adding zero maps {@code -0.0} to {@code 0.0}.
+     *
+     * @param priority the priority to check.
+     * @return the key of the priority.
+     */
+    private long checkPriority(Double priority) {
+        double p = priority;
+
+        if (!(p >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is negative or NaN.");
+        }
+
+        long key = Double.doubleToLongBits(p + 0.0);
+
+        if (key < buckets.getLastKey()) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " +
+                    Double.longBitsToDouble(buckets.getLastKey()) + ".");
+        }
+
+        return key;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (buckets.size() == 0) {
+            throw new NoSuchElementException(
+                    "This DoubleMultiLevelBucketHeap is empty.");
+        }
+    }
+}
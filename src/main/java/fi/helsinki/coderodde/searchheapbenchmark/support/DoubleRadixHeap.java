@@ -0,0 +1,233 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a radix heap with non-negative double priority keys.
+ * For non-negative doubles, the order of the IEEE 754 bit patterns, read as
+ * {@code long} values, equals the order of the doubles themselves, so the heap
+ * works on these bit patterns, or keys, exactly like {@link RadixHeap} works on
+ * integer priorities. The bucket array has a fixed length of 65, and each
+ * element moves to a lower bucket at most 64 times. Just like
+ * {@link RadixHeap}, this heap is monotone and not indexed.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class DoubleRadixHeap<E> implements PriorityQueue<E, Double> {
+
+    /**
+     * One bucket for each bit of a {@code long} key plus the bucket for the
+     * keys equal to the last extracted key.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The initial capacity of each bucket.
+     */
+    private static final int DEFAULT_BUCKET_CAPACITY = 16;
+
+    /**
+     * {@code bucketElements[i]} holds the elements of the {@code i}th bucket.
+     */
+    private final Object[][] bucketElements = new Object[BUCKETS][];
+
+    /**
+     * {@code bucketKeys[i][j]} is the key of {@code bucketElements[i][j]}.
+     */
+    private final long[][] bucketKeys = new long[BUCKETS][];
+
+    /**
+     * {@code bucketSizes[i]} is the number of elements in the {@code i}th
+     * bucket.
+     */
+    private final int[] bucketSizes = new int[BUCKETS];
+
+    /**
+     * The key of the most recently extracted element.
+     */
+    private long lastKey;
+
+    /**
+     * Caches the number of elements in this heap.
+     */
+    private int size;
+
+    public DoubleRadixHeap() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            bucketElements[i] = new Object[DEFAULT_BUCKET_CAPACITY];
+            bucketKeys[i] = new long[DEFAULT_BUCKET_CAPACITY];
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        long key = checkPriority(priority);
+        push(getBucketIndex(key), element, key);
+        ++size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        throw new UnsupportedOperationException(
+                "This DoubleRadixHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+
+        if (bucketSizes[0] == 0) {
+            redistribute();
+        }
+
+        int index = --bucketSizes[0];
+        E element = (E) bucketElements[0][index];
+        bucketElements[0][index] = null;
+        --size;
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            Arrays.fill(bucketElements[i], 0, bucketSizes[i], null);
+            bucketSizes[i] = 0;
+        }
+
+        lastKey = 0L;
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "DoubleRadixHeap";
+    }
+
+    /**
+     * Empties the lowest non-empty bucket. Its minimum key becomes the last
+     * extracted key, and all its elements move to lower buckets, at least one
+     * of them to the bucket {@code 0}.
+     */
+    private void redistribute() {
+        int bucketIndex = 1;
+
+        while (bucketSizes[bucketIndex] == 0) {
+            ++bucketIndex;
+        }
+
+        Object[] elements = bucketElements[bucketIndex];
+        long[] keys = bucketKeys[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+        long minimumKey = keys[0];
+
+        for (int i = 1; i < bucketSize; ++i) {
+            minimumKey = Math.min(minimumKey, keys[i]);
+        }
+
+        lastKey = minimumKey;
+        bucketSizes[bucketIndex] = 0;
+
+        for (int i = 0; i < bucketSize; ++i) {
+            push(getBucketIndex(keys[i]), elements[i], keys[i]);
+            elements[i] = null;
+        }
+    }
+
+    /**
+     * Appends {@code element} with key {@code key} to the bucket with index
+     * {@code bucketIndex}.
+     *
+     * @param bucketIndex the index of the target bucket.
+     * @param element     the element to append.
+     * @param key         the key of the element.
+     */
+    private void push(int bucketIndex, Object element, long key) {
+        int bucketSize = bucketSizes[bucketIndex];
+
+        if (bucketSize == bucketElements[bucketIndex].length) {
+            bucketElements[bucketIndex] =
+                    Arrays.copyOf(bucketElements[bucketIndex], 2 * bucketSize);
+            bucketKeys[bucketIndex] =
+                    Arrays.copyOf(bucketKeys[bucketIndex], 2 * bucketSize);
+        }
+
+        bucketElements[bucketIndex][bucketSize] = element;
+        bucketKeys[bucketIndex][bucketSize] = key;
+        bucketSizes[bucketIndex] = bucketSize + 1;
+    }
+
+    /**
+     * Returns the index of the bucket for the key {@code key}.
+     *
+     * @param key the key.
+     * @return the bucket index.
+     */
+    private int getBucketIndex(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority} and
+     * converts it to its key. Adding zero maps {@code -0.0} to {@code 0.0}.
+     *
+     * @param priority the priority to check.
+     * @return the key of the priority.
+     */
+    private long checkPriority(Double priority) {
+        double p = priority;
+
+        if (!(p >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is negative or NaN.");
+        }
+
+        long key = Double.doubleToLongBits(p + 0.0);
+
+        if (key < lastKey) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " + Double.longBitsToDouble(lastKey) + ".");
+        }
+
+        return key;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This DoubleRadixHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements the index of the indexed heaps, mapping each present
+ * element to the heap node holding it. The index is either a hash map, or,
+ * when the elements come with integer ids, an array addressed by the id, which
+ * spares the hashing and the equality checks of the elements on each
+ * operation. The values are never {@code null}.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <V> the value type.
+ */
+abstract class ElementIndex<E, V> {
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id, or {@code null} for a hash map.
+     * @return a new empty index.
+     */
+    static <E, V> ElementIndex<E, V>
+        create(ToIntFunction<? super E> idFunction) {
+        return idFunction == null ?
+               new HashElementIndex<>() :
+               new ArrayElementIndex<>(idFunction);
+    }
+
+    abstract V get(E element);
+
+    abstract void put(E element, V value);
+
+    abstract void remove(E element);
+
+    abstract int size();
+
+    abstract void clear();
+
+    /**
+     * Performs {@code action} on each element and its value.
+     *
+     * @param action the action to perform.
+     */
+    abstract void forEach(BiConsumer<? super E, ? super V> action);
+
+    /**
+     * Returns the suffix of the name of a heap using this index.
+     *
+     * @return the name suffix.
+     */
+    abstract String getNameSuffix();
+
+    /**
+     * Tells whether {@code other} is the same kind of index as this one, so
+     * that the two may trade places without changing the indexing of either
+     * heap.
+     *
+     * @param other the other index.
+     * @return {@code true} if the indices are interchangeable.
+     */
+    abstract boolean isInterchangeableWith(ElementIndex<?, ?> other);
+
+    final boolean containsKey(E element) {
+        return get(element) != null;
+    }
+
+    final boolean isEmpty() {
+        return size() == 0;
+    }
+
+    final void putAll(ElementIndex<E, V> other) {
+        other.forEach(this::put);
+    }
+
+    /**
+     * Makes sure that this index and {@code other} share no element.
+     *
+     * @param other the other index.
+     * @throws IllegalArgumentException if the indices share an element.
+     */
+    final void checkDisjoint(ElementIndex<E, V> other) {
+        ElementIndex<E, V> smaller = size() < other.size() ? this : other;
+        ElementIndex<E, V> larger = smaller == this ? other : this;
+
+        smaller.forEach((element, value) -> {
+            if (larger.containsKey(element)) {
+                throw new IllegalArgumentException(
+                        "Both heaps contain the element " + element + ".");
+            }
+        });
+    }
+
+    /**
+     * This class implements an index on top of a hash map.
+     *
+     * @param <E> the element type.
+     * @param <V> the value type.
+     */
+    private static final class HashElementIndex<E, V>
+    extends ElementIndex<E, V> {
+
+        private final Map<E, V> map = new HashMap<>();
+
+        @Override
+        V get(E element) {
+            return map.get(element);
+        }
+
+        @Override
+        void put(E element, V value) {
+            map.put(element, value);
+        }
+
+        @Override
+        void remove(E element) {
+            map.remove(element);
+        }
+
+        @Override
+        int size() {
+            return map.size();
+        }
+
+        @Override
+        void clear() {
+            map.clear();
+        }
+
+        @Override
+        void forEach(BiConsumer<? super E, ? super V> action) {
+            map.forEach(action);
+        }
+
+        @Override
+        String getNameSuffix() {
+            return "";
+        }
+
+        @Override
+        boolean isInterchangeableWith(ElementIndex<?, ?> other) {
+            return other instanceof HashElementIndex;
+        }
+    }
+
+    /**
+     * This class implements an index on top of arrays addressed by the element
+     * ids. The value array is as long as the largest id seen so far, so the
+     * ids should be dense. The present elements are also kept in a dense
+     * array, so that clearing the index and iterating over it take time
+     * proportional to the number of the present elements.
+     *
+     * @param <E> the element type.
+     * @param <V> the value type.
+     */
+    private static final class ArrayElementIndex<E, V>
+    extends ElementIndex<E, V> {
+
+        private static final int DEFAULT_CAPACITY = 1024;
+
+        private final ToIntFunction<? super E> idFunction;
+
+        /**
+         * {@code values[id]} is the value of the element with the id
+         * {@code id}, or {@code null} if the element is not present.
+         */
+        private Object[] values = new Object[DEFAULT_CAPACITY];
+
+        /**
+         * {@code positions[id]} is the position of the element with the id
+         * {@code id} in {@code elements}, if the element is present.
+         */
+        private int[] positions = new int[DEFAULT_CAPACITY];
+
+        /**
+         * The present elements in no particular order.
+         */
+        private Object[] elements = new Object[DEFAULT_CAPACITY];
+
+        private int size;
+
+        ArrayElementIndex(ToIntFunction<? super E> idFunction) {
+            this.idFunction = idFunction;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V get(E element) {
+            int id = idFunction.applyAsInt(element);
+            return id >= 0 && id < values.length ? (V) values[id] : null;
+        }
+
+        @Override
+        void put(E element, V value) {
+            int id = idFunction.applyAsInt(element);
+            checkId(id);
+
+            if (values[id] == null) {
+                if (size == elements.length) {
+                    elements = Arrays.copyOf(elements, 2 * size);
+                }
+
+                positions[id] = size;
+                elements[size++] = element;
+            }
+
+            values[id] = value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void remove(E element) {
+            int id = idFunction.applyAsInt(element);
+
+            if (id < 0 || id >= values.length || values[id] == null) {
+                return;
+            }
+
+            // Move the last element to the hole.
+            int position = positions[id];
+            E lastElement = (E) elements[--size];
+            elements[position] = lastElement;
+            positions[idFunction.applyAsInt(lastElement)] = position;
+            elements[size] = null;
+            values[id] = null;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void clear() {
+            for (int i = 0; i < size; ++i) {
+                values[idFunction.applyAsInt((E) elements[i])] = null;
+                elements[i] = null;
+            }
+
+            size = 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<? super E, ? super V> action) {
+            for (int i = 0; i < size; ++i) {
+                E element = (E) elements[i];
+                action.accept(element,
+                              (V) values[idFunction.applyAsInt(element)]);
+            }
+        }
+
+        @Override
+        String getNameSuffix() {
+            return " (id array)";
+        }
+
+        @Override
+        boolean isInterchangeableWith(ElementIndex<?, ?> other) {
+            return other instanceof ArrayElementIndex
+                    && ((ArrayElementIndex<?, ?>) other).idFunction
+                        == idFunction;
+        }
+
+        private void checkId(int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException(
+                        "The element id " + id + " is negative.");
+            }
+
+            if (id >= values.length) {
+                int newLength = Math.max(2 * values.length, id + 1);
+                values = Arrays.copyOf(values, newLength);
+                positions = Arrays.copyOf(positions, newLength);
+            }
+        }
+    }
+}
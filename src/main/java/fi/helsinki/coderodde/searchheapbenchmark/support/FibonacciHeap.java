@@ -1,13 +1,20 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
  * This class implements a Fibonacci heap. "Unindexed" means that this heap does 
  * not map elements to their nodes, for which reason the decrease operation of 
  * the priority key of an element is not implemented.
+ * <p>
+ * In the pooled mode, the nodes of the extracted elements, as well as the 
+ * nodes dropped by {@link #clear()}, are kept in a free list and reused by the
+ * subsequent additions.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 19, 2017)
@@ -16,7 +23,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type. 
  */
 public final class FibonacciHeap<E, P extends Comparable<? super P>>
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     /**
      * The default length of the root list node array used for consolidation.
@@ -34,12 +41,12 @@ implements PriorityQueue<E, P> {
         /**
          * The actual element.
          */
-        private final E element;
+        private E element;
         
         /**
          * The priority key of this node.
          */
-        private final P priority;
+        private P priority;
         
         /**
          * The parent node of this node.
@@ -93,20 +100,42 @@ implements PriorityQueue<E, P> {
     private FibonacciHeapNode<E, P>[] array = 
             new FibonacciHeapNode[DEFAULT_CHILD_ARRAY_LENGTH];
     
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code right}.
+     */
+    private FibonacciHeapNode<E, P> freeNode;
+    
+    public FibonacciHeap() {
+        this(false);
+    }
+    
+    /**
+     * Constructs a new empty Fibonacci heap.
+     * 
+     * @param pooled whether to recycle the nodes.
+     */
+    public FibonacciHeap(boolean pooled) {
+        this.pooled = pooled;
+    }
+    
    /**
     * {@inheritDoc } 
     */ 
     @Override
     public void add(E element, P priority) {
-        FibonacciHeapNode<E, P> node = new FibonacciHeapNode<>(element, 
-                                                               priority);
+        FibonacciHeapNode<E, P> node = newNode(element, priority);
         if (minimumNode != null) {
             node.left = minimumNode;
             node.right = minimumNode.right;
             minimumNode.right = node;
             node.right.left = node;
             
-            if (priority.compareTo(minimumNode.priority) < 0) {
+            if (HeapCounters.compare(priority, minimumNode.priority) < 0) {
                 minimumNode = node;
             }
         } else {
@@ -116,6 +145,67 @@ implements PriorityQueue<E, P> {
         ++size;
     }
 
+   /**
+    * {@inheritDoc }
+    * <p>
+    * The new nodes are first linked into a list of their own while tracking
+    * its minimum node, after which the list is spliced into the root list in 
+    * constant time.
+    */ 
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        FibonacciHeapNode<E, P> first = null;
+        FibonacciHeapNode<E, P> listMinimumNode = null;
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            FibonacciHeapNode<E, P> node = newNode(entry.getKey(), 
+                                                   entry.getValue());
+            
+            if (first == null) {
+                first = node;
+                listMinimumNode = node;
+            } else {
+                node.left = first.left;
+                node.right = first;
+                first.left.right = node;
+                first.left = node;
+                
+                if (HeapCounters.compare(node.priority, 
+                                         listMinimumNode.priority) < 0) {
+                    listMinimumNode = node;
+                }
+            }
+            
+            ++size;
+        }
+        
+        if (first != null) {
+            spliceIntoRootList(first, listMinimumNode);
+        }
+    }
+
+   /**
+    * {@inheritDoc }
+    * <p>
+    * Splices the two root lists in constant time.
+    */ 
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        FibonacciHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.minimumNode == null) {
+            return;
+        }
+        
+        spliceIntoRootList(otherHeap.minimumNode, otherHeap.minimumNode);
+        size += otherHeap.size;
+        // The nodes of the other heap now belong to this heap, so they must
+        // not be recycled by otherHeap.clear().
+        otherHeap.minimumNode = null;
+        otherHeap.size = 0;
+    }
+
    /**
     * {@inheritDoc } 
     */ 
@@ -164,7 +254,9 @@ implements PriorityQueue<E, P> {
         }
         
         --size;
-        return z.element;
+        E element = z.element;
+        recycle(z);
+        return element;
     }
 
     /**
@@ -180,13 +272,68 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public void clear() {
+        if (pooled && minimumNode != null) {
+            Deque<FibonacciHeapNode<E, P>> stack = new ArrayDeque<>();
+            stack.push(minimumNode);
+            
+            // Each node on the stack stands for its whole sibling list.
+            while (!stack.isEmpty()) {
+                FibonacciHeapNode<E, P> first = stack.pop();
+                FibonacciHeapNode<E, P> node = first;
+                
+                do {
+                    FibonacciHeapNode<E, P> next = node.right;
+                    
+                    if (node.child != null) {
+                        stack.push(node.child);
+                    }
+                    
+                    recycle(node);
+                    node = next;
+                } while (node != first);
+            }
+        }
+        
         minimumNode = null;
         size = 0;
     }
     
     @Override
     public String toString() {
-        return "FibonacciHeap";
+        return pooled ? "FibonacciHeap (pooled)" : "FibonacciHeap";
+    }
+    
+    private FibonacciHeapNode<E, P> newNode(E element, P priority) {
+        if (freeNode == null) {
+            return new FibonacciHeapNode<>(element, priority);
+        }
+        
+        FibonacciHeapNode<E, P> node = freeNode;
+        freeNode = node.right;
+        node.element = element;
+        node.priority = priority;
+        node.left = node;
+        node.right = node;
+        return node;
+    }
+    
+    /**
+     * Puts {@code node} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     * 
+     * @param node the node no longer in this heap.
+     */
+    private void recycle(FibonacciHeapNode<E, P> node) {
+        if (pooled) {
+            node.element = null;
+            node.priority = null;
+            node.parent = null;
+            node.child = null;
+            node.degree = 0;
+            node.left = null;
+            node.right = freeNode;
+            freeNode = node;
+        }
     }
     
     private void consolidate() {
@@ -214,7 +361,7 @@ implements PriorityQueue<E, P> {
             while (array[degree] != null) {
                 FibonacciHeapNode<E, P> y = array[degree];
                 
-                if (x.priority.compareTo(y.priority) > 0) {
+                if (HeapCounters.compare(x.priority, y.priority) > 0) {
                     FibonacciHeapNode<E, P> tmp = y;
                     y = x;
                     x = tmp;
@@ -254,12 +401,13 @@ implements PriorityQueue<E, P> {
         minimumNode.right = node;
         node.right.left = node;
         
-        if (node.priority.compareTo(minimumNode.priority) < 0) {
+        if (HeapCounters.compare(node.priority, minimumNode.priority) < 0) {
             minimumNode = node;
         }
     }
     
     private void link(FibonacciHeapNode<E, P> y, FibonacciHeapNode<E, P> x) {
+        HeapCounters.countLink();
         y.left.right = y.right;
         y.right.left = y.left;
         
@@ -292,6 +440,47 @@ implements PriorityQueue<E, P> {
         }
     }
     
+    /**
+     * Splices a circular list of root nodes into the root list of this heap.
+     * 
+     * @param first           any node of the list to splice.
+     * @param listMinimumNode the node with the minimum priority in the list.
+     */
+    private void spliceIntoRootList(FibonacciHeapNode<E, P> first,
+                                    FibonacciHeapNode<E, P> listMinimumNode) {
+        if (minimumNode == null) {
+            minimumNode = listMinimumNode;
+            return;
+        }
+        
+        FibonacciHeapNode<E, P> last = first.left;
+        FibonacciHeapNode<E, P> minimumNodeRight = minimumNode.right;
+        minimumNode.right = first;
+        first.left = minimumNode;
+        last.right = minimumNodeRight;
+        minimumNodeRight.left = last;
+        
+        if (HeapCounters.compare(listMinimumNode.priority, 
+                                 minimumNode.priority) < 0) {
+            minimumNode = listMinimumNode;
+        }
+    }
+    
+    private FibonacciHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a FibonacciHeap with itself.");
+        }
+        
+        if (!(other instanceof FibonacciHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a FibonacciHeap with " + other + ".");
+        }
+        
+        return (FibonacciHeap<E, P>) other;
+    }
+    
     /**
      * Makes sure that the heap is not empty. If it is, an exception is thrown.
      */
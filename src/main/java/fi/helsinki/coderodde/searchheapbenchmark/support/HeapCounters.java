@@ -0,0 +1,100 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+/**
+ * This class holds the counters of the elementary heap operations: key
+ * comparisons, levels travelled while sifting, links of two trees into one
+ * and cuts of subtrees off their parents. The comparison-based heaps and
+ * the tree maps report to these counters, which allows explaining why one
+ * heap beats another on a given graph.
+ * <p>
+ * Counting is enabled by running with
+ * {@code -Dsearchheapbenchmark.counters=true}. Since {@link #ENABLED} is a
+ * static final field, the JIT compiler folds it into a constant and removes
+ * the counting code entirely when counting is disabled.
+ * <p>
+ * The counters are global and not synchronized, so they are meaningful only
+ * while a single thread is using the heaps.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class HeapCounters {
+
+    public static final boolean ENABLED =
+            Boolean.getBoolean("searchheapbenchmark.counters");
+
+    private static long comparisons;
+    private static long siftSteps;
+    private static long links;
+    private static long cuts;
+
+    private HeapCounters() {}
+
+    /**
+     * Resets all the counters to zero.
+     */
+    public static void reset() {
+        comparisons = 0L;
+        siftSteps = 0L;
+        links = 0L;
+        cuts = 0L;
+    }
+
+    public static long getComparisons() {
+        return comparisons;
+    }
+
+    public static long getSiftSteps() {
+        return siftSteps;
+    }
+
+    public static long getLinks() {
+        return links;
+    }
+
+    public static long getCuts() {
+        return cuts;
+    }
+
+    /**
+     * Returns the current counter values as text of the form
+     * {@code "X comparisons, Y sift steps, Z links, W cuts"}.
+     *
+     * @return the textual summary of the counters.
+     */
+    public static String getSummary() {
+        return comparisons + " comparisons, " +
+               siftSteps + " sift steps, " +
+               links + " links, " +
+               cuts + " cuts";
+    }
+
+    /**
+     * Compares two keys and counts the comparison.
+     */
+    static <K extends Comparable<? super K>> int compare(K key1, K key2) {
+        if (ENABLED) {
+            ++comparisons;
+        }
+
+        return key1.compareTo(key2);
+    }
+
+    static void countSiftStep() {
+        if (ENABLED) {
+            ++siftSteps;
+        }
+    }
+
+    static void countLink() {
+        if (ENABLED) {
+            ++links;
+        }
+    }
+
+    static void countCut() {
+        if (ENABLED) {
+            ++cuts;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class holds a sequence of heap operations recorded by
+ * {@link HeapTraceRecorder}. The elements are identified by the dense
+ * integers assigned to them in the order of their first appearance, and the
+ * priorities are either {@code Integer}s or {@code Double}s.
+ * <p>
+ * A trace is stored in a compact binary form: after the header, each
+ * operation takes one byte followed, for additions and priority decreases,
+ * by the variable-length element identifier and the priority. The integer
+ * priorities are variable-length as well, the real ones take eight bytes.
+ * <p>
+ * {@link #replay(PriorityQueue)} feeds the operations to a heap over
+ * {@code Integer} elements, so that no graph lookups contribute to the
+ * running time. A trace recorded through an indexed heap contains priority
+ * decreases, and thus may be replayed only by indexed heaps, whereas a trace
+ * recorded through an unindexed heap contains repeated additions of the same
+ * element, which the indexed heaps ignore.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <P> the priority type.
+ */
+public final class HeapTrace<P extends Comparable<? super P>> {
+
+    static final byte ADD = 0;
+    static final byte DECREASE_PRIORITY = 1;
+    static final byte EXTRACT_MINIMUM = 2;
+    static final byte CLEAR = 3;
+
+    private static final int MAGIC = 0x48545243; // "HTRC"
+    private static final byte VERSION = 1;
+    private static final byte INTEGER_PRIORITIES = 'I';
+    private static final byte DOUBLE_PRIORITIES = 'D';
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Class<P> priorityClass;
+    private byte[] operations = new byte[DEFAULT_CAPACITY];
+    private int[] elementIds = new int[DEFAULT_CAPACITY];
+    private Object[] priorities = new Object[DEFAULT_CAPACITY];
+    private int size;
+    private int numberOfElements;
+
+    /**
+     * Caches the replayed elements so that replaying allocates no elements.
+     */
+    private Integer[] elements;
+
+    HeapTrace(Class<P> priorityClass) {
+        this.priorityClass =
+                Objects.requireNonNull(priorityClass,
+                                       "The priority class is null.");
+
+        if (priorityClass != Integer.class && priorityClass != Double.class) {
+            throw new IllegalArgumentException(
+                    "Only Integer and Double priorities are supported.");
+        }
+    }
+
+    /**
+     * Reads a trace written by {@link #write(OutputStream)}.
+     *
+     * @param <P>           the priority type.
+     * @param inputStream   the stream to read from.
+     * @param priorityClass the expected priority class.
+     * @return the trace.
+     * @throws IOException if reading fails or the data is not a trace with the
+     *                     expected priority type.
+     */
+    public static <P extends Comparable<? super P>> HeapTrace<P>
+        read(InputStream inputStream, Class<P> priorityClass)
+            throws IOException {
+        HeapTrace<P> trace = new HeapTrace<>(priorityClass);
+        DataInputStream in =
+                new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (readPriorityTypeTag(in) != trace.getPriorityTypeTag()) {
+            throw new IOException("The trace priorities are not of type " +
+                                  priorityClass.getSimpleName() + ".");
+        }
+
+        int operationCount = in.readInt();
+
+        for (int i = 0; i < operationCount; ++i) {
+            byte operation = in.readByte();
+
+            switch (operation) {
+                case ADD:
+                case DECREASE_PRIORITY:
+                    int elementId = readVarInt(in);
+                    Object priority = priorityClass == Integer.class ?
+                            (Object) decodeZigZag(readVarInt(in)) :
+                            (Object) in.readDouble();
+                    trace.append(operation,
+                                 elementId,
+                                 priorityClass.cast(priority));
+                    break;
+
+                case EXTRACT_MINIMUM:
+                case CLEAR:
+                    trace.append(operation, -1, null);
+                    break;
+
+                default:
+                    throw new IOException("Unknown operation: " + operation);
+            }
+        }
+
+        return trace;
+    }
+
+    /**
+     * Reads the header of a trace written by {@link #write(OutputStream)} and
+     * returns the priority class of the trace, so that a trace of unknown
+     * type may be read with {@link #read(InputStream, Class)} afterwards.
+     *
+     * @param inputStream the stream to read from.
+     * @return {@code Integer.class} or {@code Double.class}.
+     * @throws IOException if reading fails or the data is not a trace.
+     */
+    public static Class<?> readPriorityClass(InputStream inputStream)
+            throws IOException {
+        byte tag = readPriorityTypeTag(new DataInputStream(inputStream));
+
+        switch (tag) {
+            case INTEGER_PRIORITIES:
+                return Integer.class;
+
+            case DOUBLE_PRIORITIES:
+                return Double.class;
+
+            default:
+                throw new IOException("Unknown priority type: " + tag);
+        }
+    }
+
+    /**
+     * Writes this trace to {@code outputStream} and flushes it.
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if writing fails.
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(getPriorityTypeTag());
+        out.writeInt(size);
+
+        for (int i = 0; i < size; ++i) {
+            out.writeByte(operations[i]);
+
+            if (operations[i] == ADD || operations[i] == DECREASE_PRIORITY) {
+                writeVarInt(out, elementIds[i]);
+
+                if (priorityClass == Integer.class) {
+                    writeVarInt(out, encodeZigZag((Integer) priorities[i]));
+                } else {
+                    out.writeDouble((Double) priorities[i]);
+                }
+            }
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Feeds the operations of this trace to {@code heap}, which is cleared
+     * first.
+     *
+     * @param heap the heap to replay this trace on.
+     * @return the sum of the identifiers of the extracted elements, which
+     *         keeps the replay from being optimized away.
+     */
+    public long replay(PriorityQueue<Integer, P> heap) {
+        Integer[] elements = getElements();
+        long checksum = 0L;
+        heap.clear();
+
+        for (int i = 0; i < size; ++i) {
+            switch (operations[i]) {
+                case ADD:
+                    heap.add(elements[elementIds[i]], (P) priorities[i]);
+                    break;
+
+                case DECREASE_PRIORITY:
+                    heap.decreasePriority(elements[elementIds[i]],
+                                          (P) priorities[i]);
+                    break;
+
+                case EXTRACT_MINIMUM:
+                    checksum += heap.extractMinimum();
+                    break;
+
+                case CLEAR:
+                    heap.clear();
+                    break;
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Returns the number of recorded operations.
+     *
+     * @return the number of operations.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct elements appearing in this trace.
+     *
+     * @return the number of elements.
+     */
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * Tells whether this trace decreases priorities, in which case it may be
+     * replayed only by indexed heaps.
+     *
+     * @return {@code true} if this trace decreases priorities.
+     */
+    public boolean hasPriorityDecreases() {
+        return count(DECREASE_PRIORITY) > 0;
+    }
+
+    /**
+     * Returns the largest priority in this trace.
+     *
+     * @return the largest priority, or {@code null} if there is none.
+     */
+    public P getMaximumPriority() {
+        P maximumPriority = null;
+
+        for (int i = 0; i < size; ++i) {
+            P priority = (P) priorities[i];
+
+            if (priority != null
+                    && (maximumPriority == null
+                        || priority.compareTo(maximumPriority) > 0)) {
+                maximumPriority = priority;
+            }
+        }
+
+        return maximumPriority;
+    }
+
+    /**
+     * Returns the number of operations of the given kind.
+     *
+     * @param operation the operation code.
+     * @return the number of matching operations.
+     */
+    int count(byte operation) {
+        int count = 0;
+
+        for (int i = 0; i < size; ++i) {
+            if (operations[i] == operation) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    void append(byte operation, int elementId, P priority) {
+        if (size == operations.length) {
+            int capacity = 2 * size;
+            operations = Arrays.copyOf(operations, capacity);
+            elementIds = Arrays.copyOf(elementIds, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+
+        operations[size] = operation;
+        elementIds[size] = elementId;
+        priorities[size] = priority;
+        ++size;
+        numberOfElements = Math.max(numberOfElements, elementId + 1);
+        elements = null;
+    }
+
+    private Integer[] getElements() {
+        if (elements == null) {
+            elements = new Integer[numberOfElements];
+
+            for (int i = 0; i < numberOfElements; ++i) {
+                elements[i] = i;
+            }
+        }
+
+        return elements;
+    }
+
+    private byte getPriorityTypeTag() {
+        return priorityClass == Integer.class ?
+               INTEGER_PRIORITIES :
+               DOUBLE_PRIORITIES;
+    }
+
+    private static byte readPriorityTypeTag(DataInputStream in)
+            throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Not a heap trace.");
+        }
+
+        return in.readByte();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value)
+            throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable-length integer.");
+    }
+
+    private static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,105 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class decorates a priority queue and records each operation passed to
+ * it into a {@link HeapTrace}. The elements are numbered in the order they
+ * are first added, and the numbering survives {@link #clear()}, so that the
+ * same graph node keeps its identifier over all the searches.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ * @param <P> the priority type.
+ */
+public final class HeapTraceRecorder<E, P extends Comparable<? super P>>
+        implements PriorityQueue<E, P> {
+
+    private final PriorityQueue<E, P> heap;
+    private final HeapTrace<P> trace;
+    private final Map<E, Integer> elementIdMap = new HashMap<>();
+
+    public HeapTraceRecorder(PriorityQueue<E, P> heap, Class<P> priorityClass) {
+        this.heap = Objects.requireNonNull(heap, "The heap is null.");
+        this.trace = new HeapTrace<>(priorityClass);
+    }
+
+    /**
+     * Returns the trace recorded so far. The returned trace keeps growing as
+     * long as this recorder is used.
+     *
+     * @return the recorded trace.
+     */
+    public HeapTrace<P> getTrace() {
+        return trace;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        heap.add(element, priority);
+        trace.append(HeapTrace.ADD, getElementId(element), priority);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        boolean decreased = heap.decreasePriority(element, newPriority);
+        trace.append(HeapTrace.DECREASE_PRIORITY,
+                     getElementId(element),
+                     newPriority);
+        return decreased;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        E element = heap.extractMinimum();
+        trace.append(HeapTrace.EXTRACT_MINIMUM, -1, null);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        heap.clear();
+        trace.append(HeapTrace.CLEAR, -1, null);
+    }
+
+    @Override
+    public String toString() {
+        return "HeapTraceRecorder(" + heap + ")";
+    }
+
+    private int getElementId(E element) {
+        Integer elementId = elementIdMap.get(element);
+
+        if (elementId == null) {
+            elementId = elementIdMap.size();
+            elementIdMap.put(element, elementId);
+        }
+
+        return elementId;
+    }
+}
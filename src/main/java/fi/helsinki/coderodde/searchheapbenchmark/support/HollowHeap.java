@@ -0,0 +1,189 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an unindexed hollow heap of Hansen, Kaplan, Tarjan and
+ * Zwick. The heap is a single heap-ordered tree whose nodes have any number of
+ * children and a rank. An addition links the new node with the root in
+ * constant time. The root extraction links the children of the root first by
+ * rank, as in a Fibonacci heap, and then the remaining trees without regard
+ * to their ranks. "Unindexed" means that this heap does not map elements to
+ * their nodes, for which reason the decrease operation of the priority key of
+ * an element is not implemented, and no node ever becomes hollow.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class HollowHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The initial length of the array used for linking the trees by rank.
+     */
+    private static final int DEFAULT_RANK_ARRAY_LENGTH = 16;
+
+    private static final class HollowHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority key of the element.
+         */
+        final P priority;
+
+        /**
+         * The first child of this node.
+         */
+        HollowHeapNode<E, P> child;
+
+        /**
+         * The next sibling of this node.
+         */
+        HollowHeapNode<E, P> next;
+
+        /**
+         * The rank of this node.
+         */
+        int rank;
+
+        HollowHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The root of the tree, holding the minimum element.
+     */
+    private HollowHeapNode<E, P> root;
+
+    /**
+     * {@code rankArray[r]} holds a tree of rank {@code r} while linking.
+     */
+    private HollowHeapNode<E, P>[] rankArray =
+            new HollowHeapNode[DEFAULT_RANK_ARRAY_LENGTH];
+
+    private int size;
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        HollowHeapNode<E, P> node = new HollowHeapNode<>(element, priority);
+        root = root == null ? node : link(node, root);
+        ++size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        throw new UnsupportedOperationException(
+                "This HollowHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapNotEmpty();
+        E element = root.element;
+        int maximumRank = -1;
+        HollowHeapNode<E, P> node = root.child;
+
+        while (node != null) {
+            HollowHeapNode<E, P> tree = node;
+            node = node.next;
+            tree.next = null;
+
+            while (tree.rank < rankArray.length
+                    && rankArray[tree.rank] != null) {
+                HollowHeapNode<E, P> other = rankArray[tree.rank];
+                rankArray[tree.rank] = null;
+                tree = link(tree, other);
+                tree.rank++;
+            }
+
+            if (tree.rank == rankArray.length) {
+                rankArray = Arrays.copyOf(rankArray, 2 * rankArray.length);
+            }
+
+            rankArray[tree.rank] = tree;
+            maximumRank = Math.max(maximumRank, tree.rank);
+        }
+
+        root = null;
+
+        for (int rank = 0; rank <= maximumRank; ++rank) {
+            if (rankArray[rank] != null) {
+                root = root == null ? rankArray[rank]
+                                    : link(root, rankArray[rank]);
+                rankArray[rank] = null;
+            }
+        }
+
+        --size;
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HollowHeap";
+    }
+
+    /**
+     * Makes the root with the larger priority the first child of the other
+     * root.
+     *
+     * @return the root with the smaller priority.
+     */
+    private HollowHeapNode<E, P> link(HollowHeapNode<E, P> node1,
+                                      HollowHeapNode<E, P> node2) {
+        HeapCounters.countLink();
+
+        if (HeapCounters.compare(node1.priority, node2.priority) < 0) {
+            node2.next = node1.child;
+            node1.child = node2;
+            return node1;
+        } else {
+            node1.next = node2.child;
+            node2.child = node1;
+            return node2;
+        }
+    }
+
+    private void checkHeapNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This HollowHeap is empty.");
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 public final class IndexedAVLTreeHeap<E, P extends Comparable<? super P>> 
         implements PriorityQueue<E, P> {
@@ -44,13 +43,28 @@ public final class IndexedAVLTreeHeap<E, P extends Comparable<? super P>>
     /**
      * Maps each present element to its respective node.
      */
-    private final Map<E, HeapNode<E, P>> map = new HashMap<>();
+    private final ElementIndex<E, HeapNode<E, P>> map;
     
     /**
      * Maps each integer priority key to the list of elements with that very
      * priority.
      */
     private final AVLTreeMap<P, HeapNode<E, P>> nodeMap = new AVLTreeMap<>();
+
+    public IndexedAVLTreeHeap() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedAVLTreeHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
     
     @Override
     public void add(E element, P priority) {
@@ -89,7 +103,7 @@ public final class IndexedAVLTreeHeap<E, P extends Comparable<? super P>>
         
         P targetNodePriority = targetNode.priority;
         
-        if (targetNodePriority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNodePriority, newPriority) <= 0) {
             // Cannot improve the priority of the element.
             return false;
         }
@@ -179,7 +193,7 @@ public final class IndexedAVLTreeHeap<E, P extends Comparable<? super P>>
     
     @Override
     public String toString() {
-        return "IndexedAVLTreeHeap";
+        return "IndexedAVLTreeHeap" + map.getNameSuffix();
     }
     
     /**
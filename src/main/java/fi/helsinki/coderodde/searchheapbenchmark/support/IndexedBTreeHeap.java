@@ -1,9 +1,8 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 public final class IndexedBTreeHeap<E, P extends Comparable<? super P>> 
         implements PriorityQueue<E, P> {
@@ -44,7 +43,7 @@ public final class IndexedBTreeHeap<E, P extends Comparable<? super P>>
     /**
      * Maps each present element to its respective node.
      */
-    private final Map<E, HeapNode<E, P>> map = new HashMap<>();
+    private final ElementIndex<E, HeapNode<E, P>> map;
     
     /**
      * Maps each integer priority key to the list of elements with that very
@@ -54,10 +53,25 @@ public final class IndexedBTreeHeap<E, P extends Comparable<? super P>>
     
     public IndexedBTreeHeap() {
         nodeMap = new BTreeMap<>();
+        map = ElementIndex.create(null);
     }
     
     public IndexedBTreeHeap(int minimumDegree) {
+        this(minimumDegree, null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param minimumDegree the minimum degree of the underlying B-tree.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedBTreeHeap(int minimumDegree, 
+                            ToIntFunction<? super E> idFunction) {
         nodeMap = new BTreeMap<>(minimumDegree);
+        map = ElementIndex.create(idFunction);
     }
     
     @Override
@@ -97,7 +111,7 @@ public final class IndexedBTreeHeap<E, P extends Comparable<? super P>>
         
         P targetNodePriority = targetNode.priority;
         
-        if (targetNodePriority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNodePriority, newPriority) <= 0) {
             // Cannot improve the priority of the element.
             return false;
         }
@@ -188,7 +202,8 @@ public final class IndexedBTreeHeap<E, P extends Comparable<? super P>>
     @Override
     public String toString() {
         return "IndexedBTreeHeap, minimumDegree = " + 
-                nodeMap.getMinimumDegree();
+                nodeMap.getMinimumDegree() + 
+                map.getNameSuffix();
     }
     
     /**
@@ -2,15 +2,17 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements an indexed binary heap that supports 
  * {@code decreasePriority} in logarithmic time. "Indexed" means that this heap
  * maintains internally a hash map mapping each present element to the heap node
  * holding that element. This allows efficient decrease key operation.
+ * Optionally, the extractions use the bottom-up sift-down, see 
+ * {@link BinaryHeap}.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 19, 2017)
@@ -69,10 +71,41 @@ implements PriorityQueue<E, P> {
     /**
      * This map maps each element to its node.
      */
-    private final Map<E, BinaryHeapNode<E, P>> map = new HashMap<>();
+    private final ElementIndex<E, BinaryHeapNode<E, P>> map;
+    
+    /**
+     * Whether the extractions use the bottom-up sift-down.
+     */
+    private final boolean bottomUp;
     
     public IndexedBinaryHeap() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedBinaryHeap(ToIntFunction<? super E> idFunction) {
+        this(false, idFunction);
+    }
+    
+    /**
+     * Constructs an empty indexed binary heap.
+     * 
+     * @param bottomUp   whether to sift down bottom-up on the extractions.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id, or {@code null} for indexing the 
+     *                   elements by a hash map.
+     */
+    public IndexedBinaryHeap(boolean bottomUp, 
+                             ToIntFunction<? super E> idFunction) {
         this.binaryHeapNodeArray = new BinaryHeapNode[DEFAULT_CAPACITY];
+        this.map = ElementIndex.create(idFunction);
+        this.bottomUp = bottomUp;
     }
     
     /**
@@ -95,6 +128,40 @@ implements PriorityQueue<E, P> {
         map.put(element, newBinaryHeapNode);
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the new elements are at least as many as the elements already in this
+     * heap, they are appended to the storage array, after which the whole heap
+     * is rebuilt bottom-up in linear time (Floyd's heapify). Otherwise, they
+     * are added one by one. The elements already in this heap are skipped.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        if (elementPriorityMap.size() < size) {
+            PriorityQueue.super.addAll(elementPriorityMap);
+            return;
+        }
+        
+        ensureCapacity(size + elementPriorityMap.size());
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            E element = entry.getKey();
+            
+            if (map.containsKey(element)) {
+                continue;
+            }
+            
+            BinaryHeapNode<E, P> newBinaryHeapNode = 
+                    new BinaryHeapNode<>(element, entry.getValue(), size);
+            binaryHeapNodeArray[size++] = newBinaryHeapNode;
+            map.put(element, newBinaryHeapNode);
+        }
+        
+        heapify();
+    }
+
     /**
      * {@inheritDoc } 
      */
@@ -107,7 +174,7 @@ implements PriorityQueue<E, P> {
             return false;
         }
         
-        if (targetNode.priority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNode.priority, newPriority) <= 0) {
             // Cannot improve the priority of the element.
             return false;
         }
@@ -125,7 +192,13 @@ implements PriorityQueue<E, P> {
         checkHeapIsNotEmpty();
         BinaryHeapNode<E, P> topNode = binaryHeapNodeArray[0];
         binaryHeapNodeArray[0] = binaryHeapNodeArray[--size];
-        siftDownRoot();
+        
+        if (bottomUp) {
+            siftDownRootBottomUp();
+        } else {
+            siftDownRoot();
+        }
+        
         binaryHeapNodeArray[size] = null;
         E element = topNode.element;
         map.remove(element);
@@ -152,7 +225,8 @@ implements PriorityQueue<E, P> {
     
     @Override
     public String toString() {
-        return "IndexedBinaryHeap";
+        return "IndexedBinaryHeap" + (bottomUp ? " (bottom-up)" : "") +
+               map.getNameSuffix();
     }
     
     private void siftUp(int index) {
@@ -170,10 +244,13 @@ implements PriorityQueue<E, P> {
             
             P parentNodePriority = parentNode.priority;
             
-            if (targetNodePriority.compareTo(parentNodePriority) < 0) {
+            if (HeapCounters.compare(targetNodePriority,
+                                     parentNodePriority) < 0) {
                 binaryHeapNodeArray[index] = parentNode;
                 parentNode.index = index;
                 
+                HeapCounters.countSiftStep();
+                
                 index = parentNodeIndex;
                 parentNodeIndex = getParentNodeIndex(index);
             } else {
@@ -189,21 +266,76 @@ implements PriorityQueue<E, P> {
         targetNode.index = index;
     }
     
+    /**
+     * Restores the heap invariant of the whole storage array by sifting down 
+     * every internal node, starting from the last one.
+     */
+    private void heapify() {
+        for (int index = (size >>> 1) - 1; index >= 0; --index) {
+            siftDown(index);
+        }
+    }
+    
     private void siftDownRoot() {
+        siftDown(0);
+    }
+    
+    /**
+     * Moves the hole at the root down to a leaf along the smaller children, 
+     * and then sifts the root node up from that leaf.
+     */
+    private void siftDownRootBottomUp() {
+        BinaryHeapNode<E, P> targetNode = binaryHeapNodeArray[0];
         int index = 0;
-        int leftChildNodeIndex = getLeftChildIndex(0);
+        int childNodeIndex = getLeftChildIndex(0);
+        
+        while (childNodeIndex < size) {
+            BinaryHeapNode<E, P> childNode = 
+                    binaryHeapNodeArray[childNodeIndex];
+            
+            if (childNodeIndex + 1 < size) {
+                BinaryHeapNode<E, P> rightChildNode = 
+                        binaryHeapNodeArray[childNodeIndex + 1];
+                
+                if (HeapCounters.compare(rightChildNode.priority,
+                                         childNode.priority) < 0) {
+                    childNode = rightChildNode;
+                    ++childNodeIndex;
+                }
+            }
+            
+            binaryHeapNodeArray[index] = childNode;
+            childNode.index = index;
+            HeapCounters.countSiftStep();
+            index = childNodeIndex;
+            childNodeIndex = getLeftChildIndex(index);
+        }
+        
+        binaryHeapNodeArray[index] = targetNode;
+        targetNode.index = index;
+        siftUp(index);
+    }
+    
+    /**
+     * Sifts down the node at index {@code index} until the heap invariant holds
+     * in its subtree.
+     * 
+     * @param index the index of the node to sift down.
+     */
+    private void siftDown(int index) {
+        int leftChildNodeIndex = getLeftChildIndex(index);
         int rightChildNodeIndex = leftChildNodeIndex + 1;
-        int minChildNodeIndex = 0;
+        int minChildNodeIndex = index;
         
-        BinaryHeapNode<E, P> targetHeapNode = binaryHeapNodeArray[0];
+        BinaryHeapNode<E, P> targetHeapNode = binaryHeapNodeArray[index];
         BinaryHeapNode<E, P> leftChildNode = null;
         
         while (true) {
             if (leftChildNodeIndex < size) {
                 leftChildNode = binaryHeapNodeArray[leftChildNodeIndex];
                 
-                if (leftChildNode.priority
-                        .compareTo(targetHeapNode.priority) < 0) {
+                if (HeapCounters.compare(leftChildNode.priority,
+                                         targetHeapNode.priority) < 0) {
                     minChildNodeIndex = leftChildNodeIndex;
                 }
             } else {
@@ -219,8 +351,8 @@ implements PriorityQueue<E, P> {
                     BinaryHeapNode<E, P> rightChildNode = 
                             binaryHeapNodeArray[rightChildNodeIndex];
                     
-                    if (rightChildNode.priority
-                            .compareTo(targetHeapNode.priority) < 0) {
+                    if (HeapCounters.compare(rightChildNode.priority,
+                                             targetHeapNode.priority) < 0) {
                         minChildNodeIndex = rightChildNodeIndex;
                     }
                 }
@@ -229,8 +361,8 @@ implements PriorityQueue<E, P> {
                     BinaryHeapNode<E, P> rightChildNode = 
                             binaryHeapNodeArray[rightChildNodeIndex];
                     
-                    if (rightChildNode.priority
-                            .compareTo(leftChildNode.priority) < 0) {
+                    if (HeapCounters.compare(rightChildNode.priority,
+                                             leftChildNode.priority) < 0) {
                         minChildNodeIndex = rightChildNodeIndex;
                     }
                 }
@@ -244,6 +376,7 @@ implements PriorityQueue<E, P> {
             
             binaryHeapNodeArray[index] = binaryHeapNodeArray[minChildNodeIndex];
             binaryHeapNodeArray[index].index = index;
+            HeapCounters.countSiftStep();
             index = minChildNodeIndex;
             leftChildNodeIndex = getLeftChildIndex(index);
             rightChildNodeIndex = leftChildNodeIndex + 1;
@@ -283,6 +416,20 @@ implements PriorityQueue<E, P> {
         }
     }
     
+    /**
+     * Makes sure that the storage array can hold {@code capacity} nodes.
+     * 
+     * @param capacity the requested capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > binaryHeapNodeArray.length) {
+            binaryHeapNodeArray = 
+                    Arrays.copyOf(binaryHeapNodeArray,
+                                  Math.max(capacity, 
+                                           2 * binaryHeapNodeArray.length));
+        }
+    }
+    
     private void checkHeapIsNotEmpty() {
         if (size == 0) {
             throw new NoSuchElementException(
@@ -1,9 +1,8 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import java.util.HashMap;
-import java.util.Map;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements a indexed binomial heap. "Indexed" means that this heap
@@ -17,7 +16,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type.
  */
 public final class IndexedBinomialHeap<E, P extends Comparable<? super P>> 
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     /**
      * This class implements a binomial tree.
@@ -74,15 +73,27 @@ implements PriorityQueue<E, P> {
     private BinomialTree<E, P> head;
 
     /**
-     * Maps each element to the binomial tree node it is stored in.
+     * Maps each element to the binomial tree node it is stored in. Not final,
+     * since melding keeps the larger of the two maps.
      */
-    private final Map<E, BinomialTree<E, P>> map;
+    private ElementIndex<E, BinomialTree<E, P>> map;
     
     /**
      * Constructs a new empty binomial heap.
      */
     public IndexedBinomialHeap() {
-        map = new HashMap<>();
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedBinomialHeap(ToIntFunction<? super E> idFunction) {
+        map = ElementIndex.create(idFunction);
     }
 
     /**
@@ -122,6 +133,27 @@ implements PriorityQueue<E, P> {
         }
     }
     
+    /**
+     * {@inheritDoc } 
+     * <p>
+     * Unites the two root lists in time logarithmic in the sizes of the 
+     * heaps. The entries of the smaller index map are moved into the larger 
+     * one, which this heap then keeps.
+     */
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        IndexedBinomialHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.size == 0) {
+            return;
+        }
+        
+        meldMaps(otherHeap);
+        heapUnion(otherHeap.head);
+        size += otherHeap.size;
+        otherHeap.clear();
+    }
+    
     /**
      * {@inheritDoc } 
      */
@@ -134,7 +166,7 @@ implements PriorityQueue<E, P> {
             return false;
         }
         
-        if (targetNode.priority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNode.priority, newPriority) <= 0) {
             // Cannot improve the priority of the element.
             return false;
         }
@@ -144,11 +176,12 @@ implements PriorityQueue<E, P> {
         BinomialTree<E, P> lowerNode = targetNode;
         
         while (upperNode != null 
-                && upperNode.priority.compareTo(newPriority) > 0) {
+                && HeapCounters.compare(upperNode.priority, newPriority) > 0) {
             lowerNode.element = upperNode.element;
             lowerNode.priority = upperNode.priority;
             map.put(lowerNode.element, lowerNode); // Remap the element to a
                                                    // new node.
+            HeapCounters.countSiftStep();
             lowerNode = upperNode;
             upperNode = upperNode.parent;
         }
@@ -174,7 +207,7 @@ implements PriorityQueue<E, P> {
         P minPriorityKey = x.priority;
         
         while (x != null) {
-            if (minPriorityKey.compareTo(x.priority) > 0) {
+            if (HeapCounters.compare(minPriorityKey, x.priority) > 0) {
                 minPriorityKey = x.priority;
                 best = x;
                 bestprev = prevx;
@@ -233,7 +266,7 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public String toString() {
-        return "IndexedBinomialHeap";
+        return "IndexedBinomialHeap" + map.getNameSuffix();
     }
     
     /**
@@ -306,7 +339,7 @@ implements PriorityQueue<E, P> {
                         && next.sibling.degree == x.degree)) {
                 prev = x;
                 x = next;
-            } else if (x.priority.compareTo(next.priority) <= 0) {
+            } else if (HeapCounters.compare(x.priority, next.priority) <= 0) {
                 x.sibling = next.sibling;
                 link(next, x);
             } else {
@@ -333,6 +366,7 @@ implements PriorityQueue<E, P> {
      * @param parent the target parent node.
      */
     private void link(BinomialTree<E, P> child, BinomialTree<E, P> parent) {
+        HeapCounters.countLink();
         child.parent = parent;
         child.sibling = parent.child;
         parent.child = child;
@@ -360,6 +394,44 @@ implements PriorityQueue<E, P> {
         return newHead;
     }
     
+    /**
+     * Moves the entries of the smaller of the two indices into the larger 
+     * one, which becomes the index of this heap, and leaves the other heap 
+     * the smaller one. If the indices are not of the same kind, the entries
+     * of the other index are always moved into the index of this heap, so
+     * that neither heap changes its indexing. Checks that the heaps are
+     * disjoint before moving anything.
+     * 
+     * @param otherHeap the heap being melded into this heap.
+     */
+    private void meldMaps(IndexedBinomialHeap<E, P> otherHeap) {
+        map.checkDisjoint(otherHeap.map);
+        
+        if (map.size() < otherHeap.map.size()
+                && map.isInterchangeableWith(otherHeap.map)) {
+            ElementIndex<E, BinomialTree<E, P>> tmp = map;
+            map = otherHeap.map;
+            otherHeap.map = tmp;
+        }
+        
+        map.putAll(otherHeap.map);
+    }
+    
+    private IndexedBinomialHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedBinomialHeap with itself.");
+        }
+        
+        if (!(other instanceof IndexedBinomialHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedBinomialHeap with " + other + ".");
+        }
+        
+        return (IndexedBinomialHeap<E, P>) other;
+    }
+    
     private void checkHeapIsNotEmpty() {
         if (size == 0) {
             throw new NoSuchElementException(
@@ -0,0 +1,276 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed quaternary heap specialized to {@code int}
+ * elements and {@code int} priority keys, with the cache-aligned layout of
+ * {@link CacheAlignedIntHeap}: packed {@code long} entries, the root at index
+ * 3 and each sibling group in 32 aligned bytes. The index is an {@code int}
+ * array mapping each element to its position in the heap; it is only written
+ * when an entry moves, so comparisons still touch the entry array alone. The
+ * elements must be non-negative, and the position array grows to accommodate
+ * the largest element seen so far.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class IndexedCacheAlignedIntHeap implements IntPriorityQueue {
+
+    /**
+     * The default storage capacity. Must be a multiple of 4.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The index of the root entry.
+     */
+    private static final int ROOT_INDEX = 3;
+
+    /**
+     * Fills the slots not holding an entry.
+     */
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    /**
+     * Marks an element that is not in this heap.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * {@code entries[i]} packs the priority and the element at heap position
+     * {@code i}.
+     */
+    private long[] entries;
+
+    /**
+     * {@code positions[e]} is the heap position of the element {@code e}, or
+     * {@code ABSENT} if {@code e} is not in this heap.
+     */
+    private int[] positions;
+
+    /**
+     * Caches the amount of elements in this heap.
+     */
+    private int size;
+
+    public IndexedCacheAlignedIntHeap() {
+        this.entries = new long[DEFAULT_CAPACITY];
+        this.positions = new int[DEFAULT_CAPACITY];
+        Arrays.fill(entries, EMPTY);
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(int element, int priority) {
+        checkElement(element);
+
+        if (positions[element] != ABSENT) {
+            return;
+        }
+
+        checkHeapHasSpace();
+        siftUp(ROOT_INDEX + size++,
+               CacheAlignedIntHeap.pack(element, priority));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(int element, int newPriority) {
+        if (element < 0
+                || element >= positions.length
+                || positions[element] == ABSENT) {
+            // Element not in this heap.
+            return false;
+        }
+
+        int index = positions[element];
+
+        if (CacheAlignedIntHeap.getPriority(entries[index]) <= newPriority) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        siftUp(index, CacheAlignedIntHeap.pack(element, newPriority));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int extractMinimum() {
+        checkHeapIsNotEmpty();
+        int element = CacheAlignedIntHeap.getElement(entries[ROOT_INDEX]);
+        positions[element] = ABSENT;
+        int lastIndex = ROOT_INDEX + --size;
+        long lastEntry = entries[lastIndex];
+        entries[lastIndex] = EMPTY;
+
+        if (size > 0) {
+            siftDown(ROOT_INDEX, lastEntry);
+        }
+
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        for (int i = ROOT_INDEX; i < ROOT_INDEX + size; ++i) {
+            positions[CacheAlignedIntHeap.getElement(entries[i])] = ABSENT;
+            entries[i] = EMPTY;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedCacheAlignedIntHeap";
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the root until
+     * {@code entry} may be put in it.
+     *
+     * @param index the index of the hole.
+     * @param entry the entry to place.
+     */
+    private void siftUp(int index, long entry) {
+        while (index > ROOT_INDEX) {
+            int parentIndex = (index >>> 2) + 2;
+            long parentEntry = entries[parentIndex];
+
+            if (parentEntry <= entry) {
+                break;
+            }
+
+            entries[index] = parentEntry;
+            positions[CacheAlignedIntHeap.getElement(parentEntry)] = index;
+            index = parentIndex;
+        }
+
+        entries[index] = entry;
+        positions[CacheAlignedIntHeap.getElement(entry)] = index;
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the leaves until
+     * {@code entry} may be put in it.
+     *
+     * @param index the index of the hole.
+     * @param entry the entry to place.
+     */
+    private void siftDown(int index, long entry) {
+        int lastIndex = ROOT_INDEX + size - 1;
+
+        while (true) {
+            int firstChildIndex = (index - 2) << 2;
+
+            if (firstChildIndex > lastIndex) {
+                break;
+            }
+
+            // The whole sibling group lies in the array, as its length is a
+            // multiple of 4, and the missing children are EMPTY.
+            int minChildIndex = firstChildIndex;
+            long minChildEntry = entries[firstChildIndex];
+            long childEntry = entries[firstChildIndex + 1];
+
+            if (childEntry < minChildEntry) {
+                minChildEntry = childEntry;
+                minChildIndex = firstChildIndex + 1;
+            }
+
+            childEntry = entries[firstChildIndex + 2];
+
+            if (childEntry < minChildEntry) {
+                minChildEntry = childEntry;
+                minChildIndex = firstChildIndex + 2;
+            }
+
+            childEntry = entries[firstChildIndex + 3];
+
+            if (childEntry < minChildEntry) {
+                minChildEntry = childEntry;
+                minChildIndex = firstChildIndex + 3;
+            }
+
+            if (minChildEntry >= entry) {
+                break;
+            }
+
+            entries[index] = minChildEntry;
+            positions[CacheAlignedIntHeap.getElement(minChildEntry)] = index;
+            index = minChildIndex;
+        }
+
+        entries[index] = entry;
+        positions[CacheAlignedIntHeap.getElement(entry)] = index;
+    }
+
+    /**
+     * Makes sure that {@code element} is a valid index into the position
+     * array, growing the array if needed.
+     *
+     * @param element the element to check.
+     */
+    private void checkElement(int element) {
+        if (element < 0) {
+            throw new IllegalArgumentException(
+                    "The element " + element + " is negative.");
+        }
+
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(2 * oldLength, element + 1);
+            positions = Arrays.copyOf(positions, newLength);
+            Arrays.fill(positions, oldLength, newLength, ABSENT);
+        }
+    }
+
+    /**
+     * Makes sure that a new element fits into this heap. If the heap is full,
+     * doubles the size of the storage array.
+     */
+    private void checkHeapHasSpace() {
+        if (ROOT_INDEX + size == entries.length) {
+            int oldLength = entries.length;
+            entries = Arrays.copyOf(entries, 2 * oldLength);
+            Arrays.fill(entries, oldLength, entries.length, EMPTY);
+        }
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "This IndexedCacheAlignedIntHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed calendar queue with finite double
+ * priority keys. See {@link CalendarQueue} for the queue. Decreasing the
+ * priority of an element moves its node to the sorted bucket of the new
+ * priority.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class IndexedCalendarQueue<E>
+        implements PriorityQueue<E, Double> {
+
+    private final CalendarBuckets<E> buckets = new CalendarBuckets<>();
+
+    /**
+     * This map maps each element to the node that contains it.
+     */
+    private final ElementIndex<E, CalendarBuckets.Node<E>> map;
+
+    public IndexedCalendarQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedCalendarQueue(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        if (map.containsKey(element)) {
+            return;
+        }
+
+        double p = CalendarBuckets.checkPriority(priority);
+        CalendarBuckets.Node<E> node = new CalendarBuckets.Node<>(element, p);
+        buckets.insert(node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        CalendarBuckets.Node<E> targetNode = map.get(element);
+
+        if (targetNode == null) {
+            // Element not in this heap.
+            return false;
+        }
+
+        double priority = CalendarBuckets.checkPriority(newPriority);
+
+        if (targetNode.priority <= priority) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        buckets.remove(targetNode);
+        targetNode.priority = priority;
+        buckets.insert(targetNode);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = buckets.extractMinimum().element;
+        map.remove(element);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedCalendarQueue" + map.getNameSuffix();
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedCalendarQueue is empty.");
+        }
+    }
+}
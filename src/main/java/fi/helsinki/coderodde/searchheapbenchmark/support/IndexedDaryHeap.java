@@ -3,17 +3,18 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements an indexed {@code d}-ary heap. {@code d} is the 
  * "degree" of the heap, or ,namely, the maximum amount of children of a node. 
  * "Indexed" means that this heap maintains internally a hash map mapping each 
  * present element to the heap node holding that element. This allows efficient
- * decrease key operation.
+ * decrease key operation. Optionally, the extractions use the bottom-up 
+ * sift-down, see {@link BinaryHeap}.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.61 (Jan 19, 2017)
@@ -88,10 +89,44 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
     /**
      * This map maps each element to its node.
      */
-    private final Map<E, DaryHeapNode<E, P>> map = new HashMap<>();
+    private final ElementIndex<E, DaryHeapNode<E, P>> map;
+    
+    /**
+     * Whether the extractions use the bottom-up sift-down.
+     */
+    private final boolean bottomUp;
     
     public IndexedDaryHeap(int degree) {
+        this(degree, null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param degree     the degree of the heap.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedDaryHeap(int degree, ToIntFunction<? super E> idFunction) {
+        this(degree, false, idFunction);
+    }
+    
+    /**
+     * Constructs an empty indexed {@code d}-ary heap.
+     *
+     * @param degree     the degree of the heap.
+     * @param bottomUp   whether to sift down bottom-up on the extractions.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id, or {@code null} for indexing the 
+     *                   elements by a hash map.
+     */
+    public IndexedDaryHeap(int degree, 
+                           boolean bottomUp,
+                           ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
         this.degree = Math.max(degree, MINIMUM_DEGREE); 
+        this.bottomUp = bottomUp;
         indices = new int[this.degree];
         daryHeapNodeArray = new DaryHeapNode[DEFAULT_CAPACITY];
     }
@@ -114,6 +149,40 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
         map.put(element, newDaryHeapNode);
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * If the new elements are at least as many as the elements already in this
+     * heap, they are appended to the storage array, after which the whole heap
+     * is rebuilt bottom-up in linear time (Floyd's heapify). Otherwise, they
+     * are added one by one. The elements already in this heap are skipped.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        if (elementPriorityMap.size() < size) {
+            PriorityQueue.super.addAll(elementPriorityMap);
+            return;
+        }
+        
+        ensureCapacity(size + elementPriorityMap.size());
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            E element = entry.getKey();
+            
+            if (map.containsKey(element)) {
+                continue;
+            }
+            
+            DaryHeapNode<E, P> newDaryHeapNode = 
+                    new DaryHeapNode<>(element, entry.getValue(), size);
+            daryHeapNodeArray[size++] = newDaryHeapNode;
+            map.put(element, newDaryHeapNode);
+        }
+        
+        heapify();
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -126,7 +195,7 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
             return false;
         }
         
-        if (targetNode.priority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNode.priority, newPriority) <= 0) {
             // Cannot improve the priority of the element.
             return false;
         }
@@ -145,7 +214,13 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
         DaryHeapNode<E, P> topNode = daryHeapNodeArray[0];
         daryHeapNodeArray[0] = daryHeapNodeArray[--size];
         daryHeapNodeArray[0].index = 0;
-        siftDownRoot();
+        
+        if (bottomUp) {
+            siftDownRootBottomUp();
+        } else {
+            siftDownRoot();
+        }
+        
         daryHeapNodeArray[size] = null;
         E element = topNode.element;
         map.remove(element);
@@ -186,7 +261,8 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
      */
     @Override
     public String toString() {
-        return "IndexedDaryHeap: degree = " + degree;
+        return "IndexedDaryHeap: degree = " + degree + 
+               (bottomUp ? " (bottom-up)" : "") + map.getNameSuffix();
     }
   
     /**
@@ -206,10 +282,13 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
         while (true) {
             DaryHeapNode<E, P> parentNode = daryHeapNodeArray[parentNodeIndex];
             
-            if (parentNode.priority.compareTo(targetNode.priority) > 0) {
+            if (HeapCounters.compare(parentNode.priority,
+                                     targetNode.priority) > 0) {
                 daryHeapNodeArray[index] = parentNode;
                 parentNode.index = index;
                         
+                HeapCounters.countSiftStep();
+                        
                 index = parentNodeIndex;
                 parentNodeIndex = getParentNodeIndex(index);
             } else {
@@ -225,14 +304,71 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
         targetNode.index = index;
     }
     
+    /**
+     * Restores the heap invariant of the whole storage array by sifting down 
+     * every internal node, starting from the last one.
+     */
+    private void heapify() {
+        if (size < 2) {
+            return;
+        }
+        
+        for (int index = getParentNodeIndex(size - 1); index >= 0; --index) {
+            siftDown(index);
+        }
+    }
+    
+    /**
+     * Sifts down the root element.
+     */
+    private void siftDownRoot() {
+        siftDown(0);
+    }
+    
+    /**
+     * Moves the hole at the root down to a leaf along the minimum children, 
+     * which takes {@code d - 1} comparisons per level, and then sifts the 
+     * root node up from that leaf.
+     */
+    private void siftDownRootBottomUp() {
+        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[0];
+        int index = 0;
+        int firstChildIndex = 1;
+        
+        while (firstChildIndex < size) {
+            int endChildIndex = Math.min(firstChildIndex + degree, size);
+            int minChildIndex = firstChildIndex;
+            P minChildPriority = daryHeapNodeArray[firstChildIndex].priority;
+            
+            for (int i = firstChildIndex + 1; i < endChildIndex; ++i) {
+                P tentativePriority = daryHeapNodeArray[i].priority;
+                
+                if (HeapCounters.compare(tentativePriority,
+                                         minChildPriority) < 0) {
+                    minChildPriority = tentativePriority;
+                    minChildIndex = i;
+                }
+            }
+            
+            daryHeapNodeArray[index] = daryHeapNodeArray[minChildIndex];
+            daryHeapNodeArray[index].index = index;
+            HeapCounters.countSiftStep();
+            index = minChildIndex;
+            firstChildIndex = degree * index + 1;
+        }
+        
+        daryHeapNodeArray[index] = targetNode;
+        targetNode.index = index;
+        siftUp(index);
+    }
+    
     /**
      * Sifts down the element at position {@code index}.
      * 
      * @param index the index of the element to sift down.
      */
-    private void siftDownRoot() {
-        int index = 0;
-        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[0];
+    private void siftDown(int index) {
+        DaryHeapNode<E, P> targetNode = daryHeapNodeArray[index];
         P priority = targetNode.priority;
         
         while (true) {
@@ -247,7 +383,8 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
                 
                 P tentativePriority = daryHeapNodeArray[i].priority;
                 
-                if (minChildPriority.compareTo(tentativePriority) > 0) {
+                if (HeapCounters.compare(minChildPriority,
+                                         tentativePriority) > 0) {
                     minChildPriority = tentativePriority;
                     minChildIndex = i;
                 }
@@ -261,6 +398,7 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
             
             daryHeapNodeArray[index] = daryHeapNodeArray[minChildIndex];
             daryHeapNodeArray[index].index = index;
+            HeapCounters.countSiftStep();
             index = minChildIndex;
         }
     }
@@ -295,6 +433,20 @@ public final class IndexedDaryHeap<E, P extends Comparable<? super P>>
         }
     }
     
+    /**
+     * Makes sure that the node array can hold {@code capacity} nodes.
+     * 
+     * @param capacity the requested capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > daryHeapNodeArray.length) {
+            daryHeapNodeArray = 
+                    Arrays.copyOf(daryHeapNodeArray,
+                                  Math.max(capacity, 
+                                           2 * daryHeapNodeArray.length));
+        }
+    }
+    
     /**
      * Makes sure that the heap is not empty. If it is, an exception is thrown.
      */
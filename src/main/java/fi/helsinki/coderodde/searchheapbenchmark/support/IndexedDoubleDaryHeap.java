@@ -0,0 +1,275 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DoublePriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed {@code d}-ary heap specialized to
+ * {@code int} elements and {@code double} priority keys. The elements and their
+ * priorities are stored in two parallel arrays, so no heap node objects are
+ * allocated and no priority keys are boxed. Instead of a hash map, the index
+ * is an {@code int} array mapping each element to its position in the heap.
+ * The elements must be non-negative, and the position array grows to
+ * accommodate the largest element seen so far.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class IndexedDoubleDaryHeap implements DoublePriorityQueue {
+
+    /**
+     * The default storage capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The minimum degree of the heaps.
+     */
+    private static final int MINIMUM_DEGREE = 2;
+
+    /**
+     * Marks an element that is not in this heap.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * The actual degree of this heap.
+     */
+    private final int degree;
+
+    /**
+     * {@code elements[i]} is the element at heap position {@code i}.
+     */
+    private int[] elements;
+
+    /**
+     * {@code priorities[i]} is the priority of {@code elements[i]}.
+     */
+    private double[] priorities;
+
+    /**
+     * {@code positions[e]} is the heap position of the element {@code e}, or
+     * {@code ABSENT} if {@code e} is not in this heap.
+     */
+    private int[] positions;
+
+    /**
+     * Caches the amount of elements in this heap.
+     */
+    private int size;
+
+    public IndexedDoubleDaryHeap(int degree) {
+        this.degree = Math.max(degree, MINIMUM_DEGREE);
+        this.elements = new int[DEFAULT_CAPACITY];
+        this.priorities = new double[DEFAULT_CAPACITY];
+        this.positions = new int[DEFAULT_CAPACITY];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(int element, double priority) {
+        checkElement(element);
+
+        if (positions[element] != ABSENT) {
+            return;
+        }
+
+        checkHeapHasSpace();
+        siftUp(size++, element, priority);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(int element, double newPriority) {
+        if (element < 0
+                || element >= positions.length
+                || positions[element] == ABSENT) {
+            // Element not in this heap.
+            return false;
+        }
+
+        int index = positions[element];
+
+        if (priorities[index] <= newPriority) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        siftUp(index, element, newPriority);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int extractMinimum() {
+        checkHeapIsNotEmpty();
+        int element = elements[0];
+        positions[element] = ABSENT;
+
+        if (--size > 0) {
+            siftDown(0, elements[size], priorities[size]);
+        }
+
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[elements[i]] = ABSENT;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Returns the degree of this {@code d}-ary heap.
+     *
+     * @return the degree of this heap.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedDoubleDaryHeap: degree = " + degree;
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the root until
+     * {@code element} with priority {@code priority} may be put in it.
+     *
+     * @param index    the index of the hole.
+     * @param element  the element to place.
+     * @param priority the priority of the element.
+     */
+    private void siftUp(int index, int element, double priority) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / degree;
+            double parentPriority = priorities[parentIndex];
+
+            if (parentPriority <= priority) {
+                break;
+            }
+
+            int parentElement = elements[parentIndex];
+            elements[index] = parentElement;
+            priorities[index] = parentPriority;
+            positions[parentElement] = index;
+            index = parentIndex;
+        }
+
+        elements[index] = element;
+        priorities[index] = priority;
+        positions[element] = index;
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the leaves until
+     * {@code element} with priority {@code priority} may be put in it.
+     *
+     * @param index    the index of the hole.
+     * @param element  the element to place.
+     * @param priority the priority of the element.
+     */
+    private void siftDown(int index, int element, double priority) {
+        while (true) {
+            int firstChildIndex = degree * index + 1;
+
+            if (firstChildIndex >= size) {
+                break;
+            }
+
+            int lastChildIndex = Math.min(firstChildIndex + degree, size);
+            int minChildIndex = firstChildIndex;
+            double minChildPriority = priorities[firstChildIndex];
+
+            for (int i = firstChildIndex + 1; i < lastChildIndex; ++i) {
+                if (minChildPriority > priorities[i]) {
+                    minChildPriority = priorities[i];
+                    minChildIndex = i;
+                }
+            }
+
+            if (minChildPriority >= priority) {
+                break;
+            }
+
+            int minChildElement = elements[minChildIndex];
+            elements[index] = minChildElement;
+            priorities[index] = minChildPriority;
+            positions[minChildElement] = index;
+            index = minChildIndex;
+        }
+
+        elements[index] = element;
+        priorities[index] = priority;
+        positions[element] = index;
+    }
+
+    /**
+     * Makes sure that {@code element} is a valid index into the position
+     * array, growing the array if needed.
+     *
+     * @param element the element to check.
+     */
+    private void checkElement(int element) {
+        if (element < 0) {
+            throw new IllegalArgumentException(
+                    "The element " + element + " is negative.");
+        }
+
+        if (element >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(2 * oldLength, element + 1);
+            positions = Arrays.copyOf(positions, newLength);
+            Arrays.fill(positions, oldLength, newLength, ABSENT);
+        }
+    }
+
+    /**
+     * Makes sure that a new element fits into this heap. If the heap is full,
+     * doubles the size of the storage arrays.
+     */
+    private void checkHeapHasSpace() {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            priorities = Arrays.copyOf(priorities, 2 * size);
+        }
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "This IndexedDoubleDaryHeap is empty.");
+        }
+    }
+}
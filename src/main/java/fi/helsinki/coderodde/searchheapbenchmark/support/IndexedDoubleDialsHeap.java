@@ -2,9 +2,8 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 public final class IndexedDoubleDialsHeap<E> 
         implements PriorityQueue<E, Double> {
@@ -63,10 +62,24 @@ public final class IndexedDoubleDialsHeap<E>
     /**
      * Maps the element to the node that holds it.
      */
-    private final Map<E, DoubleDialsHeapNode<E>> map = new HashMap<>();
+    private final ElementIndex<E, DoubleDialsHeapNode<E>> map;
     
     public IndexedDoubleDialsHeap(double range) {
+        this(range, null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param range      the width of the priority range of each bucket.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedDoubleDialsHeap(double range, 
+                                  ToIntFunction<? super E> idFunction) {
         this.range = checkRange(range);
+        this.map = ElementIndex.create(idFunction);
     }
     
     @Override
@@ -156,11 +169,12 @@ public final class IndexedDoubleDialsHeap<E>
         Arrays.fill(storageArray, null);
         map.clear();
         size = 0;
+        minimumBucketIndex = Integer.MAX_VALUE;
     }
     
     @Override
     public String toString() {
-        return "IndexedDoubleDialsHeap, range = " + range;
+        return "IndexedDoubleDialsHeap, range = " + range + map.getNameSuffix();
     }
 
     private double checkRange(double range) {
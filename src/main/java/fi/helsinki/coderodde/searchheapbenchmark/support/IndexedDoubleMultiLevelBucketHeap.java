@@ -0,0 +1,208 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed multi-level bucket heap with non-negative
+ * double priority keys. See {@link DoubleMultiLevelBucketHeap} for the keys
+ * and {@link IndexedMultiLevelBucketHeap} for the indexing.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class IndexedDoubleMultiLevelBucketHeap<E>
+        implements PriorityQueue<E, Double> {
+
+    private final MultiLevelBuckets<E> buckets;
+
+    /**
+     * Maps each element to its caliber, or {@code null} if the caliber
+     * heuristic is not in use.
+     */
+    private final ToDoubleFunction<? super E> caliberFunction;
+
+    /**
+     * This map maps each element to the node that contains it.
+     */
+    private final ElementIndex<E, MultiLevelBuckets.Node<E>> map;
+
+    public IndexedDoubleMultiLevelBucketHeap(int levels) {
+        this(levels, null, null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param levels     the number of levels.
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedDoubleMultiLevelBucketHeap(
+            int levels,
+            ToIntFunction<? super E> idFunction) {
+        this(levels, null, idFunction);
+    }
+
+    /**
+     * Constructs a new empty indexed multi-level bucket heap.
+     *
+     * @param levels          the number of levels.
+     * @param caliberFunction the function mapping each element to its
+     *                        non-negative caliber, or {@code null} for not
+     *                        using the caliber heuristic.
+     * @param idFunction      the function mapping each element to its unique
+     *                        non-negative id, or {@code null} for indexing
+     *                        the elements by a hash map.
+     */
+    public IndexedDoubleMultiLevelBucketHeap(
+            int levels,
+            ToDoubleFunction<? super E> caliberFunction,
+            ToIntFunction<? super E> idFunction) {
+        this.buckets =
+                new MultiLevelBuckets<>(levels,
+                                        DoubleMultiLevelBucketHeap.KEY_BITS);
+        this.caliberFunction = caliberFunction;
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        if (map.containsKey(element)) {
+            return;
+        }
+
+        MultiLevelBuckets.Node<E> node =
+                new MultiLevelBuckets.Node<>(element, checkPriority(priority));
+        insert(node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        MultiLevelBuckets.Node<E> targetNode = map.get(element);
+
+        if (targetNode == null) {
+            // Element not in this heap.
+            return false;
+        }
+
+        long key = checkPriority(newPriority);
+
+        if (targetNode.key <= key) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        buckets.remove(targetNode);
+        targetNode.key = key;
+        insert(targetNode);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = buckets.extractMinimum().element;
+        map.remove(element);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedDoubleMultiLevelBucketHeap, levels = " +
+               buckets.getLevels() +
+               (caliberFunction == null ? "" : " (calibers)") +
+               map.getNameSuffix();
+    }
+
+    /**
+     * Puts {@code node} to the settled list if its priority is within the
+     * caliber of its element, and to the buckets otherwise.
+     *
+     * @param node the node to insert.
+     */
+    private void insert(MultiLevelBuckets.Node<E> node) {
+        if (caliberFunction != null
+                && Double.longBitsToDouble(node.key)
+                   <= Double.longBitsToDouble(buckets.getLastKey()) +
+                      caliberFunction.applyAsDouble(node.element)) {
+            buckets.insertSettled(node);
+        } else {
+            buckets.insert(node);
+        }
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority} and
+     * converts it to its key. Adding zero maps {@code -0.0} to {@code 0.0}.
+     *
+     * @param priority the priority to check.
+     * @return the key of the priority.
+     */
+    private long checkPriority(Double priority) {
+        double p = priority;
+
+        if (!(p >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is negative or NaN.");
+        }
+
+        long key = Double.doubleToLongBits(p + 0.0);
+
+        if (key < buckets.getLastKey()) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " +
+                    Double.longBitsToDouble(buckets.getLastKey()) + ".");
+        }
+
+        return key;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedDoubleMultiLevelBucketHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed radix heap with non-negative double
+ * priority keys. See {@link DoubleRadixHeap} for the mapping of the priorities
+ * to keys and {@link RadixHeap} for the bucket layout and the monotonicity
+ * requirement. This version maps each element to its heap node, which
+ * remembers its bucket and its position in the bucket, so that decreasing a
+ * priority amounts to moving the node to another bucket.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class IndexedDoubleRadixHeap<E>
+        implements PriorityQueue<E, Double> {
+
+    /**
+     * One bucket for each bit of a {@code long} key plus the bucket for the
+     * keys equal to the last extracted key.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The initial capacity of each bucket.
+     */
+    private static final int DEFAULT_BUCKET_CAPACITY = 16;
+
+    private static final class RadixHeapNode<E> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The key of the priority of the element.
+         */
+        long key;
+
+        /**
+         * The index of the bucket holding this node.
+         */
+        int bucketIndex;
+
+        /**
+         * The position of this node within its bucket.
+         */
+        int indexInBucket;
+
+        RadixHeapNode(E element, long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    /**
+     * {@code buckets[i]} holds the nodes of the {@code i}th bucket.
+     */
+    private final RadixHeapNode<E>[][] buckets = new RadixHeapNode[BUCKETS][];
+
+    /**
+     * {@code bucketSizes[i]} is the number of nodes in the {@code i}th bucket.
+     */
+    private final int[] bucketSizes = new int[BUCKETS];
+
+    /**
+     * This map maps each element to the node that contains it.
+     */
+    private final ElementIndex<E, RadixHeapNode<E>> map;
+
+    /**
+     * The key of the most recently extracted element.
+     */
+    private long lastKey;
+
+    public IndexedDoubleRadixHeap() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedDoubleRadixHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+        
+        for (int i = 0; i < BUCKETS; ++i) {
+            buckets[i] = new RadixHeapNode[DEFAULT_BUCKET_CAPACITY];
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        if (map.containsKey(element)) {
+            return;
+        }
+
+        RadixHeapNode<E> node =
+                new RadixHeapNode<>(element, checkPriority(priority));
+        push(getBucketIndex(node.key), node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        RadixHeapNode<E> targetNode = map.get(element);
+
+        if (targetNode == null) {
+            // Element not in this heap.
+            return false;
+        }
+
+        long key = checkPriority(newPriority);
+
+        if (targetNode.key <= key) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        targetNode.key = key;
+        int bucketIndex = getBucketIndex(key);
+
+        if (bucketIndex != targetNode.bucketIndex) {
+            unlink(targetNode);
+            push(bucketIndex, targetNode);
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+
+        if (bucketSizes[0] == 0) {
+            redistribute();
+        }
+
+        int index = --bucketSizes[0];
+        RadixHeapNode<E> node = buckets[0][index];
+        buckets[0][index] = null;
+        map.remove(node.element);
+        return node.element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            Arrays.fill(buckets[i], 0, bucketSizes[i], null);
+            bucketSizes[i] = 0;
+        }
+
+        map.clear();
+        lastKey = 0L;
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedDoubleRadixHeap" + map.getNameSuffix();
+    }
+
+    /**
+     * Empties the lowest non-empty bucket. Its minimum key becomes the last
+     * extracted key, and all its nodes move to lower buckets, at least one of
+     * them to the bucket {@code 0}.
+     */
+    private void redistribute() {
+        int bucketIndex = 1;
+
+        while (bucketSizes[bucketIndex] == 0) {
+            ++bucketIndex;
+        }
+
+        RadixHeapNode<E>[] bucket = buckets[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+        long minimumKey = bucket[0].key;
+
+        for (int i = 1; i < bucketSize; ++i) {
+            minimumKey = Math.min(minimumKey, bucket[i].key);
+        }
+
+        lastKey = minimumKey;
+        bucketSizes[bucketIndex] = 0;
+
+        for (int i = 0; i < bucketSize; ++i) {
+            RadixHeapNode<E> node = bucket[i];
+            bucket[i] = null;
+            push(getBucketIndex(node.key), node);
+        }
+    }
+
+    /**
+     * Appends {@code node} to the bucket with index {@code bucketIndex}.
+     *
+     * @param bucketIndex the index of the target bucket.
+     * @param node        the node to append.
+     */
+    private void push(int bucketIndex, RadixHeapNode<E> node) {
+        int bucketSize = bucketSizes[bucketIndex];
+
+        if (bucketSize == buckets[bucketIndex].length) {
+            buckets[bucketIndex] = Arrays.copyOf(buckets[bucketIndex],
+                                                 2 * bucketSize);
+        }
+
+        buckets[bucketIndex][bucketSize] = node;
+        node.bucketIndex = bucketIndex;
+        node.indexInBucket = bucketSize;
+        bucketSizes[bucketIndex] = bucketSize + 1;
+    }
+
+    /**
+     * Removes {@code node} from its bucket by moving the last node of the
+     * bucket in its place.
+     *
+     * @param node the node to remove.
+     */
+    private void unlink(RadixHeapNode<E> node) {
+        RadixHeapNode<E>[] bucket = buckets[node.bucketIndex];
+        int lastIndex = --bucketSizes[node.bucketIndex];
+        RadixHeapNode<E> lastNode = bucket[lastIndex];
+        bucket[node.indexInBucket] = lastNode;
+        lastNode.indexInBucket = node.indexInBucket;
+        bucket[lastIndex] = null;
+    }
+
+    /**
+     * Returns the index of the bucket for the key {@code key}.
+     *
+     * @param key the key.
+     * @return the bucket index.
+     */
+    private int getBucketIndex(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority} and
+     * converts it to its key. Adding zero maps {@code -0.0} to {@code 0.0}.
+     *
+     * @param priority the priority to check.
+     * @return the key of the priority.
+     */
+    private long checkPriority(Double priority) {
+        double p = priority;
+
+        if (!(p >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is negative or NaN.");
+        }
+
+        long key = Double.doubleToLongBits(p + 0.0);
+
+        if (key < lastKey) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " + Double.longBitsToDouble(lastKey) + ".");
+        }
+
+        return key;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedDoubleRadixHeap is empty.");
+        }
+    }
+}
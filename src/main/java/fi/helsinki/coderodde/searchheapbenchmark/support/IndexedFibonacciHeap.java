@@ -1,10 +1,10 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements an indexed Fibonacci heap. "Indexed" means that this 
@@ -18,7 +18,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type. 
  */
 public final class IndexedFibonacciHeap<E, P extends Comparable<? super P>>
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     private static final int DEFAULT_CHILD_ARRAY_LENGTH = 5;
     
@@ -99,9 +99,25 @@ implements PriorityQueue<E, P> {
             new FibonacciHeapNode[DEFAULT_CHILD_ARRAY_LENGTH];
     
     /**
-     * Maps each element to its Fibonacci heap node.
+     * Maps each element to its Fibonacci heap node. Not final, since melding 
+     * keeps the larger of the two maps.
      */
-    private final Map<E, FibonacciHeapNode<E, P>> map = new HashMap<>();
+    private ElementIndex<E, FibonacciHeapNode<E, P>> map;
+    
+    public IndexedFibonacciHeap() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedFibonacciHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
     
     /**
      * {@inheritDoc } 
@@ -122,7 +138,7 @@ implements PriorityQueue<E, P> {
             minimumNode.right = node;
             node.right.left = node;
             
-            if (priority.compareTo(minimumNode.priority) < 0) {
+            if (HeapCounters.compare(priority, minimumNode.priority) < 0) {
                 minimumNode = node;
             }
         } else {
@@ -133,6 +149,75 @@ implements PriorityQueue<E, P> {
         ++size;
     }
 
+   /**
+    * {@inheritDoc }
+    * <p>
+    * The new nodes are first linked into a list of their own while tracking
+    * its minimum node, after which the list is spliced into the root list in 
+    * constant time. The elements already in this heap are skipped.
+    */ 
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        FibonacciHeapNode<E, P> first = null;
+        FibonacciHeapNode<E, P> listMinimumNode = null;
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            E element = entry.getKey();
+            
+            if (map.containsKey(element)) {
+                // The element is already stored in this heap.
+                continue;
+            }
+            
+            FibonacciHeapNode<E, P> node = 
+                    new FibonacciHeapNode<>(element, entry.getValue());
+            map.put(element, node);
+            
+            if (first == null) {
+                first = node;
+                listMinimumNode = node;
+            } else {
+                node.left = first.left;
+                node.right = first;
+                first.left.right = node;
+                first.left = node;
+                
+                if (HeapCounters.compare(node.priority, 
+                                         listMinimumNode.priority) < 0) {
+                    listMinimumNode = node;
+                }
+            }
+            
+            ++size;
+        }
+        
+        if (first != null) {
+            spliceIntoRootList(first, listMinimumNode);
+        }
+    }
+
+   /**
+    * {@inheritDoc }
+    * <p>
+    * Splices the two root lists in constant time. The entries of the 
+    * smaller index map are moved into the larger one, which this heap then 
+    * keeps.
+    */ 
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        IndexedFibonacciHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.minimumNode == null) {
+            return;
+        }
+        
+        meldMaps(otherHeap);
+        spliceIntoRootList(otherHeap.minimumNode, otherHeap.minimumNode);
+        size += otherHeap.size;
+        otherHeap.clear();
+    }
+
     /**
      * {@inheritDoc } 
      */
@@ -145,7 +230,7 @@ implements PriorityQueue<E, P> {
             return false;
         }
         
-        if (targetNode.priority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(targetNode.priority, newPriority) <= 0) {
             // The element IS in this heap, yet we cannot improve its priority.
             return false;
         }
@@ -154,12 +239,12 @@ implements PriorityQueue<E, P> {
         FibonacciHeapNode<E, P> y = targetNode.parent;
         FibonacciHeapNode<E, P> x = targetNode;
         
-        if (y != null && x.priority.compareTo(y.priority) < 0) {
+        if (y != null && HeapCounters.compare(x.priority, y.priority) < 0) {
             cut(x, y);
             cascadingCut(y);
         }
         
-        if (minimumNode.priority.compareTo(x.priority) > 0) {
+        if (HeapCounters.compare(minimumNode.priority, x.priority) > 0) {
             minimumNode = x;
         }
         
@@ -233,10 +318,11 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public String toString() {
-        return "IndexedFibonacciHeap";
+        return "IndexedFibonacciHeap" + map.getNameSuffix();
     }
     
     private void cut(FibonacciHeapNode<E, P> x, FibonacciHeapNode<E, P> y) {
+        HeapCounters.countCut();
         x.left.right = x.right;
         x.right.left = x.left;
         y.degree--;
@@ -296,7 +382,7 @@ implements PriorityQueue<E, P> {
             while (array[degree] != null) {
                 FibonacciHeapNode<E, P> y = array[degree];
                 
-                if (x.priority.compareTo(y.priority) > 0) {
+                if (HeapCounters.compare(x.priority, y.priority) > 0) {
                     FibonacciHeapNode<E, P> tmp = y;
                     y = x;
                     x = tmp;
@@ -336,12 +422,13 @@ implements PriorityQueue<E, P> {
         minimumNode.right = node;
         node.right.left = node;
         
-        if (minimumNode.priority.compareTo(node.priority) > 0) {
+        if (HeapCounters.compare(minimumNode.priority, node.priority) > 0) {
             minimumNode = node;
         }
     }
     
     private void link(FibonacciHeapNode<E, P> y, FibonacciHeapNode<E, P> x) {
+        HeapCounters.countLink();
         y.left.right = y.right;
         y.right.left = y.left;
         
@@ -368,6 +455,70 @@ implements PriorityQueue<E, P> {
     }
         
     
+    /**
+     * Splices a circular list of root nodes into the root list of this heap.
+     * 
+     * @param first           any node of the list to splice.
+     * @param listMinimumNode the node with the minimum priority in the list.
+     */
+    private void spliceIntoRootList(FibonacciHeapNode<E, P> first,
+                                    FibonacciHeapNode<E, P> listMinimumNode) {
+        if (minimumNode == null) {
+            minimumNode = listMinimumNode;
+            return;
+        }
+        
+        FibonacciHeapNode<E, P> last = first.left;
+        FibonacciHeapNode<E, P> minimumNodeRight = minimumNode.right;
+        minimumNode.right = first;
+        first.left = minimumNode;
+        last.right = minimumNodeRight;
+        minimumNodeRight.left = last;
+        
+        if (HeapCounters.compare(listMinimumNode.priority, 
+                                 minimumNode.priority) < 0) {
+            minimumNode = listMinimumNode;
+        }
+    }
+    
+    /**
+     * Moves the entries of the smaller of the two indices into the larger 
+     * one, which becomes the index of this heap, and leaves the other heap 
+     * the smaller one. If the indices are not of the same kind, the entries
+     * of the other index are always moved into the index of this heap, so
+     * that neither heap changes its indexing. Checks that the heaps are
+     * disjoint before moving anything.
+     * 
+     * @param otherHeap the heap being melded into this heap.
+     */
+    private void meldMaps(IndexedFibonacciHeap<E, P> otherHeap) {
+        map.checkDisjoint(otherHeap.map);
+        
+        if (map.size() < otherHeap.map.size()
+                && map.isInterchangeableWith(otherHeap.map)) {
+            ElementIndex<E, FibonacciHeapNode<E, P>> tmp = map;
+            map = otherHeap.map;
+            otherHeap.map = tmp;
+        }
+        
+        map.putAll(otherHeap.map);
+    }
+    
+    private IndexedFibonacciHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedFibonacciHeap with itself.");
+        }
+        
+        if (!(other instanceof IndexedFibonacciHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedFibonacciHeap with " + other + ".");
+        }
+        
+        return (IndexedFibonacciHeap<E, P>) other;
+    }
+    
     /**
      * Makes sure that the heap is not empty. If it is, an exception is thrown.
      */
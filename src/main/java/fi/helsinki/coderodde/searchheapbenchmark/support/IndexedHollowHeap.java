@@ -0,0 +1,289 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed hollow heap of Hansen, Kaplan, Tarjan and
+ * Zwick, in its variant with a single root and at most two parents per node.
+ * See {@link HollowHeap} for the tree and the root extraction.
+ * <p>
+ * Decreasing the priority of an element never restructures the tree. Instead,
+ * the element moves to a new node, which is linked with the root, and its old
+ * node becomes hollow. If the old node had a rank above two, the new node
+ * takes the rank two lower and adopts the hollow node as its only child, so
+ * that the hollow node has two parents. The hollow nodes are discarded lazily
+ * when their parents are removed by the root extractions.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class IndexedHollowHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The initial length of the array used for linking the trees by rank.
+     */
+    private static final int DEFAULT_RANK_ARRAY_LENGTH = 16;
+
+    private static final class HollowHeapNode<E, P> {
+
+        /**
+         * The actual element, or {@code null} if this node is hollow.
+         */
+        E element;
+
+        /**
+         * The priority key of the element.
+         */
+        P priority;
+
+        /**
+         * The first child of this node.
+         */
+        HollowHeapNode<E, P> child;
+
+        /**
+         * The next sibling of this node under its first parent.
+         */
+        HollowHeapNode<E, P> next;
+
+        /**
+         * The second parent of this hollow node, if any. This node is the
+         * last child of its second parent.
+         */
+        HollowHeapNode<E, P> extraParent;
+
+        /**
+         * The rank of this node.
+         */
+        int rank;
+
+        HollowHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The root of the tree, holding the minimum element.
+     */
+    private HollowHeapNode<E, P> root;
+
+    /**
+     * {@code rankArray[r]} holds a tree of rank {@code r} while linking.
+     */
+    private HollowHeapNode<E, P>[] rankArray =
+            new HollowHeapNode[DEFAULT_RANK_ARRAY_LENGTH];
+
+    /**
+     * The map mapping each present element to its full node.
+     */
+    private final ElementIndex<E, HollowHeapNode<E, P>> map;
+
+    public IndexedHollowHeap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedHollowHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        if (map.containsKey(element)) {
+            // The element is already in this heap.
+            return;
+        }
+
+        HollowHeapNode<E, P> node = new HollowHeapNode<>(element, priority);
+        root = root == null ? node : link(node, root);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        HollowHeapNode<E, P> node = map.get(element);
+
+        if (node == null) {
+            // The element is not in this heap, do no more.
+            return false;
+        }
+
+        if (HeapCounters.compare(node.priority, newPriority) <= 0) {
+            // Cannot improve the priority.
+            return false;
+        }
+
+        if (node == root) {
+            node.priority = newPriority;
+            return true;
+        }
+
+        HollowHeapNode<E, P> newNode =
+                new HollowHeapNode<>(element, newPriority);
+        node.element = null;
+        node.priority = null;
+
+        if (node.rank > 2) {
+            newNode.rank = node.rank - 2;
+        }
+
+        newNode.child = node;
+        node.extraParent = newNode;
+        map.put(element, newNode);
+        root = link(newNode, root);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapNotEmpty();
+        E element = root.element;
+        map.remove(element);
+        root.element = null;
+
+        int maximumRank = -1;
+        // The list of the hollow nodes to remove, linked via 'next'.
+        HollowHeapNode<E, P> hollowList = root;
+        hollowList.next = null;
+
+        while (hollowList != null) {
+            HollowHeapNode<E, P> parent = hollowList;
+            HollowHeapNode<E, P> node = parent.child;
+            hollowList = hollowList.next;
+
+            while (node != null) {
+                HollowHeapNode<E, P> current = node;
+                node = node.next;
+
+                if (current.element == null) {
+                    if (current.extraParent == null) {
+                        // The last parent is gone.
+                        current.next = hollowList;
+                        hollowList = current;
+                    } else {
+                        if (current.extraParent == parent) {
+                            // The rest of the list belongs to the first
+                            // parent.
+                            node = null;
+                        } else {
+                            current.next = null;
+                        }
+
+                        current.extraParent = null;
+                    }
+                } else {
+                    maximumRank = Math.max(maximumRank,
+                                           linkByRank(current));
+                }
+            }
+        }
+
+        root = null;
+
+        for (int rank = 0; rank <= maximumRank; ++rank) {
+            if (rankArray[rank] != null) {
+                root = root == null ? rankArray[rank]
+                                    : link(root, rankArray[rank]);
+                rankArray[rank] = null;
+            }
+        }
+
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        map.clear();
+        root = null;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedHollowHeap" + map.getNameSuffix();
+    }
+
+    /**
+     * Links {@code tree} with the trees of the same rank in the rank array
+     * as long as there are any, and puts the result to the rank array.
+     *
+     * @param tree the tree to add to the rank array.
+     * @return the rank of the resulting tree.
+     */
+    private int linkByRank(HollowHeapNode<E, P> tree) {
+        while (tree.rank < rankArray.length && rankArray[tree.rank] != null) {
+            HollowHeapNode<E, P> other = rankArray[tree.rank];
+            rankArray[tree.rank] = null;
+            tree = link(tree, other);
+            tree.rank++;
+        }
+
+        if (tree.rank == rankArray.length) {
+            rankArray = Arrays.copyOf(rankArray, 2 * rankArray.length);
+        }
+
+        rankArray[tree.rank] = tree;
+        return tree.rank;
+    }
+
+    /**
+     * Makes the root with the larger priority the first child of the other
+     * root.
+     *
+     * @return the root with the smaller priority.
+     */
+    private HollowHeapNode<E, P> link(HollowHeapNode<E, P> node1,
+                                      HollowHeapNode<E, P> node2) {
+        HeapCounters.countLink();
+
+        if (HeapCounters.compare(node1.priority, node2.priority) < 0) {
+            node2.next = node1.child;
+            node1.child = node2;
+            return node1;
+        } else {
+            node1.next = node2.child;
+            node2.child = node1;
+            return node2;
+        }
+    }
+
+    private void checkHeapNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedHollowHeap is empty.");
+        }
+    }
+}
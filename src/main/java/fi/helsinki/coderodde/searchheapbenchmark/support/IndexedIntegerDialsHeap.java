@@ -2,9 +2,8 @@ package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements the integer version of the Dial's heap, that maps each
@@ -65,7 +64,22 @@ public final class IndexedIntegerDialsHeap<E> implements PriorityQueue<E, Intege
     /**
      * This map maps each element to the node that contains it.
      */
-    private final Map<E, DialsHeapNode<E>> map = new HashMap<>();
+    private final ElementIndex<E, DialsHeapNode<E>> map;
+    
+    public IndexedIntegerDialsHeap() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedIntegerDialsHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
     
     @Override
     public void add(E element, Integer priority) {
@@ -176,11 +190,12 @@ public final class IndexedIntegerDialsHeap<E> implements PriorityQueue<E, Intege
         Arrays.fill(storageArray, null);
         map.clear();
         size = 0;
+        minimumPriority = Integer.MAX_VALUE;
     }
     
     @Override
     public String toString() {
-        return "IndexedIntegerDialsHeap";
+        return "IndexedIntegerDialsHeap" + map.getNameSuffix();
     }
     
     private void checkHeapNotEmpty() {
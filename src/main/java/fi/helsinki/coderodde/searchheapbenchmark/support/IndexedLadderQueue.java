@@ -0,0 +1,130 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed ladder queue with finite double priority
+ * keys. See {@link LadderQueue} for the queue. Decreasing the priority of an
+ * element unlinks its node from the top, a rung bucket or the bottom, and
+ * adds it anew with the new priority.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class IndexedLadderQueue<E>
+        implements PriorityQueue<E, Double> {
+
+    private final LadderBuckets<E> buckets = new LadderBuckets<>();
+
+    /**
+     * This map maps each element to the node that contains it.
+     */
+    private final ElementIndex<E, LadderBuckets.Node<E>> map;
+
+    public IndexedLadderQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedLadderQueue(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        if (map.containsKey(element)) {
+            return;
+        }
+
+        double p = LadderBuckets.checkPriority(priority);
+        LadderBuckets.Node<E> node = new LadderBuckets.Node<>(element, p);
+        buckets.insert(node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        LadderBuckets.Node<E> targetNode = map.get(element);
+
+        if (targetNode == null) {
+            // Element not in this heap.
+            return false;
+        }
+
+        double priority = LadderBuckets.checkPriority(newPriority);
+
+        if (targetNode.priority <= priority) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        buckets.remove(targetNode);
+        targetNode.priority = priority;
+        buckets.insert(targetNode);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = buckets.extractMinimum().element;
+        map.remove(element);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedLadderQueue" + map.getNameSuffix();
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedLadderQueue is empty.");
+        }
+    }
+}
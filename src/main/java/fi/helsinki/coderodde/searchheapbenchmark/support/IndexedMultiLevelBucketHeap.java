@@ -0,0 +1,196 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed multi-level bucket heap with non-negative
+ * integer priority keys. See {@link MultiLevelBucketHeap} for the structure,
+ * the monotonicity requirement and the caliber heuristic. This version maps
+ * each element to its node, which sits in a doubly-linked bucket, so that
+ * decreasing a priority amounts to moving the node to another bucket.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class IndexedMultiLevelBucketHeap<E>
+        implements PriorityQueue<E, Integer> {
+
+    private final MultiLevelBuckets<E> buckets;
+
+    /**
+     * Maps each element to its caliber, or {@code null} if the caliber
+     * heuristic is not in use.
+     */
+    private final ToIntFunction<? super E> caliberFunction;
+
+    /**
+     * This map maps each element to the node that contains it.
+     */
+    private final ElementIndex<E, MultiLevelBuckets.Node<E>> map;
+
+    public IndexedMultiLevelBucketHeap(int levels) {
+        this(levels, null, null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param levels     the number of levels.
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedMultiLevelBucketHeap(int levels,
+                                       ToIntFunction<? super E> idFunction) {
+        this(levels, null, idFunction);
+    }
+
+    /**
+     * Constructs a new empty indexed multi-level bucket heap.
+     *
+     * @param levels          the number of levels.
+     * @param caliberFunction the function mapping each element to its
+     *                        non-negative caliber, or {@code null} for not
+     *                        using the caliber heuristic.
+     * @param idFunction      the function mapping each element to its unique
+     *                        non-negative id, or {@code null} for indexing
+     *                        the elements by a hash map.
+     */
+    public IndexedMultiLevelBucketHeap(
+            int levels,
+            ToIntFunction<? super E> caliberFunction,
+            ToIntFunction<? super E> idFunction) {
+        this.buckets = new MultiLevelBuckets<>(levels,
+                                               MultiLevelBucketHeap.KEY_BITS);
+        this.caliberFunction = caliberFunction;
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Integer priority) {
+        if (map.containsKey(element)) {
+            return;
+        }
+
+        MultiLevelBuckets.Node<E> node =
+                new MultiLevelBuckets.Node<>(element, checkPriority(priority));
+        insert(node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Integer newPriority) {
+        MultiLevelBuckets.Node<E> targetNode = map.get(element);
+
+        if (targetNode == null) {
+            // Element not in this heap.
+            return false;
+        }
+
+        int p = checkPriority(newPriority);
+
+        if (targetNode.key <= p) {
+            // Cannot improve the priority of the element.
+            return false;
+        }
+
+        buckets.remove(targetNode);
+        targetNode.key = p;
+        insert(targetNode);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = buckets.extractMinimum().element;
+        map.remove(element);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedMultiLevelBucketHeap, levels = " + buckets.getLevels() +
+               (caliberFunction == null ? "" : " (calibers)") +
+               map.getNameSuffix();
+    }
+
+    /**
+     * Puts {@code node} to the settled list if its priority is within the
+     * caliber of its element, and to the buckets otherwise.
+     *
+     * @param node the node to insert.
+     */
+    private void insert(MultiLevelBuckets.Node<E> node) {
+        if (caliberFunction != null
+                && node.key - buckets.getLastKey()
+                   <= caliberFunction.applyAsInt(node.element)) {
+            buckets.insertSettled(node);
+        } else {
+            buckets.insert(node);
+        }
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority}.
+     *
+     * @param priority the priority to check.
+     * @return the priority as a primitive {@code int}.
+     */
+    private int checkPriority(Integer priority) {
+        int p = priority;
+
+        if (p < buckets.getLastKey()) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " + buckets.getLastKey() + ".");
+        }
+
+        return p;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedMultiLevelBucketHeap is empty.");
+        }
+    }
+}
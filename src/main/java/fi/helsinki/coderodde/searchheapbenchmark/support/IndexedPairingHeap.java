@@ -1,11 +1,11 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 /**
  * This class implements an indexed pairing heap. "Indexed" means that this heap
@@ -19,7 +19,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type.
  */
 public final class IndexedPairingHeap<E, P extends Comparable<? super P>>
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     /**
      * This inner static class implements the pairing tree nodes.
@@ -71,9 +71,10 @@ implements PriorityQueue<E, P> {
     private PairingHeapNode<E, P> root;
     
     /**
-     * The map mapping each present element to its node.
+     * The map mapping each present element to its node. Not final, since 
+     * melding keeps the larger of the two maps.
      */
-    private final Map<E, PairingHeapNode<E, P>> map;
+    private ElementIndex<E, PairingHeapNode<E, P>> map;
     
     /**
      * Used for merging the children of the removed root node.
@@ -81,7 +82,18 @@ implements PriorityQueue<E, P> {
     private final Deque<PairingHeapNode<E, P>> queue;
     
     public IndexedPairingHeap() {
-        this.map = new HashMap<>();
+        this(null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedPairingHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
         this.queue = new ArrayDeque<>();
     }
     
@@ -113,6 +125,82 @@ implements PriorityQueue<E, P> {
         ++size;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The new node with the minimum priority becomes the parent of all the 
+     * other new nodes without any linking, which is left to the next 
+     * {@link #extractMinimum()}, and is then merged with the root. The 
+     * elements already in this heap are skipped.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        PairingHeapNode<E, P> minimumNode = null;
+        PairingHeapNode<E, P> siblingList = null;
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            E element = entry.getKey();
+            
+            if (map.containsKey(element)) {
+                // The element is already in this heap.
+                continue;
+            }
+            
+            PairingHeapNode<E, P> node = 
+                    new PairingHeapNode<>(element, entry.getValue());
+            map.put(element, node);
+            
+            if (minimumNode == null) {
+                minimumNode = node;
+            } else if (HeapCounters.compare(node.priority, 
+                                            minimumNode.priority) < 0) {
+                minimumNode.next = siblingList;
+                siblingList = minimumNode;
+                minimumNode = node;
+            } else {
+                node.next = siblingList;
+                siblingList = node;
+            }
+            
+            ++size;
+        }
+        
+        if (minimumNode == null) {
+            return;
+        }
+        
+        minimumNode.child = siblingList;
+        
+        for (PairingHeapNode<E, P> node = siblingList; 
+                node != null; 
+                node = node.next) {
+            node.parent = minimumNode;
+        }
+        
+        root = root == null ? minimumNode : merge(root, minimumNode);
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Links the two roots in constant time. The entries of the smaller index
+     * map are moved into the larger one, which this heap then keeps.
+     */
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        IndexedPairingHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.root == null) {
+            return;
+        }
+        
+        meldMaps(otherHeap);
+        root = root == null ? otherHeap.root : merge(root, otherHeap.root);
+        size += otherHeap.size;
+        otherHeap.clear();
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -125,7 +213,7 @@ implements PriorityQueue<E, P> {
             return false;
         }
         
-        if (node.priority.compareTo(newPriority) <= 0) {
+        if (HeapCounters.compare(node.priority, newPriority) <= 0) {
             // Cannot improve the priority.
             return false;
         }
@@ -135,11 +223,13 @@ implements PriorityQueue<E, P> {
         PairingHeapNode<E, P> lowerNode = node;
         
         while (upperNode != null 
-                && upperNode.priority.compareTo(newPriority) > 0) {
+                && HeapCounters.compare(upperNode.priority, newPriority) > 0) {
             lowerNode.element = upperNode.element;
             lowerNode.priority = upperNode.priority;
             map.put(lowerNode.element, lowerNode);
             
+            HeapCounters.countSiftStep();
+            
             lowerNode = upperNode;
             upperNode = upperNode.parent;
         }
@@ -204,12 +294,13 @@ implements PriorityQueue<E, P> {
 
     @Override
     public String toString() {
-        return "IndexedPairingHeap";
+        return "IndexedPairingHeap" + map.getNameSuffix();
     }
     
     private PairingHeapNode<E, P> merge(PairingHeapNode<E, P> node1,
                                         PairingHeapNode<E, P> node2) {
-        if (node1.priority.compareTo(node2.priority) < 0) {
+        HeapCounters.countLink();
+        if (HeapCounters.compare(node1.priority, node2.priority) < 0) {
             PairingHeapNode<E, P> oldChild = node1.child;
             node1.child = node2;
             node2.next = oldChild;
@@ -234,6 +325,44 @@ implements PriorityQueue<E, P> {
         return queue.removeFirst();
     }
     
+    /**
+     * Moves the entries of the smaller of the two indices into the larger 
+     * one, which becomes the index of this heap, and leaves the other heap 
+     * the smaller one. If the indices are not of the same kind, the entries
+     * of the other index are always moved into the index of this heap, so
+     * that neither heap changes its indexing. Checks that the heaps are
+     * disjoint before moving anything.
+     * 
+     * @param otherHeap the heap being melded into this heap.
+     */
+    private void meldMaps(IndexedPairingHeap<E, P> otherHeap) {
+        map.checkDisjoint(otherHeap.map);
+        
+        if (map.size() < otherHeap.map.size()
+                && map.isInterchangeableWith(otherHeap.map)) {
+            ElementIndex<E, PairingHeapNode<E, P>> tmp = map;
+            map = otherHeap.map;
+            otherHeap.map = tmp;
+        }
+        
+        map.putAll(otherHeap.map);
+    }
+    
+    private IndexedPairingHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedPairingHeap with itself.");
+        }
+        
+        if (!(other instanceof IndexedPairingHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld an IndexedPairingHeap with " + other + ".");
+        }
+        
+        return (IndexedPairingHeap<E, P>) other;
+    }
+    
     private void checkHeapNotEmpty() {
         if (size == 0) {
             throw new NoSuchElementException(
@@ -0,0 +1,119 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements Dijkstra's algorithm over a compressed sparse row graph
+ * with integer arc weights. The search state is kept in arrays indexed by node
+ * IDs instead of hash maps, and the search frontier is a primitive heap, so
+ * neither the node IDs nor the distances are ever boxed. The arrays are
+ * allocated once per path finder and reset in constant time between the
+ * searches. This version is meant for indexed heaps, and improves the
+ * priorities of the frontier nodes via {@link
+ * IntPriorityQueue#decreasePriority(int, int)}.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class IndexedPrimitiveIntCSRDijkstraPathFinder
+        implements CSRPathFinder {
+
+    /**
+     * The graph to search.
+     */
+    private final IntCSRGraph graph;
+
+    /**
+     * The heap holding the node IDs of the search frontier.
+     */
+    private final IntPriorityQueue searchFrontier;
+
+    /**
+     * The reusable opened/closed/parent bookkeeping.
+     */
+    private final CSRSearchState state;
+
+    /**
+     * {@code distances[u]} is the tentative distance of {@code u}. Valid only
+     * if {@code u} is opened in the current search.
+     */
+    private final int[] distances;
+
+    public IndexedPrimitiveIntCSRDijkstraPathFinder(
+            IntCSRGraph graph,
+            IntPriorityQueue heap) {
+        this.graph = Objects.requireNonNull(graph, "The graph is null.");
+        this.searchFrontier = Objects.requireNonNull(heap, "The heap is null.");
+        this.state = new CSRSearchState(graph.getNumberOfNodes());
+        this.distances = new int[graph.getNumberOfNodes()];
+        heap.clear();
+    }
+
+    @Override
+    public List<DirectedGraphNode> search(DirectedGraphNode sourceNode,
+                                          DirectedGraphNode targetNode) {
+        int[] path = search(graph.getNodeId(sourceNode),
+                            graph.getNodeId(targetNode));
+        List<DirectedGraphNode> nodePath = new ArrayList<>(path.length);
+
+        for (int nodeId : path) {
+            nodePath.add(graph.getNode(nodeId));
+        }
+
+        return nodePath;
+    }
+
+    @Override
+    public int[] search(int sourceNodeId, int targetNodeId) {
+        searchFrontier.clear();
+        state.reset();
+
+        searchFrontier.add(sourceNodeId, 0);
+        state.open(sourceNodeId, CSRSearchState.NO_PARENT);
+        distances[sourceNodeId] = 0;
+
+        while (searchFrontier.size() > 0) {
+            int currentNodeId = searchFrontier.extractMinimum();
+
+            if (currentNodeId == targetNodeId) {
+                return state.tracebackPath(targetNodeId);
+            }
+
+            state.close(currentNodeId);
+            int currentDistance = distances[currentNodeId];
+            int lastArcIndex = graph.getLastArcIndex(currentNodeId);
+
+            for (int arcIndex = graph.getFirstArcIndex(currentNodeId);
+                    arcIndex < lastArcIndex;
+                    ++arcIndex) {
+                int childNodeId = graph.getHeadNodeId(arcIndex);
+
+                if (state.isClosed(childNodeId)) {
+                    continue;
+                }
+
+                int tentativeDistance = currentDistance +
+                                        graph.getArcWeight(arcIndex);
+
+                if (!state.isOpened(childNodeId)) {
+                    searchFrontier.add(childNodeId, tentativeDistance);
+                    state.open(childNodeId, currentNodeId);
+                    distances[childNodeId] = tentativeDistance;
+                } else if (distances[childNodeId] > tentativeDistance) {
+                    searchFrontier.decreasePriority(childNodeId,
+                                                    tentativeDistance);
+                    state.setParent(childNodeId, currentNodeId);
+                    distances[childNodeId] = tentativeDistance;
+                }
+            }
+        }
+
+        return new int[0];
+    }
+}
@@ -0,0 +1,340 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed type-1 rank-pairing heap of Haeupler, Sen
+ * and Tarjan. See {@link RankPairingHeap} for the half-trees and the root
+ * extraction.
+ * <p>
+ * Decreasing the priority of an element in a non-root node cuts the node
+ * together with its left subtree and makes it a new root; its right subtree
+ * takes its place under its parent. The ranks of the ancestors are then
+ * restored by the type-1 rank rule: a non-root node whose children have ranks
+ * {@code r1} and {@code r2} (a missing child having rank {@code -1}) has rank
+ * {@code r1 + 1} if {@code r1 = r2}, and {@code max(r1, r2)} otherwise. The
+ * rank restoration stops at the first ancestor whose rank does not drop.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class IndexedRankPairingHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The initial length of the array used for linking the roots by rank.
+     */
+    private static final int DEFAULT_RANK_ARRAY_LENGTH = 16;
+
+    private static final class RankPairingHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority key of the element.
+         */
+        P priority;
+
+        /**
+         * The left child of this node.
+         */
+        RankPairingHeapNode<E, P> left;
+
+        /**
+         * The right child of this node, or the next root if this node is a
+         * root.
+         */
+        RankPairingHeapNode<E, P> right;
+
+        /**
+         * The parent of this node, or {@code null} if this node is a root.
+         */
+        RankPairingHeapNode<E, P> parent;
+
+        /**
+         * The rank of this node.
+         */
+        int rank;
+
+        RankPairingHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The first root in the root list.
+     */
+    private RankPairingHeapNode<E, P> roots;
+
+    /**
+     * The root holding the minimum element.
+     */
+    private RankPairingHeapNode<E, P> minimum;
+
+    /**
+     * {@code rankArray[r]} holds a root of rank {@code r} while linking.
+     */
+    private RankPairingHeapNode<E, P>[] rankArray =
+            new RankPairingHeapNode[DEFAULT_RANK_ARRAY_LENGTH];
+
+    /**
+     * The map mapping each element to its node.
+     */
+    private final ElementIndex<E, RankPairingHeapNode<E, P>> map;
+
+    public IndexedRankPairingHeap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedRankPairingHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        if (map.containsKey(element)) {
+            // The element is already in this heap.
+            return;
+        }
+
+        RankPairingHeapNode<E, P> node =
+                new RankPairingHeapNode<>(element, priority);
+        addRoot(node);
+        map.put(element, node);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        RankPairingHeapNode<E, P> node = map.get(element);
+
+        if (node == null) {
+            // The element is not in this heap, do no more.
+            return false;
+        }
+
+        if (HeapCounters.compare(node.priority, newPriority) <= 0) {
+            // Cannot improve the priority.
+            return false;
+        }
+
+        node.priority = newPriority;
+
+        if (node.parent == null) {
+            // A root stays a root.
+            if (HeapCounters.compare(newPriority, minimum.priority) < 0) {
+                minimum = node;
+            }
+
+            return true;
+        }
+
+        RankPairingHeapNode<E, P> parent = node.parent;
+        RankPairingHeapNode<E, P> rightChild = node.right;
+
+        if (parent.left == node) {
+            parent.left = rightChild;
+        } else {
+            parent.right = rightChild;
+        }
+
+        if (rightChild != null) {
+            rightChild.parent = parent;
+        }
+
+        node.parent = null;
+        node.rank = node.left == null ? 0 : node.left.rank + 1;
+        addRoot(node);
+        HeapCounters.countCut();
+
+        // Restore the ranks of the ancestors.
+        while (parent != null) {
+            int rank;
+
+            if (parent.parent == null) {
+                rank = parent.left == null ? 0 : parent.left.rank + 1;
+            } else {
+                int leftRank = parent.left == null ? -1 : parent.left.rank;
+                int rightRank = parent.right == null ? -1 : parent.right.rank;
+                rank = leftRank == rightRank ? leftRank + 1
+                                             : Math.max(leftRank, rightRank);
+            }
+
+            if (rank >= parent.rank) {
+                break;
+            }
+
+            parent.rank = rank;
+            parent = parent.parent;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapNotEmpty();
+        RankPairingHeapNode<E, P> minimumNode = minimum;
+        RankPairingHeapNode<E, P> node = minimumNode.left;
+
+        if (node != null) {
+            // Make the right spine of the left subtree roots and prepend them
+            // to the root list.
+            while (true) {
+                node.parent = null;
+                node.rank = node.left == null ? 0 : node.left.rank + 1;
+
+                if (node.right == null) {
+                    break;
+                }
+
+                node = node.right;
+            }
+
+            node.right = roots;
+            node = minimumNode.left;
+        } else {
+            node = roots;
+        }
+
+        roots = null;
+        minimum = null;
+        int maximumRank = -1;
+
+        while (node != null) {
+            RankPairingHeapNode<E, P> tree = node;
+            node = node.right;
+
+            if (tree == minimumNode) {
+                continue;
+            }
+
+            int rank = tree.rank;
+
+            if (rank >= rankArray.length) {
+                rankArray = Arrays.copyOf(rankArray,
+                                          Math.max(2 * rankArray.length,
+                                                   rank + 1));
+            }
+
+            if (rankArray[rank] == null) {
+                rankArray[rank] = tree;
+                maximumRank = Math.max(maximumRank, rank);
+            } else {
+                RankPairingHeapNode<E, P> other = rankArray[rank];
+                rankArray[rank] = null;
+                addRoot(link(tree, other));
+            }
+        }
+
+        for (int rank = 0; rank <= maximumRank; ++rank) {
+            if (rankArray[rank] != null) {
+                addRoot(rankArray[rank]);
+                rankArray[rank] = null;
+            }
+        }
+
+        map.remove(minimumNode.element);
+        return minimumNode.element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        map.clear();
+        roots = null;
+        minimum = null;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedRankPairingHeap" + map.getNameSuffix();
+    }
+
+    /**
+     * Prepends {@code root} to the root list and updates the minimum root.
+     *
+     * @param root the root to add.
+     */
+    private void addRoot(RankPairingHeapNode<E, P> root) {
+        root.right = roots;
+        roots = root;
+
+        if (minimum == null
+                || HeapCounters.compare(root.priority,
+                                        minimum.priority) < 0) {
+            minimum = root;
+        }
+    }
+
+    /**
+     * Links two roots of the same rank. The root with the larger priority
+     * becomes the left child of the other root, and the previous left subtree
+     * of the winner becomes the right subtree of the loser.
+     *
+     * @return the root with the smaller priority.
+     */
+    private RankPairingHeapNode<E, P> link(RankPairingHeapNode<E, P> node1,
+                                           RankPairingHeapNode<E, P> node2) {
+        HeapCounters.countLink();
+
+        if (HeapCounters.compare(node2.priority, node1.priority) < 0) {
+            RankPairingHeapNode<E, P> tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        node2.right = node1.left;
+
+        if (node2.right != null) {
+            node2.right.parent = node2;
+        }
+
+        node1.left = node2;
+        node2.parent = node1;
+        node1.rank++;
+        return node1;
+    }
+
+    private void checkHeapNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedRankPairingHeap is empty.");
+        }
+    }
+}
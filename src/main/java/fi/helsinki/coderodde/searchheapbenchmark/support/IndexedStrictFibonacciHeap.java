@@ -0,0 +1,849 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed strict Fibonacci heap of Brodal,
+ * Lagogiannis and Tarjan. Unlike the Fibonacci heap, whose root extraction
+ * may consolidate a root list of any length, this heap bounds the work of
+ * each operation in the worst case: an addition and a priority decrease take
+ * constant time, and a root extraction takes logarithmic time.
+ * <p>
+ * The heap is a single heap-ordered tree. Its nodes are either active or
+ * passive, and the root is passive. The rank of an active node is the number
+ * of its active children, and its loss is the number of active children it
+ * has lost since it last became an active root. The children of a node keep
+ * the active ones before the passive ones. The active children of the root
+ * are called active roots. Each operation spends its constant budget on the
+ * following transformations, which keep the number of active roots, the root
+ * degree and the total loss logarithmic:
+ * <ul>
+ *   <li><b>Active root reduction</b> links two active roots of the same
+ *       rank, and moves the rightmost passive child of the winner, if any,
+ *       to the root.</li>
+ *   <li><b>Root degree reduction</b> makes the three rightmost passive
+ *       children of the root active and links them into a single active root
+ *       of rank one.</li>
+ *   <li><b>One-node loss reduction</b> moves an active node with loss of at
+ *       least two to the root.</li>
+ *   <li><b>Two-node loss reduction</b> links two active nodes of the same rank
+ *       and loss of one.</li>
+ * </ul>
+ * All the nodes except the root are in a queue. Each root extraction moves
+ * two nodes from the front of the queue to its back and moves up to two of
+ * their passive children to the root, which keeps the degrees of the non-root
+ * nodes logarithmic.
+ * <p>
+ * This implementation does not support melding, so the active roots are
+ * always the children of the root and every passive node below the root has
+ * only passive children. An addition or a priority decrease that would make
+ * a new root swaps the elements of the two nodes instead. The active roots
+ * and the lossy nodes are grouped by rank in arrays. Growing these arrays and
+ * the element index are amortized, all the rest is worst-case.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class IndexedStrictFibonacciHeap
+        <E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The initial length of the arrays indexed by rank.
+     */
+    private static final int DEFAULT_RANK_ARRAY_LENGTH = 64;
+
+    /**
+     * The number of active root reductions after a priority decrease.
+     */
+    private static final int DECREASE_ACTIVE_ROOT_REDUCTIONS = 6;
+
+    /**
+     * The number of root degree reductions after a priority decrease.
+     */
+    private static final int DECREASE_ROOT_DEGREE_REDUCTIONS = 4;
+
+    private static final class StrictFibonacciHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        E element;
+
+        /**
+         * The priority key of the element.
+         */
+        P priority;
+
+        /**
+         * The addition number of the element, breaking the ties between
+         * equal priorities.
+         */
+        long serial;
+
+        /**
+         * The parent of this node.
+         */
+        StrictFibonacciHeapNode<E, P> parent;
+
+        /**
+         * The leftmost child of this node.
+         */
+        StrictFibonacciHeapNode<E, P> child;
+
+        /**
+         * The left sibling of this node in the circular sibling list.
+         */
+        StrictFibonacciHeapNode<E, P> left = this;
+
+        /**
+         * The right sibling of this node in the circular sibling list.
+         */
+        StrictFibonacciHeapNode<E, P> right = this;
+
+        /**
+         * The previous node in the circular queue.
+         */
+        StrictFibonacciHeapNode<E, P> queuePrevious;
+
+        /**
+         * The next node in the circular queue.
+         */
+        StrictFibonacciHeapNode<E, P> queueNext;
+
+        /**
+         * The previous node in the active root list or in the loss list.
+         */
+        StrictFibonacciHeapNode<E, P> fixPrevious;
+
+        /**
+         * The next node in the active root list or in the loss list.
+         */
+        StrictFibonacciHeapNode<E, P> fixNext;
+
+        /**
+         * Whether this node is active.
+         */
+        boolean active;
+
+        /**
+         * The number of active children of this active node.
+         */
+        int rank;
+
+        /**
+         * The number of active children this active node has lost.
+         */
+        int loss;
+
+        StrictFibonacciHeapNode(E element, P priority, long serial) {
+            this.element = element;
+            this.priority = priority;
+            this.serial = serial;
+        }
+    }
+
+    /**
+     * This class groups nodes by their rank into doubly linked lists, and
+     * keeps the ranks holding at least two nodes in a doubly linked list of
+     * its own, so that a pair of nodes of the same rank is found in constant
+     * time.
+     */
+    private final class RankBuckets {
+
+        private StrictFibonacciHeapNode<E, P>[] heads =
+                new StrictFibonacciHeapNode[DEFAULT_RANK_ARRAY_LENGTH];
+
+        private int[] counts = new int[DEFAULT_RANK_ARRAY_LENGTH];
+
+        private int[] previousPairRanks = new int[DEFAULT_RANK_ARRAY_LENGTH];
+
+        private int[] nextPairRanks = new int[DEFAULT_RANK_ARRAY_LENGTH];
+
+        /**
+         * The first rank holding at least two nodes, or {@code -1} if there
+         * is no such rank.
+         */
+        private int pairRank = -1;
+
+        void add(StrictFibonacciHeapNode<E, P> node) {
+            int rank = node.rank;
+
+            if (rank >= heads.length) {
+                grow(rank);
+            }
+
+            node.fixPrevious = null;
+            node.fixNext = heads[rank];
+
+            if (heads[rank] != null) {
+                heads[rank].fixPrevious = node;
+            }
+
+            heads[rank] = node;
+
+            if (++counts[rank] == 2) {
+                previousPairRanks[rank] = -1;
+                nextPairRanks[rank] = pairRank;
+
+                if (pairRank != -1) {
+                    previousPairRanks[pairRank] = rank;
+                }
+
+                pairRank = rank;
+            }
+        }
+
+        /**
+         * Removes {@code node}, which must be in the list of its current
+         * rank.
+         */
+        void remove(StrictFibonacciHeapNode<E, P> node) {
+            int rank = node.rank;
+
+            if (node.fixPrevious != null) {
+                node.fixPrevious.fixNext = node.fixNext;
+            } else {
+                heads[rank] = node.fixNext;
+            }
+
+            if (node.fixNext != null) {
+                node.fixNext.fixPrevious = node.fixPrevious;
+            }
+
+            node.fixPrevious = null;
+            node.fixNext = null;
+
+            if (counts[rank]-- == 2) {
+                int previousRank = previousPairRanks[rank];
+                int nextRank = nextPairRanks[rank];
+
+                if (previousRank != -1) {
+                    nextPairRanks[previousRank] = nextRank;
+                } else {
+                    pairRank = nextRank;
+                }
+
+                if (nextRank != -1) {
+                    previousPairRanks[nextRank] = previousRank;
+                }
+            }
+        }
+
+        /**
+         * Returns a rank holding at least two nodes, or {@code -1} if there
+         * is no such rank.
+         */
+        int getPairRank() {
+            return pairRank;
+        }
+
+        StrictFibonacciHeapNode<E, P> getFirst(int rank) {
+            return heads[rank];
+        }
+
+        void clear() {
+            Arrays.fill(heads, null);
+            Arrays.fill(counts, 0);
+            pairRank = -1;
+        }
+
+        private void grow(int rank) {
+            int length = Math.max(2 * heads.length, rank + 1);
+            heads = Arrays.copyOf(heads, length);
+            counts = Arrays.copyOf(counts, length);
+            previousPairRanks = Arrays.copyOf(previousPairRanks, length);
+            nextPairRanks = Arrays.copyOf(nextPairRanks, length);
+        }
+    }
+
+    /**
+     * The root of the tree, holding the minimum element.
+     */
+    private StrictFibonacciHeapNode<E, P> root;
+
+    /**
+     * The front of the circular queue of all the non-root nodes.
+     */
+    private StrictFibonacciHeapNode<E, P> queueHead;
+
+    /**
+     * The active roots grouped by rank.
+     */
+    private final RankBuckets activeRoots = new RankBuckets();
+
+    /**
+     * The active nodes with loss of one grouped by rank.
+     */
+    private final RankBuckets lossOneNodes = new RankBuckets();
+
+    /**
+     * The first active node with loss of at least two.
+     */
+    private StrictFibonacciHeapNode<E, P> lossTwoNodes;
+
+    /**
+     * The number of the next addition.
+     */
+    private long serial;
+
+    /**
+     * The map mapping each element to its node.
+     */
+    private final ElementIndex<E, StrictFibonacciHeapNode<E, P>> map;
+
+    public IndexedStrictFibonacciHeap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedStrictFibonacciHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        if (map.containsKey(element)) {
+            // The element is already in this heap.
+            return;
+        }
+
+        StrictFibonacciHeapNode<E, P> node =
+                new StrictFibonacciHeapNode<>(element, priority, serial++);
+        map.put(element, node);
+
+        if (root == null) {
+            root = node;
+            return;
+        }
+
+        if (less(node, root)) {
+            swapElements(node, root);
+        }
+
+        link(root, node);
+        enqueue(node);
+        activeRootReduction();
+        rootDegreeReduction();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        StrictFibonacciHeapNode<E, P> node = map.get(element);
+
+        if (node == null) {
+            // The element is not in this heap, do no more.
+            return false;
+        }
+
+        if (HeapCounters.compare(node.priority, newPriority) <= 0) {
+            // Cannot improve the priority.
+            return false;
+        }
+
+        node.priority = newPriority;
+
+        if (node == root) {
+            return true;
+        }
+
+        if (less(node, root)) {
+            swapElements(node, root);
+        }
+
+        StrictFibonacciHeapNode<E, P> parent = node.parent;
+
+        if (parent != root) {
+            HeapCounters.countCut();
+            removeChild(node);
+            addChild(root, node);
+
+            if (node.active) {
+                // An active node below an active root has an active parent.
+                if (node.loss > 0) {
+                    removeLoss(node);
+                    node.loss = 0;
+                }
+
+                activeRoots.add(node);
+                loseActiveChild(parent);
+            }
+        }
+
+        lossReduction();
+
+        for (int i = 0; i < DECREASE_ACTIVE_ROOT_REDUCTIONS; ++i) {
+            if (!activeRootReduction()) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < DECREASE_ROOT_DEGREE_REDUCTIONS; ++i) {
+            if (!rootDegreeReduction()) {
+                break;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapNotEmpty();
+        StrictFibonacciHeapNode<E, P> oldRoot = root;
+        E element = oldRoot.element;
+        map.remove(element);
+
+        if (oldRoot.child == null) {
+            root = null;
+            return element;
+        }
+
+        StrictFibonacciHeapNode<E, P> newRoot = oldRoot.child;
+
+        for (StrictFibonacciHeapNode<E, P> node = newRoot.right;
+                node != oldRoot.child;
+                node = node.right) {
+            if (less(node, newRoot)) {
+                newRoot = node;
+            }
+        }
+
+        removeChild(newRoot);
+        dequeue(newRoot);
+
+        if (newRoot.active) {
+            activeRoots.remove(newRoot);
+            newRoot.active = false;
+            newRoot.rank = 0;
+        }
+
+        // The active children of the new root become active roots.
+        StrictFibonacciHeapNode<E, P> child = newRoot.child;
+
+        if (child != null) {
+            do {
+                if (!child.active) {
+                    break;
+                }
+
+                if (child.loss > 0) {
+                    removeLoss(child);
+                    child.loss = 0;
+                }
+
+                activeRoots.add(child);
+                child = child.right;
+            } while (child != newRoot.child);
+        }
+
+        while (oldRoot.child != null) {
+            child = oldRoot.child;
+            removeChild(child);
+            addChild(newRoot, child);
+        }
+
+        root = newRoot;
+
+        // Rotate the queue twice, moving up to two passive children of each
+        // rotated node to the root.
+        for (int i = 0; i < 2 && queueHead != null; ++i) {
+            StrictFibonacciHeapNode<E, P> node = queueHead;
+            queueHead = queueHead.queueNext;
+
+            for (int j = 0; j < 2 && node.child != null; ++j) {
+                StrictFibonacciHeapNode<E, P> lastChild = node.child.left;
+
+                if (lastChild.active) {
+                    break;
+                }
+
+                removeChild(lastChild);
+                link(root, lastChild);
+            }
+        }
+
+        while (lossReduction()) {}
+        while (activeRootReduction() || rootDegreeReduction()) {}
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        map.clear();
+        root = null;
+        queueHead = null;
+        activeRoots.clear();
+        lossOneNodes.clear();
+        lossTwoNodes = null;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedStrictFibonacciHeap" + map.getNameSuffix();
+    }
+
+    /**
+     * Links two active roots of the same rank, if there are any.
+     *
+     * @return {@code true} if the reduction was done.
+     */
+    private boolean activeRootReduction() {
+        int rank = activeRoots.getPairRank();
+
+        if (rank == -1) {
+            return false;
+        }
+
+        StrictFibonacciHeapNode<E, P> node1 = activeRoots.getFirst(rank);
+        StrictFibonacciHeapNode<E, P> node2 = node1.fixNext;
+
+        if (less(node2, node1)) {
+            StrictFibonacciHeapNode<E, P> tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        activeRoots.remove(node1);
+        activeRoots.remove(node2);
+        removeChild(node2);
+        link(node1, node2);
+        node1.rank++;
+        activeRoots.add(node1);
+
+        StrictFibonacciHeapNode<E, P> lastChild = node1.child.left;
+
+        if (!lastChild.active) {
+            removeChild(lastChild);
+            link(root, lastChild);
+        }
+
+        return true;
+    }
+
+    /**
+     * Turns the three rightmost passive children of the root into an active
+     * root of rank one, if the root has at least three passive children.
+     *
+     * @return {@code true} if the reduction was done.
+     */
+    private boolean rootDegreeReduction() {
+        if (root.child == null) {
+            return false;
+        }
+
+        StrictFibonacciHeapNode<E, P> node3 = root.child.left;
+        StrictFibonacciHeapNode<E, P> node2 = node3.left;
+        StrictFibonacciHeapNode<E, P> node1 = node2.left;
+
+        // The passive children come after the active ones, so if 'node1' is
+        // passive, so are the other two.
+        if (node1 == node3 || node1.active) {
+            return false;
+        }
+
+        StrictFibonacciHeapNode<E, P> tmp;
+
+        if (less(node2, node1)) {
+            tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        if (less(node3, node2)) {
+            tmp = node2;
+            node2 = node3;
+            node3 = tmp;
+        }
+
+        if (less(node2, node1)) {
+            tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        removeChild(node1);
+        removeChild(node2);
+        removeChild(node3);
+        node1.active = true;
+        node2.active = true;
+        node1.rank = 1;
+        node2.rank = 0;
+        link(node2, node3);
+        link(node1, node2);
+        addChild(root, node1);
+        activeRoots.add(node1);
+        return true;
+    }
+
+    /**
+     * Does a one-node loss reduction if there is a node with loss of at least
+     * two, and a two-node loss reduction otherwise, if possible.
+     *
+     * @return {@code true} if the total loss decreased.
+     */
+    private boolean lossReduction() {
+        if (lossTwoNodes != null) {
+            StrictFibonacciHeapNode<E, P> node = lossTwoNodes;
+            StrictFibonacciHeapNode<E, P> parent = node.parent;
+            removeLoss(node);
+            node.loss = 0;
+            HeapCounters.countCut();
+            removeChild(node);
+            addChild(root, node);
+            activeRoots.add(node);
+            loseActiveChild(parent);
+            return true;
+        }
+
+        int rank = lossOneNodes.getPairRank();
+
+        if (rank == -1) {
+            return false;
+        }
+
+        StrictFibonacciHeapNode<E, P> node1 = lossOneNodes.getFirst(rank);
+        StrictFibonacciHeapNode<E, P> node2 = node1.fixNext;
+
+        if (less(node2, node1)) {
+            StrictFibonacciHeapNode<E, P> tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        removeLoss(node1);
+        removeLoss(node2);
+
+        if (node2.parent == node1) {
+            // Linking would not change the tree. Make 'node2' an active root
+            // instead, which leaves 'node1' with loss of two for a one-node
+            // loss reduction.
+            node2.loss = 0;
+            HeapCounters.countCut();
+            removeChild(node2);
+            addChild(root, node2);
+            activeRoots.add(node2);
+            node1.rank--;
+            node1.loss = 2;
+            addLoss(node1);
+            return lossReduction();
+        }
+
+        StrictFibonacciHeapNode<E, P> parent = node2.parent;
+        removeChild(node2);
+        link(node1, node2);
+        node1.rank++;
+        node1.loss = 0;
+        node2.loss = 0;
+        loseActiveChild(parent);
+        return true;
+    }
+
+    /**
+     * Decrements the rank of the active {@code node} after it lost an active
+     * child, and increments its loss unless it is an active root.
+     */
+    private void loseActiveChild(StrictFibonacciHeapNode<E, P> node) {
+        if (node.parent == root) {
+            activeRoots.remove(node);
+            node.rank--;
+            activeRoots.add(node);
+        } else {
+            if (node.loss > 0) {
+                removeLoss(node);
+            }
+
+            node.rank--;
+            node.loss++;
+            addLoss(node);
+        }
+    }
+
+    private void addLoss(StrictFibonacciHeapNode<E, P> node) {
+        if (node.loss == 1) {
+            lossOneNodes.add(node);
+        } else {
+            node.fixPrevious = null;
+            node.fixNext = lossTwoNodes;
+
+            if (lossTwoNodes != null) {
+                lossTwoNodes.fixPrevious = node;
+            }
+
+            lossTwoNodes = node;
+        }
+    }
+
+    private void removeLoss(StrictFibonacciHeapNode<E, P> node) {
+        if (node.loss == 1) {
+            lossOneNodes.remove(node);
+        } else {
+            if (node.fixPrevious != null) {
+                node.fixPrevious.fixNext = node.fixNext;
+            } else {
+                lossTwoNodes = node.fixNext;
+            }
+
+            if (node.fixNext != null) {
+                node.fixNext.fixPrevious = node.fixPrevious;
+            }
+
+            node.fixPrevious = null;
+            node.fixNext = null;
+        }
+    }
+
+    /**
+     * Makes {@code child} a child of {@code parent}.
+     */
+    private void link(StrictFibonacciHeapNode<E, P> parent,
+                      StrictFibonacciHeapNode<E, P> child) {
+        HeapCounters.countLink();
+        addChild(parent, child);
+    }
+
+    /**
+     * Adds {@code child} as the leftmost child of {@code parent} if it is
+     * active, and as the rightmost child otherwise.
+     */
+    private void addChild(StrictFibonacciHeapNode<E, P> parent,
+                          StrictFibonacciHeapNode<E, P> child) {
+        child.parent = parent;
+        StrictFibonacciHeapNode<E, P> firstChild = parent.child;
+
+        if (firstChild == null) {
+            child.left = child;
+            child.right = child;
+            parent.child = child;
+            return;
+        }
+
+        child.right = firstChild;
+        child.left = firstChild.left;
+        firstChild.left.right = child;
+        firstChild.left = child;
+
+        if (child.active) {
+            parent.child = child;
+        }
+    }
+
+    private void removeChild(StrictFibonacciHeapNode<E, P> child) {
+        StrictFibonacciHeapNode<E, P> parent = child.parent;
+
+        if (child.right == child) {
+            parent.child = null;
+        } else {
+            child.left.right = child.right;
+            child.right.left = child.left;
+
+            if (parent.child == child) {
+                parent.child = child.right;
+            }
+        }
+
+        child.parent = null;
+        child.left = child;
+        child.right = child;
+    }
+
+    /**
+     * Appends {@code node} to the back of the queue.
+     */
+    private void enqueue(StrictFibonacciHeapNode<E, P> node) {
+        if (queueHead == null) {
+            node.queuePrevious = node;
+            node.queueNext = node;
+            queueHead = node;
+        } else {
+            node.queueNext = queueHead;
+            node.queuePrevious = queueHead.queuePrevious;
+            queueHead.queuePrevious.queueNext = node;
+            queueHead.queuePrevious = node;
+        }
+    }
+
+    private void dequeue(StrictFibonacciHeapNode<E, P> node) {
+        if (node.queueNext == node) {
+            queueHead = null;
+        } else {
+            node.queuePrevious.queueNext = node.queueNext;
+            node.queueNext.queuePrevious = node.queuePrevious;
+
+            if (queueHead == node) {
+                queueHead = node.queueNext;
+            }
+        }
+
+        node.queuePrevious = null;
+        node.queueNext = null;
+    }
+
+    /**
+     * Swaps the elements of two nodes along with their priorities.
+     */
+    private void swapElements(StrictFibonacciHeapNode<E, P> node1,
+                              StrictFibonacciHeapNode<E, P> node2) {
+        E element = node1.element;
+        P priority = node1.priority;
+        long elementSerial = node1.serial;
+        node1.element = node2.element;
+        node1.priority = node2.priority;
+        node1.serial = node2.serial;
+        node2.element = element;
+        node2.priority = priority;
+        node2.serial = elementSerial;
+        map.put(node1.element, node1);
+        map.put(node2.element, node2);
+    }
+
+    /**
+     * Returns {@code true} if the element of {@code node1} precedes the
+     * element of {@code node2}. The ties are broken by the addition order,
+     * so that no two nodes compare equal.
+     */
+    private boolean less(StrictFibonacciHeapNode<E, P> node1,
+                         StrictFibonacciHeapNode<E, P> node2) {
+        int cmp = HeapCounters.compare(node1.priority, node2.priority);
+        return cmp < 0 || (cmp == 0 && node1.serial < node2.serial);
+    }
+
+    private void checkHeapNotEmpty() {
+        if (map.isEmpty()) {
+            throw new NoSuchElementException(
+                    "This IndexedStrictFibonacciHeap is empty.");
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 public final class IndexedVanEmdeBoasTreeHeap<E>
         implements PriorityQueue<E, Integer> {
@@ -44,7 +43,7 @@ public final class IndexedVanEmdeBoasTreeHeap<E>
     /**
      * Maps each present element to its respective node.
      */
-    private final Map<E, HeapNode<E>> map = new HashMap<>();
+    private final ElementIndex<E, HeapNode<E>> map;
     
     /**
      * Maps each integer priority key to the list of elements with that very
@@ -53,7 +52,21 @@ public final class IndexedVanEmdeBoasTreeHeap<E>
     private final VanEmdeBoasTreeMap<HeapNode<E>> nodeMap;
     
     public IndexedVanEmdeBoasTreeHeap(int universe) {
+        this(universe, null);
+    }
+    
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param universe   the universe of the priorities.
+     * @param idFunction the function mapping each element to its unique 
+     *                   non-negative id.
+     */
+    public IndexedVanEmdeBoasTreeHeap(int universe, 
+                                      ToIntFunction<? super E> idFunction) {
         this.nodeMap = new VanEmdeBoasTreeMap<>(universe);
+        this.map = ElementIndex.create(idFunction);
     }
     
     @Override
@@ -183,7 +196,7 @@ public final class IndexedVanEmdeBoasTreeHeap<E>
     
     @Override
     public String toString() {
-        return "IndexedVanEmdeBoasTreeHeap";
+        return "IndexedVanEmdeBoasTreeHeap" + map.getNameSuffix();
     }
     
     /**
@@ -0,0 +1,272 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements an indexed weak heap. See {@link WeakHeap} for the
+ * reverse bits, the distinguished ancestors and the joins. Each node keeps its
+ * index in the storage array, so that decreasing the priority of an element
+ * joins its node upwards the same way as an addition does.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class IndexedWeakHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    private static final class WeakHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority of {@code element}.
+         */
+        P priority;
+
+        /**
+         * The index of this node in the storage array.
+         */
+        int index;
+
+        WeakHeapNode(E element, P priority, int index) {
+            this.element = element;
+            this.priority = priority;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The default capacity of the underlying arrays.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Stores the actual array of weak heap nodes.
+     */
+    private WeakHeapNode<E, P>[] weakHeapNodeArray =
+            new WeakHeapNode[DEFAULT_CAPACITY];
+
+    /**
+     * {@code reverseBits[i]} tells whether the subtrees of the node at index
+     * {@code i} are swapped.
+     */
+    private boolean[] reverseBits = new boolean[DEFAULT_CAPACITY];
+
+    /**
+     * Caches the number of elements hold by this heap.
+     */
+    private int size;
+
+    /**
+     * The map mapping each element to its node.
+     */
+    private final ElementIndex<E, WeakHeapNode<E, P>> map;
+
+    public IndexedWeakHeap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a heap whose index is an array addressed by the element ids
+     * instead of a hash map.
+     *
+     * @param idFunction the function mapping each element to its unique
+     *                   non-negative id.
+     */
+    public IndexedWeakHeap(ToIntFunction<? super E> idFunction) {
+        this.map = ElementIndex.create(idFunction);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        if (map.containsKey(element)) {
+            // The element is already in this heap.
+            return;
+        }
+
+        expandStorageArraysIfNeeded();
+        WeakHeapNode<E, P> node = new WeakHeapNode<>(element, priority, size);
+        weakHeapNodeArray[size] = node;
+        reverseBits[size] = false;
+
+        if ((size & 1) == 0) {
+            // The new node is the first child of its parent, so the reverse
+            // bit of the parent may be reset.
+            reverseBits[size >>> 1] = false;
+        }
+
+        map.put(element, node);
+        siftUp(size++);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        WeakHeapNode<E, P> node = map.get(element);
+
+        if (node == null) {
+            // The element is not in this heap, do no more.
+            return false;
+        }
+
+        if (HeapCounters.compare(node.priority, newPriority) <= 0) {
+            // Cannot improve the priority.
+            return false;
+        }
+
+        node.priority = newPriority;
+        siftUp(node.index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = weakHeapNodeArray[0].element;
+        WeakHeapNode<E, P> lastNode = weakHeapNodeArray[--size];
+        weakHeapNodeArray[size] = null;
+
+        if (size > 0) {
+            weakHeapNodeArray[0] = lastNode;
+            lastNode.index = 0;
+            siftDownRoot();
+        }
+
+        map.remove(element);
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(weakHeapNodeArray, 0, size, null);
+        map.clear();
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedWeakHeap" + map.getNameSuffix();
+    }
+
+    /**
+     * Joins the node at index {@code index} with its distinguished ancestors
+     * until a join keeps the order.
+     *
+     * @param index the index of the node to sift up.
+     */
+    private void siftUp(int index) {
+        while (index != 0) {
+            int ancestorIndex = getDistinguishedAncestorIndex(index);
+
+            if (!join(ancestorIndex, index)) {
+                return;
+            }
+
+            index = ancestorIndex;
+        }
+    }
+
+    /**
+     * Joins the root with the nodes on the left spine of its right subtree
+     * from the bottom up.
+     */
+    private void siftDownRoot() {
+        if (size < 2) {
+            return;
+        }
+
+        int index = 1;
+        int leftChildIndex;
+
+        while ((leftChildIndex = getLeftChildIndex(index)) < size) {
+            index = leftChildIndex;
+        }
+
+        while (index != 0) {
+            join(0, index);
+            index >>>= 1;
+        }
+    }
+
+    /**
+     * Swaps the nodes at {@code index} and its distinguished ancestor if the
+     * former precedes the latter, and reverses the subtrees of the node along.
+     *
+     * @param ancestorIndex the index of the distinguished ancestor.
+     * @param index         the index of the node.
+     * @return {@code true} if the nodes were swapped.
+     */
+    private boolean join(int ancestorIndex, int index) {
+        WeakHeapNode<E, P> ancestorNode = weakHeapNodeArray[ancestorIndex];
+        WeakHeapNode<E, P> node = weakHeapNodeArray[index];
+
+        if (HeapCounters.compare(node.priority, ancestorNode.priority) >= 0) {
+            return false;
+        }
+
+        weakHeapNodeArray[ancestorIndex] = node;
+        weakHeapNodeArray[index] = ancestorNode;
+        node.index = ancestorIndex;
+        ancestorNode.index = index;
+        reverseBits[index] = !reverseBits[index];
+        HeapCounters.countSiftStep();
+        return true;
+    }
+
+    private int getDistinguishedAncestorIndex(int index) {
+        // Climb while the node is a left child.
+        while ((index & 1) == (reverseBits[index >>> 1] ? 1 : 0)) {
+            index >>>= 1;
+        }
+
+        return index >>> 1;
+    }
+
+    private int getLeftChildIndex(int index) {
+        return (index << 1) + (reverseBits[index] ? 1 : 0);
+    }
+
+    /**
+     * Expands the storage arrays by doubling their length if they are full.
+     */
+    private void expandStorageArraysIfNeeded() {
+        if (size == weakHeapNodeArray.length) {
+            weakHeapNodeArray = Arrays.copyOf(weakHeapNodeArray, 2 * size);
+            reverseBits = Arrays.copyOf(reverseBits, 2 * size);
+        }
+    }
+
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This IndexedWeakHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class decorates a priority queue and counts the operations passed to
+ * it, along with the largest size the queue has reached. Together with
+ * {@link HeapCounters}, which counts the work done inside the heaps, this
+ * tells how much work each heap operation costs.
+ * <p>
+ * If constructed as timed, the decorator also measures the worst-case
+ * latency of each operation type, which tells the heaps with worst-case
+ * bounds apart from the heaps whose bounds are only amortized. Timing calls
+ * {@link System#nanoTime()} twice per operation, so the timed runs are
+ * slower than the untimed ones.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ * @param <P> the priority type.
+ */
+public final class InstrumentedPriorityQueue
+        <E, P extends Comparable<? super P>> implements PriorityQueue<E, P> {
+
+    private final PriorityQueue<E, P> heap;
+    private long additions;
+    private long decreaseAttempts;
+    private long decreases;
+    private long extractions;
+    private int peakSize;
+    private final boolean timed;
+    private long maximumAddNanos;
+    private long maximumDecreaseNanos;
+    private long maximumExtractNanos;
+
+    public InstrumentedPriorityQueue(PriorityQueue<E, P> heap) {
+        this(heap, false);
+    }
+
+    /**
+     * Constructs a decorator of {@code heap}.
+     *
+     * @param heap  the heap to decorate.
+     * @param timed whether to measure the worst-case operation latencies.
+     */
+    public InstrumentedPriorityQueue(PriorityQueue<E, P> heap, boolean timed) {
+        this.heap = Objects.requireNonNull(heap, "The heap is null.");
+        this.timed = timed;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        long startTime = timed ? System.nanoTime() : 0L;
+        heap.add(element, priority);
+
+        if (timed) {
+            maximumAddNanos = Math.max(maximumAddNanos,
+                                       System.nanoTime() - startTime);
+        }
+
+        ++additions;
+        peakSize = Math.max(peakSize, heap.size());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        heap.addAll(elementPriorityMap);
+        additions += elementPriorityMap.size();
+        peakSize = Math.max(peakSize, heap.size());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        ++decreaseAttempts;
+        long startTime = timed ? System.nanoTime() : 0L;
+        boolean decreased = heap.decreasePriority(element, newPriority);
+
+        if (timed) {
+            maximumDecreaseNanos = Math.max(maximumDecreaseNanos,
+                                            System.nanoTime() - startTime);
+        }
+
+        if (decreased) {
+            ++decreases;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        long startTime = timed ? System.nanoTime() : 0L;
+        E element = heap.extractMinimum();
+
+        if (timed) {
+            maximumExtractNanos = Math.max(maximumExtractNanos,
+                                           System.nanoTime() - startTime);
+        }
+
+        ++extractions;
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        heap.clear();
+    }
+
+    public long getAdditions() {
+        return additions;
+    }
+
+    public long getDecreaseAttempts() {
+        return decreaseAttempts;
+    }
+
+    public long getDecreases() {
+        return decreases;
+    }
+
+    public long getExtractions() {
+        return extractions;
+    }
+
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    public long getMaximumAddNanos() {
+        return maximumAddNanos;
+    }
+
+    public long getMaximumDecreaseNanos() {
+        return maximumDecreaseNanos;
+    }
+
+    public long getMaximumExtractNanos() {
+        return maximumExtractNanos;
+    }
+
+    /**
+     * Resets all the counters of this decorator to zero.
+     */
+    public void resetCounters() {
+        additions = 0L;
+        decreaseAttempts = 0L;
+        decreases = 0L;
+        extractions = 0L;
+        peakSize = 0;
+        maximumAddNanos = 0L;
+        maximumDecreaseNanos = 0L;
+        maximumExtractNanos = 0L;
+    }
+
+    /**
+     * Returns the counters as text of the form
+     * {@code "A adds, D/T decreases, X extracts, peak size S"}.
+     *
+     * @return the textual summary of the counters.
+     */
+    public String getSummary() {
+        return additions + " adds, " +
+               decreases + "/" + decreaseAttempts + " decreases, " +
+               extractions + " extracts, peak size " + peakSize;
+    }
+
+    /**
+     * Returns the worst-case latencies as text of the form
+     * {@code "worst-case add A ns, decrease D ns, extract X ns"}. The
+     * latencies are zero unless this decorator is timed.
+     *
+     * @return the textual summary of the worst-case latencies.
+     */
+    public String getLatencySummary() {
+        return "worst-case add " + maximumAddNanos + " ns, " +
+               "decrease " + maximumDecreaseNanos + " ns, " +
+               "extract " + maximumExtractNanos + " ns";
+    }
+
+    /**
+     * Returns the textual representation of the decorated heap, so that the
+     * benchmark reports show the actual heap.
+     */
+    @Override
+    public String toString() {
+        return heap.toString();
+    }
+}
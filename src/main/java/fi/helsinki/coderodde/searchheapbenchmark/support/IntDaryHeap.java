@@ -0,0 +1,208 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a {@code d}-ary heap specialized to {@code int}
+ * elements and {@code int} priority keys. The elements and their priorities
+ * are stored in two parallel arrays, so no heap node objects are allocated and
+ * no priority keys are boxed. This heap does not support decreasing the
+ * priority of an element.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class IntDaryHeap implements IntPriorityQueue {
+
+    /**
+     * The default storage capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The minimum degree of the heaps.
+     */
+    private static final int MINIMUM_DEGREE = 2;
+
+    /**
+     * The actual degree of this heap.
+     */
+    private final int degree;
+
+    /**
+     * {@code elements[i]} is the element at heap position {@code i}.
+     */
+    private int[] elements;
+
+    /**
+     * {@code priorities[i]} is the priority of {@code elements[i]}.
+     */
+    private int[] priorities;
+
+    /**
+     * Caches the amount of elements in this heap.
+     */
+    private int size;
+
+    public IntDaryHeap(int degree) {
+        this.degree = Math.max(degree, MINIMUM_DEGREE);
+        this.elements = new int[DEFAULT_CAPACITY];
+        this.priorities = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(int element, int priority) {
+        checkHeapHasSpace();
+        siftUp(size++, element, priority);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(int element, int newPriority) {
+        throw new UnsupportedOperationException(
+                "This IntDaryHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int extractMinimum() {
+        checkHeapIsNotEmpty();
+        int element = elements[0];
+
+        if (--size > 0) {
+            siftDown(0, elements[size], priorities[size]);
+        }
+
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the degree of this {@code d}-ary heap.
+     *
+     * @return the degree of this heap.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IntDaryHeap: degree = " + degree;
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the root until
+     * {@code element} with priority {@code priority} may be put in it.
+     *
+     * @param index    the index of the hole.
+     * @param element  the element to place.
+     * @param priority the priority of the element.
+     */
+    private void siftUp(int index, int element, int priority) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / degree;
+            int parentPriority = priorities[parentIndex];
+
+            if (parentPriority <= priority) {
+                break;
+            }
+
+            elements[index] = elements[parentIndex];
+            priorities[index] = parentPriority;
+            index = parentIndex;
+        }
+
+        elements[index] = element;
+        priorities[index] = priority;
+    }
+
+    /**
+     * Moves the hole at position {@code index} towards the leaves until
+     * {@code element} with priority {@code priority} may be put in it.
+     *
+     * @param index    the index of the hole.
+     * @param element  the element to place.
+     * @param priority the priority of the element.
+     */
+    private void siftDown(int index, int element, int priority) {
+        while (true) {
+            int firstChildIndex = degree * index + 1;
+
+            if (firstChildIndex >= size) {
+                break;
+            }
+
+            int lastChildIndex = Math.min(firstChildIndex + degree, size);
+            int minChildIndex = firstChildIndex;
+            int minChildPriority = priorities[firstChildIndex];
+
+            for (int i = firstChildIndex + 1; i < lastChildIndex; ++i) {
+                if (minChildPriority > priorities[i]) {
+                    minChildPriority = priorities[i];
+                    minChildIndex = i;
+                }
+            }
+
+            if (minChildPriority >= priority) {
+                break;
+            }
+
+            elements[index] = elements[minChildIndex];
+            priorities[index] = minChildPriority;
+            index = minChildIndex;
+        }
+
+        elements[index] = element;
+        priorities[index] = priority;
+    }
+
+    /**
+     * Makes sure that a new element fits into this heap. If the heap is full,
+     * doubles the size of the storage arrays.
+     */
+    private void checkHeapHasSpace() {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            priorities = Arrays.copyOf(priorities, 2 * size);
+        }
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This IntDaryHeap is empty.");
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.util.NoSuchElementException;
  * (non-negative) priority to the list of elements holding that priority. This
  * version is unindexed, which implies that this class does not provide the 
  * method for raising priorities of elements in this heap.
+ * <p>
+ * In the pooled mode, the nodes of the extracted elements, as well as the 
+ * nodes dropped by {@link #clear()}, are kept in a free list and reused by the
+ * subsequent additions.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 30, 2017)
@@ -59,15 +63,49 @@ public final class IntegerDialsHeap<E> implements PriorityQueue<E, Integer> {
      */
     private int minimumPriority = Integer.MAX_VALUE;
     
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code next}.
+     */
+    private DialsHeapNode<E> freeNode;
+    
+    public IntegerDialsHeap() {
+        this(false);
+    }
+    
+    /**
+     * Constructs a new empty Dial's heap.
+     * 
+     * @param pooled whether to recycle the nodes.
+     */
+    public IntegerDialsHeap(boolean pooled) {
+        this.pooled = pooled;
+    }
+    
     /**
      * {@inheritDoc } 
      */
     @Override
     public void add(E element, Integer priority) {
         ensureCapacityFor(priority);
-        storageArray[priority] = new DialsHeapNode<>(element, 
-                                                     priority,
-                                                     storageArray[priority]);
+        
+        if (freeNode == null) {
+            storageArray[priority] = 
+                    new DialsHeapNode<>(element, 
+                                        priority, 
+                                        storageArray[priority]);
+        } else {
+            DialsHeapNode<E> node = freeNode;
+            freeNode = node.next;
+            node.element = element;
+            node.priority = priority;
+            node.next = storageArray[priority];
+            storageArray[priority] = node;
+        }
         
         minimumPriority = Math.min(minimumPriority, priority);
         ++size;
@@ -104,7 +142,9 @@ public final class IntegerDialsHeap<E> implements PriorityQueue<E, Integer> {
             }
         }
             
-        return node.element;
+        E element = node.element;
+        recycle(node);
+        return element;
     }
 
     /**
@@ -120,13 +160,44 @@ public final class IntegerDialsHeap<E> implements PriorityQueue<E, Integer> {
      */
     @Override
     public void clear() {
+        if (pooled) {
+            for (int priority = minimumPriority; 
+                    size > 0; 
+                    priority++) {
+                DialsHeapNode<E> node = storageArray[priority];
+                
+                while (node != null) {
+                    DialsHeapNode<E> nextNode = node.next;
+                    recycle(node);
+                    node = nextNode;
+                    --size;
+                }
+            }
+        }
+        
         Arrays.fill(storageArray, null);
         size = 0;
+        minimumPriority = Integer.MAX_VALUE;
     }
     
     @Override
     public String toString() {
-        return "IntegerDialsHeap";
+        return pooled ? "IntegerDialsHeap (pooled)" : "IntegerDialsHeap";
+    }
+    
+    /**
+     * Puts {@code node} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     * 
+     * @param node the node no longer in this heap.
+     */
+    private void recycle(DialsHeapNode<E> node) {
+        if (pooled) {
+            node.element = null;
+            node.priority = null;
+            node.next = freeNode;
+            freeNode = node;
+        }
     }
     
     private void ensureCapacityFor(int priority) {
@@ -0,0 +1,529 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class implements the bucket structure of the ladder queue of Tang, Goh
+ * and Thng over finite double priorities. The structure has three parts:
+ * <ul>
+ * <li>the unsorted top list holding the nodes whose priorities are at least
+ *     {@code topStart},</li>
+ * <li>the ladder of at most {@value #MAXIMUM_RUNGS} rungs of unsorted
+ *     buckets, each rung covering a single bucket of the rung above it,
+ *     and</li>
+ * <li>the sorted bottom list holding the smallest nodes.</li>
+ * </ul>
+ * The extraction takes the head of the bottom list. When the bottom runs
+ * empty, the first non-empty bucket of the lowest rung is either sorted into
+ * the bottom, or, if it holds more than {@value #THRESHOLD} nodes, spread
+ * over a new rung below. When the ladder runs empty, the whole top list is
+ * spread over a new first rung having as many buckets as there are nodes,
+ * the bucket width being derived from the minimum and the maximum priority of
+ * the top. Thus the bucket widths follow the key distribution without any
+ * tuning, and no bucket is ever sorted unless it is small.
+ * <p>
+ * A new node goes to the top if its priority is at least {@code topStart},
+ * to the highest rung whose current bucket does not come after it otherwise,
+ * and to the bottom if there is no such rung. If the bottom grows over
+ * {@value #THRESHOLD} nodes, it is spread over a new rung as well. The
+ * structure is not monotone: a node may precede the last extracted one.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ */
+final class LadderBuckets<E> {
+
+    /**
+     * The largest number of nodes in a bucket that is sorted into the bottom
+     * instead of being spread over a new rung.
+     */
+    static final int THRESHOLD = 50;
+
+    /**
+     * The largest number of rungs.
+     */
+    static final int MAXIMUM_RUNGS = 8;
+
+    /**
+     * The rung index of the nodes in the top list.
+     */
+    private static final int TOP = -1;
+
+    /**
+     * The rung index of the nodes in the bottom list.
+     */
+    private static final int BOTTOM = -2;
+
+    static final class Node<E> {
+
+        /**
+         * The actual element.
+         */
+        E element;
+
+        /**
+         * The priority of the element.
+         */
+        double priority;
+
+        /**
+         * The previous node in the list.
+         */
+        Node<E> prev;
+
+        /**
+         * The next node in the list.
+         */
+        Node<E> next;
+
+        /**
+         * The index of the rung holding this node, {@code TOP} or
+         * {@code BOTTOM}.
+         */
+        int rung;
+
+        /**
+         * The index of the bucket holding this node within its rung.
+         */
+        int bucket;
+
+        Node(E element, double priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    private static final class Rung<E> {
+
+        /**
+         * {@code buckets[i]} is the first node of the {@code i}th bucket.
+         */
+        final Node<E>[] buckets;
+
+        /**
+         * {@code bucketSizes[i]} is the number of nodes in the {@code i}th
+         * bucket.
+         */
+        final int[] bucketSizes;
+
+        /**
+         * The priority at which the first bucket starts.
+         */
+        final double start;
+
+        /**
+         * The width of each bucket.
+         */
+        final double width;
+
+        /**
+         * The index of the first bucket that is not yet consumed.
+         */
+        int current;
+
+        /**
+         * The number of nodes in this rung.
+         */
+        int size;
+
+        Rung(int bucketCount, double start, double width) {
+            this.buckets = new Node[bucketCount];
+            this.bucketSizes = new int[bucketCount];
+            this.start = start;
+            this.width = width;
+        }
+
+        /**
+         * Returns the position of {@code priority} in the units of the bucket
+         * width, counting from the start of this rung. The position is
+         * non-decreasing in the priority, so that the nodes of different
+         * buckets are always in order.
+         */
+        double getPosition(double priority) {
+            return (priority - start) / width;
+        }
+
+        /**
+         * Tells whether the node with the priority {@code priority} belongs
+         * to the current bucket of this rung or to a later one.
+         */
+        boolean accepts(double priority) {
+            return current < buckets.length
+                    && getPosition(priority) >= current;
+        }
+
+        int getBucket(double priority) {
+            double position = getPosition(priority);
+            return position >= buckets.length ?
+                   buckets.length - 1 :
+                   Math.max(current, (int) position);
+        }
+    }
+
+    /**
+     * Orders the nodes by their priorities.
+     */
+    private static final Comparator<Node<?>> NODE_COMPARATOR =
+            (node1, node2) -> Double.compare(node1.priority, node2.priority);
+
+    private final Rung<E>[] rungs = new Rung[MAXIMUM_RUNGS];
+    private int rungCount;
+
+    /**
+     * The nodes with priorities at least this go to the top list.
+     */
+    private double topStart = Double.NEGATIVE_INFINITY;
+
+    private Node<E> topHead;
+    private int topSize;
+
+    /**
+     * The lower bound of the priorities in the top list.
+     */
+    private double topMinimum = Double.POSITIVE_INFINITY;
+
+    /**
+     * The upper bound of the priorities in the top list.
+     */
+    private double topMaximum = Double.NEGATIVE_INFINITY;
+
+    private Node<E> bottomHead;
+    private Node<E> bottomTail;
+    private int bottomSize;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Makes sure that the priority {@code priority} is finite.
+     *
+     * @param priority the priority to check.
+     * @return the priority.
+     */
+    static double checkPriority(Double priority) {
+        return CalendarBuckets.checkPriority(priority);
+    }
+
+    /**
+     * Puts {@code node} to the top, to a rung or to the bottom.
+     *
+     * @param node the node to insert.
+     */
+    void insert(Node<E> node) {
+        double priority = node.priority;
+        ++size;
+
+        if (priority >= topStart) {
+            addToTop(node);
+            return;
+        }
+
+        if (rungCount == 0 && bottomHead == null) {
+            // Only the top has nodes, all of them no smaller than this one.
+            topStart = priority;
+            addToTop(node);
+            return;
+        }
+
+        for (int r = 0; r < rungCount; ++r) {
+            Rung<E> rung = rungs[r];
+
+            if (rung.accepts(priority)) {
+                addToRung(node, r, rung.getBucket(priority));
+                return;
+            }
+        }
+
+        addToBottom(node);
+
+        if (bottomSize > THRESHOLD && rungCount < MAXIMUM_RUNGS) {
+            Node<E> list = bottomHead;
+            int count = bottomSize;
+            double start = bottomHead.priority;
+            double end = bottomTail.priority;
+
+            if (canSpread(start, end, count)) {
+                bottomHead = null;
+                bottomTail = null;
+                bottomSize = 0;
+                spread(list, count, start, end);
+            }
+        }
+    }
+
+    /**
+     * Removes {@code node} from its list.
+     *
+     * @param node the node to remove.
+     */
+    void remove(Node<E> node) {
+        if (node.rung == TOP) {
+            if (node.prev == null) {
+                topHead = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            }
+
+            --topSize;
+        } else if (node.rung == BOTTOM) {
+            if (node.prev == null) {
+                bottomHead = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next == null) {
+                bottomTail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+
+            --bottomSize;
+        } else {
+            Rung<E> rung = rungs[node.rung];
+
+            if (node.prev == null) {
+                rung.buckets[node.bucket] = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            }
+
+            --rung.bucketSizes[node.bucket];
+            --rung.size;
+        }
+
+        node.prev = null;
+        node.next = null;
+        --size;
+    }
+
+    /**
+     * Removes and returns a node with the minimum priority. The buckets must
+     * not be empty.
+     *
+     * @return the removed node.
+     */
+    Node<E> extractMinimum() {
+        if (bottomHead == null) {
+            refillBottom();
+        }
+
+        Node<E> node = bottomHead;
+        remove(node);
+        return node;
+    }
+
+    void clear() {
+        Arrays.fill(rungs, null);
+        rungCount = 0;
+        topStart = Double.NEGATIVE_INFINITY;
+        topHead = null;
+        topSize = 0;
+        topMinimum = Double.POSITIVE_INFINITY;
+        topMaximum = Double.NEGATIVE_INFINITY;
+        bottomHead = null;
+        bottomTail = null;
+        bottomSize = 0;
+        size = 0;
+    }
+
+    /**
+     * Moves the smallest nodes to the bottom.
+     */
+    private void refillBottom() {
+        while (bottomHead == null) {
+            if (rungCount == 0) {
+                transferTop();
+                continue;
+            }
+
+            Rung<E> rung = rungs[rungCount - 1];
+
+            if (rung.size == 0) {
+                rungs[--rungCount] = null;
+                continue;
+            }
+
+            while (rung.buckets[rung.current] == null) {
+                ++rung.current;
+            }
+
+            int bucket = rung.current++;
+            Node<E> list = rung.buckets[bucket];
+            int count = rung.bucketSizes[bucket];
+            rung.buckets[bucket] = null;
+            rung.bucketSizes[bucket] = 0;
+            rung.size -= count;
+
+            double start = rung.start + bucket * rung.width;
+            double end = start + rung.width;
+
+            if (count > THRESHOLD
+                    && rungCount < MAXIMUM_RUNGS
+                    && canSpread(start, end, count)) {
+                spread(list, count, start, end);
+            } else {
+                sortToBottom(list, count);
+            }
+        }
+    }
+
+    /**
+     * Spreads the top over a new first rung, or sorts it into the bottom if
+     * its priorities are too close to each other.
+     */
+    private void transferTop() {
+        Node<E> list = topHead;
+        int count = topSize;
+        double start = topMinimum;
+        double end = topMaximum;
+        topHead = null;
+        topSize = 0;
+        topMinimum = Double.POSITIVE_INFINITY;
+        topMaximum = Double.NEGATIVE_INFINITY;
+        topStart = end;
+
+        if (canSpread(start, end, count)) {
+            spread(list, count, start, end);
+        } else {
+            sortToBottom(list, count);
+        }
+    }
+
+    /**
+     * Tells whether {@code count} nodes with priorities between {@code start}
+     * and {@code end} may be spread over {@code count} buckets of a new rung.
+     */
+    private static boolean canSpread(double start, double end, int count) {
+        double width = (end - start) / count;
+        return width > 0.0
+                && start + width > start
+                && !Double.isInfinite(width);
+    }
+
+    /**
+     * Spreads the nodes of {@code list} over a new lowest rung of
+     * {@code count} buckets covering the priorities from {@code start} to
+     * {@code end}.
+     */
+    private void spread(Node<E> list, int count, double start, double end) {
+        Rung<E> rung = new Rung<>(count, start, (end - start) / count);
+        int r = rungCount++;
+        rungs[r] = rung;
+
+        for (Node<E> node = list, next; node != null; node = next) {
+            next = node.next;
+            addToRung(node, r, rung.getBucket(node.priority));
+        }
+    }
+
+    /**
+     * Sorts the {@code count} nodes of {@code list} into the empty bottom.
+     */
+    private void sortToBottom(Node<E> list, int count) {
+        Node<E>[] nodes = new Node[count];
+        int index = 0;
+
+        for (Node<E> node = list; node != null; node = node.next) {
+            nodes[index++] = node;
+        }
+
+        Arrays.sort(nodes, NODE_COMPARATOR);
+        Node<E> prev = null;
+
+        for (Node<E> node : nodes) {
+            node.rung = BOTTOM;
+            node.prev = prev;
+
+            if (prev == null) {
+                bottomHead = node;
+            } else {
+                prev.next = node;
+            }
+
+            prev = node;
+        }
+
+        prev.next = null;
+        bottomTail = prev;
+        bottomSize = count;
+    }
+
+    private void addToTop(Node<E> node) {
+        node.rung = TOP;
+        node.prev = null;
+        node.next = topHead;
+
+        if (topHead != null) {
+            topHead.prev = node;
+        }
+
+        topHead = node;
+        ++topSize;
+        topMinimum = Math.min(topMinimum, node.priority);
+        topMaximum = Math.max(topMaximum, node.priority);
+    }
+
+    private void addToRung(Node<E> node, int r, int bucket) {
+        Rung<E> rung = rungs[r];
+        Node<E> head = rung.buckets[bucket];
+        node.rung = r;
+        node.bucket = bucket;
+        node.prev = null;
+        node.next = head;
+
+        if (head != null) {
+            head.prev = node;
+        }
+
+        rung.buckets[bucket] = node;
+        ++rung.bucketSizes[bucket];
+        ++rung.size;
+    }
+
+    /**
+     * Inserts {@code node} into the sorted bottom, after the nodes with equal
+     * priorities.
+     */
+    private void addToBottom(Node<E> node) {
+        Node<E> prev = bottomTail;
+
+        // The new nodes tend to be among the largest ones.
+        while (prev != null && prev.priority > node.priority) {
+            prev = prev.prev;
+        }
+
+        Node<E> next = prev == null ? bottomHead : prev.next;
+        node.rung = BOTTOM;
+        node.prev = prev;
+        node.next = next;
+
+        if (prev == null) {
+            bottomHead = node;
+        } else {
+            prev.next = node;
+        }
+
+        if (next == null) {
+            bottomTail = node;
+        } else {
+            next.prev = node;
+        }
+
+        ++bottomSize;
+    }
+}
@@ -0,0 +1,85 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the ladder queue of Tang, Goh and Thng with finite
+ * double priority keys. See {@link LadderBuckets} for the structure. Like
+ * {@link CalendarQueue}, the queue needs no bucket width: each rung derives
+ * its bucket width from the priorities spread over it. Since the buckets of
+ * the rungs are unsorted, a skewed key distribution does not make the
+ * additions slow, unlike in the calendar queue, whose sorted buckets may grow
+ * long between the resizes. This version is not indexed.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class LadderQueue<E> implements PriorityQueue<E, Double> {
+
+    private final LadderBuckets<E> buckets = new LadderBuckets<>();
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Double priority) {
+        double p = LadderBuckets.checkPriority(priority);
+        buckets.insert(new LadderBuckets.Node<>(element, p));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Double newPriority) {
+        throw new UnsupportedOperationException(
+                "This LadderQueue is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        return buckets.extractMinimum().element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "LadderQueue";
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (buckets.size() == 0) {
+            throw new NoSuchElementException("This LadderQueue is empty.");
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.Heuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements the ALT (A*, landmarks and triangle inequality)
+ * heuristic. For a few landmark nodes {@code L}, the distances from and to
+ * each node are precomputed, after which the triangle inequality gives two
+ * lower bounds on the distance from a node {@code v} to a target {@code t}:
+ * {@code d(L, t) - d(L, v)} and {@code d(v, L) - d(t, L)}. The estimate is the
+ * largest of them, which makes the heuristic consistent.
+ * <p>
+ * The distances are stored in two flat {@code double} arrays, where the
+ * distances of all landmarks for the node with ID {@code id} occupy the
+ * consecutive entries starting at {@code id * landmarks}. Thus, the node IDs
+ * should be small and dense.
+ * <p>
+ * The preprocessing runs one-to-all Dijkstra's algorithm using the supplied
+ * heaps, which must be indexed. The landmarks are selected one by one, since
+ * each selection depends on the landmarks selected so far, yet the searches
+ * towards the landmarks run in parallel.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ */
+public final class LandmarkHeuristic implements Heuristic<Double> {
+
+    /**
+     * Lists the landmark selection strategies.
+     */
+    public enum LandmarkSelection {
+
+        /**
+         * Selects the landmarks uniformly at random.
+         */
+        RANDOM,
+
+        /**
+         * Selects each landmark as far as possible from the landmarks selected
+         * so far.
+         */
+        FARTHEST,
+
+        /**
+         * Grows a shortest path tree from a random node and descends towards
+         * the subtree that is covered worst by the landmarks selected so far.
+         * The leaf reached becomes the next landmark (Goldberg and Werneck).
+         */
+        AVOID
+    }
+
+    /**
+     * Marks the node IDs not belonging to the graph.
+     */
+    private static final int NO_NODE = -1;
+
+    /**
+     * The number of landmarks.
+     */
+    private final int landmarks;
+
+    /**
+     * The landmark nodes.
+     */
+    private final DirectedGraphNode[] landmarkNodes;
+
+    /**
+     * Maps {@code id * landmarks + i} to the distance from the {@code i}th
+     * landmark to the node with ID {@code id}.
+     */
+    private final double[] distancesFromLandmarks;
+
+    /**
+     * Maps {@code id * landmarks + i} to the distance from the node with ID
+     * {@code id} to the {@code i}th landmark.
+     */
+    private final double[] distancesToLandmarks;
+
+    /**
+     * Maps each node ID to its node, or to {@code null} for the unused IDs.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * Supplies a fresh indexed heap to each of the preprocessing searches.
+     */
+    private final Supplier<PriorityQueue<DirectedGraphNode, Double>>
+            heapSupplier;
+
+    private final DirectedGraphWeightFunction<Double> weightFunction;
+
+    public LandmarkHeuristic(
+            List<DirectedGraphNode> nodeList,
+            DirectedGraphWeightFunction<Double> weightFunction,
+            int landmarks,
+            LandmarkSelection landmarkSelection,
+            Supplier<PriorityQueue<DirectedGraphNode, Double>> heapSupplier,
+            Random random) {
+        Objects.requireNonNull(nodeList, "The node list is null.");
+        Objects.requireNonNull(landmarkSelection,
+                               "The landmark selection is null.");
+        Objects.requireNonNull(random, "The random number generator is null.");
+        this.weightFunction =
+                Objects.requireNonNull(weightFunction,
+                                       "The weight function is null.");
+        this.heapSupplier =
+                Objects.requireNonNull(heapSupplier,
+                                       "The heap supplier is null.");
+        this.landmarks = checkLandmarks(landmarks, nodeList.size());
+        this.nodes = createNodeArray(nodeList);
+        this.landmarkNodes = new DirectedGraphNode[landmarks];
+        this.distancesFromLandmarks = new double[nodes.length * landmarks];
+        this.distancesToLandmarks = new double[nodes.length * landmarks];
+
+        switch (landmarkSelection) {
+            case RANDOM:
+                selectRandomLandmarks(nodeList, random);
+                break;
+
+            case FARTHEST:
+                selectFarthestLandmarks(nodeList, random);
+                break;
+
+            case AVOID:
+                selectAvoidLandmarks(nodeList, random);
+                break;
+        }
+
+        // The forward searches are run during the selection unless the
+        // landmarks are random.
+        boolean computeForward = landmarkSelection == LandmarkSelection.RANDOM;
+
+        IntStream.range(0, landmarks).parallel().forEach((i) -> {
+            if (computeForward) {
+                storeDistances(distancesFromLandmarks,
+                               i,
+                               computeDistances(landmarkNodes[i], true, null));
+            }
+
+            storeDistances(distancesToLandmarks,
+                           i,
+                           computeDistances(landmarkNodes[i], false, null));
+        });
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Double estimate(DirectedGraphNode node, DirectedGraphNode target) {
+        int nodeOffset = node.getId() * landmarks;
+        int targetOffset = target.getId() * landmarks;
+        double bestEstimate = 0.0;
+
+        for (int i = 0; i < landmarks; ++i) {
+            // The unreachable nodes have infinite distances, whose
+            // differences are either infinite or NaN, and are skipped.
+            double estimate = distancesFromLandmarks[targetOffset + i] -
+                              distancesFromLandmarks[nodeOffset + i];
+
+            if (estimate > bestEstimate
+                    && estimate < Double.POSITIVE_INFINITY) {
+                bestEstimate = estimate;
+            }
+
+            estimate = distancesToLandmarks[nodeOffset + i] -
+                       distancesToLandmarks[targetOffset + i];
+
+            if (estimate > bestEstimate
+                    && estimate < Double.POSITIVE_INFINITY) {
+                bestEstimate = estimate;
+            }
+        }
+
+        return bestEstimate;
+    }
+
+    /**
+     * Returns the landmark nodes in the order of selection.
+     *
+     * @return the landmark nodes.
+     */
+    public DirectedGraphNode[] getLandmarks() {
+        return landmarkNodes.clone();
+    }
+
+    private void selectRandomLandmarks(List<DirectedGraphNode> nodeList,
+                                       Random random) {
+        boolean[] selected = new boolean[nodes.length];
+
+        for (int i = 0; i < landmarks; ++i) {
+            DirectedGraphNode node;
+
+            do {
+                node = nodeList.get(random.nextInt(nodeList.size()));
+            } while (selected[node.getId()]);
+
+            selected[node.getId()] = true;
+            landmarkNodes[i] = node;
+        }
+    }
+
+    private void selectFarthestLandmarks(List<DirectedGraphNode> nodeList,
+                                         Random random) {
+        DirectedGraphNode startNode =
+                nodeList.get(random.nextInt(nodeList.size()));
+        double[] minimumDistances = computeDistances(startNode, true, null);
+        boolean[] selected = new boolean[nodes.length];
+
+        for (int i = 0; i < landmarks; ++i) {
+            DirectedGraphNode landmark = null;
+            double maximumDistance = Double.NEGATIVE_INFINITY;
+
+            // The nodes not reached by any landmark so far are infinitely far
+            // away, and are preferred.
+            for (DirectedGraphNode node : nodeList) {
+                if (!selected[node.getId()]
+                        && maximumDistance < minimumDistances[node.getId()]) {
+                    maximumDistance = minimumDistances[node.getId()];
+                    landmark = node;
+                }
+            }
+
+            selected[landmark.getId()] = true;
+            landmarkNodes[i] = landmark;
+
+            double[] distances = computeDistances(landmark, true, null);
+            storeDistances(distancesFromLandmarks, i, distances);
+
+            for (int id = 0; id < nodes.length; ++id) {
+                minimumDistances[id] = i == 0 ?
+                        distances[id] :
+                        Math.min(minimumDistances[id], distances[id]);
+            }
+        }
+    }
+
+    private void selectAvoidLandmarks(List<DirectedGraphNode> nodeList,
+                                      Random random) {
+        boolean[] selected = new boolean[nodes.length];
+        int[] parents = new int[nodes.length];
+        double[] sizes = new double[nodes.length];
+        int[] bestChildren = new int[nodes.length];
+
+        for (int i = 0; i < landmarks; ++i) {
+            DirectedGraphNode rootNode =
+                    nodeList.get(random.nextInt(nodeList.size()));
+            double[] distances = computeDistances(rootNode, true, parents);
+            int[] settleOrder = computeSettleOrder(distances);
+            int rootOffset = rootNode.getId() * landmarks;
+
+            Arrays.fill(sizes, 0.0);
+            Arrays.fill(bestChildren, NO_NODE);
+
+            // Process the shortest path tree bottom-up. The size of a node is
+            // the total estimation error within its subtree, or zero if the
+            // subtree contains a landmark.
+            for (int j = settleOrder.length - 1; j >= 0; --j) {
+                int id = settleOrder[j];
+                int offset = id * landmarks;
+                double lowerBound = 0.0;
+
+                for (int k = 0; k < i; ++k) {
+                    double bound = distancesFromLandmarks[offset + k] -
+                                   distancesFromLandmarks[rootOffset + k];
+
+                    if (bound > lowerBound
+                            && bound < Double.POSITIVE_INFINITY) {
+                        lowerBound = bound;
+                    }
+                }
+
+                if (selected[id]) {
+                    sizes[id] = Double.NEGATIVE_INFINITY;
+                } else if (sizes[id] != Double.NEGATIVE_INFINITY) {
+                    sizes[id] += distances[id] - lowerBound;
+                }
+
+                int parentId = parents[id];
+
+                if (parentId != NO_NODE) {
+                    if (sizes[id] == Double.NEGATIVE_INFINITY) {
+                        sizes[parentId] = Double.NEGATIVE_INFINITY;
+                    } else if (sizes[parentId] != Double.NEGATIVE_INFINITY) {
+                        sizes[parentId] += sizes[id];
+                    }
+
+                    if (sizes[id] != Double.NEGATIVE_INFINITY
+                            && (bestChildren[parentId] == NO_NODE
+                                || sizes[bestChildren[parentId]] < 
+                                   sizes[id])) {
+                        bestChildren[parentId] = id;
+                    }
+                }
+            }
+
+            int currentId = NO_NODE;
+
+            for (int id : settleOrder) {
+                if (sizes[id] > 0.0
+                        && (currentId == NO_NODE
+                            || sizes[currentId] < sizes[id])) {
+                    currentId = id;
+                }
+            }
+
+            if (currentId == NO_NODE) {
+                // The tree is covered by the landmarks; fall back to the root
+                // or to any node not yet selected.
+                currentId = rootNode.getId();
+
+                while (selected[currentId]) {
+                    currentId = nodeList.get(random.nextInt(nodeList.size()))
+                                        .getId();
+                }
+            } else {
+                while (bestChildren[currentId] != NO_NODE) {
+                    currentId = bestChildren[currentId];
+                }
+            }
+
+            selected[currentId] = true;
+            landmarkNodes[i] = nodes[currentId];
+            storeDistances(distancesFromLandmarks,
+                           i,
+                           computeDistances(nodes[currentId], true, null));
+        }
+    }
+
+    /**
+     * Returns the IDs of the nodes with finite distances in ascending order of
+     * distance, which is a topological order of the shortest path tree.
+     */
+    private int[] computeSettleOrder(double[] distances) {
+        return IntStream.range(0, distances.length)
+                        .filter((id) -> distances[id] <
+                                        Double.POSITIVE_INFINITY)
+                        .boxed()
+                        .sorted((id1, id2) -> Double.compare(distances[id1],
+                                                             distances[id2]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+
+    /**
+     * Runs the one-to-all Dijkstra's algorithm from or to {@code sourceNode}.
+     *
+     * @param sourceNode the node to start from.
+     * @param forward    whether to follow the arcs or to go against them.
+     * @param parents    the array for the parent IDs of the shortest path
+     *                   tree, or {@code null} if the tree is not needed.
+     * @return the array mapping each node ID to its distance.
+     */
+    private double[] computeDistances(DirectedGraphNode sourceNode,
+                                      boolean forward,
+                                      int[] parents) {
+        PriorityQueue<DirectedGraphNode, Double> searchFrontier =
+                heapSupplier.get();
+        double[] distances = new double[nodes.length];
+        boolean[] closed = new boolean[nodes.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        if (parents != null) {
+            Arrays.fill(parents, NO_NODE);
+        }
+
+        searchFrontier.clear();
+        searchFrontier.add(sourceNode, 0.0);
+        distances[sourceNode.getId()] = 0.0;
+
+        while (searchFrontier.size() > 0) {
+            DirectedGraphNode currentNode = searchFrontier.extractMinimum();
+            int currentId = currentNode.getId();
+            closed[currentId] = true;
+
+            for (DirectedGraphNode nextNode : forward ?
+                                              currentNode.getChildren() :
+                                              currentNode.getParents()) {
+                int nextId = nextNode.getId();
+
+                if (closed[nextId]) {
+                    continue;
+                }
+
+                double tentativeDistance =
+                        distances[currentId] +
+                        (forward ?
+                         weightFunction.getWeight(currentNode, nextNode) :
+                         weightFunction.getWeight(nextNode, currentNode));
+
+                if (distances[nextId] == Double.POSITIVE_INFINITY) {
+                    searchFrontier.add(nextNode, tentativeDistance);
+                } else if (distances[nextId] > tentativeDistance) {
+                    searchFrontier.decreasePriority(nextNode,
+                                                    tentativeDistance);
+                } else {
+                    continue;
+                }
+
+                distances[nextId] = tentativeDistance;
+
+                if (parents != null) {
+                    parents[nextId] = currentId;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private void storeDistances(double[] target,
+                                int landmarkIndex,
+                                double[] distances) {
+        for (int id = 0; id < distances.length; ++id) {
+            target[id * landmarks + landmarkIndex] = distances[id];
+        }
+    }
+
+    private static DirectedGraphNode[]
+        createNodeArray(List<DirectedGraphNode> nodeList) {
+        int maximumId = NO_NODE;
+
+        for (DirectedGraphNode node : nodeList) {
+            if (node.getId() < 0) {
+                throw new IllegalArgumentException(
+                        "Negative node ID: " + node.getId() + ".");
+            }
+
+            maximumId = Math.max(maximumId, node.getId());
+        }
+
+        DirectedGraphNode[] nodes = new DirectedGraphNode[maximumId + 1];
+
+        for (DirectedGraphNode node : nodeList) {
+            nodes[node.getId()] = node;
+        }
+
+        return nodes;
+    }
+
+    private static int checkLandmarks(int landmarks, int nodes) {
+        if (landmarks < 1) {
+            throw new IllegalArgumentException(
+                    "The number of landmarks is not positive: " +
+                    landmarks + ".");
+        }
+
+        if (landmarks > nodes) {
+            throw new IllegalArgumentException(
+                    "The number of landmarks (" + landmarks + ") exceeds " +
+                    "the number of nodes (" + nodes + ").");
+        }
+
+        return landmarks;
+    }
+}
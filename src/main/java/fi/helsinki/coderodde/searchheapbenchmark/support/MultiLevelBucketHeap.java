@@ -0,0 +1,152 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements a multi-level bucket heap of Cherkassky, Goldberg and
+ * Silverstein with non-negative integer priority keys. The priorities are
+ * split into {@code levels} digits, and each level has a bucket for each
+ * digit value, so that two levels amount to the two-level bucket heap, and 31
+ * levels to the radix heap. See {@link MultiLevelBuckets} for the details.
+ * Just like {@link RadixHeap}, this heap is monotone and not indexed.
+ * <p>
+ * If a caliber function is given, the heap applies the caliber heuristic: an
+ * element whose priority is at most the last extracted priority plus the
+ * caliber of the element bypasses the buckets and is extracted before the
+ * elements in them in FIFO order. With the caliber of a node being the
+ * minimum weight of the arcs entering the node, the distance of such a node
+ * is final in Dijkstra's algorithm, although the heap no longer extracts the
+ * elements in the order of their priorities.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class MultiLevelBucketHeap<E>
+        implements PriorityQueue<E, Integer> {
+
+    /**
+     * The number of bits in the largest non-negative {@code int}.
+     */
+    static final int KEY_BITS = Integer.SIZE - 1;
+
+    private final MultiLevelBuckets<E> buckets;
+
+    /**
+     * Maps each element to its caliber, or {@code null} if the caliber
+     * heuristic is not in use.
+     */
+    private final ToIntFunction<? super E> caliberFunction;
+
+    public MultiLevelBucketHeap(int levels) {
+        this(levels, null);
+    }
+
+    /**
+     * Constructs a new empty multi-level bucket heap.
+     *
+     * @param levels          the number of levels.
+     * @param caliberFunction the function mapping each element to its
+     *                        non-negative caliber, or {@code null} for not
+     *                        using the caliber heuristic.
+     */
+    public MultiLevelBucketHeap(int levels,
+                                ToIntFunction<? super E> caliberFunction) {
+        this.buckets = new MultiLevelBuckets<>(levels, KEY_BITS);
+        this.caliberFunction = caliberFunction;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Integer priority) {
+        int p = checkPriority(priority);
+        MultiLevelBuckets.Node<E> node =
+                new MultiLevelBuckets.Node<>(element, p);
+
+        if (caliberFunction != null
+                && p - buckets.getLastKey()
+                   <= caliberFunction.applyAsInt(element)) {
+            buckets.insertSettled(node);
+        } else {
+            buckets.insert(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Integer newPriority) {
+        throw new UnsupportedOperationException(
+                "This MultiLevelBucketHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        return buckets.extractMinimum().element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "MultiLevelBucketHeap, levels = " + buckets.getLevels() +
+               (caliberFunction == null ? "" : " (calibers)");
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority}.
+     *
+     * @param priority the priority to check.
+     * @return the priority as a primitive {@code int}.
+     */
+    private int checkPriority(Integer priority) {
+        int p = priority;
+
+        if (p < buckets.getLastKey()) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " + buckets.getLastKey() + ".");
+        }
+
+        return p;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (buckets.size() == 0) {
+            throw new NoSuchElementException(
+                    "This MultiLevelBucketHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the bucket structure of the multi-level bucket heaps
+ * of Cherkassky, Goldberg and Silverstein over non-negative {@code long} keys.
+ * The keys are split into {@code levels} digits of {@code bitsPerLevel} bits
+ * each, and each level has one bucket per digit value. A node whose key
+ * first differs from the last extracted key {@code mu} at the digit
+ * {@code i}, counting from the least significant one, lives at the level
+ * {@code i} in the bucket of its own {@code i}th digit. The nodes whose key
+ * equals {@code mu} live at the level {@code 0}. When the bucket of
+ * {@code mu} runs empty, the lowest non-empty bucket of the lowest non-empty
+ * level is expanded: its minimum key becomes the new {@code mu}, and all its
+ * nodes move to lower levels. Each node thus moves at most {@code levels - 1}
+ * times, and the non-empty buckets of each level are found through a bitmap.
+ * <p>
+ * Like the radix heaps, the structure is monotone: no key may be lower than
+ * {@code mu}. Besides the buckets, there is a FIFO list of the settled nodes
+ * for the caliber heuristic. The settled nodes are extracted before the
+ * nodes in the buckets, and do not change {@code mu}.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ */
+final class MultiLevelBuckets<E> {
+
+    /**
+     * The largest number of bits per level. Each level has two to the power
+     * of this many buckets at most.
+     */
+    static final int MAXIMUM_BITS_PER_LEVEL = 16;
+
+    static final class Node<E> {
+
+        /**
+         * The actual element.
+         */
+        E element;
+
+        /**
+         * The key of the element.
+         */
+        long key;
+
+        /**
+         * The previous node in the bucket or in the settled list.
+         */
+        Node<E> prev;
+
+        /**
+         * The next node in the bucket or in the settled list.
+         */
+        Node<E> next;
+
+        /**
+         * The level of the bucket holding this node, or {@code levels} if
+         * the node is in the settled list.
+         */
+        int level;
+
+        /**
+         * The index of the bucket holding this node within its level.
+         */
+        int bucket;
+
+        Node(E element, long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private final int levels;
+    private final int bitsPerLevel;
+    private final int digitMask;
+
+    /**
+     * {@code buckets[i][j]} is the first node of the {@code j}th bucket at
+     * the level {@code i}.
+     */
+    private final Node<E>[][] buckets;
+
+    /**
+     * The bit {@code j} of {@code bitmaps[i]} is set if and only if the
+     * bucket {@code buckets[i][j]} is not empty.
+     */
+    private final long[][] bitmaps;
+
+    /**
+     * {@code levelSizes[i]} is the number of nodes at the level {@code i}.
+     */
+    private final int[] levelSizes;
+
+    /**
+     * The head of the list of the settled nodes.
+     */
+    private Node<E> settledHead;
+
+    /**
+     * The tail of the list of the settled nodes.
+     */
+    private Node<E> settledTail;
+
+    /**
+     * The most recently extracted key that is not settled.
+     */
+    private long lastKey;
+
+    private int size;
+
+    /**
+     * Constructs new empty buckets.
+     *
+     * @param levels  the number of levels.
+     * @param keyBits the number of bits in the largest key.
+     */
+    @SuppressWarnings("unchecked")
+    MultiLevelBuckets(int levels, int keyBits) {
+        if (levels < 1 || levels > keyBits) {
+            throw new IllegalArgumentException(
+                    "The number of levels " + levels + " is not within " +
+                    "[1, " + keyBits + "].");
+        }
+
+        this.levels = levels;
+        this.bitsPerLevel = (keyBits + levels - 1) / levels;
+
+        if (bitsPerLevel > MAXIMUM_BITS_PER_LEVEL) {
+            throw new IllegalArgumentException(
+                    "Too few levels: " + levels + ". " + keyBits + "-bit " +
+                    "keys need at least " +
+                    (keyBits + MAXIMUM_BITS_PER_LEVEL - 1) /
+                    MAXIMUM_BITS_PER_LEVEL + " levels.");
+        }
+
+        int bucketsPerLevel = 1 << bitsPerLevel;
+        this.digitMask = bucketsPerLevel - 1;
+        this.buckets = new Node[levels][bucketsPerLevel];
+        this.bitmaps = new long[levels][(bucketsPerLevel + 63) >>> 6];
+        this.levelSizes = new int[levels];
+    }
+
+    int getLevels() {
+        return levels;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Puts {@code node} to the bucket of its key. The key must not be lower
+     * than the last extracted key.
+     *
+     * @param node the node to insert.
+     */
+    void insert(Node<E> node) {
+        long difference = node.key ^ lastKey;
+        int level = difference == 0L ?
+                    0 :
+                    (63 - Long.numberOfLeadingZeros(difference)) /
+                    bitsPerLevel;
+        int bucket = (int)(node.key >>> (level * bitsPerLevel)) & digitMask;
+        Node<E> head = buckets[level][bucket];
+
+        if (head == null) {
+            bitmaps[level][bucket >>> 6] |= 1L << bucket;
+        } else {
+            head.prev = node;
+        }
+
+        node.prev = null;
+        node.next = head;
+        node.level = level;
+        node.bucket = bucket;
+        buckets[level][bucket] = node;
+        ++levelSizes[level];
+        ++size;
+    }
+
+    /**
+     * Appends {@code node} to the list of the settled nodes.
+     *
+     * @param node the node to append.
+     */
+    void insertSettled(Node<E> node) {
+        node.level = levels;
+        node.prev = settledTail;
+        node.next = null;
+
+        if (settledTail == null) {
+            settledHead = node;
+        } else {
+            settledTail.next = node;
+        }
+
+        settledTail = node;
+        ++size;
+    }
+
+    /**
+     * Removes {@code node} from its bucket or from the settled list.
+     *
+     * @param node the node to remove.
+     */
+    void remove(Node<E> node) {
+        if (node.level == levels) {
+            if (node.prev == null) {
+                settledHead = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next == null) {
+                settledTail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+        } else {
+            if (node.prev == null) {
+                buckets[node.level][node.bucket] = node.next;
+
+                if (node.next == null) {
+                    bitmaps[node.level][node.bucket >>> 6] &=
+                            ~(1L << node.bucket);
+                }
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            }
+
+            --levelSizes[node.level];
+        }
+
+        node.prev = null;
+        node.next = null;
+        --size;
+    }
+
+    /**
+     * Removes and returns a settled node if there is any, and a node with the
+     * minimum key otherwise. The buckets must not be empty.
+     *
+     * @return the removed node.
+     */
+    Node<E> extractMinimum() {
+        Node<E> node = settledHead;
+
+        if (node == null) {
+            int bucket = (int) lastKey & digitMask;
+
+            if (buckets[0][bucket] == null) {
+                expand();
+                bucket = (int) lastKey & digitMask;
+            }
+
+            node = buckets[0][bucket];
+        }
+
+        remove(node);
+        return node;
+    }
+
+    void clear() {
+        for (int level = 0; level < levels; ++level) {
+            long[] bitmap = bitmaps[level];
+
+            for (int i = 0; i < bitmap.length; ++i) {
+                while (bitmap[i] != 0L) {
+                    int bucket = (i << 6) +
+                                 Long.numberOfTrailingZeros(bitmap[i]);
+                    buckets[level][bucket] = null;
+                    bitmap[i] &= bitmap[i] - 1L;
+                }
+            }
+        }
+
+        Arrays.fill(levelSizes, 0);
+        settledHead = null;
+        settledTail = null;
+        lastKey = 0L;
+        size = 0;
+    }
+
+    /**
+     * Expands the lowest non-empty bucket, after which the bucket of the last
+     * extracted key at the level {@code 0} is not empty.
+     */
+    private void expand() {
+        int level = 0;
+
+        while (levelSizes[level] == 0) {
+            ++level;
+        }
+
+        int bucket = getNextNonEmptyBucket(
+                level,
+                (int)(lastKey >>> (level * bitsPerLevel)) & digitMask);
+        Node<E> head = buckets[level][bucket];
+
+        if (level == 0) {
+            // All the nodes in the bucket have the same key.
+            lastKey = head.key;
+            return;
+        }
+
+        long minimumKey = head.key;
+        int bucketSize = 0;
+
+        for (Node<E> node = head; node != null; node = node.next) {
+            minimumKey = Math.min(minimumKey, node.key);
+            ++bucketSize;
+        }
+
+        lastKey = minimumKey;
+        buckets[level][bucket] = null;
+        bitmaps[level][bucket >>> 6] &= ~(1L << bucket);
+        levelSizes[level] -= bucketSize;
+        size -= bucketSize;
+
+        while (head != null) {
+            Node<E> next = head.next;
+            insert(head);
+            head = next;
+        }
+    }
+
+    /**
+     * Returns the index of the first non-empty bucket at the level
+     * {@code level} with index at least {@code bucket}.
+     */
+    private int getNextNonEmptyBucket(int level, int bucket) {
+        long[] bitmap = bitmaps[level];
+        int wordIndex = bucket >>> 6;
+        long word = bitmap[wordIndex] & (-1L << bucket);
+
+        while (word == 0L) {
+            word = bitmap[++wordIndex];
+        }
+
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -1,14 +1,20 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
-import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
  * This class implements an unindexed pairing heap. "Unindexed" means that this 
  * heap does not map elements to their nodes, for which reason the decrease 
  * operation of the priority key of an element is not implemented.
+ * <p>
+ * In the pooled mode, the nodes of the extracted elements, as well as the 
+ * nodes dropped by {@link #clear()}, are kept in a free list and reused by the
+ * subsequent additions, so that a heap reused over many searches allocates 
+ * nodes only until it has reached its largest size.
  * 
  * @author Rodion "(code)rodde" Efremov
  * @version 1.6 (Jan 23, 2017)
@@ -17,7 +23,7 @@ import java.util.NoSuchElementException;
  * @param <P> the priority key type.
  */
 public final class PairingHeap<E, P extends Comparable<? super P>>
-implements PriorityQueue<E, P> {
+implements MergeablePriorityQueue<E, P> {
 
     /**
      * This inner static class implements the pairing tree nodes.
@@ -73,13 +79,28 @@ implements PriorityQueue<E, P> {
      */
     private final Deque<PairingHeapNode<E, P>> queue;
     
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code next}.
+     */
+    private PairingHeapNode<E, P> freeNode;
+    
     public PairingHeap() {
-        this.queue = new ArrayDeque<>();
+        this(false);
     }
     
-    private PairingHeap(E element, P priority) {
-        this.queue = null;
-        this.root = new PairingHeapNode<>(element, priority);
+    /**
+     * Constructs a new empty pairing heap.
+     * 
+     * @param pooled whether to recycle the nodes.
+     */
+    public PairingHeap(boolean pooled) {
+        this.queue = new ArrayDeque<>();
+        this.pooled = pooled;
     }
     
     /**
@@ -87,7 +108,7 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public void add(E element, P priority) {
-        PairingHeapNode<E, P> node = new PairingHeapNode<>(element, priority);
+        PairingHeapNode<E, P> node = newNode(element, priority);
         
         if (root == null) {
             root = node;
@@ -98,6 +119,74 @@ implements PriorityQueue<E, P> {
         ++size;
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The new node with the minimum priority becomes the parent of all the 
+     * other new nodes without any linking, which is left to the next 
+     * {@link #extractMinimum()}, and is then merged with the root.
+     */
+    @Override
+    public void addAll(Map<? extends E, ? extends P> elementPriorityMap) {
+        PairingHeapNode<E, P> minimumNode = null;
+        PairingHeapNode<E, P> siblingList = null;
+        
+        for (Map.Entry<? extends E, ? extends P> entry 
+                : elementPriorityMap.entrySet()) {
+            PairingHeapNode<E, P> node = newNode(entry.getKey(), 
+                                                 entry.getValue());
+            
+            if (minimumNode == null) {
+                minimumNode = node;
+            } else if (HeapCounters.compare(node.priority, 
+                                            minimumNode.priority) < 0) {
+                minimumNode.next = siblingList;
+                siblingList = minimumNode;
+                minimumNode = node;
+            } else {
+                node.next = siblingList;
+                siblingList = node;
+            }
+            
+            ++size;
+        }
+        
+        if (minimumNode == null) {
+            return;
+        }
+        
+        minimumNode.child = siblingList;
+        
+        for (PairingHeapNode<E, P> node = siblingList; 
+                node != null; 
+                node = node.next) {
+            node.parent = minimumNode;
+        }
+        
+        root = root == null ? minimumNode : merge(root, minimumNode);
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Runs in constant time by linking the two roots.
+     */
+    @Override
+    public void meld(MergeablePriorityQueue<E, P> other) {
+        PairingHeap<E, P> otherHeap = checkMeldable(other);
+        
+        if (otherHeap.root == null) {
+            return;
+        }
+        
+        root = root == null ? otherHeap.root : merge(root, otherHeap.root);
+        size += otherHeap.size;
+        // The nodes of the other heap now belong to this heap, so they must
+        // not be recycled by otherHeap.clear().
+        otherHeap.root = null;
+        otherHeap.size = 0;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -116,6 +205,7 @@ implements PriorityQueue<E, P> {
         
         if (root.child == null) {
             E element = root.element;
+            recycle(root);
             root = null;
             --size;
             return element;
@@ -123,6 +213,7 @@ implements PriorityQueue<E, P> {
         
         E element = root.element;
         PairingHeapNode<E, P> tmp = root.child;
+        recycle(root);
         PairingHeapNode<E, P> tmp2;
         
         while (tmp != null) {
@@ -151,18 +242,65 @@ implements PriorityQueue<E, P> {
      */
     @Override
     public void clear() {
+        if (pooled && root != null) {
+            queue.addLast(root);
+            
+            while (!queue.isEmpty()) {
+                PairingHeapNode<E, P> node = queue.removeLast();
+                
+                for (PairingHeapNode<E, P> child = node.child; 
+                        child != null; 
+                        child = child.next) {
+                    queue.addLast(child);
+                }
+                
+                recycle(node);
+            }
+        }
+        
         root = null;
         size = 0;
     }
 
     @Override
     public String toString() {
-        return "PairingHeap";
+        return pooled ? "PairingHeap (pooled)" : "PairingHeap";
+    }
+    
+    private PairingHeapNode<E, P> newNode(E element, P priority) {
+        if (freeNode == null) {
+            return new PairingHeapNode<>(element, priority);
+        }
+        
+        PairingHeapNode<E, P> node = freeNode;
+        freeNode = node.next;
+        node.next = null;
+        node.element = element;
+        node.priority = priority;
+        return node;
+    }
+    
+    /**
+     * Puts {@code node} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     * 
+     * @param node the node no longer in this heap.
+     */
+    private void recycle(PairingHeapNode<E, P> node) {
+        if (pooled) {
+            node.element = null;
+            node.priority = null;
+            node.parent = null;
+            node.child = null;
+            node.next = freeNode;
+            freeNode = node;
+        }
     }
     
     private PairingHeapNode<E, P> merge(PairingHeapNode<E, P> node1,
                                         PairingHeapNode<E, P> node2) {
-        if (node1.priority.compareTo(node2.priority) < 0) {
+        HeapCounters.countLink();
+        if (HeapCounters.compare(node1.priority, node2.priority) < 0) {
             PairingHeapNode<E, P> oldChild = node1.child;
             node1.child = node2;
             node2.next = oldChild;
@@ -187,6 +325,21 @@ implements PriorityQueue<E, P> {
         return queue.removeFirst();
     }
     
+    private PairingHeap<E, P> 
+        checkMeldable(MergeablePriorityQueue<E, P> other) {
+        if (other == this) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a PairingHeap with itself.");
+        }
+        
+        if (!(other instanceof PairingHeap)) {
+            throw new IllegalArgumentException(
+                    "Cannot meld a PairingHeap with " + other + ".");
+        }
+        
+        return (PairingHeap<E, P>) other;
+    }
+    
     private void checkHeapNotEmpty() {
         if (size == 0) {
             throw new NoSuchElementException(
@@ -0,0 +1,231 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a radix heap with non-negative integer priority keys.
+ * The heap is monotone: no element may be added with a priority lower than the
+ * priority of the most recently extracted element, which always holds for the
+ * priorities Dijkstra's algorithm puts in its search frontier. Bucket
+ * {@code 0} holds the elements whose priority equals the last extracted one,
+ * and bucket {@code i > 0} the elements whose priority differs from it first
+ * at bit {@code i - 1}. Unlike the Dial's heap, the bucket array has a fixed
+ * length of 33 regardless of the magnitude of the priorities, and each element
+ * moves to a lower bucket at most 32 times. This version is not indexed, so it
+ * does not provide the decrease key method.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the actual element type.
+ */
+public final class RadixHeap<E> implements PriorityQueue<E, Integer> {
+
+    /**
+     * One bucket for each bit of a non-negative {@code int} plus the bucket
+     * for the priorities equal to the last extracted priority.
+     */
+    private static final int BUCKETS = Integer.SIZE + 1;
+
+    /**
+     * The initial capacity of each bucket.
+     */
+    private static final int DEFAULT_BUCKET_CAPACITY = 16;
+
+    /**
+     * {@code bucketElements[i]} holds the elements of the {@code i}th bucket.
+     */
+    private final Object[][] bucketElements = new Object[BUCKETS][];
+
+    /**
+     * {@code bucketPriorities[i][j]} is the priority of
+     * {@code bucketElements[i][j]}.
+     */
+    private final int[][] bucketPriorities = new int[BUCKETS][];
+
+    /**
+     * {@code bucketSizes[i]} is the number of elements in the {@code i}th
+     * bucket.
+     */
+    private final int[] bucketSizes = new int[BUCKETS];
+
+    /**
+     * The priority of the most recently extracted element.
+     */
+    private int lastPriority;
+
+    /**
+     * Caches the number of elements in this heap.
+     */
+    private int size;
+
+    public RadixHeap() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            bucketElements[i] = new Object[DEFAULT_BUCKET_CAPACITY];
+            bucketPriorities[i] = new int[DEFAULT_BUCKET_CAPACITY];
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, Integer priority) {
+        int p = checkPriority(priority);
+        push(getBucketIndex(p), element, p);
+        ++size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, Integer newPriority) {
+        throw new UnsupportedOperationException(
+                "This RadixHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+
+        if (bucketSizes[0] == 0) {
+            redistribute();
+        }
+
+        int index = --bucketSizes[0];
+        E element = (E) bucketElements[0][index];
+        bucketElements[0][index] = null;
+        --size;
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            Arrays.fill(bucketElements[i], 0, bucketSizes[i], null);
+            bucketSizes[i] = 0;
+        }
+
+        lastPriority = 0;
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "RadixHeap";
+    }
+
+    /**
+     * Empties the lowest non-empty bucket. Its minimum priority becomes the
+     * last extracted priority, and all its elements move to lower buckets,
+     * at least one of them to the bucket {@code 0}.
+     */
+    private void redistribute() {
+        int bucketIndex = 1;
+
+        while (bucketSizes[bucketIndex] == 0) {
+            ++bucketIndex;
+        }
+
+        Object[] elements = bucketElements[bucketIndex];
+        int[] priorities = bucketPriorities[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+        int minimumPriority = priorities[0];
+
+        for (int i = 1; i < bucketSize; ++i) {
+            minimumPriority = Math.min(minimumPriority, priorities[i]);
+        }
+
+        lastPriority = minimumPriority;
+        bucketSizes[bucketIndex] = 0;
+
+        for (int i = 0; i < bucketSize; ++i) {
+            push(getBucketIndex(priorities[i]), elements[i], priorities[i]);
+            elements[i] = null;
+        }
+    }
+
+    /**
+     * Appends {@code element} with priority {@code priority} to the bucket
+     * with index {@code bucketIndex}.
+     *
+     * @param bucketIndex the index of the target bucket.
+     * @param element     the element to append.
+     * @param priority    the priority of the element.
+     */
+    private void push(int bucketIndex, Object element, int priority) {
+        int bucketSize = bucketSizes[bucketIndex];
+
+        if (bucketSize == bucketElements[bucketIndex].length) {
+            bucketElements[bucketIndex] =
+                    Arrays.copyOf(bucketElements[bucketIndex], 2 * bucketSize);
+            bucketPriorities[bucketIndex] =
+                    Arrays.copyOf(bucketPriorities[bucketIndex],
+                                  2 * bucketSize);
+        }
+
+        bucketElements[bucketIndex][bucketSize] = element;
+        bucketPriorities[bucketIndex][bucketSize] = priority;
+        bucketSizes[bucketIndex] = bucketSize + 1;
+    }
+
+    /**
+     * Returns the index of the bucket for the priority {@code priority}.
+     *
+     * @param priority the priority.
+     * @return the bucket index.
+     */
+    private int getBucketIndex(int priority) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(priority ^
+                                                           lastPriority);
+    }
+
+    /**
+     * Makes sure that the heap may hold the priority {@code priority}.
+     *
+     * @param priority the priority to check.
+     * @return the priority as a primitive {@code int}.
+     */
+    private int checkPriority(Integer priority) {
+        int p = priority;
+
+        if (p < lastPriority) {
+            throw new IllegalArgumentException(
+                    "The priority " + p + " is lower than the last extracted " +
+                    "priority " + lastPriority + ".");
+        }
+
+        return p;
+    }
+
+    /**
+     * Makes sure that the heap is not empty. If it is, an exception is thrown.
+     */
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This RadixHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an unindexed rank-pairing heap of Haeupler, Sen and
+ * Tarjan. The heap is a list of half-ordered binary trees whose roots have no
+ * right child; the right pointers of the roots link the root list. An
+ * addition puts a new root of rank zero to the list. The root extraction
+ * turns the right spine of the left subtree of the minimum root into new
+ * roots and links the roots in one pass: two roots of the same rank are
+ * linked once, after which the result is not linked again during the same
+ * extraction. "Unindexed" means that this heap does not map elements to their
+ * nodes, for which reason the decrease operation of the priority key of an
+ * element is not implemented.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class RankPairingHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The initial length of the array used for linking the roots by rank.
+     */
+    private static final int DEFAULT_RANK_ARRAY_LENGTH = 16;
+
+    private static final class RankPairingHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority key of the element.
+         */
+        final P priority;
+
+        /**
+         * The left child of this node.
+         */
+        RankPairingHeapNode<E, P> left;
+
+        /**
+         * The right child of this node, or the next root if this node is a
+         * root.
+         */
+        RankPairingHeapNode<E, P> right;
+
+        /**
+         * The rank of this node.
+         */
+        int rank;
+
+        RankPairingHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The first root in the root list.
+     */
+    private RankPairingHeapNode<E, P> roots;
+
+    /**
+     * The root holding the minimum element.
+     */
+    private RankPairingHeapNode<E, P> minimum;
+
+    /**
+     * {@code rankArray[r]} holds a root of rank {@code r} while linking.
+     */
+    private RankPairingHeapNode<E, P>[] rankArray =
+            new RankPairingHeapNode[DEFAULT_RANK_ARRAY_LENGTH];
+
+    private int size;
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        addRoot(new RankPairingHeapNode<>(element, priority));
+        ++size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        throw new UnsupportedOperationException(
+                "This RankPairingHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapNotEmpty();
+        RankPairingHeapNode<E, P> minimumNode = minimum;
+        RankPairingHeapNode<E, P> node = minimumNode.left;
+
+        if (node != null) {
+            // Make the right spine of the left subtree roots and prepend them
+            // to the root list.
+            while (true) {
+                node.rank = node.left == null ? 0 : node.left.rank + 1;
+
+                if (node.right == null) {
+                    break;
+                }
+
+                node = node.right;
+            }
+
+            node.right = roots;
+            node = minimumNode.left;
+        } else {
+            node = roots;
+        }
+
+        roots = null;
+        minimum = null;
+        int maximumRank = -1;
+
+        while (node != null) {
+            RankPairingHeapNode<E, P> tree = node;
+            node = node.right;
+
+            if (tree == minimumNode) {
+                continue;
+            }
+
+            int rank = tree.rank;
+
+            if (rank >= rankArray.length) {
+                rankArray = Arrays.copyOf(rankArray,
+                                          Math.max(2 * rankArray.length,
+                                                   rank + 1));
+            }
+
+            if (rankArray[rank] == null) {
+                rankArray[rank] = tree;
+                maximumRank = Math.max(maximumRank, rank);
+            } else {
+                RankPairingHeapNode<E, P> other = rankArray[rank];
+                rankArray[rank] = null;
+                addRoot(link(tree, other));
+            }
+        }
+
+        for (int rank = 0; rank <= maximumRank; ++rank) {
+            if (rankArray[rank] != null) {
+                addRoot(rankArray[rank]);
+                rankArray[rank] = null;
+            }
+        }
+
+        --size;
+        return minimumNode.element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        roots = null;
+        minimum = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RankPairingHeap";
+    }
+
+    /**
+     * Prepends {@code root} to the root list and updates the minimum root.
+     *
+     * @param root the root to add.
+     */
+    private void addRoot(RankPairingHeapNode<E, P> root) {
+        root.right = roots;
+        roots = root;
+
+        if (minimum == null
+                || HeapCounters.compare(root.priority,
+                                        minimum.priority) < 0) {
+            minimum = root;
+        }
+    }
+
+    /**
+     * Links two roots of the same rank. The root with the larger priority
+     * becomes the left child of the other root, and the previous left subtree
+     * of the winner becomes the right subtree of the loser.
+     *
+     * @return the root with the smaller priority.
+     */
+    private RankPairingHeapNode<E, P> link(RankPairingHeapNode<E, P> node1,
+                                           RankPairingHeapNode<E, P> node2) {
+        HeapCounters.countLink();
+
+        if (HeapCounters.compare(node2.priority, node1.priority) < 0) {
+            RankPairingHeapNode<E, P> tmp = node1;
+            node1 = node2;
+            node2 = tmp;
+        }
+
+        node2.right = node1.left;
+        node1.left = node2;
+        node1.rank++;
+        return node1;
+    }
+
+    private void checkHeapNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "This RankPairingHeap is empty.");
+        }
+    }
+}
@@ -0,0 +1,706 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the unindexed sequence heap of Sanders. The new
+ * elements go to a small binary insertion heap. Once the insertion heap is
+ * full, it is sorted into a sequence, and the sequences are kept in groups of
+ * at most {@code k} sequences each, where {@code k} is the arity of the heap.
+ * When the first group is full, it is merged into a single sequence of the
+ * next group that has room; thus the sequences of group {@code i} are about
+ * {@code k} times longer than the ones of group {@code i - 1}.
+ * <p>
+ * Each group merges its sequences with a loser tree into a group buffer, and
+ * the group buffers are merged into a small deletion buffer. The deletion
+ * buffer holds the smallest elements outside of the insertion heap, and each
+ * group buffer holds the smallest elements of its group, so that an
+ * extraction only compares the heads of the deletion buffer and the insertion
+ * heap. All the merging runs sequentially over arrays, which keeps the number
+ * of cache misses low even if the heap holds millions of elements.
+ * "Unindexed" means that this heap does not map elements to their nodes, for
+ * which reason the decrease operation of the priority key of an element is
+ * not implemented.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class SequenceHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    /**
+     * The default number of sequences in a group.
+     */
+    private static final int DEFAULT_ARITY = 64;
+
+    /**
+     * The default capacity of the insertion heap and the group buffers.
+     */
+    private static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+    /**
+     * The minimum number of sequences in a group.
+     */
+    private static final int MINIMUM_ARITY = 2;
+
+    /**
+     * The minimum capacity of the insertion heap and the group buffers.
+     */
+    private static final int MINIMUM_BUFFER_CAPACITY = 8;
+
+    private static final class SequenceHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority of {@code element}.
+         */
+        final P priority;
+
+        SequenceHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * A sorted run of nodes consumed from its head.
+     */
+    private static final class Run<E, P> {
+
+        /**
+         * The nodes of this run. The nodes are at indices
+         * {@code head, ..., tail - 1}.
+         */
+        final SequenceHeapNode<E, P>[] nodes;
+
+        /**
+         * The index of the smallest node of this run.
+         */
+        int head;
+
+        /**
+         * The index past the largest node of this run.
+         */
+        int tail;
+
+        Run(SequenceHeapNode<E, P>[] nodes, int tail) {
+            this.nodes = nodes;
+            this.tail = tail;
+        }
+
+        Run(int capacity) {
+            this(new SequenceHeapNode[capacity], 0);
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int size() {
+            return tail - head;
+        }
+
+        SequenceHeapNode<E, P> peek() {
+            return nodes[head];
+        }
+
+        SequenceHeapNode<E, P> poll() {
+            SequenceHeapNode<E, P> node = nodes[head];
+            nodes[head++] = null;
+            return node;
+        }
+
+        /**
+         * Appends at most {@code count} nodes polled from {@code run}.
+         */
+        void appendFrom(Run<E, P> run, int count) {
+            count = Math.min(count, run.size());
+            System.arraycopy(run.nodes, run.head, nodes, tail, count);
+            Arrays.fill(run.nodes, run.head, run.head + count, null);
+            run.head += count;
+            tail += count;
+        }
+
+        /**
+         * Moves the nodes of this run to the beginning of the node array.
+         */
+        void compact() {
+            int size = size();
+            System.arraycopy(nodes, head, nodes, 0, size);
+            Arrays.fill(nodes, size, tail, null);
+            head = 0;
+            tail = size;
+        }
+
+        Run<E, P> copy() {
+            return new Run<>(Arrays.copyOfRange(nodes, head, tail), size());
+        }
+
+        void clear() {
+            Arrays.fill(nodes, head, tail, null);
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    /**
+     * A group of at most {@code arity} sequences together with the loser tree
+     * merging them and the group buffer receiving the merged nodes.
+     */
+    private static final class Group<E, P extends Comparable<? super P>> {
+
+        /**
+         * The number of sequence slots.
+         */
+        final int arity;
+
+        /**
+         * The sequences of this group. An empty slot is {@code null}.
+         */
+        final Run<E, P>[] sequences;
+
+        /**
+         * {@code loserTree[0]} is the slot of the sequence with the smallest
+         * head, and {@code loserTree[n]} for {@code n > 0} is the slot that
+         * lost at the inner node {@code n}. The slot {@code s} is the leaf
+         * {@code arity + s}.
+         */
+        final int[] loserTree;
+
+        /**
+         * The scratch array for rebuilding the loser tree.
+         */
+        final int[] winners;
+
+        /**
+         * Holds the smallest nodes of this group.
+         */
+        final Run<E, P> buffer;
+
+        /**
+         * The number of nodes in the sequences, excluding the buffer.
+         */
+        int size;
+
+        /**
+         * Whether the loser tree matches the sequences.
+         */
+        boolean treeIsValid;
+
+        Group(int arity, int bufferCapacity) {
+            this.arity = arity;
+            this.sequences = new Run[arity];
+            this.loserTree = new int[arity];
+            this.winners = new int[2 * arity];
+            this.buffer = new Run<>(bufferCapacity);
+        }
+
+        boolean hasFreeSlot() {
+            for (Run<E, P> sequence : sequences) {
+                if (sequence == null) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        void addSequence(Run<E, P> sequence) {
+            for (int slot = 0; slot != arity; ++slot) {
+                if (sequences[slot] == null) {
+                    sequences[slot] = sequence;
+                    size += sequence.size();
+                    treeIsValid = false;
+                    return;
+                }
+            }
+
+            throw new IllegalStateException("The group is full.");
+        }
+
+        /**
+         * Tops the buffer up to its capacity if it holds less than
+         * {@code minimumSize} nodes.
+         */
+        void refillBuffer(int minimumSize) {
+            if (buffer.size() >= minimumSize || size == 0) {
+                return;
+            }
+
+            buffer.compact();
+
+            while (buffer.tail < buffer.nodes.length && size > 0) {
+                buffer.nodes[buffer.tail++] = pollSequences();
+            }
+        }
+
+        void moveSequencesTo(List<Run<E, P>> runs) {
+            for (int slot = 0; slot != arity; ++slot) {
+                if (sequences[slot] != null) {
+                    runs.add(sequences[slot]);
+                    sequences[slot] = null;
+                }
+            }
+
+            size = 0;
+            treeIsValid = false;
+        }
+
+        void moveBufferTo(List<Run<E, P>> runs) {
+            if (!buffer.isEmpty()) {
+                runs.add(buffer.copy());
+                buffer.clear();
+            }
+        }
+
+        /**
+         * Removes and returns the smallest node of the sequences.
+         */
+        private SequenceHeapNode<E, P> pollSequences() {
+            if (!treeIsValid) {
+                buildLoserTree();
+            }
+
+            int winner = loserTree[0];
+            SequenceHeapNode<E, P> node = sequences[winner].poll();
+            --size;
+
+            if (sequences[winner].isEmpty()) {
+                sequences[winner] = null;
+            }
+
+            // Replay the matches on the path from the leaf to the root.
+            for (int n = (arity + winner) >>> 1; n > 0; n >>>= 1) {
+                if (precedes(loserTree[n], winner)) {
+                    int loser = winner;
+                    winner = loserTree[n];
+                    loserTree[n] = loser;
+                }
+            }
+
+            loserTree[0] = winner;
+            return node;
+        }
+
+        private void buildLoserTree() {
+            for (int slot = 0; slot != arity; ++slot) {
+                winners[arity + slot] = slot;
+            }
+
+            for (int n = arity - 1; n > 0; --n) {
+                int slot1 = winners[2 * n];
+                int slot2 = winners[2 * n + 1];
+
+                if (precedes(slot2, slot1)) {
+                    winners[n] = slot2;
+                    loserTree[n] = slot1;
+                } else {
+                    winners[n] = slot1;
+                    loserTree[n] = slot2;
+                }
+            }
+
+            loserTree[0] = winners[1];
+            treeIsValid = true;
+        }
+
+        /**
+         * Tells whether the head of the sequence in {@code slot1} precedes the
+         * head of the sequence in {@code slot2}. An empty slot acts as an
+         * infinite head.
+         */
+        private boolean precedes(int slot1, int slot2) {
+            Run<E, P> sequence1 = sequences[slot1];
+            Run<E, P> sequence2 = sequences[slot2];
+
+            if (sequence1 == null) {
+                return false;
+            }
+
+            if (sequence2 == null) {
+                return true;
+            }
+
+            return HeapCounters.compare(sequence1.peek().priority,
+                                        sequence2.peek().priority) < 0;
+        }
+
+        void clear() {
+            Arrays.fill(sequences, null);
+            buffer.clear();
+            size = 0;
+            treeIsValid = false;
+        }
+    }
+
+    /**
+     * The number of sequences in a group.
+     */
+    private final int arity;
+
+    /**
+     * The capacity of the insertion heap and the group buffers.
+     */
+    private final int bufferCapacity;
+
+    /**
+     * The binary insertion heap.
+     */
+    private final SequenceHeapNode<E, P>[] insertionHeap;
+
+    /**
+     * The number of nodes in the insertion heap.
+     */
+    private int insertionHeapSize;
+
+    /**
+     * Holds the smallest nodes outside of the insertion heap.
+     */
+    private final Run<E, P> deletionBuffer;
+
+    /**
+     * The groups of sequences, the shortest sequences first.
+     */
+    private final List<Group<E, P>> groups = new ArrayList<>();
+
+    /**
+     * Orders the nodes by their priorities.
+     */
+    private final Comparator<SequenceHeapNode<E, P>> nodeComparator =
+            (node1, node2) -> HeapCounters.compare(node1.priority,
+                                                   node2.priority);
+
+    /**
+     * Caches the number of elements hold by this heap.
+     */
+    private int size;
+
+    public SequenceHeap() {
+        this(DEFAULT_ARITY, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty sequence heap.
+     *
+     * @param arity          the maximum number of sequences in a group.
+     * @param bufferCapacity the capacity of the insertion heap and the group
+     *                       buffers. The deletion buffer holds an eighth of
+     *                       it.
+     */
+    public SequenceHeap(int arity, int bufferCapacity) {
+        this.arity = Math.max(arity, MINIMUM_ARITY);
+        this.bufferCapacity = Math.max(bufferCapacity,
+                                       MINIMUM_BUFFER_CAPACITY);
+        this.insertionHeap = new SequenceHeapNode[this.bufferCapacity];
+        this.deletionBuffer = new Run<>(this.bufferCapacity / 8);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        if (insertionHeapSize == insertionHeap.length) {
+            flushInsertionHeap();
+        }
+
+        insertionHeap[insertionHeapSize] =
+                new SequenceHeapNode<>(element, priority);
+        siftUp(insertionHeapSize++);
+        ++size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        throw new UnsupportedOperationException(
+                "This SequenceHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+
+        if (deletionBuffer.isEmpty()) {
+            refillDeletionBuffer();
+        }
+
+        SequenceHeapNode<E, P> node;
+
+        if (deletionBuffer.isEmpty()
+                || (insertionHeapSize > 0
+                    && HeapCounters.compare(
+                            insertionHeap[0].priority,
+                            deletionBuffer.peek().priority) < 0)) {
+            node = extractInsertionHeapMinimum();
+        } else {
+            node = deletionBuffer.poll();
+        }
+
+        --size;
+        return node.element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(insertionHeap, 0, insertionHeapSize, null);
+        insertionHeapSize = 0;
+        deletionBuffer.clear();
+        groups.clear();
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceHeap";
+    }
+
+    /**
+     * Sorts the insertion heap into a new sequence of the first group. If the
+     * first group is full, the full groups in front of the first group with
+     * room are merged into a single sequence of that group first.
+     */
+    private void flushInsertionHeap() {
+        Arrays.sort(insertionHeap, 0, insertionHeapSize, nodeComparator);
+        Run<E, P> run = new Run<>(Arrays.copyOf(insertionHeap,
+                                                insertionHeapSize),
+                                  insertionHeapSize);
+        Arrays.fill(insertionHeap, null);
+        insertionHeapSize = 0;
+
+        int groupIndex = 0;
+
+        while (groupIndex < groups.size()
+                && !groups.get(groupIndex).hasFreeSlot()) {
+            ++groupIndex;
+        }
+
+        if (groupIndex == groups.size()) {
+            groups.add(new Group<>(arity, bufferCapacity));
+        }
+
+        if (groupIndex > 0) {
+            // The buffer of the receiving group is merged as well, since the
+            // new sequence may have nodes smaller than the ones in the
+            // buffer.
+            List<Run<E, P>> runs = new ArrayList<>();
+
+            for (int i = 0; i < groupIndex; ++i) {
+                groups.get(i).moveSequencesTo(runs);
+                groups.get(i).moveBufferTo(runs);
+            }
+
+            Group<E, P> group = groups.get(groupIndex);
+            group.moveBufferTo(runs);
+            group.addSequence(mergeRuns(runs));
+        }
+
+        // The new sequence may have nodes smaller than the ones in the
+        // deletion buffer or the buffer of the first group. Merge them and
+        // refill both buffers to their former sizes.
+        Group<E, P> firstGroup = groups.get(0);
+        int deletionBufferSize = deletionBuffer.size();
+        int groupBufferSize = firstGroup.buffer.size();
+
+        List<Run<E, P>> runs = new ArrayList<>();
+        runs.add(run);
+        runs.add(deletionBuffer.copy());
+        runs.add(firstGroup.buffer.copy());
+        Run<E, P> mergedRun = mergeRuns(runs);
+
+        deletionBuffer.clear();
+        deletionBuffer.appendFrom(mergedRun, deletionBufferSize);
+        firstGroup.buffer.clear();
+        firstGroup.buffer.appendFrom(mergedRun, groupBufferSize);
+
+        if (!mergedRun.isEmpty()) {
+            firstGroup.addSequence(mergedRun);
+        }
+    }
+
+    /**
+     * Merges the group buffers into the deletion buffer. Each group buffer is
+     * topped up first so that it cannot run out during the merge while its
+     * group still has nodes.
+     */
+    private void refillDeletionBuffer() {
+        int capacity = deletionBuffer.nodes.length;
+        deletionBuffer.clear();
+
+        for (Group<E, P> group : groups) {
+            group.refillBuffer(capacity);
+        }
+
+        // There are only a few groups, so a linear scan finds the minimum
+        // buffer head faster than a loser tree would.
+        while (deletionBuffer.tail < capacity) {
+            Run<E, P> minimumBuffer = null;
+
+            for (Group<E, P> group : groups) {
+                Run<E, P> buffer = group.buffer;
+
+                if (!buffer.isEmpty()
+                        && (minimumBuffer == null
+                            || HeapCounters.compare(
+                                    buffer.peek().priority,
+                                    minimumBuffer.peek().priority) < 0)) {
+                    minimumBuffer = buffer;
+                }
+            }
+
+            if (minimumBuffer == null) {
+                return;
+            }
+
+            deletionBuffer.nodes[deletionBuffer.tail++] = minimumBuffer.poll();
+        }
+    }
+
+    /**
+     * Merges the runs pairwise until only one run is left.
+     *
+     * @param runs the runs to merge.
+     * @return the merged run.
+     */
+    private static <E, P extends Comparable<? super P>> Run<E, P>
+        mergeRuns(List<Run<E, P>> runs) {
+        if (runs.isEmpty()) {
+            return new Run<>(0);
+        }
+
+        while (runs.size() > 1) {
+            List<Run<E, P>> mergedRuns = new ArrayList<>(runs.size() / 2 + 1);
+
+            for (int i = 0; i + 1 < runs.size(); i += 2) {
+                mergedRuns.add(merge(runs.get(i), runs.get(i + 1)));
+            }
+
+            if (runs.size() % 2 == 1) {
+                mergedRuns.add(runs.get(runs.size() - 1));
+            }
+
+            runs = mergedRuns;
+        }
+
+        return runs.get(0);
+    }
+
+    private static <E, P extends Comparable<? super P>> Run<E, P>
+        merge(Run<E, P> run1, Run<E, P> run2) {
+        SequenceHeapNode<E, P>[] nodes =
+                new SequenceHeapNode[run1.size() + run2.size()];
+        int index = 0;
+
+        while (!run1.isEmpty() && !run2.isEmpty()) {
+            if (HeapCounters.compare(run2.peek().priority,
+                                     run1.peek().priority) < 0) {
+                nodes[index++] = run2.poll();
+            } else {
+                nodes[index++] = run1.poll();
+            }
+        }
+
+        while (!run1.isEmpty()) {
+            nodes[index++] = run1.poll();
+        }
+
+        while (!run2.isEmpty()) {
+            nodes[index++] = run2.poll();
+        }
+
+        return new Run<>(nodes, index);
+    }
+
+    private SequenceHeapNode<E, P> extractInsertionHeapMinimum() {
+        SequenceHeapNode<E, P> node = insertionHeap[0];
+        insertionHeap[0] = insertionHeap[--insertionHeapSize];
+        insertionHeap[insertionHeapSize] = null;
+
+        if (insertionHeapSize > 0) {
+            siftDownRoot();
+        }
+
+        return node;
+    }
+
+    private void siftUp(int index) {
+        SequenceHeapNode<E, P> targetNode = insertionHeap[index];
+
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            SequenceHeapNode<E, P> parentNode = insertionHeap[parentIndex];
+
+            if (HeapCounters.compare(targetNode.priority,
+                                     parentNode.priority) >= 0) {
+                break;
+            }
+
+            insertionHeap[index] = parentNode;
+            HeapCounters.countSiftStep();
+            index = parentIndex;
+        }
+
+        insertionHeap[index] = targetNode;
+    }
+
+    private void siftDownRoot() {
+        SequenceHeapNode<E, P> targetNode = insertionHeap[0];
+        int index = 0;
+        int childIndex = 1;
+
+        while (childIndex < insertionHeapSize) {
+            if (childIndex + 1 < insertionHeapSize
+                    && HeapCounters.compare(
+                            insertionHeap[childIndex + 1].priority,
+                            insertionHeap[childIndex].priority) < 0) {
+                ++childIndex;
+            }
+
+            if (HeapCounters.compare(insertionHeap[childIndex].priority,
+                                     targetNode.priority) >= 0) {
+                break;
+            }
+
+            insertionHeap[index] = insertionHeap[childIndex];
+            HeapCounters.countSiftStep();
+            index = childIndex;
+            childIndex = 2 * index + 1;
+        }
+
+        insertionHeap[index] = targetNode;
+    }
+
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This SequenceHeap is empty.");
+        }
+    }
+}
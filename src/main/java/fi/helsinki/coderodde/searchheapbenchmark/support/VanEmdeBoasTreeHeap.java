@@ -33,13 +33,34 @@ public final class VanEmdeBoasTreeHeap<E> implements PriorityQueue<E, Integer> {
      */
     private int size;
     
+    /**
+     * Whether the nodes are recycled.
+     */
+    private final boolean pooled;
+    
+    /**
+     * The head of the list of the free nodes, linked via {@code next}.
+     */
+    private HeapNode<E> freeNode;
+    
     public VanEmdeBoasTreeHeap(int universe) {
+        this(universe, false);
+    }
+    
+    /**
+     * Constructs a new empty heap.
+     * 
+     * @param universe the universe size of the priorities.
+     * @param pooled   whether to recycle the nodes.
+     */
+    public VanEmdeBoasTreeHeap(int universe, boolean pooled) {
         this.map = new VanEmdeBoasTreeMap<>(universe);
+        this.pooled = pooled;
     }
     
     @Override
     public void add(E element, Integer priority) {
-        HeapNode<E> newNode = new HeapNode<>(element);
+        HeapNode<E> newNode = newNode(element);
         HeapNode<E> neighborNode = map.get(priority);
         
         if (neighborNode != null) {
@@ -66,11 +87,14 @@ public final class VanEmdeBoasTreeHeap<E> implements PriorityQueue<E, Integer> {
         E returnValue;
         
         if (heapNodeChainHead.next != null) {
-            returnValue = heapNodeChainHead.next.element;
-            heapNodeChainHead.next = heapNodeChainHead.next.next;
+            HeapNode<E> removedNode = heapNodeChainHead.next;
+            returnValue = removedNode.element;
+            heapNodeChainHead.next = removedNode.next;
+            recycle(removedNode);
         } else {
             returnValue = heapNodeChainHead.element;
             map.remove(minimumKey);
+            recycle(heapNodeChainHead);
         }
         
         --size;
@@ -84,13 +108,55 @@ public final class VanEmdeBoasTreeHeap<E> implements PriorityQueue<E, Integer> {
 
     @Override
     public void clear() {
+        if (pooled) {
+            map.forEach((priority, chainHead) -> {
+                HeapNode<E> node = chainHead;
+                
+                while (node != null) {
+                    HeapNode<E> nextNode = node.next;
+                    recycle(node);
+                    node = nextNode;
+                }
+            });
+        }
+        
         map.clear();
         size = 0;
     }
     
     @Override
     public String toString() {
-        return "VanEmdeBoasTreeHeap";
+        return pooled ? 
+               "VanEmdeBoasTreeHeap (pooled)" : 
+               "VanEmdeBoasTreeHeap";
+    }
+    
+    /**
+     * Returns a node holding {@code element}, taking it from the free list 
+     * when possible.
+     */
+    private HeapNode<E> newNode(E element) {
+        if (freeNode == null) {
+            return new HeapNode<>(element);
+        }
+        
+        HeapNode<E> node = freeNode;
+        freeNode = node.next;
+        node.element = element;
+        node.next = null;
+        return node;
+    }
+    
+    /**
+     * Puts {@code node} to the free list if this heap is pooled. The node must
+     * not be read after this call.
+     */
+    private void recycle(HeapNode<E> node) {
+        if (pooled) {
+            node.element = null;
+            node.next = freeNode;
+            freeNode = node;
+        }
     }
     
     /**
@@ -9,6 +9,7 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 /**
  * This class implements a van Emde Boas tree -based map that maps integer keys
@@ -374,6 +375,16 @@ public class VanEmdeBoasTreeMap<E> implements Map<Integer, E> {
                 "This " + getClass().getSimpleName() + " does not implement " +
                 "'entrySet'.");
     }
+    
+    /**
+     * {@inheritDoc } 
+     * <p>
+     * The mappings are visited in no particular order.
+     */
+    @Override
+    public void forEach(BiConsumer<? super Integer, ? super E> action) {
+        map.forEach(action);
+    }
 
     public int getMinimumKey() {
         if (map.isEmpty()) {
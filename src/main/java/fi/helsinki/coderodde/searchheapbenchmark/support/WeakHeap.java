@@ -0,0 +1,230 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an unindexed weak heap of Dutton. A weak heap is a
+ * binary tree in an array where each node only needs to precede the nodes in
+ * its right subtree, and the root has no left subtree. Each node has a
+ * reverse bit that swaps its two subtrees, so that the children of the node
+ * at index {@code i} are at {@code 2i + r[i]} (left) and {@code 2i + 1 - r[i]}
+ * (right). The distinguished ancestor of a node is the parent of the first
+ * ancestor, counting the node itself, that is a right child; it is the only
+ * node that the node has to be compared to.
+ * <p>
+ * Joining a node with its distinguished ancestor costs a single comparison:
+ * if the node precedes its ancestor, the two elements are swapped and the
+ * subtrees of the node are reversed. An addition joins the new leaf upwards
+ * until a join keeps the order, and an extraction moves the last element to
+ * the root and joins the root with the nodes on the left spine of its right
+ * subtree from the bottom up. The extraction thus costs exactly one
+ * comparison per level, and an addition costs a constant number of
+ * comparisons on average. "Unindexed" means that this heap does not map
+ * elements to their nodes, for which reason the decrease operation of the
+ * priority key of an element is not implemented.
+ *
+ * @author Rodion "(code)rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ *
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+public final class WeakHeap<E, P extends Comparable<? super P>>
+implements PriorityQueue<E, P> {
+
+    private static final class WeakHeapNode<E, P> {
+
+        /**
+         * The actual element.
+         */
+        final E element;
+
+        /**
+         * The priority of {@code element}.
+         */
+        final P priority;
+
+        WeakHeapNode(E element, P priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The default capacity of the underlying arrays.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Stores the actual array of weak heap nodes.
+     */
+    private WeakHeapNode<E, P>[] weakHeapNodeArray =
+            new WeakHeapNode[DEFAULT_CAPACITY];
+
+    /**
+     * {@code reverseBits[i]} tells whether the subtrees of the node at index
+     * {@code i} are swapped.
+     */
+    private boolean[] reverseBits = new boolean[DEFAULT_CAPACITY];
+
+    /**
+     * Caches the number of elements hold by this heap.
+     */
+    private int size;
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void add(E element, P priority) {
+        expandStorageArraysIfNeeded();
+        weakHeapNodeArray[size] = new WeakHeapNode<>(element, priority);
+        reverseBits[size] = false;
+
+        if ((size & 1) == 0) {
+            // The new node is the first child of its parent, so the reverse
+            // bit of the parent may be reset.
+            reverseBits[size >>> 1] = false;
+        }
+
+        siftUp(size++);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean decreasePriority(E element, P newPriority) {
+        throw new UnsupportedOperationException(
+                "This WeakHeap is not indexed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public E extractMinimum() {
+        checkHeapIsNotEmpty();
+        E element = weakHeapNodeArray[0].element;
+        weakHeapNodeArray[0] = weakHeapNodeArray[--size];
+        weakHeapNodeArray[size] = null;
+        siftDownRoot();
+        return element;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(weakHeapNodeArray, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "WeakHeap";
+    }
+
+    /**
+     * Joins the node at index {@code index} with its distinguished ancestors
+     * until a join keeps the order.
+     *
+     * @param index the index of the node to sift up.
+     */
+    private void siftUp(int index) {
+        while (index != 0) {
+            int ancestorIndex = getDistinguishedAncestorIndex(index);
+
+            if (!join(ancestorIndex, index)) {
+                return;
+            }
+
+            index = ancestorIndex;
+        }
+    }
+
+    /**
+     * Joins the root with the nodes on the left spine of its right subtree
+     * from the bottom up.
+     */
+    private void siftDownRoot() {
+        if (size < 2) {
+            return;
+        }
+
+        int index = 1;
+        int leftChildIndex;
+
+        while ((leftChildIndex = getLeftChildIndex(index)) < size) {
+            index = leftChildIndex;
+        }
+
+        while (index != 0) {
+            join(0, index);
+            index >>>= 1;
+        }
+    }
+
+    /**
+     * Swaps the elements of a node and its distinguished ancestor if the node
+     * precedes the ancestor, and reverses the subtrees of the node along.
+     *
+     * @param ancestorIndex the index of the distinguished ancestor.
+     * @param index         the index of the node.
+     * @return {@code true} if the elements were swapped.
+     */
+    private boolean join(int ancestorIndex, int index) {
+        WeakHeapNode<E, P> ancestorNode = weakHeapNodeArray[ancestorIndex];
+        WeakHeapNode<E, P> node = weakHeapNodeArray[index];
+
+        if (HeapCounters.compare(node.priority, ancestorNode.priority) >= 0) {
+            return false;
+        }
+
+        weakHeapNodeArray[ancestorIndex] = node;
+        weakHeapNodeArray[index] = ancestorNode;
+        reverseBits[index] = !reverseBits[index];
+        HeapCounters.countSiftStep();
+        return true;
+    }
+
+    private int getDistinguishedAncestorIndex(int index) {
+        // Climb while the node is a left child.
+        while ((index & 1) == (reverseBits[index >>> 1] ? 1 : 0)) {
+            index >>>= 1;
+        }
+
+        return index >>> 1;
+    }
+
+    private int getLeftChildIndex(int index) {
+        return (index << 1) + (reverseBits[index] ? 1 : 0);
+    }
+
+    /**
+     * Expands the storage arrays by doubling their length if they are full.
+     */
+    private void expandStorageArraysIfNeeded() {
+        if (size == weakHeapNodeArray.length) {
+            weakHeapNodeArray = Arrays.copyOf(weakHeapNodeArray, 2 * size);
+            reverseBits = Arrays.copyOf(reverseBits, 2 * size);
+        }
+    }
+
+    private void checkHeapIsNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("This WeakHeap is empty.");
+        }
+    }
+}
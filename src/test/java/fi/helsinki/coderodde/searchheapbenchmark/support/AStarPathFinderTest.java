@@ -0,0 +1,213 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.Heuristic;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AStarPathFinderTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 40;
+    private static final int NODES = WIDTH * HEIGHT;
+    private static final int SEARCH_TASKS = 100;
+
+    @Test
+    public void testZeroHeuristic() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("AStarPathFinderTest.testZeroHeuristic, seed = " +
+                           seed);
+
+        double[] xs = new double[NODES];
+        double[] ys = new double[NODES];
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                createGridGraph(nodeList, xs, ys, random);
+
+        check(nodeList, weightFunction, (node, target) -> 0.0, random);
+    }
+
+    @Test
+    public void testConsistentHeuristic() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "AStarPathFinderTest.testConsistentHeuristic, seed = " + seed);
+
+        double[] xs = new double[NODES];
+        double[] ys = new double[NODES];
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                createGridGraph(nodeList, xs, ys, random);
+
+        check(nodeList, weightFunction, euclidean(xs, ys), random);
+    }
+
+    @Test
+    public void testInconsistentHeuristic() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "AStarPathFinderTest.testInconsistentHeuristic, seed = " +
+                seed);
+
+        double[] xs = new double[NODES];
+        double[] ys = new double[NODES];
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                createGridGraph(nodeList, xs, ys, random);
+
+        double[] scales = new double[NODES];
+
+        for (int i = 0; i < NODES; ++i) {
+            // Zero or full estimates make the heuristic highly inconsistent.
+            scales[i] = random.nextBoolean() ? 0.0 : 1.0;
+        }
+
+        Heuristic<Double> euclidean = euclidean(xs, ys);
+        check(nodeList,
+              weightFunction,
+              (node, target) -> scales[node.getId()] *
+                                euclidean.estimate(node, target),
+              random);
+    }
+
+    @Test
+    public void testTrivialAndUnreachable() {
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+        DirectedGraphNode a = nodeList.get(0);
+        DirectedGraphNode b = nodeList.get(1);
+        a.addChildNode(b);
+        weightFunction.addWeight(a, b, 3);
+
+        PathFinder<Integer> finder =
+                new IndexedAStarPathFinder<Integer>(new IndexedBinaryHeap<>(),
+                                                    (node, target) -> 0);
+        IntegerWeight weight = new IntegerWeight();
+
+        List<DirectedGraphNode> path =
+                finder.search(a, a, weightFunction, weight);
+        assertEquals(1, path.size());
+        assertEquals(a, path.get(0));
+
+        path = finder.search(a, b, weightFunction, weight);
+        assertEquals(2, path.size());
+        assertEquals(a, path.get(0));
+        assertEquals(b, path.get(1));
+
+        assertTrue(finder.search(b, a, weightFunction, weight).isEmpty());
+    }
+
+    private static void check(
+            List<DirectedGraphNode> nodeList,
+            DirectedGraphWeightFunction<Double> weightFunction,
+            Heuristic<Double> heuristic,
+            Random random) {
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        PathFinder<Double> finder1 =
+                new AStarPathFinder<Double>(new PairingHeap<>(), heuristic);
+        PathFinder<Double> finder2 =
+                new IndexedAStarPathFinder<Double>(new IndexedDaryHeap<>(4),
+                                                   heuristic);
+        DoubleWeight weight = new DoubleWeight();
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+            List<DirectedGraphNode> path1 =
+                    finder1.search(source, target, weightFunction, weight);
+            List<DirectedGraphNode> path2 =
+                    finder2.search(source, target, weightFunction, weight);
+
+            // Random real weights make the shortest paths unique.
+            assertEquals(path0, path1);
+            assertEquals(path0, path2);
+        }
+    }
+
+    private static Heuristic<Double> euclidean(double[] xs, double[] ys) {
+        return (node, target) -> Math.hypot(xs[node.getId()] -
+                                            xs[target.getId()],
+                                            ys[node.getId()] -
+                                            ys[target.getId()]);
+    }
+
+    private static List<DirectedGraphNode> createNodeList() {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(NODES);
+
+        for (int id = 0; id < NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        return nodeList;
+    }
+
+    /**
+     * Connects the horizontally and vertically adjacent grid nodes in both
+     * directions. No arc is shorter than the distance between its end nodes.
+     */
+    private static DirectedGraphWeightFunction<Double>
+        createGridGraph(List<DirectedGraphNode> nodeList,
+                        double[] xs,
+                        double[] ys,
+                        Random random) {
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int id = 0; id < NODES; ++id) {
+            xs[id] = id % WIDTH + random.nextDouble();
+            ys[id] = id / WIDTH + random.nextDouble();
+        }
+
+        for (int id = 0; id < NODES; ++id) {
+            if (id % WIDTH < WIDTH - 1) {
+                connect(nodeList, weightFunction, id, id + 1, xs, ys, random);
+            }
+
+            if (id / WIDTH < HEIGHT - 1) {
+                connect(nodeList, weightFunction, id, id + WIDTH, xs, ys,
+                        random);
+            }
+        }
+
+        return weightFunction;
+    }
+
+    private static void connect(
+            List<DirectedGraphNode> nodeList,
+            DirectedGraphWeightFunction<Double> weightFunction,
+            int id1,
+            int id2,
+            double[] xs,
+            double[] ys,
+            Random random) {
+        DirectedGraphNode node1 = nodeList.get(id1);
+        DirectedGraphNode node2 = nodeList.get(id2);
+        double distance = Math.hypot(xs[id1] - xs[id2], ys[id1] - ys[id2]);
+
+        node1.addChildNode(node2);
+        node2.addChildNode(node1);
+        weightFunction.addWeight(node1,
+                                 node2,
+                                 distance * (1.0 + random.nextDouble()));
+        weightFunction.addWeight(node2,
+                                 node1,
+                                 distance * (1.0 + random.nextDouble()));
+    }
+}
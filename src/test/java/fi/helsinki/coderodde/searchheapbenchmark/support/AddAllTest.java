@@ -0,0 +1,161 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AddAllTest {
+    
+    private static final int PRIORITIES = 200;
+    
+    @Test
+    public void testUnindexedHeaps() {
+        for (PriorityQueue<Integer, Integer> heap : 
+                Arrays.<PriorityQueue<Integer, Integer>>asList(
+                        new BinaryHeap<>(),
+                        new DaryHeap<>(3),
+                        new FibonacciHeap<>(),
+                        new PairingHeap<>(),
+                        new AVLTreeHeap<>(),
+                        new BTreeHeap<>(2),
+                        new BTreeHeap<>(32))) {
+            testHeap(heap);
+        }
+    }
+    
+    @Test
+    public void testIndexedHeaps() {
+        for (PriorityQueue<Integer, Integer> heap : 
+                Arrays.<PriorityQueue<Integer, Integer>>asList(
+                        new IndexedBinaryHeap<>(),
+                        new IndexedDaryHeap<>(4),
+                        new IndexedFibonacciHeap<>(),
+                        new IndexedPairingHeap<>())) {
+            testHeap(heap);
+            testIndexedHeap(heap);
+        }
+    }
+    
+    @Test
+    public void testTreeMapsBulkLoad() {
+        Random random = new Random(13L);
+        
+        for (int degree : new int[]{ 2, 3, 16 }) {
+            BTreeMap<Integer, Integer> bTreeMap = new BTreeMap<>(degree);
+            AVLTreeMap<Integer, Integer> avlTreeMap = new AVLTreeMap<>();
+            Map<Integer, Integer> referenceMap = new HashMap<>();
+            
+            for (int round = 0; round < 6; ++round) {
+                Map<Integer, Integer> m = new HashMap<>();
+                
+                for (int i = 0; i < 1 << (2 * round); ++i) {
+                    m.put(random.nextInt(5_000), random.nextInt());
+                }
+                
+                bTreeMap.putAll(m);
+                avlTreeMap.putAll(m);
+                referenceMap.putAll(m);
+                
+                assertTrue(bTreeMap.isHealty());
+                assertEquals(referenceMap.size(), bTreeMap.size());
+                assertEquals(referenceMap.size(), avlTreeMap.size());
+                
+                for (Map.Entry<Integer, Integer> e : referenceMap.entrySet()) {
+                    assertEquals(e.getValue(), bTreeMap.get(e.getKey()));
+                    assertEquals(e.getValue(), avlTreeMap.get(e.getKey()));
+                }
+                
+                assertEquals(Collections.min(referenceMap.keySet()),
+                             bTreeMap.getMinimumKey());
+                assertEquals(Collections.min(referenceMap.keySet()),
+                             avlTreeMap.getMinimumKey());
+            }
+            
+            while (!referenceMap.isEmpty()) {
+                Integer key = Collections.min(referenceMap.keySet());
+                assertEquals(key, bTreeMap.getMinimumKey());
+                assertEquals(key, avlTreeMap.getMinimumKey());
+                assertEquals(referenceMap.remove(key), bTreeMap.remove(key));
+                assertEquals(avlTreeMap.getMinimumKeyValue(), 
+                             avlTreeMap.remove(key));
+            }
+            
+            assertTrue(bTreeMap.isEmpty());
+            assertTrue(avlTreeMap.isEmpty());
+        }
+    }
+    
+    private static void testHeap(PriorityQueue<Integer, Integer> heap) {
+        Random random = new Random(7L);
+        List<Integer> expectedPriorities = new ArrayList<>();
+        Map<Integer, Integer> priorityMap = new HashMap<>();
+        int nextElement = 0;
+        
+        // Bulk construction into an empty heap, a bulk addition of more 
+        // elements than the heap holds, and a small bulk addition.
+        for (int count : new int[]{ 3_000, 5_000, 10 }) {
+            Map<Integer, Integer> m = new HashMap<>();
+            
+            for (int i = 0; i < count; ++i) {
+                int priority = random.nextInt(PRIORITIES);
+                m.put(nextElement, priority);
+                priorityMap.put(nextElement++, priority);
+                expectedPriorities.add(priority);
+            }
+            
+            heap.addAll(m);
+            heap.add(nextElement, 0);
+            priorityMap.put(nextElement++, 0);
+            expectedPriorities.add(0);
+            assertEquals(expectedPriorities.size(), heap.size());
+            
+            // Extract some to have the heap restructure itself between the
+            // bulk additions.
+            Collections.sort(expectedPriorities);
+            
+            for (int i = 0; i < count / 10; ++i) {
+                assertEquals(expectedPriorities.remove(0), 
+                             priorityMap.get(heap.extractMinimum()));
+            }
+        }
+        
+        heap.addAll(Collections.emptyMap());
+        Collections.sort(expectedPriorities);
+        
+        for (Integer expectedPriority : expectedPriorities) {
+            assertEquals(expectedPriority, 
+                         priorityMap.get(heap.extractMinimum()));
+        }
+        
+        assertEquals(heap.toString(), 0, heap.size());
+    }
+    
+    private static void testIndexedHeap(PriorityQueue<Integer, Integer> heap) {
+        heap.clear();
+        heap.add(1, 10);
+        Map<Integer, Integer> m = new HashMap<>();
+        
+        for (int i = 0; i < 100; ++i) {
+            m.put(i, 100 + i);
+        }
+        
+        heap.addAll(m);
+        
+        // The element 1 is already present, so it keeps its priority.
+        assertEquals(100, heap.size());
+        assertTrue(heap.decreasePriority(50, 0));
+        assertFalse(heap.decreasePriority(1, 10));
+        assertEquals(Integer.valueOf(50), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(0), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        heap.clear();
+    }
+}
@@ -0,0 +1,197 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BidirectionalDijkstraPathFinderTest {
+
+    private static final int NODES = 1_000;
+    private static final int ARCS = 4_000;
+    private static final int SEARCH_TASKS = 100;
+
+    @Test
+    public void testIntegerWeights() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "BidirectionalDijkstraPathFinderTest.testIntegerWeights, " +
+                "seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, random.nextInt(10) + 1);
+        }
+
+        PathFinder<Integer> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Integer>());
+        PathFinder<Integer> finder1 =
+                new BidirectionalDijkstraPathFinder<Integer>(
+                        new BinaryHeap<>(),
+                        new BinaryHeap<>());
+        PathFinder<Integer> finder2 =
+                new IndexedBidirectionalDijkstraPathFinder<Integer>(
+                        new IndexedPairingHeap<>(),
+                        new IndexedPairingHeap<>());
+        IntegerWeight weight = new IntegerWeight();
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+            List<DirectedGraphNode> path1 =
+                    finder1.search(source, target, weightFunction, weight);
+            List<DirectedGraphNode> path2 =
+                    finder2.search(source, target, weightFunction, weight);
+
+            assertEquals(path0.isEmpty(), path1.isEmpty());
+            assertEquals(path0.isEmpty(), path2.isEmpty());
+
+            if (!path0.isEmpty()) {
+                assertValidPath(path1, source, target);
+                assertValidPath(path2, source, target);
+                assertEquals(cost(path0, weightFunction),
+                             cost(path1, weightFunction));
+                assertEquals(cost(path0, weightFunction),
+                             cost(path2, weightFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleWeights() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "BidirectionalDijkstraPathFinderTest.testDoubleWeights, " +
+                "seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, 10.0 * random.nextDouble());
+        }
+
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        PathFinder<Double> finder1 =
+                new BidirectionalDijkstraPathFinder<Double>(
+                        new DaryHeap<>(4),
+                        new DaryHeap<>(4));
+        PathFinder<Double> finder2 =
+                new IndexedBidirectionalDijkstraPathFinder<Double>(
+                        new IndexedBinaryHeap<>(),
+                        new IndexedBinaryHeap<>());
+        DoubleWeight weight = new DoubleWeight();
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+            List<DirectedGraphNode> path1 =
+                    finder1.search(source, target, weightFunction, weight);
+            List<DirectedGraphNode> path2 =
+                    finder2.search(source, target, weightFunction, weight);
+
+            // Random real weights make the shortest paths unique.
+            assertEquals(path0, path1);
+            assertEquals(path0, path2);
+        }
+    }
+
+    @Test
+    public void testTrivialAndUnreachable() {
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+        DirectedGraphNode a = nodeList.get(0);
+        DirectedGraphNode b = nodeList.get(1);
+        a.addChildNode(b);
+        weightFunction.addWeight(a, b, 3);
+
+        PathFinder<Integer> finder =
+                new BidirectionalDijkstraPathFinder<Integer>(
+                        new BinaryHeap<>(),
+                        new BinaryHeap<>());
+        IntegerWeight weight = new IntegerWeight();
+
+        List<DirectedGraphNode> path =
+                finder.search(a, a, weightFunction, weight);
+        assertEquals(1, path.size());
+        assertEquals(a, path.get(0));
+
+        path = finder.search(a, b, weightFunction, weight);
+        assertEquals(2, path.size());
+        assertEquals(a, path.get(0));
+        assertEquals(b, path.get(1));
+
+        assertTrue(finder.search(b, a, weightFunction, weight).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnSharedHeap() {
+        BinaryHeap<DirectedGraphNode, Integer> heap = new BinaryHeap<>();
+        new BidirectionalDijkstraPathFinder<>(heap, heap);
+    }
+
+    private static void assertValidPath(List<DirectedGraphNode> path,
+                                        DirectedGraphNode source,
+                                        DirectedGraphNode target) {
+        assertEquals(source, path.get(0));
+        assertEquals(target, path.get(path.size() - 1));
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            assertTrue(path.get(i).getChildren().contains(path.get(i + 1)));
+        }
+    }
+
+    private static List<DirectedGraphNode> createNodeList() {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(NODES);
+
+        for (int id = 0; id < NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        return nodeList;
+    }
+
+    private static int cost(
+            List<DirectedGraphNode> path,
+            DirectedGraphWeightFunction<Integer> weightFunction) {
+        int cost = 0;
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            cost += weightFunction.getWeight(path.get(i), path.get(i + 1));
+        }
+
+        return cost;
+    }
+}
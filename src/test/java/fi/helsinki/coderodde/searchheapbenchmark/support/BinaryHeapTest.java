@@ -1,6 +1,7 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -53,6 +54,38 @@ public class BinaryHeapTest {
         
     }
 
+    @Test
+    public void testBottomUp() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("BinaryHeapTest.testBottomUp, seed = " + seed);
+        
+        for (PriorityQueue<Integer, Integer> bottomUpHeap : 
+                new PriorityQueue[]{ new BinaryHeap<>(true),
+                                     new DaryHeap<>(4, true),
+                                     new DaryHeap<>(5, true) }) {
+            heap.clear();
+            
+            for (int element = 0; element < 50_000; ++element) {
+                if (random.nextFloat() < 0.6f) {
+                    int priority = random.nextInt(100) * 100_000 + element;
+                    heap.add(element, priority);
+                    bottomUpHeap.add(element, priority);
+                } else if (heap.size() > 0) {
+                    assertEquals(heap.extractMinimum(), 
+                                 bottomUpHeap.extractMinimum());
+                }
+                
+                assertEquals(heap.size(), bottomUpHeap.size());
+            }
+            
+            while (heap.size() > 0) {
+                assertEquals(heap.extractMinimum(), 
+                             bottomUpHeap.extractMinimum());
+            }
+        }
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void testDecreasePrioirty() {
         heap.decreasePriority(0, 0);
@@ -0,0 +1,234 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.CSRGraphBuilder;
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.DoubleCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CSRDijkstraPathFinderTest {
+
+    private static final int NODES = 1_000;
+    private static final int ARCS = 5_000;
+    private static final int SEARCH_TASKS = 50;
+
+    @Test
+    public void testIntGraph() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("CSRDijkstraPathFinderTest.testIntGraph, seed = " +
+                           seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, random.nextInt(10) + 1);
+        }
+
+        IntCSRGraph graph =
+                new CSRGraphBuilder(nodeList).buildIntGraph(weightFunction);
+
+        assertEquals(NODES, graph.getNumberOfNodes());
+
+        PathFinder<Integer> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Integer>());
+        CSRPathFinder finder1 =
+                new IntCSRDijkstraPathFinder(graph, new BinaryHeap<>());
+        CSRPathFinder finder2 =
+                new IndexedIntCSRDijkstraPathFinder(graph,
+                                                    new IndexedBinaryHeap<>());
+        CSRPathFinder finder3 =
+                new PrimitiveIntCSRDijkstraPathFinder(graph,
+                                                      new IntDaryHeap(4));
+        CSRPathFinder finder4 =
+                new IndexedPrimitiveIntCSRDijkstraPathFinder(
+                        graph,
+                        new IndexedIntDaryHeap(4));
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           new IntegerWeight());
+            List<DirectedGraphNode> path1 = finder1.search(source, target);
+            List<DirectedGraphNode> path2 = finder2.search(source, target);
+            List<DirectedGraphNode> path3 = finder3.search(source, target);
+            List<DirectedGraphNode> path4 = finder4.search(source, target);
+
+            assertEquals(path0.isEmpty(), path1.isEmpty());
+            assertEquals(path0.isEmpty(), path2.isEmpty());
+            assertEquals(path0.isEmpty(), path3.isEmpty());
+            assertEquals(path0.isEmpty(), path4.isEmpty());
+
+            if (!path0.isEmpty()) {
+                assertEquals(source, path1.get(0));
+                assertEquals(target, path1.get(path1.size() - 1));
+                assertEquals(cost(path0, weightFunction),
+                             cost(path1, weightFunction));
+                assertEquals(cost(path0, weightFunction),
+                             cost(path2, weightFunction));
+                assertEquals(cost(path0, weightFunction),
+                             cost(path3, weightFunction));
+                assertEquals(cost(path0, weightFunction),
+                             cost(path4, weightFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleGraph() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "CSRDijkstraPathFinderTest.testDoubleGraph, seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, 10.0 * random.nextDouble());
+        }
+
+        DoubleCSRGraph graph =
+                new CSRGraphBuilder(nodeList).buildDoubleGraph(weightFunction);
+
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        CSRPathFinder finder1 =
+                new DoubleCSRDijkstraPathFinder(graph, new PairingHeap<>());
+        CSRPathFinder finder2 =
+                new IndexedDoubleCSRDijkstraPathFinder(
+                        graph,
+                        new IndexedPairingHeap<>());
+        CSRPathFinder finder3 =
+                new PrimitiveDoubleCSRDijkstraPathFinder(graph,
+                                                         new DoubleDaryHeap(2));
+        CSRPathFinder finder4 =
+                new IndexedPrimitiveDoubleCSRDijkstraPathFinder(
+                        graph,
+                        new IndexedDoubleDaryHeap(2));
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           new DoubleWeight());
+
+            assertEquals(path0, finder1.search(source, target));
+            assertEquals(path0, finder2.search(source, target));
+            assertEquals(path0, finder3.search(source, target));
+            assertEquals(path0, finder4.search(source, target));
+        }
+    }
+
+    @Test
+    public void testIdSearchReusesState() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "CSRDijkstraPathFinderTest.testIdSearchReusesState, seed = " +
+                seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, random.nextInt(10) + 1);
+        }
+
+        IntCSRGraph graph =
+                new CSRGraphBuilder(nodeList).buildIntGraph(weightFunction);
+        CSRPathFinder finder =
+                new IndexedIntCSRDijkstraPathFinder(graph,
+                                                    new IndexedDaryHeap<>(4));
+        int[][] firstPaths = new int[SEARCH_TASKS][];
+        int[] sourceNodeIds = new int[SEARCH_TASKS];
+        int[] targetNodeIds = new int[SEARCH_TASKS];
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            sourceNodeIds[i] = random.nextInt(NODES);
+            targetNodeIds[i] = random.nextInt(NODES);
+            firstPaths[i] = finder.search(sourceNodeIds[i], targetNodeIds[i]);
+
+            List<DirectedGraphNode> path =
+                    finder.search(graph.getNode(sourceNodeIds[i]),
+                                  graph.getNode(targetNodeIds[i]));
+
+            assertEquals(firstPaths[i].length, path.size());
+
+            for (int j = 0; j < path.size(); ++j) {
+                assertEquals(graph.getNode(firstPaths[i][j]), path.get(j));
+            }
+        }
+
+        // Stale marks from the earlier searches must not leak into the
+        // repeated ones.
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            assertArrayEquals(firstPaths[i],
+                              finder.search(sourceNodeIds[i],
+                                            targetNodeIds[i]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnForeignNode() {
+        List<DirectedGraphNode> nodeList = createNodeList();
+        IntCSRGraph graph =
+                new CSRGraphBuilder(nodeList)
+                        .buildIntGraph(new DirectedGraphWeightFunction<>());
+
+        new IntCSRDijkstraPathFinder(graph, new BinaryHeap<>())
+                .search(nodeList.get(0), new DirectedGraphNode(NODES));
+    }
+
+    private static List<DirectedGraphNode> createNodeList() {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(NODES);
+
+        for (int id = 0; id < NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        return nodeList;
+    }
+
+    private static int cost(List<DirectedGraphNode> path,
+                            DirectedGraphWeightFunction<Integer> weightFunction) {
+        int cost = 0;
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            cost += weightFunction.getWeight(path.get(i), path.get(i + 1));
+        }
+
+        return cost;
+    }
+}
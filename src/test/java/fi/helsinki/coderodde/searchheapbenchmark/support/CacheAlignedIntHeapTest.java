@@ -0,0 +1,97 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CacheAlignedIntHeapTest {
+
+    private final IntPriorityQueue heap = new CacheAlignedIntHeap();
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(1, 1);
+        heap.add(5, 5);
+        heap.add(2, 2);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(1, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(4, heap.extractMinimum());
+        assertEquals(5, heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testNegativeElementsAndPriorities() {
+        heap.add(-1, Integer.MAX_VALUE);
+        heap.add(-2, -5);
+        heap.add(7, Integer.MIN_VALUE);
+        heap.add(3, 0);
+        
+        assertEquals(7, heap.extractMinimum());
+        assertEquals(-2, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(-1, heap.extractMinimum());
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testAgainstIntDaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "CacheAlignedIntHeapTest.testAgainstIntDaryHeap, seed = " +
+                seed);
+        
+        IntPriorityQueue referenceHeap = new IntDaryHeap(4);
+        
+        for (int iteration = 0; iteration < 50_000; ++iteration) {
+            int element = random.nextInt(5_000);
+            // Make the priorities distinct so that both heaps agree on the
+            // extraction order.
+            int priority = 5_000 * (random.nextInt(1000) - 500) + element;
+            
+            if (random.nextInt(5) < 3) {
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+            } else {
+                assertEquals(referenceHeap.size(), heap.size());
+                
+                if (heap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+            }
+            
+            if (iteration == 25_000) {
+                heap.clear();
+                referenceHeap.clear();
+            }
+        }
+        
+        while (heap.size() > 0) {
+            assertEquals(referenceHeap.extractMinimum(),
+                         heap.extractMinimum());
+        }
+        
+        assertEquals(0, referenceHeap.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePriority() {
+        heap.decreasePriority(0, 0);
+    }
+}
@@ -0,0 +1,187 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CalendarQueueTest {
+
+    private final PriorityQueue<Integer, Double> heap = new CalendarQueue<>();
+
+    private final PriorityQueue<Integer, Double> indexedHeap =
+            new IndexedCalendarQueue<>();
+
+    @Before
+    public void setUp() {
+        heap.clear();
+        indexedHeap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        for (PriorityQueue<Integer, Double> heap :
+                new PriorityQueue[]{ this.heap, indexedHeap }) {
+            heap.add(4, 4.5);
+            heap.add(3, 3.25);
+            heap.add(1, -2.0);
+            heap.add(5, 1e300);
+            heap.add(2, Double.MIN_VALUE);
+
+            assertEquals(5, heap.size());
+
+            assertEquals(Integer.valueOf(1), heap.extractMinimum());
+            assertEquals(Integer.valueOf(2), heap.extractMinimum());
+            assertEquals(Integer.valueOf(3), heap.extractMinimum());
+
+            // Precedes the last extracted priority.
+            heap.add(6, -1e-3);
+            heap.add(7, 3.5);
+
+            assertEquals(Integer.valueOf(6), heap.extractMinimum());
+            assertEquals(Integer.valueOf(7), heap.extractMinimum());
+            assertEquals(Integer.valueOf(4), heap.extractMinimum());
+            assertEquals(Integer.valueOf(5), heap.extractMinimum());
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        indexedHeap.add(1, 1.0);
+        indexedHeap.add(2, 2.0);
+
+        assertFalse(indexedHeap.decreasePriority(2, 3.0));
+        assertFalse(indexedHeap.decreasePriority(3, 0.0));
+
+        assertEquals(Integer.valueOf(1), indexedHeap.extractMinimum());
+        assertEquals(Integer.valueOf(2), indexedHeap.extractMinimum());
+
+        for (int i = 0; i < 1_000; ++i) {
+            indexedHeap.add(i, 0.5 * i);
+        }
+
+        for (int i = 500; i < 1_000; ++i) {
+            assertTrue(indexedHeap.decreasePriority(i, 0.5 * (i - 1_000)));
+        }
+
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(Integer.valueOf(i + 500), indexedHeap.extractMinimum());
+        }
+
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(Integer.valueOf(i), indexedHeap.extractMinimum());
+        }
+
+        assertEquals(0, indexedHeap.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNaN() {
+        heap.add(1, Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnInfinity() {
+        indexedHeap.add(1, Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("CalendarQueueTest.testAgainstBinaryHeap, seed = " +
+                           seed);
+
+        for (double scale : new double[]{ 1e-6, 1.0, 1e6 }) {
+            PriorityQueue<Integer, Double> referenceHeap = new BinaryHeap<>();
+            heap.clear();
+
+            for (int element = 0; element < 100_000; ++element) {
+                if (random.nextFloat() < 0.6f) {
+                    double priority = getPriority(random, element, scale);
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                } else if (referenceHeap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+
+            while (referenceHeap.size() > 0) {
+                assertEquals(referenceHeap.extractMinimum(),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    public void testAgainstIndexedBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "CalendarQueueTest.testAgainstIndexedBinaryHeap, seed = " +
+                seed);
+
+        PriorityQueue<Integer, Double> idHeap =
+                new IndexedCalendarQueue<>(element -> element);
+
+        for (PriorityQueue<Integer, Double> heap :
+                new PriorityQueue[]{ indexedHeap, idHeap }) {
+            PriorityQueue<Integer, Double> referenceHeap =
+                    new IndexedBinaryHeap<>();
+
+            for (int i = 0; i < 200_000; ++i) {
+                float coin = random.nextFloat();
+                int element = random.nextInt(2_000);
+                double priority = getPriority(random, element, 0.01);
+
+                if (coin < 0.4f) {
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                } else if (coin < 0.8f) {
+                    assertEquals(
+                            referenceHeap.decreasePriority(element, priority),
+                            heap.decreasePriority(element, priority));
+                } else if (referenceHeap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+
+            while (referenceHeap.size() > 0) {
+                assertEquals(referenceHeap.extractMinimum(),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0.0);
+    }
+
+    /**
+     * Returns a random priority, either uniform or heavily skewed, that no
+     * other element shares, so that both heaps agree on the extraction order.
+     */
+    private static double getPriority(Random random, int element, double scale) {
+        long base = random.nextInt(10_000);
+
+        if (random.nextBoolean()) {
+            base *= base;
+        }
+
+        return (base * 200_000L + element - 1_000_000_000_000L) * scale;
+    }
+}
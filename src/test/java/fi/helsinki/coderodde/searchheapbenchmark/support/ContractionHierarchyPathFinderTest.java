@@ -0,0 +1,185 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyPathFinderTest {
+
+    private static final int NODES = 300;
+    private static final int ARCS = 900;
+    private static final int SEARCH_TASKS = 200;
+
+    @Test
+    public void testIntegerWeights() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "ContractionHierarchyPathFinderTest.testIntegerWeights, " +
+                "seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, random.nextInt(10) + 1);
+        }
+
+        IntegerWeight weight = new IntegerWeight();
+        ContractionHierarchy<Integer> hierarchy =
+                new ContractionHierarchy<>(nodeList,
+                                           weightFunction,
+                                           weight,
+                                           new IndexedBinaryHeap<>(),
+                                           new IndexedBinaryHeap<>());
+        PathFinder<Integer> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Integer>());
+        PathFinder<Integer> finder =
+                new ContractionHierarchyPathFinder<>(
+                        hierarchy,
+                        new IndexedPairingHeap<DirectedGraphNode, Integer>(),
+                        new IndexedPairingHeap<DirectedGraphNode, Integer>());
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+            List<DirectedGraphNode> path1 =
+                    finder.search(source, target, weightFunction, weight);
+
+            assertEquals(path0.isEmpty(), path1.isEmpty());
+
+            if (!path0.isEmpty()) {
+                assertEquals(source, path1.get(0));
+                assertEquals(target, path1.get(path1.size() - 1));
+
+                for (int j = 0; j < path1.size() - 1; ++j) {
+                    assertTrue(path1.get(j).getChildren()
+                                           .contains(path1.get(j + 1)));
+                }
+
+                assertEquals(cost(path0, weightFunction),
+                             cost(path1, weightFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleWeights() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "ContractionHierarchyPathFinderTest.testDoubleWeights, " +
+                "seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, 10.0 * random.nextDouble());
+        }
+
+        DoubleWeight weight = new DoubleWeight();
+        ContractionHierarchy<Double> hierarchy =
+                new ContractionHierarchy<>(nodeList,
+                                           weightFunction,
+                                           weight,
+                                           new IndexedFibonacciHeap<>(),
+                                           new IndexedDaryHeap<>(4));
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        PathFinder<Double> finder =
+                new ContractionHierarchyPathFinder<>(
+                        hierarchy,
+                        new IndexedBinaryHeap<DirectedGraphNode, Double>(),
+                        new IndexedBinaryHeap<DirectedGraphNode, Double>());
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            // Random real weights make the shortest paths unique.
+            assertEquals(referenceFinder.search(source,
+                                                target,
+                                                weightFunction,
+                                                weight),
+                         finder.search(source, target, weightFunction, weight));
+        }
+    }
+
+    @Test
+    public void testTrivialAndUnreachable() {
+        List<DirectedGraphNode> nodeList = createNodeList();
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+        DirectedGraphNode a = nodeList.get(0);
+        DirectedGraphNode b = nodeList.get(1);
+        a.addChildNode(b);
+        weightFunction.addWeight(a, b, 3);
+
+        IntegerWeight weight = new IntegerWeight();
+        PathFinder<Integer> finder =
+                new ContractionHierarchyPathFinder<>(
+                        new ContractionHierarchy<>(nodeList,
+                                                   weightFunction,
+                                                   weight,
+                                                   new IndexedBinaryHeap<>(),
+                                                   new IndexedBinaryHeap<>()),
+                        new IndexedBinaryHeap<DirectedGraphNode, Integer>(),
+                        new IndexedBinaryHeap<DirectedGraphNode, Integer>());
+
+        List<DirectedGraphNode> path =
+                finder.search(a, a, weightFunction, weight);
+        assertEquals(1, path.size());
+        assertEquals(a, path.get(0));
+
+        path = finder.search(a, b, weightFunction, weight);
+        assertEquals(2, path.size());
+        assertEquals(a, path.get(0));
+        assertEquals(b, path.get(1));
+
+        assertTrue(finder.search(b, a, weightFunction, weight).isEmpty());
+    }
+
+    private static List<DirectedGraphNode> createNodeList() {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(NODES);
+
+        for (int id = 0; id < NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        return nodeList;
+    }
+
+    private static int cost(
+            List<DirectedGraphNode> path,
+            DirectedGraphWeightFunction<Integer> weightFunction) {
+        int cost = 0;
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            cost += weightFunction.getWeight(path.get(i), path.get(i + 1));
+        }
+
+        return cost;
+    }
+}
@@ -0,0 +1,60 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DoublePriorityQueue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DoubleDaryHeapTest {
+
+    private final DoublePriorityQueue heap = new DoubleDaryHeap(3);
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(1, 1);
+        heap.add(5, 5);
+        heap.add(2, 2);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(1, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(4, heap.extractMinimum());
+        assertEquals(5, heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testAddAndExtract2() {
+        heap.add(4, 2);
+        heap.add(3, 3);
+        heap.add(1, 5);
+        heap.add(5, 1);
+        heap.add(2, 4);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(5, heap.extractMinimum());
+        assertEquals(4, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(1, heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+        
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0);
+    }
+}
@@ -0,0 +1,104 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DoubleRadixHeapTest {
+
+    private final PriorityQueue<Integer, Double> heap = 
+            new DoubleRadixHeap<>();
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4.5);
+        heap.add(3, 3.25);
+        heap.add(1, 0.0);
+        heap.add(5, 1e300);
+        heap.add(2, Double.MIN_VALUE);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        
+        heap.add(6, 3.5);
+        
+        assertEquals(Integer.valueOf(6), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testNegativeZero() {
+        heap.add(1, 1.0);
+        heap.add(2, -0.0);
+        
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNegativePriority() {
+        heap.add(1, -1.0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNaN() {
+        heap.add(1, Double.NaN);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonMonotonePriority() {
+        heap.add(1, 1.0);
+        heap.add(2, 2.0);
+        heap.extractMinimum();
+        heap.add(3, 0.5);
+    }
+    
+    @Test
+    public void testMonotoneAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "DoubleRadixHeapTest.testMonotoneAgainstBinaryHeap, seed = " +
+                seed);
+        
+        PriorityQueue<Integer, Double> referenceHeap = new BinaryHeap<>();
+        Map<Integer, Double> priorityMap = new HashMap<>();
+        double lastPriority = 0.0;
+        
+        for (int element = 0; element < 100_000; ++element) {
+            if (random.nextFloat() < 0.6f) {
+                double priority = lastPriority + 100.0 * random.nextDouble();
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+                priorityMap.put(element, priority);
+            } else if (referenceHeap.size() > 0) {
+                lastPriority = priorityMap.get(referenceHeap.extractMinimum());
+                assertEquals(lastPriority,
+                             priorityMap.get(heap.extractMinimum()),
+                             0.0);
+            }
+            
+            assertEquals(referenceHeap.size(), heap.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0.0);
+    }
+}
@@ -0,0 +1,134 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ElementIndexTest {
+
+    private static final int OPERATIONS = 50_000;
+    private static final int ELEMENTS = 3_000;
+    private static final ToIntFunction<Integer> ID = Integer::intValue;
+
+    @Test
+    public void testArrayIndexAgainstHashMap() {
+        Random random = new Random(11L);
+        ElementIndex<Integer, String> index = ElementIndex.create(ID);
+        Map<Integer, String> referenceMap = new HashMap<>();
+
+        for (int i = 0; i < OPERATIONS; ++i) {
+            Integer element = random.nextInt(ELEMENTS);
+            int coin = random.nextInt(100);
+
+            if (coin < 50) {
+                String value = "v" + i;
+                index.put(element, value);
+                referenceMap.put(element, value);
+            } else if (coin < 95) {
+                index.remove(element);
+                referenceMap.remove(element);
+            } else if (coin < 99) {
+                Map<Integer, String> contents = new HashMap<>();
+                index.forEach(contents::put);
+                assertEquals(referenceMap, contents);
+            } else {
+                index.clear();
+                referenceMap.clear();
+            }
+
+            assertEquals(referenceMap.size(), index.size());
+            assertEquals(referenceMap.get(element), index.get(element));
+        }
+
+        // Unknown and negative ids are absent.
+        assertNull(index.get(10 * ELEMENTS));
+        assertNull(index.get(-1));
+        assertFalse(index.containsKey(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayIndexRejectsNegativeIds() {
+        ElementIndex<Integer, String> index = ElementIndex.create(ID);
+        index.put(-1, "");
+    }
+
+    @Test
+    public void testIdIndexedHeapsAgreeWithHashIndexedHeaps() {
+        List<PriorityQueue<Integer, Integer>> hashHeapList = createHeaps(null);
+        List<PriorityQueue<Integer, Integer>> idHeapList = createHeaps(ID);
+
+        for (int i = 0; i < hashHeapList.size(); ++i) {
+            PriorityQueue<Integer, Integer> hashHeap = hashHeapList.get(i);
+            PriorityQueue<Integer, Integer> idHeap = idHeapList.get(i);
+            assertEquals(hashHeap + " (id array)", idHeap.toString());
+            assertEquals(run(hashHeap), run(idHeap));
+        }
+    }
+
+    private static List<PriorityQueue<Integer, Integer>>
+        createHeaps(ToIntFunction<Integer> idFunction) {
+        List<PriorityQueue<Integer, Integer>> heapList = new ArrayList<>();
+        heapList.add(new IndexedBinaryHeap<>(idFunction));
+        heapList.add(new IndexedDaryHeap<>(4, idFunction));
+        heapList.add(new IndexedBinomialHeap<>(idFunction));
+        heapList.add(new IndexedFibonacciHeap<>(idFunction));
+        heapList.add(new IndexedPairingHeap<>(idFunction));
+        heapList.add(new IndexedAVLTreeHeap<>(idFunction));
+        heapList.add(new IndexedBTreeHeap<>(4, idFunction));
+        heapList.add(new IndexedIntegerDialsHeap<>(idFunction));
+        heapList.add(new IndexedRadixHeap<>(idFunction));
+        heapList.add(new IndexedVanEmdeBoasTreeHeap<>(1 << 20, idFunction));
+        return heapList;
+    }
+
+    /**
+     * Runs a random sequence of operations on {@code heap}, and returns the
+     * extracted elements. The priorities are unique and grow monotonically in
+     * order for the monotone heaps to accept them and for the extraction
+     * order to be unique.
+     */
+    private static List<Integer> run(PriorityQueue<Integer, Integer> heap) {
+        Random random = new Random(7L);
+        Map<Integer, Integer> priorityMap = new HashMap<>();
+        List<Integer> extractedList = new ArrayList<>();
+        int lastPriority = 0;
+
+        for (int i = 0; i < OPERATIONS / 10; ++i) {
+            int coin = random.nextInt(10);
+            Integer element = random.nextInt(ELEMENTS);
+
+            if (coin < 5) {
+                int priority = lastPriority + 2 + random.nextInt(1000);
+
+                if (!priorityMap.containsKey(element)
+                        && !priorityMap.containsValue(priority)) {
+                    priorityMap.put(element, priority);
+                    heap.add(element, priority);
+                }
+            } else if (coin < 7) {
+                Integer priority = priorityMap.get(element);
+
+                if (priority != null
+                        && priority - 1 > lastPriority
+                        && !priorityMap.containsValue(priority - 1)) {
+                    assertTrue(heap.decreasePriority(element, priority - 1));
+                    priorityMap.put(element, priority - 1);
+                }
+            } else if (heap.size() > 0) {
+                Integer extracted = heap.extractMinimum();
+                lastPriority = priorityMap.remove(extracted);
+                extractedList.add(extracted);
+            }
+
+            assertEquals(priorityMap.size(), heap.size());
+        }
+
+        return extractedList;
+    }
+}
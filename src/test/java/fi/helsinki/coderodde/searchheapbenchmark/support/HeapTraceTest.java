@@ -0,0 +1,202 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HeapTraceTest {
+
+    private static final int NODES = 1_000;
+    private static final int ARCS = 5_000;
+    private static final int SEARCH_TASKS = 20;
+
+    @Test
+    public void testRecordAndRoundTrip() throws IOException {
+        HeapTraceRecorder<String, Integer> recorder =
+                new HeapTraceRecorder<>(new IndexedBinaryHeap<>(),
+                                        Integer.class);
+        recorder.add("a", 3);
+        recorder.add("b", -300);
+        recorder.add("c", Integer.MAX_VALUE);
+        recorder.decreasePriority("c", Integer.MIN_VALUE);
+        assertEquals("c", recorder.extractMinimum());
+        recorder.clear();
+        recorder.add("b", 1);
+
+        HeapTrace<Integer> trace = recorder.getTrace();
+        assertEquals(7, trace.size());
+        assertEquals(3, trace.getNumberOfElements());
+        assertEquals(4, trace.count(HeapTrace.ADD));
+        assertEquals(1, trace.count(HeapTrace.DECREASE_PRIORITY));
+        assertEquals(1, trace.count(HeapTrace.EXTRACT_MINIMUM));
+        assertEquals(1, trace.count(HeapTrace.CLEAR));
+
+        HeapTrace<Integer> copy = roundTrip(trace, Integer.class);
+        assertEquals(trace.size(), copy.size());
+        assertEquals(trace.getNumberOfElements(), copy.getNumberOfElements());
+
+        PriorityQueue<Integer, Integer> heap = new IndexedPairingHeap<>();
+        assertEquals(2L, copy.replay(heap));
+        assertEquals(1, heap.size());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+    }
+
+    @Test
+    public void testSummary() throws IOException {
+        HeapTraceRecorder<String, Double> recorder =
+                new HeapTraceRecorder<>(new BinaryHeap<>(), Double.class);
+        assertNull(recorder.getTrace().getMaximumPriority());
+        recorder.add("a", 2.0);
+        recorder.add("b", -1.0);
+        recorder.extractMinimum();
+
+        HeapTrace<Double> trace = recorder.getTrace();
+        assertFalse(trace.hasPriorityDecreases());
+        assertEquals(Double.valueOf(2.0), trace.getMaximumPriority());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.write(out);
+        assertEquals(Double.class,
+                     HeapTrace.readPriorityClass(
+                             new ByteArrayInputStream(out.toByteArray())));
+
+        HeapTraceRecorder<String, Integer> indexedRecorder =
+                new HeapTraceRecorder<>(new IndexedBinaryHeap<>(),
+                                        Integer.class);
+        indexedRecorder.add("a", 5);
+        indexedRecorder.decreasePriority("a", 4);
+        assertTrue(indexedRecorder.getTrace().hasPriorityDecreases());
+        assertEquals(Integer.valueOf(5),
+                     indexedRecorder.getTrace().getMaximumPriority());
+    }
+
+    @Test(expected = IOException.class)
+    public void throwsOnWrongPriorityType() throws IOException {
+        HeapTraceRecorder<String, Integer> recorder =
+                new HeapTraceRecorder<>(new BinaryHeap<>(), Integer.class);
+        recorder.add("a", 1);
+        roundTrip(recorder.getTrace(), Double.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnUnsupportedPriorityType() {
+        new HeapTraceRecorder<String, String>(new BinaryHeap<>(),
+                                              String.class);
+    }
+
+    @Test
+    public void testReplayDijkstraTraces() throws IOException {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("HeapTraceTest.testReplayDijkstraTraces, seed = " +
+                           seed);
+
+        List<DirectedGraphNode> nodeList = new ArrayList<>(NODES);
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int id = 0; id < NODES; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        for (int i = 0; i < ARCS; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode head = nodeList.get(random.nextInt(NODES));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, 10.0 * random.nextDouble());
+        }
+
+        HeapTraceRecorder<DirectedGraphNode, Double> unindexedRecorder =
+                new HeapTraceRecorder<>(new BinaryHeap<>(), Double.class);
+        HeapTraceRecorder<DirectedGraphNode, Double> indexedRecorder =
+                new HeapTraceRecorder<>(new IndexedBinaryHeap<>(),
+                                        Double.class);
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        PathFinder<Double> finder1 =
+                new DijkstraPathFinder<>(unindexedRecorder);
+        PathFinder<Double> finder2 =
+                new IndexedDijkstraPathFinder<>(indexedRecorder);
+        DoubleWeight weight = new DoubleWeight();
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+            List<DirectedGraphNode> path =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+
+            // The recorders must not change the search results.
+            assertEquals(path, finder1.search(source,
+                                              target,
+                                              weightFunction,
+                                              weight));
+            assertEquals(path, finder2.search(source,
+                                              target,
+                                              weightFunction,
+                                              weight));
+        }
+
+        assertEquals(0, unindexedRecorder.getTrace()
+                                         .count(HeapTrace.DECREASE_PRIORITY));
+
+        // Random real priorities leave no ties, so all the heaps extract the
+        // elements in the same order.
+        HeapTrace<Double> unindexedTrace =
+                roundTrip(unindexedRecorder.getTrace(), Double.class);
+        HeapTrace<Double> indexedTrace =
+                roundTrip(indexedRecorder.getTrace(), Double.class);
+
+        assertSameChecksums(unindexedTrace,
+                            Arrays.<PriorityQueue<Integer, Double>>asList(
+                                    new BinaryHeap<>(),
+                                    new DaryHeap<>(4),
+                                    new BinomialHeap<>(),
+                                    new FibonacciHeap<>(),
+                                    new PairingHeap<>(),
+                                    new DoubleRadixHeap<>(),
+                                    new AVLTreeHeap<>()));
+
+        assertSameChecksums(indexedTrace,
+                            Arrays.<PriorityQueue<Integer, Double>>asList(
+                                    new IndexedBinaryHeap<>(),
+                                    new IndexedDaryHeap<>(4),
+                                    new IndexedBinomialHeap<>(),
+                                    new IndexedFibonacciHeap<>(),
+                                    new IndexedPairingHeap<>(),
+                                    new IndexedDoubleRadixHeap<>(),
+                                    new IndexedAVLTreeHeap<>()));
+    }
+
+    private static void assertSameChecksums(
+            HeapTrace<Double> trace,
+            List<PriorityQueue<Integer, Double>> heapList) {
+        long expectedChecksum = trace.replay(heapList.get(0));
+
+        for (PriorityQueue<Integer, Double> heap : heapList) {
+            assertEquals(heap.toString(), expectedChecksum, trace.replay(heap));
+        }
+    }
+
+    private static <P extends Comparable<? super P>> HeapTrace<P>
+        roundTrip(HeapTrace<?> trace, Class<P> priorityClass)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.write(out);
+        return HeapTrace.read(new ByteArrayInputStream(out.toByteArray()),
+                              priorityClass);
+    }
+}
@@ -1,6 +1,7 @@
 package fi.helsinki.coderodde.searchheapbenchmark.support;
 
 import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -87,4 +88,44 @@ public class IndexedBinaryHeapTest {
             assertEquals(Integer.valueOf(i), heap.extractMinimum());
         }
     }
+    
+    @Test
+    public void testBottomUp() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("IndexedBinaryHeapTest.testBottomUp, seed = " + 
+                           seed);
+        
+        for (PriorityQueue<Integer, Integer> bottomUpHeap : 
+                new PriorityQueue[]{ new IndexedBinaryHeap<>(true, null),
+                                     new IndexedDaryHeap<>(4, true, null),
+                                     new IndexedDaryHeap<>(5, true, null) }) {
+            heap.clear();
+            
+            for (int i = 0; i < 100_000; ++i) {
+                float coin = random.nextFloat();
+                int element = random.nextInt(2_000);
+                int priority = random.nextInt(10_000) * 2_000 + element;
+                
+                if (coin < 0.4f) {
+                    heap.add(element, priority);
+                    bottomUpHeap.add(element, priority);
+                } else if (coin < 0.8f) {
+                    assertEquals(heap.decreasePriority(element, priority),
+                                 bottomUpHeap.decreasePriority(element, 
+                                                               priority));
+                } else if (heap.size() > 0) {
+                    assertEquals(heap.extractMinimum(), 
+                                 bottomUpHeap.extractMinimum());
+                }
+                
+                assertEquals(heap.size(), bottomUpHeap.size());
+            }
+            
+            while (heap.size() > 0) {
+                assertEquals(heap.extractMinimum(), 
+                             bottomUpHeap.extractMinimum());
+            }
+        }
+    }
 }
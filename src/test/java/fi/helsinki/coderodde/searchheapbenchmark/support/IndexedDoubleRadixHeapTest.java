@@ -0,0 +1,128 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedDoubleRadixHeapTest {
+
+    private final PriorityQueue<Integer, Double> heap = 
+            new IndexedDoubleRadixHeap<>();
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4.0);
+        heap.add(3, 3.0);
+        heap.add(1, 1.0);
+        heap.add(5, 5.0);
+        heap.add(2, 2.0);
+        heap.add(2, 0.0);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testDecreaseKey() {
+        heap.add(1, 1.0);
+        heap.add(2, 2.0);
+        
+        assertFalse(heap.decreasePriority(2, 3.0));
+        assertFalse(heap.decreasePriority(3, 0.0));
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        
+        heap.add(1, 1e200);
+        heap.add(2, 1e100);
+        
+        assertTrue(heap.decreasePriority(1, 2.0));
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        
+        heap.clear();
+        
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, i + 100.0);
+        }
+        
+        for (int i = 50; i < 100; ++i) {
+            heap.decreasePriority(i, i + 0.5);
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i + 50), heap.extractMinimum());
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i), heap.extractMinimum());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonMonotonePriority() {
+        heap.add(1, 10.0);
+        heap.add(2, 20.0);
+        heap.extractMinimum();
+        heap.decreasePriority(2, 9.0);
+    }
+    
+    @Test
+    public void testMonotoneAgainstIndexedBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "IndexedDoubleRadixHeapTest." +
+                "testMonotoneAgainstIndexedBinaryHeap, seed = " + seed);
+        
+        PriorityQueue<Integer, Double> referenceHeap = 
+                new IndexedBinaryHeap<>();
+        Map<Integer, Double> priorityMap = new HashMap<>();
+        double lastPriority = 0.0;
+        
+        for (int i = 0; i < 100_000; ++i) {
+            float coin = random.nextFloat();
+            int element = random.nextInt(1_000);
+            double priority = lastPriority + 100.0 * random.nextDouble();
+            
+            if (coin < 0.4f) {
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+                priorityMap.putIfAbsent(element, priority);
+            } else if (coin < 0.7f) {
+                boolean improved = 
+                        referenceHeap.decreasePriority(element, priority);
+                
+                assertEquals(improved, 
+                             heap.decreasePriority(element, priority));
+                
+                if (improved) {
+                    priorityMap.put(element, priority);
+                }
+            } else if (referenceHeap.size() > 0) {
+                Integer minimumElement = referenceHeap.extractMinimum();
+                assertEquals(minimumElement, heap.extractMinimum());
+                lastPriority = priorityMap.remove(minimumElement);
+            }
+            
+            assertEquals(referenceHeap.size(), heap.size());
+        }
+    }
+}
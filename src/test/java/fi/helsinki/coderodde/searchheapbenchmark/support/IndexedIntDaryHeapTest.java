@@ -0,0 +1,153 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.IntPriorityQueue;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedIntDaryHeapTest {
+
+    private final IntPriorityQueue heap = new IndexedIntDaryHeap(3);
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(1, 1);
+        heap.add(5, 5);
+        heap.add(2, 2);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(1, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(4, heap.extractMinimum());
+        assertEquals(5, heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testAddAndExtract2() {
+        heap.add(4, 2);
+        heap.add(3, 3);
+        heap.add(1, 5);
+        heap.add(5, 1);
+        heap.add(2, 4);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(5, heap.extractMinimum());
+        assertEquals(4, heap.extractMinimum());
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(1, heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testDecreaseKey() {
+        heap.add(1, 1);
+        heap.add(2, 2);
+        
+        heap.decreasePriority(2, 3);
+        
+        assertEquals(1, heap.extractMinimum());
+        assertEquals(2, heap.extractMinimum());
+        
+        heap.add(1, 1);
+        heap.add(2, 2);
+        
+        heap.decreasePriority(2, 0);
+        
+        assertEquals(2, heap.extractMinimum());
+        assertEquals(1, heap.extractMinimum());
+        
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, i);
+        }
+        
+        for (int i = 50; i < 100; ++i) {
+            heap.decreasePriority(i, i - 100);
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(i + 50, heap.extractMinimum());
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(i, heap.extractMinimum());
+        }
+    }
+    
+    @Test
+    public void testClearAndLargeElements() {
+        heap.add(100_000, 3);
+        heap.add(5, 2);
+        heap.add(2_000, 1);
+        
+        assertFalse(heap.decreasePriority(7, 0));
+        assertFalse(heap.decreasePriority(5, 2));
+        
+        heap.clear();
+        
+        assertEquals(0, heap.size());
+        assertFalse(heap.decreasePriority(100_000, 0));
+        
+        heap.add(100_000, 3);
+        assertEquals(100_000, heap.extractMinimum());
+    }
+    
+    @Test
+    public void testAgainstIndexedDaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "IndexedIntDaryHeapTest.testAgainstIndexedDaryHeap, seed = " +
+                seed);
+        
+        PriorityQueue<Integer, Integer> referenceHeap =
+                new IndexedDaryHeap<>(3);
+        
+        for (int iteration = 0; iteration < 10_000; ++iteration) {
+            int element = random.nextInt(500);
+            // Make the priorities distinct so that both heaps agree on the
+            // extraction order.
+            int priority = 500 * random.nextInt(1000) + element;
+            
+            switch (random.nextInt(3)) {
+                case 0:
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                    break;
+                    
+                case 1:
+                    assertEquals(
+                            referenceHeap.decreasePriority(element, priority),
+                            heap.decreasePriority(element, priority));
+                    break;
+                    
+                case 2:
+                    assertEquals(referenceHeap.size(), heap.size());
+                    
+                    if (heap.size() > 0) {
+                        assertEquals((int) referenceHeap.extractMinimum(),
+                                     heap.extractMinimum());
+                    }
+                    
+                    break;
+            }
+        }
+        
+        assertEquals(referenceHeap.size(), heap.size());
+    }
+}
@@ -0,0 +1,131 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedRadixHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap = 
+            new IndexedRadixHeap<>();
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(1, 1);
+        heap.add(5, 5);
+        heap.add(2, 2);
+        heap.add(2, 0);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testDecreaseKey() {
+        heap.add(1, 1);
+        heap.add(2, 2);
+        
+        assertFalse(heap.decreasePriority(2, 3));
+        assertFalse(heap.decreasePriority(3, 0));
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        
+        heap.add(1, 1 << 30);
+        heap.add(2, 1 << 29);
+        
+        assertTrue(heap.decreasePriority(1, 2));
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        
+        heap.clear();
+        
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, i + 100);
+        }
+        
+        for (int i = 50; i < 100; ++i) {
+            heap.decreasePriority(i, i);
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i + 50), heap.extractMinimum());
+        }
+        
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i), heap.extractMinimum());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonMonotonePriority() {
+        heap.add(1, 10);
+        heap.add(2, 20);
+        heap.extractMinimum();
+        heap.decreasePriority(2, 9);
+    }
+    
+    @Test
+    public void testMonotoneAgainstIndexedBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "IndexedRadixHeapTest.testMonotoneAgainstIndexedBinaryHeap, " +
+                "seed = " + seed);
+        
+        PriorityQueue<Integer, Integer> referenceHeap = 
+                new IndexedBinaryHeap<>();
+        Map<Integer, Integer> priorityMap = new HashMap<>();
+        int lastPriority = 0;
+        
+        for (int i = 0; i < 50_000; ++i) {
+            float coin = random.nextFloat();
+            int element = random.nextInt(1_000);
+            // Priorities of distinct elements never tie, so that both heaps
+            // agree on the extraction order.
+            int priority = (lastPriority / 1_000 + 1 + random.nextInt(64)) 
+                         * 1_000 + element;
+            
+            if (coin < 0.4f) {
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+                priorityMap.putIfAbsent(element, priority);
+            } else if (coin < 0.7f) {
+                boolean improved = 
+                        referenceHeap.decreasePriority(element, priority);
+                
+                assertEquals(improved, 
+                             heap.decreasePriority(element, priority));
+                
+                if (improved) {
+                    priorityMap.put(element, priority);
+                }
+            } else if (referenceHeap.size() > 0) {
+                Integer minimumElement = referenceHeap.extractMinimum();
+                assertEquals(minimumElement, heap.extractMinimum());
+                lastPriority = priorityMap.remove(minimumElement);
+            }
+            
+            assertEquals(referenceHeap.size(), heap.size());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedStrictFibonacciHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap =
+            new IndexedStrictFibonacciHeap<>();
+
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 2);
+        heap.add(3, 3);
+        heap.add(1, 5);
+        heap.add(5, 1);
+        heap.add(2, 4);
+        heap.add(2, 0);
+
+        assertEquals(5, heap.size());
+
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testEqualPrioritiesComeOutInAdditionOrder() {
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, 7);
+        }
+
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(Integer.valueOf(i), heap.extractMinimum());
+        }
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        heap.add(1, 1);
+        heap.add(2, 2);
+
+        assertFalse(heap.decreasePriority(2, 3));
+        assertFalse(heap.decreasePriority(3, 0));
+
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+
+        heap.add(1, 1);
+        heap.add(2, 2);
+
+        assertTrue(heap.decreasePriority(2, 0));
+
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+
+        for (int i = 0; i < 1000; ++i) {
+            heap.add(i, i);
+        }
+
+        // Build active trees before the decreases.
+        heap.add(1000, -1);
+        assertEquals(Integer.valueOf(1000), heap.extractMinimum());
+
+        for (int i = 999; i >= 500; --i) {
+            assertTrue(heap.decreasePriority(i, i - 1000));
+        }
+
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(Integer.valueOf(i + 500), heap.extractMinimum());
+        }
+
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(Integer.valueOf(i), heap.extractMinimum());
+        }
+
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testAgainstIndexedBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "IndexedStrictFibonacciHeapTest." +
+                "testAgainstIndexedBinaryHeap, seed = " + seed);
+
+        PriorityQueue<Integer, Integer> idHeap =
+                new IndexedStrictFibonacciHeap<>(element -> element);
+
+        for (PriorityQueue<Integer, Integer> heap :
+                new PriorityQueue[]{ this.heap, idHeap }) {
+            for (float extractionRate : new float[]{ 0.05f, 0.2f, 0.4f }) {
+                PriorityQueue<Integer, Integer> referenceHeap =
+                        new IndexedBinaryHeap<>();
+
+                for (int i = 0; i < 100_000; ++i) {
+                    float coin = random.nextFloat();
+                    int element = random.nextInt(5_000);
+                    // Priorities of distinct elements never tie, so that
+                    // both heaps agree on the extraction order.
+                    int priority = random.nextInt(10_000) * 5_000 + element;
+
+                    if (coin < extractionRate) {
+                        if (referenceHeap.size() > 0) {
+                            assertEquals(referenceHeap.extractMinimum(),
+                                         heap.extractMinimum());
+                        }
+                    } else if (coin < 0.6f) {
+                        heap.add(element, priority);
+                        referenceHeap.add(element, priority);
+                    } else {
+                        assertEquals(
+                                referenceHeap.decreasePriority(element,
+                                                               priority),
+                                heap.decreasePriority(element, priority));
+                    }
+
+                    assertEquals(referenceHeap.size(), heap.size());
+                }
+
+                while (referenceHeap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+
+                assertEquals(0, heap.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class InstrumentedPriorityQueueTest {
+
+    @Test
+    public void testCounters() {
+        InstrumentedPriorityQueue<Integer, Integer> heap =
+                new InstrumentedPriorityQueue<>(
+                        new IndexedBinaryHeap<Integer, Integer>());
+
+        for (int i = 0; i < 10; ++i) {
+            heap.add(i, 10 + i);
+        }
+
+        assertTrue(heap.decreasePriority(9, 0));
+        assertFalse(heap.decreasePriority(8, 100));
+        assertFalse(heap.decreasePriority(100, 0));
+
+        assertEquals(Integer.valueOf(9), heap.extractMinimum());
+        assertEquals(Integer.valueOf(0), heap.extractMinimum());
+        assertEquals(8, heap.size());
+
+        heap.clear();
+        heap.add(1, 1);
+
+        assertEquals(11L, heap.getAdditions());
+        assertEquals(3L, heap.getDecreaseAttempts());
+        assertEquals(1L, heap.getDecreases());
+        assertEquals(2L, heap.getExtractions());
+        assertEquals(10, heap.getPeakSize());
+        assertEquals("11 adds, 1/3 decreases, 2 extracts, peak size 10",
+                     heap.getSummary());
+        assertEquals("IndexedBinaryHeap", heap.toString());
+
+        heap.resetCounters();
+        assertEquals("0 adds, 0/0 decreases, 0 extracts, peak size 0",
+                     heap.getSummary());
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void testLatencies() {
+        InstrumentedPriorityQueue<Integer, Integer> heap =
+                new InstrumentedPriorityQueue<>(
+                        new IndexedStrictFibonacciHeap<Integer, Integer>(),
+                        true);
+
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, 100 + i);
+        }
+
+        assertTrue(heap.decreasePriority(50, 0));
+        assertEquals(Integer.valueOf(50), heap.extractMinimum());
+
+        assertTrue(heap.getMaximumAddNanos() > 0L);
+        assertTrue(heap.getMaximumDecreaseNanos() > 0L);
+        assertTrue(heap.getMaximumExtractNanos() > 0L);
+
+        heap.resetCounters();
+        assertEquals("worst-case add 0 ns, decrease 0 ns, extract 0 ns",
+                     heap.getLatencySummary());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void throwsOnUnindexedDecrease() {
+        InstrumentedPriorityQueue<Integer, Integer> heap =
+                new InstrumentedPriorityQueue<>(
+                        new BinaryHeap<Integer, Integer>());
+        heap.add(1, 1);
+        heap.decreasePriority(1, 0);
+    }
+}
@@ -0,0 +1,177 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.PathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.support.LandmarkHeuristic.LandmarkSelection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LandmarkHeuristicTest {
+
+    private static final int NODES = 1_000;
+    private static final int ARCS = 5_000;
+    private static final int LANDMARKS = 8;
+    private static final int SEARCH_TASKS = 100;
+
+    @Test
+    public void testRandomLandmarks() {
+        test(LandmarkSelection.RANDOM);
+    }
+
+    @Test
+    public void testFarthestLandmarks() {
+        test(LandmarkSelection.FARTHEST);
+    }
+
+    @Test
+    public void testAvoidLandmarks() {
+        test(LandmarkSelection.AVOID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnTooManyLandmarks() {
+        List<DirectedGraphNode> nodeList = createNodeList(3);
+        new LandmarkHeuristic(nodeList,
+                              new DirectedGraphWeightFunction<>(),
+                              4,
+                              LandmarkSelection.RANDOM,
+                              IndexedBinaryHeap::new,
+                              new Random());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void throwsOnUnindexedHeap() {
+        // A triangle forces the preprocessing to decrease a priority.
+        List<DirectedGraphNode> nodeList = createNodeList(3);
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+        connect(nodeList.get(0), nodeList.get(1), 1.0, weightFunction);
+        connect(nodeList.get(0), nodeList.get(2), 5.0, weightFunction);
+        connect(nodeList.get(1), nodeList.get(2), 1.0, weightFunction);
+        new LandmarkHeuristic(nodeList,
+                              weightFunction,
+                              3,
+                              LandmarkSelection.RANDOM,
+                              BinaryHeap::new,
+                              new Random());
+    }
+
+    private static void test(LandmarkSelection landmarkSelection) {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("LandmarkHeuristicTest, " + landmarkSelection +
+                           ", seed = " + seed);
+
+        List<DirectedGraphNode> nodeList = createNodeList(NODES);
+        DirectedGraphWeightFunction<Double> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < ARCS; ++i) {
+            connect(nodeList.get(random.nextInt(NODES)),
+                    nodeList.get(random.nextInt(NODES)),
+                    10.0 * random.nextDouble(),
+                    weightFunction);
+        }
+
+        LandmarkHeuristic heuristic =
+                new LandmarkHeuristic(nodeList,
+                                      weightFunction,
+                                      LANDMARKS,
+                                      landmarkSelection,
+                                      () -> new IndexedDaryHeap<>(4),
+                                      random);
+
+        Set<DirectedGraphNode> landmarkSet = new HashSet<>();
+
+        for (DirectedGraphNode landmark : heuristic.getLandmarks()) {
+            assertTrue(landmarkSet.add(landmark));
+        }
+
+        assertEquals(LANDMARKS, landmarkSet.size());
+
+        PathFinder<Double> referenceFinder =
+                new DijkstraPathFinder<>(
+                        new BinaryHeap<DirectedGraphNode, Double>());
+        PathFinder<Double> finder1 =
+                new AStarPathFinder<Double>(new BinaryHeap<>(), heuristic);
+        PathFinder<Double> finder2 =
+                new IndexedAStarPathFinder<Double>(new IndexedBinaryHeap<>(),
+                                                   heuristic);
+        DoubleWeight weight = new DoubleWeight();
+
+        for (int i = 0; i < SEARCH_TASKS; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(NODES));
+            DirectedGraphNode target = nodeList.get(random.nextInt(NODES));
+
+            List<DirectedGraphNode> path0 =
+                    referenceFinder.search(source,
+                                           target,
+                                           weightFunction,
+                                           weight);
+
+            assertEquals(0.0, heuristic.estimate(target, target), 0.0);
+
+            if (!path0.isEmpty()) {
+                // Admissibility along the whole shortest path.
+                double remaining = cost(path0, weightFunction);
+
+                for (int j = 0; j < path0.size(); ++j) {
+                    assertTrue(heuristic.estimate(path0.get(j), target) <=
+                               remaining + 1e-9);
+
+                    if (j < path0.size() - 1) {
+                        remaining -= weightFunction.getWeight(path0.get(j),
+                                                              path0.get(j + 1));
+                    }
+                }
+            }
+
+            // Random real weights make the shortest paths unique.
+            assertEquals(path0, finder1.search(source,
+                                               target,
+                                               weightFunction,
+                                               weight));
+            assertEquals(path0, finder2.search(source,
+                                               target,
+                                               weightFunction,
+                                               weight));
+        }
+    }
+
+    private static void connect(
+            DirectedGraphNode tail,
+            DirectedGraphNode head,
+            double arcWeight,
+            DirectedGraphWeightFunction<Double> weightFunction) {
+        tail.addChildNode(head);
+        weightFunction.addWeight(tail, head, arcWeight);
+    }
+
+    private static List<DirectedGraphNode> createNodeList(int nodes) {
+        List<DirectedGraphNode> nodeList = new ArrayList<>(nodes);
+
+        for (int id = 0; id < nodes; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        return nodeList;
+    }
+
+    private static double cost(
+            List<DirectedGraphNode> path,
+            DirectedGraphWeightFunction<Double> weightFunction) {
+        double cost = 0.0;
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            cost += weightFunction.getWeight(path.get(i), path.get(i + 1));
+        }
+
+        return cost;
+    }
+}
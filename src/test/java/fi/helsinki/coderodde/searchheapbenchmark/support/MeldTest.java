@@ -0,0 +1,330 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.MergeablePriorityQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MeldTest {
+
+    private static final int HEAPS = 8;
+
+    @Test
+    public void testMeld() {
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : getSuppliers()) {
+            testMeld(supplier);
+        }
+    }
+
+    @Test
+    public void testMeldPooled() {
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : getPooledSuppliers()) {
+            testMeld(supplier);
+        }
+    }
+
+    @Test
+    public void testPooledDonorKeepsNoMeldedNodes() {
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : getPooledSuppliers()) {
+            MergeablePriorityQueue<Integer, Integer> heap1 = supplier.get();
+            MergeablePriorityQueue<Integer, Integer> heap2 = supplier.get();
+
+            for (int i = 0; i < 50; ++i) {
+                heap1.add(2 * i, 2 * i);
+                heap2.add(2 * i + 1, 2 * i + 1);
+            }
+
+            // Extract a little in order to have some structure.
+            assertEquals(Integer.valueOf(0), heap1.extractMinimum());
+            assertEquals(Integer.valueOf(1), heap2.extractMinimum());
+            heap1.meld(heap2);
+
+            // Reusing the donor must not disturb the melded nodes.
+            for (int i = 0; i < 20; ++i) {
+                heap2.add(-i, -i);
+            }
+
+            heap2.clear();
+
+            for (int i = 2; i < 100; ++i) {
+                assertEquals(heap1.toString(),
+                             Integer.valueOf(i),
+                             heap1.extractMinimum());
+            }
+
+            assertEquals(0, heap1.size());
+        }
+    }
+
+    @Test
+    public void testIndexedHeapsStayIndexed() {
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : getIndexedSuppliers()) {
+            MergeablePriorityQueue<Integer, Integer> heap1 = supplier.get();
+            MergeablePriorityQueue<Integer, Integer> heap2 = supplier.get();
+
+            for (int i = 0; i < 10; ++i) {
+                heap1.add(i, 100 + i);
+            }
+
+            for (int i = 10; i < 100; ++i) {
+                heap2.add(i, 100 + i);
+            }
+
+            heap1.meld(heap2);
+
+            assertEquals(100, heap1.size());
+            assertEquals(0, heap2.size());
+
+            // Both the elements of the smaller and the larger index map.
+            assertTrue(heap1.decreasePriority(5, 1));
+            assertTrue(heap1.decreasePriority(50, 0));
+            assertFalse(heap1.decreasePriority(100, 0));
+
+            // The other heap is usable and does not know the moved elements.
+            assertFalse(heap2.decreasePriority(5, 0));
+            heap2.add(5, 3);
+            assertEquals(1, heap2.size());
+            assertEquals(Integer.valueOf(5), heap2.extractMinimum());
+
+            assertEquals(Integer.valueOf(50), heap1.extractMinimum());
+            assertEquals(Integer.valueOf(5), heap1.extractMinimum());
+
+            // Re-adding a present element has no effect.
+            heap1.add(0, 0);
+            assertEquals(98, heap1.size());
+
+            for (int i = 0; i < 100; ++i) {
+                if (i != 5 && i != 50) {
+                    assertEquals(Integer.valueOf(i), heap1.extractMinimum());
+                }
+            }
+
+            assertEquals(0, heap1.size());
+        }
+    }
+
+    @Test
+    public void testMixedIndicesKeepTheirKind() {
+        for (Function<ToIntFunction<Integer>,
+                      MergeablePriorityQueue<Integer, Integer>> factory
+                : getIndexedFactories()) {
+            // Meld a larger heap with the other kind of index in both
+            // directions.
+            testMixedIndices(factory.apply(null),
+                             factory.apply(Integer::intValue));
+            testMixedIndices(factory.apply(Integer::intValue),
+                             factory.apply(null));
+        }
+    }
+
+    @Test
+    public void testIndexedHeapsRejectSharedElements() {
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : getIndexedSuppliers()) {
+            MergeablePriorityQueue<Integer, Integer> heap1 = supplier.get();
+            MergeablePriorityQueue<Integer, Integer> heap2 = supplier.get();
+            heap1.add(1, 1);
+            heap1.add(2, 2);
+            heap2.add(2, 0);
+
+            try {
+                heap1.meld(heap2);
+                fail(heap1 + " melded a shared element.");
+            } catch (IllegalArgumentException ex) {
+
+            }
+
+            // Neither heap is modified.
+            assertEquals(2, heap1.size());
+            assertEquals(1, heap2.size());
+            assertEquals(Integer.valueOf(1), heap1.extractMinimum());
+            assertEquals(Integer.valueOf(2), heap1.extractMinimum());
+            assertEquals(Integer.valueOf(2), heap2.extractMinimum());
+        }
+    }
+
+    @Test
+    public void testRejectsSelfAndOtherTypes() {
+        List<Supplier<MergeablePriorityQueue<Integer, Integer>>> supplierList =
+                getSuppliers();
+
+        for (Supplier<MergeablePriorityQueue<Integer, Integer>> supplier
+                : supplierList) {
+            MergeablePriorityQueue<Integer, Integer> heap = supplier.get();
+            heap.add(1, 1);
+
+            try {
+                heap.meld(heap);
+                fail(heap + " melded with itself.");
+            } catch (IllegalArgumentException ex) {
+
+            }
+
+            for (Supplier<MergeablePriorityQueue<Integer, Integer>>
+                    otherSupplier : supplierList) {
+                MergeablePriorityQueue<Integer, Integer> other =
+                        otherSupplier.get();
+
+                if (other.getClass().equals(heap.getClass())) {
+                    continue;
+                }
+
+                try {
+                    heap.meld(other);
+                    fail(heap + " melded with " + other + ".");
+                } catch (IllegalArgumentException ex) {
+
+                }
+            }
+
+            assertEquals(1, heap.size());
+        }
+    }
+
+    private static void testMeld(
+            Supplier<MergeablePriorityQueue<Integer, Integer>> supplier) {
+        Random random = new Random(17L);
+        List<Integer> priorityList = new ArrayList<>();
+        List<MergeablePriorityQueue<Integer, Integer>> heapList =
+                new ArrayList<>();
+        int element = 0;
+
+        for (int i = 0; i < HEAPS; ++i) {
+            MergeablePriorityQueue<Integer, Integer> heap = supplier.get();
+            // Some heaps are empty, some are large.
+            int size = i % 3 == 0 ? 0 : random.nextInt(1 << i) + 1;
+
+            for (int j = 0; j < size; ++j) {
+                // The element doubles as the priority so that the extraction
+                // order is unique.
+                int priority = element++;
+                priorityList.add(priority);
+                heap.add(priority, priority);
+            }
+
+            heapList.add(heap);
+        }
+
+        Collections.shuffle(heapList, random);
+        MergeablePriorityQueue<Integer, Integer> heap = heapList.get(0);
+
+        // Extract a little before melding in order to have some structure.
+        if (heap.size() > 0) {
+            priorityList.remove(heap.extractMinimum());
+        }
+
+        for (int i = 1; i < HEAPS; ++i) {
+            heap.meld(heapList.get(i));
+            assertEquals(0, heapList.get(i).size());
+        }
+
+        Collections.sort(priorityList);
+        assertEquals(heap + " has a wrong size.",
+                     priorityList.size(),
+                     heap.size());
+
+        for (Integer priority : priorityList) {
+            assertEquals(heap.toString(), priority, heap.extractMinimum());
+        }
+
+        assertEquals(0, heap.size());
+    }
+
+    private static void testMixedIndices(
+            MergeablePriorityQueue<Integer, Integer> heap1,
+            MergeablePriorityQueue<Integer, Integer> heap2) {
+        String name1 = heap1.toString();
+        String name2 = heap2.toString();
+        assertNotEquals(name1, name2);
+
+        for (int i = 0; i < 10; ++i) {
+            heap1.add(i, 100 + i);
+        }
+
+        for (int i = 10; i < 100; ++i) {
+            heap2.add(i, 100 + i);
+        }
+
+        heap1.meld(heap2);
+
+        // Neither heap takes the index of the other.
+        assertEquals(name1, heap1.toString());
+        assertEquals(name2, heap2.toString());
+        assertEquals(100, heap1.size());
+        assertEquals(0, heap2.size());
+
+        assertTrue(heap1.decreasePriority(5, 1));
+        assertTrue(heap1.decreasePriority(50, 0));
+        assertFalse(heap2.decreasePriority(50, 0));
+        heap2.add(50, 3);
+        assertEquals(Integer.valueOf(50), heap2.extractMinimum());
+
+        assertEquals(Integer.valueOf(50), heap1.extractMinimum());
+        assertEquals(Integer.valueOf(5), heap1.extractMinimum());
+
+        for (int i = 0; i < 100; ++i) {
+            if (i != 5 && i != 50) {
+                assertEquals(Integer.valueOf(i), heap1.extractMinimum());
+            }
+        }
+
+        assertEquals(0, heap1.size());
+    }
+
+    private static List<Supplier<MergeablePriorityQueue<Integer, Integer>>>
+        getSuppliers() {
+        List<Supplier<MergeablePriorityQueue<Integer, Integer>>> supplierList =
+                new ArrayList<>();
+
+        supplierList.add(BinomialHeap::new);
+        supplierList.add(FibonacciHeap::new);
+        supplierList.add(PairingHeap::new);
+        supplierList.addAll(getIndexedSuppliers());
+        return supplierList;
+    }
+
+    private static List<Supplier<MergeablePriorityQueue<Integer, Integer>>>
+        getPooledSuppliers() {
+        List<Supplier<MergeablePriorityQueue<Integer, Integer>>> supplierList =
+                new ArrayList<>();
+
+        supplierList.add(() -> new BinomialHeap<>(true));
+        supplierList.add(() -> new FibonacciHeap<>(true));
+        supplierList.add(() -> new PairingHeap<>(true));
+        return supplierList;
+    }
+
+    private static List<Supplier<MergeablePriorityQueue<Integer, Integer>>>
+        getIndexedSuppliers() {
+        List<Supplier<MergeablePriorityQueue<Integer, Integer>>> supplierList =
+                new ArrayList<>();
+
+        supplierList.add(IndexedBinomialHeap::new);
+        supplierList.add(IndexedFibonacciHeap::new);
+        supplierList.add(IndexedPairingHeap::new);
+        return supplierList;
+    }
+
+    private static List<Function<ToIntFunction<Integer>,
+                                 MergeablePriorityQueue<Integer, Integer>>>
+        getIndexedFactories() {
+        List<Function<ToIntFunction<Integer>,
+                      MergeablePriorityQueue<Integer, Integer>>> factoryList =
+                new ArrayList<>();
+
+        factoryList.add(IndexedBinomialHeap::new);
+        factoryList.add(IndexedFibonacciHeap::new);
+        factoryList.add(IndexedPairingHeap::new);
+        return factoryList;
+    }
+}
@@ -0,0 +1,226 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.CSRGraphBuilder;
+import fi.helsinki.coderodde.searchheapbenchmark.CSRPathFinder;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphNode;
+import fi.helsinki.coderodde.searchheapbenchmark.DirectedGraphWeightFunction;
+import fi.helsinki.coderodde.searchheapbenchmark.IntCSRGraph;
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MultiLevelBucketHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap =
+            new MultiLevelBucketHeap<>(3);
+
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 2);
+        heap.add(3, 3);
+        heap.add(1, Integer.MAX_VALUE);
+        heap.add(5, 1);
+        heap.add(2, 1 << 20);
+
+        assertEquals(5, heap.size());
+
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+
+        heap.add(6, 1 << 19);
+
+        assertEquals(Integer.valueOf(6), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+
+        assertEquals(0, heap.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonMonotonePriority() {
+        heap.add(1, 10);
+        heap.add(2, 20);
+        heap.extractMinimum();
+        heap.add(3, 9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnTooFewLevels() {
+        new MultiLevelBucketHeap<>(1);
+    }
+
+    @Test
+    public void testClearResetsLastPriority() {
+        heap.add(1, 1 << 25);
+        heap.extractMinimum();
+        heap.clear();
+        heap.add(2, 0);
+
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+    }
+
+    @Test
+    public void testMonotoneAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "MultiLevelBucketHeapTest.testMonotoneAgainstBinaryHeap, " +
+                "seed = " + seed);
+
+        for (int levels : new int[]{ 2, 3, 4, 7, 31 }) {
+            PriorityQueue<Integer, Integer> heap =
+                    new MultiLevelBucketHeap<>(levels);
+            PriorityQueue<Integer, Integer> referenceHeap =
+                    new BinaryHeap<>();
+            Map<Integer, Integer> priorityMap = new HashMap<>();
+            int lastPriority = 0;
+
+            for (int element = 0; element < 50_000; ++element) {
+                if (random.nextFloat() < 0.6f) {
+                    // Mix small and large gaps in order to fill many levels.
+                    int priority = lastPriority +
+                                   random.nextInt(random.nextBoolean() ?
+                                                  16 : 1 << 20);
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                    priorityMap.put(element, priority);
+                } else if (referenceHeap.size() > 0) {
+                    lastPriority =
+                            priorityMap.get(referenceHeap.extractMinimum());
+                    assertEquals(heap.toString(),
+                                 lastPriority,
+                                 (int) priorityMap.get(heap.extractMinimum()));
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleMonotoneAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "MultiLevelBucketHeapTest.testDoubleMonotoneAgainstBinaryHeap" +
+                ", seed = " + seed);
+
+        for (int levels : new int[]{ 4, 6, 8, 63 }) {
+            PriorityQueue<Integer, Double> heap =
+                    new DoubleMultiLevelBucketHeap<>(levels);
+            PriorityQueue<Integer, Double> referenceHeap =
+                    new BinaryHeap<>();
+            Map<Integer, Double> priorityMap = new HashMap<>();
+            double lastPriority = 0.0;
+
+            for (int element = 0; element < 50_000; ++element) {
+                if (random.nextFloat() < 0.6f) {
+                    double priority = lastPriority + 10.0 * random.nextDouble();
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                    priorityMap.put(element, priority);
+                } else if (referenceHeap.size() > 0) {
+                    lastPriority =
+                            priorityMap.get(referenceHeap.extractMinimum());
+                    assertEquals(lastPriority,
+                                 priorityMap.get(heap.extractMinimum()),
+                                 0.0);
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+        }
+    }
+
+    @Test
+    public void testCaliberHeuristicKeepsShortestPaths() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "MultiLevelBucketHeapTest." +
+                "testCaliberHeuristicKeepsShortestPaths, seed = " + seed);
+
+        int nodes = 1_000;
+        List<DirectedGraphNode> nodeList = new ArrayList<>(nodes);
+
+        for (int id = 0; id < nodes; ++id) {
+            nodeList.add(new DirectedGraphNode(id));
+        }
+
+        DirectedGraphWeightFunction<Integer> weightFunction =
+                new DirectedGraphWeightFunction<>();
+
+        for (int i = 0; i < 5 * nodes; ++i) {
+            DirectedGraphNode tail = nodeList.get(random.nextInt(nodes));
+            DirectedGraphNode head = nodeList.get(random.nextInt(nodes));
+            tail.addChildNode(head);
+            weightFunction.addWeight(tail, head, random.nextInt(10) + 1);
+        }
+
+        IntCSRGraph graph =
+                new CSRGraphBuilder(nodeList).buildIntGraph(weightFunction);
+        int[] calibers = graph.getCalibers();
+        CSRPathFinder referenceFinder =
+                new IntCSRDijkstraPathFinder(graph, new BinaryHeap<>());
+        CSRPathFinder finder1 =
+                new IntCSRDijkstraPathFinder(
+                        graph,
+                        new MultiLevelBucketHeap<>(2,
+                                                   nodeId -> calibers[nodeId]));
+        CSRPathFinder finder2 =
+                new IndexedIntCSRDijkstraPathFinder(
+                        graph,
+                        new IndexedMultiLevelBucketHeap<>(
+                                3,
+                                nodeId -> calibers[nodeId],
+                                null));
+
+        for (int i = 0; i < 50; ++i) {
+            DirectedGraphNode source = nodeList.get(random.nextInt(nodes));
+            DirectedGraphNode target = nodeList.get(random.nextInt(nodes));
+            int cost = cost(referenceFinder.search(source, target),
+                            weightFunction);
+
+            assertEquals(cost, cost(finder1.search(source, target),
+                                    weightFunction));
+            assertEquals(cost, cost(finder2.search(source, target),
+                                    weightFunction));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0);
+    }
+
+    /**
+     * Returns the cost of {@code path}, or {@code -1} if there is no path.
+     */
+    private static int cost(
+            List<DirectedGraphNode> path,
+            DirectedGraphWeightFunction<Integer> weightFunction) {
+        if (path.isEmpty()) {
+            return -1;
+        }
+
+        int cost = 0;
+
+        for (int i = 0; i < path.size() - 1; ++i) {
+            cost += weightFunction.getWeight(path.get(i), path.get(i + 1));
+        }
+
+        return cost;
+    }
+}
@@ -0,0 +1,115 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PoolingTest {
+
+    private static final int SEARCHES = 30;
+    private static final int OPERATIONS = 2_000;
+    private static final int UNIVERSE = 1 << 16;
+
+    @Test
+    public void testPooledHeapsAgreeWithUnpooledHeaps() {
+        List<PriorityQueue<Integer, Integer>> heapList = createHeaps(false);
+        List<PriorityQueue<Integer, Integer>> pooledHeapList =
+                createHeaps(true);
+
+        for (int i = 0; i < heapList.size(); ++i) {
+            PriorityQueue<Integer, Integer> heap = heapList.get(i);
+            PriorityQueue<Integer, Integer> pooledHeap = pooledHeapList.get(i);
+            assertEquals(heap + " (pooled)", pooledHeap.toString());
+            assertEquals(pooledHeap.toString(),
+                         run(heap),
+                         run(pooledHeap));
+        }
+    }
+
+    @Test
+    public void testPooledHeapsRecoverAfterDrainAndClear() {
+        for (PriorityQueue<Integer, Integer> heap : createHeaps(true)) {
+            // Fill up the free list by draining, then by clearing.
+            for (int i = 0; i < 100; ++i) {
+                heap.add(i, 100 - i);
+            }
+
+            for (int i = 99; i >= 0; --i) {
+                assertEquals(Integer.valueOf(i), heap.extractMinimum());
+            }
+
+            for (int i = 0; i < 200; ++i) {
+                heap.add(i, i % 7);
+            }
+
+            heap.clear();
+            assertEquals(0, heap.size());
+
+            // Reused nodes must not carry over children or chains.
+            for (int i = 0; i < 300; ++i) {
+                heap.add(i, 300 - i);
+            }
+
+            assertEquals(300, heap.size());
+
+            for (int i = 299; i >= 0; --i) {
+                assertEquals(heap.toString(),
+                             Integer.valueOf(i),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    private static List<PriorityQueue<Integer, Integer>>
+        createHeaps(boolean pooled) {
+        List<PriorityQueue<Integer, Integer>> heapList = new ArrayList<>();
+        heapList.add(new BinomialHeap<>(pooled));
+        heapList.add(new FibonacciHeap<>(pooled));
+        heapList.add(new PairingHeap<>(pooled));
+        heapList.add(new IntegerDialsHeap<>(pooled));
+        heapList.add(new AVLTreeHeap<>(pooled));
+        heapList.add(new BTreeHeap<>(4, pooled));
+        heapList.add(new VanEmdeBoasTreeHeap<>(UNIVERSE, pooled));
+        return heapList;
+    }
+
+    /**
+     * Runs a number of searches against {@code heap}, clearing it between the
+     * searches while some elements are still in it, and returns the
+     * priorities of the extracted elements. The element doubles as its
+     * priority so that the result does not depend on how the ties are broken.
+     */
+    private static List<Integer> run(PriorityQueue<Integer, Integer> heap) {
+        Random random = new Random(23L);
+        List<Integer> extractedList = new ArrayList<>();
+
+        for (int search = 0; search < SEARCHES; ++search) {
+            int lastPriority = 0;
+            int size = 0;
+
+            for (int i = 0; i < OPERATIONS; ++i) {
+                if (size == 0 || random.nextInt(3) < 2) {
+                    Integer priority = lastPriority + random.nextInt(50);
+                    heap.add(priority, priority);
+                    ++size;
+                } else {
+                    lastPriority = heap.extractMinimum();
+                    extractedList.add(lastPriority);
+                    --size;
+                }
+
+                assertEquals(size, heap.size());
+            }
+
+            heap.clear();
+            assertEquals(0, heap.size());
+        }
+
+        return extractedList;
+    }
+}
@@ -0,0 +1,111 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RadixHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap = new RadixHeap<>();
+    
+    @Before
+    public void setUp() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(1, 1);
+        heap.add(5, 5);
+        heap.add(2, 2);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test
+    public void testAddAndExtract2() {
+        heap.add(4, 2);
+        heap.add(3, 3);
+        heap.add(1, Integer.MAX_VALUE);
+        heap.add(5, 1);
+        heap.add(2, 1 << 20);
+        
+        assertEquals(5, heap.size());
+        
+        assertEquals(Integer.valueOf(5), heap.extractMinimum());
+        assertEquals(Integer.valueOf(4), heap.extractMinimum());
+        assertEquals(Integer.valueOf(3), heap.extractMinimum());
+        
+        heap.add(6, 1 << 19);
+        
+        assertEquals(Integer.valueOf(6), heap.extractMinimum());
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+        assertEquals(Integer.valueOf(1), heap.extractMinimum());
+        
+        assertEquals(0, heap.size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonMonotonePriority() {
+        heap.add(1, 10);
+        heap.add(2, 20);
+        heap.extractMinimum();
+        heap.add(3, 9);
+    }
+    
+    @Test
+    public void testClearResetsLastPriority() {
+        heap.add(1, 10);
+        heap.extractMinimum();
+        heap.clear();
+        heap.add(2, 0);
+        
+        assertEquals(Integer.valueOf(2), heap.extractMinimum());
+    }
+    
+    @Test
+    public void testMonotoneAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("RadixHeapTest.testMonotoneAgainstBinaryHeap, " +
+                           "seed = " + seed);
+        
+        PriorityQueue<Integer, Integer> referenceHeap = new BinaryHeap<>();
+        Map<Integer, Integer> priorityMap = new HashMap<>();
+        int lastPriority = 0;
+        
+        for (int element = 0; element < 100_000; ++element) {
+            if (random.nextFloat() < 0.6f) {
+                int priority = lastPriority + random.nextInt(1 << 20);
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+                priorityMap.put(element, priority);
+            } else if (referenceHeap.size() > 0) {
+                lastPriority = priorityMap.get(referenceHeap.extractMinimum());
+                assertEquals(lastPriority,
+                             (int) priorityMap.get(heap.extractMinimum()));
+            }
+            
+            assertEquals(referenceHeap.size(), heap.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0);
+    }
+}
@@ -0,0 +1,157 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RankPairingHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap =
+            new RankPairingHeap<>();
+
+    private final PriorityQueue<Integer, Integer> indexedHeap =
+            new IndexedRankPairingHeap<>();
+
+    @Before
+    public void setUp() {
+        heap.clear();
+        indexedHeap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        for (PriorityQueue<Integer, Integer> heap :
+                new PriorityQueue[]{ this.heap, indexedHeap }) {
+            heap.add(4, 2);
+            heap.add(3, 3);
+            heap.add(1, 5);
+            heap.add(5, 1);
+            heap.add(2, 4);
+
+            assertEquals(5, heap.size());
+
+            assertEquals(Integer.valueOf(5), heap.extractMinimum());
+            assertEquals(Integer.valueOf(4), heap.extractMinimum());
+
+            heap.add(6, 0);
+
+            assertEquals(Integer.valueOf(6), heap.extractMinimum());
+            assertEquals(Integer.valueOf(3), heap.extractMinimum());
+            assertEquals(Integer.valueOf(2), heap.extractMinimum());
+            assertEquals(Integer.valueOf(1), heap.extractMinimum());
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        indexedHeap.add(1, 1);
+        indexedHeap.add(2, 2);
+
+        assertFalse(indexedHeap.decreasePriority(2, 3));
+        assertFalse(indexedHeap.decreasePriority(3, 0));
+
+        assertEquals(Integer.valueOf(1), indexedHeap.extractMinimum());
+        assertEquals(Integer.valueOf(2), indexedHeap.extractMinimum());
+
+        for (int i = 0; i < 100; ++i) {
+            indexedHeap.add(i, i);
+        }
+
+        // Shape the trees before the decreases.
+        indexedHeap.add(100, -1);
+        assertEquals(Integer.valueOf(100), indexedHeap.extractMinimum());
+
+        for (int i = 50; i < 100; ++i) {
+            assertTrue(indexedHeap.decreasePriority(i, i - 100));
+        }
+
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i + 50), indexedHeap.extractMinimum());
+        }
+
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i), indexedHeap.extractMinimum());
+        }
+
+        assertEquals(0, indexedHeap.size());
+    }
+
+    @Test
+    public void testAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "RankPairingHeapTest.testAgainstBinaryHeap, seed = " + seed);
+
+        PriorityQueue<Integer, Integer> referenceHeap = new BinaryHeap<>();
+
+        for (int element = 0; element < 50_000; ++element) {
+            if (random.nextFloat() < 0.6f) {
+                int priority = random.nextInt(100) * 100_000 + element;
+                heap.add(element, priority);
+                referenceHeap.add(element, priority);
+            } else if (referenceHeap.size() > 0) {
+                assertEquals(referenceHeap.extractMinimum(),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(referenceHeap.size(), heap.size());
+        }
+    }
+
+    @Test
+    public void testAgainstIndexedBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println(
+                "RankPairingHeapTest.testAgainstIndexedBinaryHeap, seed = " +
+                seed);
+
+        PriorityQueue<Integer, Integer> idHeap =
+                new IndexedRankPairingHeap<>(element -> element);
+
+        for (PriorityQueue<Integer, Integer> heap :
+                new PriorityQueue[]{ indexedHeap, idHeap }) {
+            PriorityQueue<Integer, Integer> referenceHeap =
+                    new IndexedBinaryHeap<>();
+
+            for (int i = 0; i < 100_000; ++i) {
+                float coin = random.nextFloat();
+                int element = random.nextInt(2_000);
+                // Priorities of distinct elements never tie, so that both
+                // heaps agree on the extraction order.
+                int priority = random.nextInt(10_000) * 2_000 + element;
+
+                if (coin < 0.4f) {
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                } else if (coin < 0.8f) {
+                    assertEquals(
+                            referenceHeap.decreasePriority(element, priority),
+                            heap.decreasePriority(element, priority));
+                } else if (referenceHeap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+
+            while (referenceHeap.size() > 0) {
+                assertEquals(referenceHeap.extractMinimum(),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0);
+    }
+}
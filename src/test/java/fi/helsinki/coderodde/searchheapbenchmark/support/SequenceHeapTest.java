@@ -0,0 +1,104 @@
+package fi.helsinki.coderodde.searchheapbenchmark.support;
+
+import fi.helsinki.coderodde.searchheapbenchmark.PriorityQueue;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SequenceHeapTest {
+
+    private final PriorityQueue<Integer, Integer> heap = new SequenceHeap<>();
+
+    /**
+     * A heap with tiny groups and buffers, so that the sequences are merged
+     * into the higher groups early.
+     */
+    private final PriorityQueue<Integer, Integer> smallHeap =
+            new SequenceHeap<>(2, 8);
+
+    @Before
+    public void setUp() {
+        heap.clear();
+        smallHeap.clear();
+    }
+
+    @Test
+    public void testAddAndExtract() {
+        for (PriorityQueue<Integer, Integer> heap :
+                new PriorityQueue[]{ this.heap, smallHeap }) {
+            heap.add(4, 2);
+            heap.add(3, 3);
+            heap.add(1, 5);
+            heap.add(5, 1);
+            heap.add(2, 4);
+
+            assertEquals(5, heap.size());
+
+            assertEquals(Integer.valueOf(5), heap.extractMinimum());
+            assertEquals(Integer.valueOf(4), heap.extractMinimum());
+
+            heap.add(6, 0);
+
+            assertEquals(Integer.valueOf(6), heap.extractMinimum());
+            assertEquals(Integer.valueOf(3), heap.extractMinimum());
+            assertEquals(Integer.valueOf(2), heap.extractMinimum());
+            assertEquals(Integer.valueOf(1), heap.extractMinimum());
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    public void testManyGroups() {
+        for (int i = 0; i < 1_000; ++i) {
+            smallHeap.add(i, 999 - i);
+        }
+
+        assertEquals(1_000, smallHeap.size());
+
+        for (int i = 999; i >= 0; --i) {
+            assertEquals(Integer.valueOf(i), smallHeap.extractMinimum());
+        }
+
+        assertEquals(0, smallHeap.size());
+    }
+
+    @Test
+    public void testAgainstBinaryHeap() {
+        long seed = System.currentTimeMillis();
+        Random random = new Random(seed);
+        System.out.println("SequenceHeapTest.testAgainstBinaryHeap, seed = " +
+                           seed);
+
+        for (PriorityQueue<Integer, Integer> heap :
+                new PriorityQueue[]{ this.heap, smallHeap }) {
+            PriorityQueue<Integer, Integer> referenceHeap = new BinaryHeap<>();
+
+            for (int element = 0; element < 200_000; ++element) {
+                if (random.nextFloat() < 0.6f) {
+                    int priority = random.nextInt(1_000) * 200_000 + element;
+                    heap.add(element, priority);
+                    referenceHeap.add(element, priority);
+                } else if (referenceHeap.size() > 0) {
+                    assertEquals(referenceHeap.extractMinimum(),
+                                 heap.extractMinimum());
+                }
+
+                assertEquals(referenceHeap.size(), heap.size());
+            }
+
+            while (referenceHeap.size() > 0) {
+                assertEquals(referenceHeap.extractMinimum(),
+                             heap.extractMinimum());
+            }
+
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecreasePrioirty() {
+        heap.decreasePriority(0, 0);
+    }
+}